@@ -0,0 +1,178 @@
+/*
+ * Copyright (C) 2026 XStream Committers.
+ * All rights reserved.
+ *
+ * The software in this package is published under the terms of the BSD
+ * style license a copy of which has been included with this distribution in
+ * the LICENSE.txt file.
+ *
+ * Created on 17. October 2026
+ */
+package com.thoughtworks.xstream.benchmark.jmh;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.thoughtworks.xstream.XStream;
+import com.thoughtworks.xstream.annotations.XStreamAlias;
+import com.thoughtworks.xstream.annotations.XStreamAsAttribute;
+import com.thoughtworks.xstream.annotations.XStreamConverter;
+import com.thoughtworks.xstream.annotations.XStreamImplicit;
+import com.thoughtworks.xstream.converters.basic.BooleanConverter;
+import com.thoughtworks.xstream.mapper.AnnotationMapper;
+import com.thoughtworks.xstream.mapper.Mapper;
+
+
+/**
+ * Benchmark for the annotation processing with concurrent threads.
+ * <p>
+ * Once the annotations of the types have been processed, the automatic detection of the annotations should cost as
+ * little as processing the annotations explicitly in advance. The benchmark compares both modes for the lookups in the
+ * {@link AnnotationMapper} and the marshalling of annotated types.
+ * </p>
+ *
+ * @since upcoming
+ */
+@BenchmarkMode(Mode.Throughput)
+@Fork(value = 1)
+@Measurement(iterations = 15)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@State(Scope.Benchmark)
+@Threads(4)
+@Warmup(iterations = 5)
+public class AnnotationBenchmark {
+
+    /**
+     * Processing mode of the annotations. Enum values used as parameter for the benchmark methods.
+     *
+     * @since upcoming
+     */
+    public enum Processing {
+        /**
+         * Process the annotations of the types explicitly in advance.
+         *
+         * @since upcoming
+         */
+        Explicit {
+            @Override
+            public void configure(final XStream xstream) {
+                xstream.processAnnotations(Order.class);
+            }
+        },
+        /**
+         * Detect the annotations of the types automatically.
+         *
+         * @since upcoming
+         */
+        Autodetect {
+            @Override
+            public void configure(final XStream xstream) {
+                xstream.autodetectAnnotations(true);
+            }
+        };
+
+        /**
+         * Configure the annotation processing.
+         *
+         * @param xstream the XStream instance
+         * @since upcoming
+         */
+        public abstract void configure(XStream xstream);
+    }
+
+    /**
+     * Annotated type with nested annotated types.
+     *
+     * @since upcoming
+     */
+    @XStreamAlias("order")
+    public static class Order {
+        @XStreamAsAttribute
+        String id;
+        @XStreamImplicit(itemFieldName = "line")
+        List<Line> lines = new ArrayList<>();
+    }
+
+    /**
+     * Annotated type of a nested element.
+     *
+     * @since upcoming
+     */
+    @XStreamAlias("line")
+    public static class Line {
+        @XStreamAlias("product")
+        String name;
+        @XStreamAsAttribute
+        int quantity;
+        @XStreamConverter(value = BooleanConverter.class, booleans = {false}, strings = {"yes", "no"})
+        boolean shipped;
+    }
+
+    @Param
+    private Processing processing;
+    private XStream xstream;
+    private Mapper mapper;
+    private Order order;
+
+    /**
+     * Setup the XStream instance and the data and process the annotations once.
+     *
+     * @since upcoming
+     */
+    @Setup
+    public void setUp() {
+        xstream = new XStream();
+        xstream.allowTypes(Order.class, Line.class);
+        processing.configure(xstream);
+        mapper = xstream.getMapper().lookupMapperOfType(AnnotationMapper.class);
+        order = new Order();
+        order.id = "4711";
+        for (int i = 0; i < 10; ++i) {
+            final Line line = new Line();
+            line.name = "Product " + i;
+            line.quantity = i;
+            line.shipped = i % 2 == 0;
+            order.lines.add(line);
+        }
+        xstream.toXML(order);
+    }
+
+    /**
+     * Look up the mapping of the annotated types.
+     *
+     * @return the accumulated length of the mapped names
+     * @since upcoming
+     */
+    @Benchmark
+    public int lookup() {
+        return mapper.serializedClass(Order.class).length()
+            + mapper.realMember(Line.class, "product").length()
+            + (mapper.getLocalConverter(Line.class, "shipped") != null ? 1 : 0)
+            + mapper.defaultImplementationOf(Line.class).getName().length();
+    }
+
+    /**
+     * Marshal the annotated types.
+     *
+     * @return the XML
+     * @since upcoming
+     */
+    @Benchmark
+    public String marshal() {
+        return xstream.toXML(order);
+    }
+}
@@ -0,0 +1,179 @@
+/*
+ * Copyright (C) 2026 XStream Committers.
+ * All rights reserved.
+ *
+ * The software in this package is published under the terms of the BSD
+ * style license a copy of which has been included with this distribution in
+ * the LICENSE.txt file.
+ *
+ * Created on 17. October 2026
+ */
+package com.thoughtworks.xstream.benchmark.jmh;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.thoughtworks.xstream.XStream;
+import com.thoughtworks.xstream.io.HierarchicalStreamDriver;
+import com.thoughtworks.xstream.io.HierarchicalStreamReader;
+import com.thoughtworks.xstream.io.HierarchicalStreamWriter;
+import com.thoughtworks.xstream.io.binary.BinaryStreamDriver;
+import com.thoughtworks.xstream.io.binary.BinaryStreamWriter;
+import com.thoughtworks.xstream.io.xml.NativeXmlDriver;
+
+
+/**
+ * Benchmark for the binary driver.
+ * <p>
+ * The {@link NativeXmlDriver} serves as reference.
+ * </p>
+ *
+ * @since upcoming
+ */
+@BenchmarkMode(Mode.AverageTime)
+@Fork(value = 1)
+@Measurement(iterations = 15)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+@Threads(1)
+@Warmup(iterations = 5)
+public class BinaryBenchmark {
+
+    /**
+     * Driver factory. Enum values used as parameter for the benchmark methods.
+     *
+     * @since upcoming
+     */
+    public enum DriverFactory {
+        /**
+         * Factory for the {@link BinaryStreamDriver}.
+         *
+         * @since upcoming
+         */
+        Binary(new BinaryStreamDriver()), //
+        /**
+         * Factory for the {@link BinaryStreamDriver} using {@link BinaryStreamWriter#FORMAT_VERSION_2}.
+         *
+         * @since upcoming
+         */
+        BinaryVersion2(new BinaryStreamDriver(BinaryStreamWriter.FORMAT_VERSION_2)), //
+        /**
+         * Factory for the {@link NativeXmlDriver}.
+         *
+         * @since upcoming
+         */
+        NativeXml(new NativeXmlDriver());
+
+        private final HierarchicalStreamDriver driver;
+
+        private DriverFactory(final HierarchicalStreamDriver driver) {
+            this.driver = driver;
+        }
+
+        /**
+         * Request the driver of the instantiated factory.
+         *
+         * @return the driver
+         * @since upcoming
+         */
+        public HierarchicalStreamDriver getDriver() {
+            return driver;
+        }
+    }
+
+    /**
+     * Simple type with some text values.
+     *
+     * @since upcoming
+     */
+    public static class Item {
+        String name;
+        String description;
+        int quantity;
+        double price;
+        boolean available;
+
+        /**
+         * Construct an Item.
+         *
+         * @param index index of the item
+         * @since upcoming
+         */
+        public Item(final int index) {
+            name = "Item " + index;
+            description = "Description with non-ASCII characters: äöü € " + index;
+            quantity = index;
+            price = index * 1.5;
+            available = index % 2 == 0;
+        }
+    }
+
+    @Param
+    private DriverFactory driverFactory;
+    private XStream xstream;
+    private List<Item> items;
+    private ByteArrayOutputStream out;
+    private byte[] data;
+
+    /**
+     * Setup the XStream instance and the data.
+     *
+     * @since upcoming
+     */
+    @Setup
+    public void setUp() {
+        xstream = new XStream();
+        xstream.allowTypes(Item.class);
+        xstream.alias("item", Item.class);
+        items = new ArrayList<>();
+        for (int i = 0; i < 100; ++i) {
+            items.add(new Item(i));
+        }
+        out = new ByteArrayOutputStream(64 * 1024);
+        marshal();
+        data = out.toByteArray();
+    }
+
+    /**
+     * Marshal a list of items.
+     *
+     * @return the number of written bytes
+     * @since upcoming
+     */
+    @Benchmark
+    public int marshal() {
+        out.reset();
+        final HierarchicalStreamWriter writer = driverFactory.getDriver().createWriter(out);
+        xstream.marshal(items, writer);
+        writer.flush();
+        return out.size();
+    }
+
+    /**
+     * Unmarshal a list of items.
+     *
+     * @return the list
+     * @since upcoming
+     */
+    @Benchmark
+    public Object unmarshal() {
+        final HierarchicalStreamReader reader = driverFactory.getDriver().createReader(new ByteArrayInputStream(data));
+        return xstream.unmarshal(reader);
+    }
+}
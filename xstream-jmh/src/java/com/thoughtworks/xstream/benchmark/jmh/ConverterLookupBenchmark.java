@@ -0,0 +1,117 @@
+/*
+ * Copyright (C) 2026 XStream Committers.
+ * All rights reserved.
+ *
+ * The software in this package is published under the terms of the BSD
+ * style license a copy of which has been included with this distribution in
+ * the LICENSE.txt file.
+ *
+ * Created on 16. October 2026
+ */
+package com.thoughtworks.xstream.benchmark.jmh;
+
+import java.io.File;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.net.URL;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.TreeSet;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import com.thoughtworks.xstream.XStream;
+import com.thoughtworks.xstream.converters.ConverterLookup;
+
+
+/**
+ * Benchmark for the lookup of converters by type with different number of concurrent threads.
+ *
+ * @since upcoming
+ */
+@BenchmarkMode(Mode.Throughput)
+@Fork(value = 1)
+@Measurement(iterations = 16)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 5)
+public class ConverterLookupBenchmark {
+
+    private static final Class<?>[] TYPES = {
+        String.class, Integer.class, int.class, Long.class, Double.class, Boolean.class, BigInteger.class,
+        BigDecimal.class, Date.class, Locale.class, UUID.class, URL.class, File.class, BitSet.class, ArrayList.class,
+        HashMap.class, TreeSet.class, int[].class, String[].class, Object.class};
+
+    private ConverterLookup converterLookup;
+
+    /**
+     * Setup the converter lookup and fill the cache.
+     *
+     * @since upcoming
+     */
+    @Setup
+    public void setUp() {
+        converterLookup = new XStream().getConverterLookup();
+        for (final Class<?> type : TYPES) {
+            converterLookup.lookupConverterForType(type);
+        }
+    }
+
+    /**
+     * Lookup with a single thread.
+     *
+     * @param blackhole the sink for the found converters
+     * @since upcoming
+     */
+    @Benchmark
+    @Threads(1)
+    public void lookupWith1Thread(final Blackhole blackhole) {
+        run(blackhole);
+    }
+
+    /**
+     * Lookup with 8 concurrent threads.
+     *
+     * @param blackhole the sink for the found converters
+     * @since upcoming
+     */
+    @Benchmark
+    @Threads(8)
+    public void lookupWith8Threads(final Blackhole blackhole) {
+        run(blackhole);
+    }
+
+    /**
+     * Lookup with 32 concurrent threads.
+     *
+     * @param blackhole the sink for the found converters
+     * @since upcoming
+     */
+    @Benchmark
+    @Threads(32)
+    public void lookupWith32Threads(final Blackhole blackhole) {
+        run(blackhole);
+    }
+
+    private void run(final Blackhole blackhole) {
+        for (final Class<?> type : TYPES) {
+            blackhole.consume(converterLookup.lookupConverterForType(type));
+        }
+    }
+}
@@ -0,0 +1,174 @@
+/*
+ * Copyright (C) 2026 XStream Committers.
+ * All rights reserved.
+ *
+ * The software in this package is published under the terms of the BSD
+ * style license a copy of which has been included with this distribution in
+ * the LICENSE.txt file.
+ *
+ * Created on 16. October 2026
+ */
+package com.thoughtworks.xstream.benchmark.jmh;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.thoughtworks.xstream.XStream;
+import com.thoughtworks.xstream.io.HierarchicalStreamDriver;
+import com.thoughtworks.xstream.io.json.AbstractJsonWriter;
+import com.thoughtworks.xstream.io.json.JettisonMappedXmlDriver;
+import com.thoughtworks.xstream.io.json.JsonHierarchicalStreamDriver;
+import com.thoughtworks.xstream.io.naming.NoNameCoder;
+
+
+/**
+ * Benchmark for the JSON drivers.
+ * <p>
+ * The {@link JsonHierarchicalStreamDriver} is used in {@link AbstractJsonWriter#EXPLICIT_MODE}, because the JSON of
+ * the other modes does not contain the names of the elements in a collection.
+ * </p>
+ *
+ * @since upcoming
+ */
+@BenchmarkMode(Mode.Throughput)
+@Fork(value = 1)
+@Measurement(iterations = 15)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@State(Scope.Benchmark)
+@Threads(1)
+@Warmup(iterations = 5)
+public class JsonBenchmark {
+
+    /**
+     * Driver factory. Enum values used as parameter for the benchmark methods.
+     *
+     * @since upcoming
+     */
+    public enum DriverFactory {
+        /**
+         * Factory for the {@link JettisonMappedXmlDriver}.
+         *
+         * @since upcoming
+         */
+        Jettison(new JettisonMappedXmlDriver()), //
+        /**
+         * Factory for the {@link JsonHierarchicalStreamDriver} in {@link AbstractJsonWriter#EXPLICIT_MODE}.
+         *
+         * @since upcoming
+         */
+        JsonExplicit(new JsonHierarchicalStreamDriver(AbstractJsonWriter.EXPLICIT_MODE, new NoNameCoder()));
+
+        private final HierarchicalStreamDriver driver;
+
+        private DriverFactory(final HierarchicalStreamDriver driver) {
+            this.driver = driver;
+        }
+
+        /**
+         * Request the driver of the instantiated factory.
+         *
+         * @return the driver
+         * @since upcoming
+         */
+        public HierarchicalStreamDriver getDriver() {
+            return driver;
+        }
+    }
+
+    /**
+     * Simple type with different values.
+     *
+     * @since upcoming
+     */
+    public static class Item {
+        String name;
+        String description;
+        int quantity;
+        double price;
+        boolean available;
+        List<String> tags;
+
+        /**
+         * Construct an Item.
+         *
+         * @param index index of the item
+         * @since upcoming
+         */
+        public Item(final int index) {
+            name = "Item " + index;
+            description = "Description with \"quotes\", a\ttab and non-ASCII characters: äöü € " + index;
+            quantity = index;
+            price = index * 1.5;
+            available = index % 2 == 0;
+            tags = new ArrayList<>();
+            for (int i = 0; i < index % 4; ++i) {
+                tags.add("tag" + i);
+            }
+        }
+    }
+
+    @Param
+    private DriverFactory driverFactory;
+    private XStream xstream;
+    private List<Item> items;
+    private byte[] data;
+
+    /**
+     * Setup the XStream instance and the data.
+     *
+     * @since upcoming
+     */
+    @Setup
+    public void setUp() {
+        xstream = new XStream(driverFactory.getDriver());
+        xstream.allowTypes(Item.class);
+        xstream.alias("item", Item.class);
+        items = new ArrayList<>();
+        for (int i = 0; i < 100; ++i) {
+            items.add(new Item(i));
+        }
+        final ByteArrayOutputStream out = new ByteArrayOutputStream(64 * 1024);
+        xstream.toXML(items, out);
+        data = out.toByteArray();
+    }
+
+    /**
+     * Unmarshal a list of items from JSON.
+     *
+     * @return the list
+     * @since upcoming
+     */
+    @Benchmark
+    public Object unmarshal() {
+        return xstream.fromXML(new ByteArrayInputStream(data));
+    }
+
+    /**
+     * Marshal a list of items into JSON and unmarshal the result again.
+     *
+     * @return the list
+     * @since upcoming
+     */
+    @Benchmark
+    public Object roundTrip() {
+        final ByteArrayOutputStream out = new ByteArrayOutputStream(data.length);
+        xstream.toXML(items, out);
+        return xstream.fromXML(new ByteArrayInputStream(out.toByteArray()));
+    }
+}
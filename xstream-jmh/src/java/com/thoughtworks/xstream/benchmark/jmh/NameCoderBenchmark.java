@@ -1,5 +1,5 @@
 /*
- * Copyright (C) 2015, 2017 XStream Committers.
+ * Copyright (C) 2015, 2017, 2026 XStream Committers.
  * All rights reserved.
  *
  * The software in this package is published under the terms of the BSD
@@ -10,6 +10,10 @@
  */
 package com.thoughtworks.xstream.benchmark.jmh;
 
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.Reader;
+import java.io.Writer;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.TimeUnit;
@@ -29,6 +33,9 @@ import org.openjdk.jmh.annotations.Warmup;
 import org.openjdk.jmh.infra.BenchmarkParams;
 
 import com.thoughtworks.xstream.XStream;
+import com.thoughtworks.xstream.io.AbstractDriver;
+import com.thoughtworks.xstream.io.HierarchicalStreamReader;
+import com.thoughtworks.xstream.io.HierarchicalStreamWriter;
 import com.thoughtworks.xstream.io.naming.NameCoder;
 import com.thoughtworks.xstream.io.xml.XmlFriendlyNameCoder;
 import com.thoughtworks.xstream.io.xml.Xpp3Driver;
@@ -212,6 +219,47 @@ public class NameCoderBenchmark {
         }
     }
 
+    /**
+     * Driver using a new {@link Xpp3Driver} for every reader, therefore no symbol table is shared between the readers
+     * and every reader interns and decodes the names on its own.
+     *
+     * @since upcoming
+     */
+    public static final class UnsharedSymbolsDriver extends AbstractDriver {
+        private final Xpp3Driver driver;
+
+        /**
+         * Construct an UnsharedSymbolsDriver.
+         *
+         * @param nameCoder the name coder
+         * @since upcoming
+         */
+        public UnsharedSymbolsDriver(final NameCoder nameCoder) {
+            super(nameCoder);
+            driver = new Xpp3Driver(nameCoder);
+        }
+
+        @Override
+        public HierarchicalStreamReader createReader(final Reader in) {
+            return new Xpp3Driver(getNameCoder()).createReader(in);
+        }
+
+        @Override
+        public HierarchicalStreamReader createReader(final InputStream in) {
+            return new Xpp3Driver(getNameCoder()).createReader(in);
+        }
+
+        @Override
+        public HierarchicalStreamWriter createWriter(final Writer out) {
+            return driver.createWriter(out);
+        }
+
+        @Override
+        public HierarchicalStreamWriter createWriter(final OutputStream out) {
+            return driver.createWriter(out);
+        }
+    }
+
     private static class _1 {
         private static class _2 {
             private static class _3 {
@@ -266,6 +314,7 @@ public class NameCoderBenchmark {
     public void setUp(final BenchmarkParams params) {
         final String benchmark = params.getBenchmark();
         final NameCoder nameCoder;
+        boolean sharedSymbols = true;
         switch (benchmark.substring(NameCoderBenchmark.class.getName().length() + 1)) {
         case "noCoding":
             nameCoder = new NoNameCoder();
@@ -282,10 +331,14 @@ public class NameCoderBenchmark {
         case "xmlFriendlyCoding":
             nameCoder = new XmlFriendlyNameCoder();
             break;
+        case "xmlFriendlyCodingWithoutSharedSymbols":
+            nameCoder = new XmlFriendlyNameCoder();
+            sharedSymbols = false;
+            break;
         default:
             throw new IllegalStateException("Unsupported benchmark type: " + benchmark);
         }
-        xstream = new XStream(new Xpp3Driver(nameCoder));
+        xstream = new XStream(sharedSymbols ? new Xpp3Driver(nameCoder) : new UnsharedSymbolsDriver(nameCoder));
         xstream.addPermission(NoTypePermission.NONE);
         xstream.addPermission(ArrayTypePermission.ARRAYS);
         xstream.addPermission(PrimitiveTypePermission.PRIMITIVES);
@@ -348,6 +401,17 @@ public class NameCoderBenchmark {
         run();
     }
 
+    /**
+     * XML friendly encoding without a symbol table shared between the readers, the decoded names are cached only per
+     * reader.
+     *
+     * @since upcoming
+     */
+    @Benchmark
+    public void xmlFriendlyCodingWithoutSharedSymbols() {
+        run();
+    }
+
     private void run() {
         final String x = xstream.toXML(xstream.fromXML(xml));
         assert x.equals(xml) : "XML differs";
@@ -0,0 +1,212 @@
+/*
+ * Copyright (C) 2026 XStream Committers.
+ * All rights reserved.
+ *
+ * The software in this package is published under the terms of the BSD
+ * style license a copy of which has been included with this distribution in
+ * the LICENSE.txt file.
+ *
+ * Created on 17. October 2026
+ */
+package com.thoughtworks.xstream.benchmark.jmh;
+
+import java.io.ByteArrayOutputStream;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.thoughtworks.xstream.XStream;
+import com.thoughtworks.xstream.io.HierarchicalStreamWriter;
+import com.thoughtworks.xstream.io.binary.BinaryStreamWriter;
+import com.thoughtworks.xstream.io.json.JsonHierarchicalStreamDriver;
+import com.thoughtworks.xstream.io.xml.PrettyPrintWriter;
+import com.thoughtworks.xstream.io.xml.Utf8XmlWriter;
+import com.thoughtworks.xstream.io.xml.XmlFriendlyNameCoder;
+
+
+/**
+ * Benchmark for the parallel marshalling of a large collection.
+ * <p>
+ * The throughput of {@link XStream#marshalParallel(Object, HierarchicalStreamWriter, java.util.concurrent.Executor)}
+ * is measured for different numbers of threads, while {@link XStream#marshal(Object, HierarchicalStreamWriter)} serves
+ * as reference.
+ * </p>
+ *
+ * @since upcoming
+ */
+@BenchmarkMode(Mode.Throughput)
+@Fork(value = 1)
+@Measurement(iterations = 15)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@State(Scope.Benchmark)
+@Threads(1)
+@Warmup(iterations = 5)
+public class ParallelMarshalBenchmark {
+
+    /**
+     * Writer factory. Enum values used as parameter for the benchmark methods.
+     *
+     * @since upcoming
+     */
+    public enum WriterFactory {
+        /**
+         * Factory for the compact {@link Utf8XmlWriter}.
+         *
+         * @since upcoming
+         */
+        CompactXml {
+            @Override
+            public HierarchicalStreamWriter createWriter(final OutputStream out) {
+                return new Utf8XmlWriter(out, PrettyPrintWriter.XML_QUIRKS, null, new XmlFriendlyNameCoder());
+            }
+        },
+        /**
+         * Factory for the writer of the {@link JsonHierarchicalStreamDriver}.
+         *
+         * @since upcoming
+         */
+        Json {
+            private final JsonHierarchicalStreamDriver driver = new JsonHierarchicalStreamDriver();
+
+            @Override
+            public HierarchicalStreamWriter createWriter(final OutputStream out) {
+                return driver.createWriter(out);
+            }
+        },
+        /**
+         * Factory for the {@link BinaryStreamWriter} using {@link BinaryStreamWriter#FORMAT_VERSION_2}.
+         *
+         * @since upcoming
+         */
+        Binary {
+            @Override
+            public HierarchicalStreamWriter createWriter(final OutputStream out) {
+                return new BinaryStreamWriter(out, BinaryStreamWriter.FORMAT_VERSION_2);
+            }
+        };
+
+        /**
+         * Create a writer for the output stream.
+         *
+         * @param out the target stream
+         * @return the writer
+         * @since upcoming
+         */
+        public abstract HierarchicalStreamWriter createWriter(OutputStream out);
+    }
+
+    /**
+     * Simple type with some values.
+     *
+     * @since upcoming
+     */
+    public static class Item {
+        String name;
+        String description;
+        int quantity;
+        double price;
+        boolean available;
+        List<String> tags;
+
+        /**
+         * Construct an Item.
+         *
+         * @param index index of the item
+         * @since upcoming
+         */
+        public Item(final int index) {
+            name = "Item " + index;
+            description = "Description with non-ASCII characters: äöü € " + index;
+            quantity = index;
+            price = index * 1.5;
+            available = index % 2 == 0;
+            tags = new ArrayList<>();
+            tags.add("tag" + index % 10);
+            tags.add("group" + index % 3);
+        }
+    }
+
+    @Param
+    private WriterFactory writerFactory;
+    @Param({"1", "2", "4", "8"})
+    private int threads;
+    private XStream xstream;
+    private List<Item> items;
+    private ForkJoinPool pool;
+    private ByteArrayOutputStream out;
+
+    /**
+     * Setup the XStream instance, the data and the thread pool.
+     *
+     * @since upcoming
+     */
+    @Setup
+    public void setUp() {
+        xstream = new XStream();
+        xstream.allowTypes(Item.class);
+        xstream.alias("item", Item.class);
+        xstream.setMode(XStream.NO_REFERENCES);
+        items = new ArrayList<>();
+        for (int i = 0; i < 100000; ++i) {
+            items.add(new Item(i));
+        }
+        pool = new ForkJoinPool(threads);
+        out = new ByteArrayOutputStream(16 * 1024 * 1024);
+    }
+
+    /**
+     * Shutdown the thread pool.
+     *
+     * @since upcoming
+     */
+    @TearDown
+    public void tearDown() {
+        pool.shutdown();
+    }
+
+    /**
+     * Marshal the list in the current thread.
+     *
+     * @return the number of written bytes
+     * @since upcoming
+     */
+    @Benchmark
+    public int marshal() {
+        out.reset();
+        final HierarchicalStreamWriter writer = writerFactory.createWriter(out);
+        xstream.marshal(items, writer);
+        writer.flush();
+        return out.size();
+    }
+
+    /**
+     * Marshal the list with the thread pool.
+     *
+     * @return the number of written bytes
+     * @since upcoming
+     */
+    @Benchmark
+    public int marshalParallel() {
+        out.reset();
+        final HierarchicalStreamWriter writer = writerFactory.createWriter(out);
+        xstream.marshalParallel(items, writer, pool);
+        writer.flush();
+        return out.size();
+    }
+}
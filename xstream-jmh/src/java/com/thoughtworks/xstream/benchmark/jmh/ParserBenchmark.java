@@ -1,5 +1,5 @@
 /*
- * Copyright (C) 2015, 2017, 2021 XStream Committers.
+ * Copyright (C) 2015, 2017, 2021, 2026 XStream Committers.
  * All rights reserved.
  *
  * The software in this package is published under the terms of the BSD
@@ -38,6 +38,7 @@ import com.thoughtworks.xstream.io.HierarchicalStreamDriver;
 import com.thoughtworks.xstream.io.HierarchicalStreamWriter;
 import com.thoughtworks.xstream.io.binary.BinaryStreamDriver;
 import com.thoughtworks.xstream.io.json.JettisonMappedXmlDriver;
+import com.thoughtworks.xstream.io.json.JsonHierarchicalStreamDriver;
 import com.thoughtworks.xstream.io.xml.BEAStaxDriver;
 import com.thoughtworks.xstream.io.xml.Dom4JDriver;
 import com.thoughtworks.xstream.io.xml.DomDriver;
@@ -45,6 +46,7 @@ import com.thoughtworks.xstream.io.xml.JDom2Driver;
 import com.thoughtworks.xstream.io.xml.JDomDriver;
 import com.thoughtworks.xstream.io.xml.KXml2Driver;
 import com.thoughtworks.xstream.io.xml.MXParserDriver;
+import com.thoughtworks.xstream.io.xml.NativeXmlDriver;
 import com.thoughtworks.xstream.io.xml.PrettyPrintWriter;
 import com.thoughtworks.xstream.io.xml.StandardStaxDriver;
 import com.thoughtworks.xstream.io.xml.WstxDriver;
@@ -89,6 +91,12 @@ public class ParserBenchmark {
          * @since 1.4.9
          */
         Xpp3(new Xpp3Driver()), //
+        /**
+         * Factory for the {@link NativeXmlDriver}.
+         *
+         * @since upcoming
+         */
+        NativeXml(new NativeXmlDriver()), //
         /**
          * Factory for the {@link KXml2Driver}.
          *
@@ -159,7 +167,13 @@ public class ParserBenchmark {
          *
          * @since 1.4.9
          */
-        Jettison(new JettisonMappedXmlDriver());
+        Jettison(new JettisonMappedXmlDriver()), //
+        /**
+         * Factory for the {@link JsonHierarchicalStreamDriver}.
+         *
+         * @since upcoming
+         */
+        Json(new JsonHierarchicalStreamDriver());
 
         private final HierarchicalStreamDriver driver;
 
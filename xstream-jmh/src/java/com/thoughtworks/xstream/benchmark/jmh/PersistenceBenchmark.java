@@ -0,0 +1,239 @@
+/*
+ * Copyright (C) 2026 XStream Committers.
+ * All rights reserved.
+ *
+ * The software in this package is published under the terms of the BSD
+ * style license a copy of which has been included with this distribution in
+ * the LICENSE.txt file.
+ *
+ * Created on 17. October 2026
+ */
+package com.thoughtworks.xstream.benchmark.jmh;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.thoughtworks.xstream.XStream;
+import com.thoughtworks.xstream.io.binary.BinaryStreamDriver;
+import com.thoughtworks.xstream.persistence.FilePersistenceStrategy;
+import com.thoughtworks.xstream.persistence.IndexedFilePersistenceStrategy;
+import com.thoughtworks.xstream.persistence.LogPersistenceStrategy;
+import com.thoughtworks.xstream.persistence.PersistenceStrategy;
+import com.thoughtworks.xstream.persistence.WriteBehindPersistenceStrategy;
+
+
+/**
+ * Benchmark for values stored with a persistence strategy.
+ * <p>
+ * The update operation modifies a hundred keys ten times each and waits until all values have been stored, the read
+ * operation reads the values of all the keys.
+ * </p>
+ *
+ * @since upcoming
+ */
+@BenchmarkMode(Mode.Throughput)
+@Fork(value = 1)
+@Measurement(iterations = 15)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@State(Scope.Benchmark)
+@Threads(1)
+@Warmup(iterations = 5)
+public class PersistenceBenchmark {
+
+    /**
+     * Update mode. Enum values used as parameter for the benchmark methods.
+     *
+     * @since upcoming
+     */
+    public enum Update {
+        /**
+         * Update with {@link PersistenceStrategy#put(Object, Object)} reading the old value.
+         *
+         * @since upcoming
+         */
+        Put {
+            @Override
+            public void update(final PersistenceStrategy<Integer, String> strategy, final Integer key,
+                    final String value) {
+                strategy.put(key, value);
+            }
+        },
+        /**
+         * Update with {@link PersistenceStrategy#write(Object, Object)} ignoring the old value.
+         *
+         * @since upcoming
+         */
+        Write {
+            @Override
+            public void update(final PersistenceStrategy<Integer, String> strategy, final Integer key,
+                    final String value) {
+                strategy.write(key, value);
+            }
+        },
+        /**
+         * Update with a {@link WriteBehindPersistenceStrategy}.
+         *
+         * @since upcoming
+         */
+        WriteBehind {
+            @Override
+            public PersistenceStrategy<Integer, String> create(final File directory, final boolean sync) {
+                return new WriteBehindPersistenceStrategy<>(super.create(directory, sync));
+            }
+
+            @Override
+            public void update(final PersistenceStrategy<Integer, String> strategy, final Integer key,
+                    final String value) {
+                strategy.write(key, value);
+            }
+        },
+        /**
+         * Update with an {@link IndexedFilePersistenceStrategy}.
+         *
+         * @since upcoming
+         */
+        Indexed {
+            @Override
+            public PersistenceStrategy<Integer, String> create(final File directory, final boolean sync) {
+                return new IndexedFilePersistenceStrategy<>(directory, new XStream(), "UTF-8", ILLEGAL_CHARS, sync,
+                    1000);
+            }
+
+            @Override
+            public void update(final PersistenceStrategy<Integer, String> strategy, final Integer key,
+                    final String value) {
+                strategy.write(key, value);
+            }
+        },
+        /**
+         * Update with a {@link LogPersistenceStrategy}.
+         *
+         * @since upcoming
+         */
+        Log {
+            @Override
+            public PersistenceStrategy<Integer, String> create(final File directory, final boolean sync) {
+                return new LogPersistenceStrategy<>(directory, new XStream(), new BinaryStreamDriver(), 1024 * 1024,
+                    sync, Runnable::run);
+            }
+
+            @Override
+            public void update(final PersistenceStrategy<Integer, String> strategy, final Integer key,
+                    final String value) {
+                strategy.write(key, value);
+            }
+        };
+
+        /**
+         * Create the strategy.
+         *
+         * @param directory the directory for the files
+         * @param sync flag to force the content of the files to the storage device
+         * @return the strategy
+         * @since upcoming
+         */
+        public PersistenceStrategy<Integer, String> create(final File directory, final boolean sync) {
+            return new FilePersistenceStrategy<>(directory, new XStream(), "UTF-8", ILLEGAL_CHARS, sync);
+        }
+
+        /**
+         * Update a value.
+         *
+         * @param strategy the strategy
+         * @param key the key
+         * @param value the new value
+         * @since upcoming
+         */
+        public abstract void update(PersistenceStrategy<Integer, String> strategy, Integer key, String value);
+    }
+
+    private static final String ILLEGAL_CHARS = "<>?:/\\\"|*%";
+
+    @Param
+    private Update update;
+    @Param({"false", "true"})
+    private boolean sync;
+    private File directory;
+    private PersistenceStrategy<Integer, String> strategy;
+
+    /**
+     * Setup the directory and the strategy.
+     *
+     * @throws IOException if the directory cannot be created
+     * @since upcoming
+     */
+    @Setup
+    public void setUp() throws IOException {
+        directory = Files.createTempDirectory("xstream-persistence").toFile();
+        strategy = update.create(directory, sync);
+        for (int i = 0; i < 100; ++i) {
+            strategy.write(Integer.valueOf(i), "Initial value " + i);
+        }
+    }
+
+    /**
+     * Close the strategy and delete the directory.
+     *
+     * @since upcoming
+     */
+    @TearDown
+    public void tearDown() {
+        if (strategy instanceof Closeable) {
+            try {
+                ((Closeable)strategy).close();
+            } catch (final IOException e) {
+                throw new IllegalStateException(e);
+            }
+        }
+        for (final File file : directory.listFiles()) {
+            file.delete();
+        }
+        directory.delete();
+    }
+
+    /**
+     * Update the values and wait until they are stored.
+     *
+     * @return the number of stored values
+     * @since upcoming
+     */
+    @Benchmark
+    public int update() {
+        for (int i = 0; i < 1000; ++i) {
+            update.update(strategy, Integer.valueOf(i % 100), "Value " + i);
+        }
+        return strategy.size();
+    }
+
+    /**
+     * Read the values.
+     *
+     * @return the accumulated length of the values
+     * @since upcoming
+     */
+    @Benchmark
+    public int read() {
+        int length = 0;
+        for (int i = 0; i < 100; ++i) {
+            length += strategy.get(Integer.valueOf(i)).length();
+        }
+        return length;
+    }
+}
@@ -0,0 +1,177 @@
+/*
+ * Copyright (C) 2026 XStream Committers.
+ * All rights reserved.
+ *
+ * The software in this package is published under the terms of the BSD
+ * style license a copy of which has been included with this distribution in
+ * the LICENSE.txt file.
+ *
+ * Created on 16. October 2026
+ */
+package com.thoughtworks.xstream.benchmark.jmh;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import com.thoughtworks.xstream.converters.reflection.MethodHandleReflectionProvider;
+import com.thoughtworks.xstream.converters.reflection.PureJavaReflectionProvider;
+import com.thoughtworks.xstream.converters.reflection.ReflectionProvider;
+import com.thoughtworks.xstream.converters.reflection.SunLimitedUnsafeReflectionProvider;
+import com.thoughtworks.xstream.converters.reflection.SunUnsafeReflectionProvider;
+
+
+/**
+ * Benchmark for the different {@link ReflectionProvider} implementations.
+ *
+ * @since upcoming
+ */
+@BenchmarkMode(Mode.AverageTime)
+@Fork(value = 1)
+@Measurement(iterations = 15)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Benchmark)
+@Threads(1)
+@Warmup(iterations = 5)
+public class ReflectionProviderBenchmark {
+
+    /**
+     * Provider factory. Enum values used as parameter for the benchmark methods.
+     *
+     * @since upcoming
+     */
+    public enum ProviderFactory {
+        /**
+         * Factory for the {@link PureJavaReflectionProvider}.
+         *
+         * @since upcoming
+         */
+        PureJava(new PureJavaReflectionProvider()), //
+        /**
+         * Factory for the {@link SunLimitedUnsafeReflectionProvider}.
+         *
+         * @since upcoming
+         */
+        SunLimitedUnsafe(new SunLimitedUnsafeReflectionProvider()), //
+        /**
+         * Factory for the {@link SunUnsafeReflectionProvider}.
+         *
+         * @since upcoming
+         */
+        SunUnsafe(new SunUnsafeReflectionProvider()), //
+        /**
+         * Factory for the {@link MethodHandleReflectionProvider}.
+         *
+         * @since upcoming
+         */
+        MethodHandle(new MethodHandleReflectionProvider());
+
+        private final ReflectionProvider provider;
+
+        private ProviderFactory(final ReflectionProvider provider) {
+            this.provider = provider;
+        }
+
+        /**
+         * Request the reflection provider of the instantiated factory.
+         *
+         * @return the provider
+         * @since upcoming
+         */
+        public ReflectionProvider getProvider() {
+            return provider;
+        }
+    }
+
+    /**
+     * Simple type with fields of different kinds.
+     *
+     * @since upcoming
+     */
+    public static class Sample {
+        private String name;
+        private int count;
+        private long timestamp;
+        private double ratio;
+        private boolean active;
+
+        /**
+         * Construct a Sample.
+         *
+         * @since upcoming
+         */
+        public Sample() {
+            name = "sample";
+            count = 42;
+            timestamp = 1L;
+            ratio = 0.5;
+            active = true;
+        }
+    }
+
+    @Param
+    private ProviderFactory providerFactory;
+    private ReflectionProvider provider;
+    private Sample sample;
+
+    /**
+     * Setup the provider and the sample instance.
+     *
+     * @since upcoming
+     */
+    @Setup
+    public void setUp() {
+        provider = providerFactory.getProvider();
+        sample = new Sample();
+        provider.visitSerializableFields(sample, (fieldName, fieldType, definedIn, value) -> {});
+    }
+
+    /**
+     * Create new instances of the sample type.
+     *
+     * @return the new instance
+     * @since upcoming
+     */
+    @Benchmark
+    public Object newInstance() {
+        return provider.newInstance(Sample.class);
+    }
+
+    /**
+     * Write all fields of the sample instance.
+     *
+     * @since upcoming
+     */
+    @Benchmark
+    public void writeField() {
+        provider.writeField(sample, "name", "benchmark", Sample.class);
+        provider.writeField(sample, "count", Integer.valueOf(7), Sample.class);
+        provider.writeField(sample, "timestamp", Long.valueOf(2L), Sample.class);
+        provider.writeField(sample, "ratio", Double.valueOf(0.25), Sample.class);
+        provider.writeField(sample, "active", Boolean.FALSE, Sample.class);
+    }
+
+    /**
+     * Read all fields of the sample instance.
+     *
+     * @param blackhole the sink for the read values
+     * @since upcoming
+     */
+    @Benchmark
+    public void visitSerializableFields(final Blackhole blackhole) {
+        provider.visitSerializableFields(sample, (fieldName, fieldType, definedIn, value) -> blackhole.consume(
+            value));
+    }
+}
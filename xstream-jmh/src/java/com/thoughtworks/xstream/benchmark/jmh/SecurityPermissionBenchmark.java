@@ -0,0 +1,191 @@
+/*
+ * Copyright (C) 2026 XStream Committers.
+ * All rights reserved.
+ *
+ * The software in this package is published under the terms of the BSD
+ * style license a copy of which has been included with this distribution in
+ * the LICENSE.txt file.
+ *
+ * Created on 17. October 2026
+ */
+package com.thoughtworks.xstream.benchmark.jmh;
+
+import java.io.File;
+import java.math.BigDecimal;
+import java.net.URL;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.thoughtworks.xstream.mapper.MapperWrapper;
+import com.thoughtworks.xstream.mapper.SecurityMapper;
+import com.thoughtworks.xstream.security.CompositeTypePermission;
+import com.thoughtworks.xstream.security.ExplicitTypePermission;
+import com.thoughtworks.xstream.security.ForbiddenClassException;
+import com.thoughtworks.xstream.security.NullPermission;
+import com.thoughtworks.xstream.security.PrimitiveTypePermission;
+import com.thoughtworks.xstream.security.RegExpTypePermission;
+import com.thoughtworks.xstream.security.TypePermission;
+import com.thoughtworks.xstream.security.WildcardTypePermission;
+
+
+/**
+ * Benchmark for the evaluation of a large set of security permissions.
+ * <p>
+ * The permissions consist of hundreds of explicit types, wildcards and regular expressions. The benchmark compares the
+ * evaluation of the permissions one after another with the compiled {@link CompositeTypePermission} and the
+ * {@link SecurityMapper} caching the decision per type.
+ * </p>
+ *
+ * @since upcoming
+ */
+@BenchmarkMode(Mode.AverageTime)
+@Fork(value = 1)
+@Measurement(iterations = 15)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Benchmark)
+@Threads(1)
+@Warmup(iterations = 5)
+public class SecurityPermissionBenchmark {
+
+    /**
+     * Evaluation strategy for the permissions. Enum values used as parameter for the benchmark methods.
+     *
+     * @since upcoming
+     */
+    public enum Evaluation {
+        /**
+         * Evaluate the permissions one after another.
+         *
+         * @since upcoming
+         */
+        Sequential {
+            @Override
+            public TypePermission create(final List<TypePermission> permissions) {
+                return type -> {
+                    for (final TypePermission permission : permissions) {
+                        if (permission.allows(type)) {
+                            return true;
+                        }
+                    }
+                    return false;
+                };
+            }
+        },
+        /**
+         * Evaluate the permissions compiled into a {@link CompositeTypePermission}.
+         *
+         * @since upcoming
+         */
+        Compiled {
+            @Override
+            public TypePermission create(final List<TypePermission> permissions) {
+                return new CompositeTypePermission(permissions.toArray(new TypePermission[permissions.size()]));
+            }
+        },
+        /**
+         * Evaluate the permissions with the cache of the {@link SecurityMapper}.
+         *
+         * @since upcoming
+         */
+        Cached {
+            @Override
+            public TypePermission create(final List<TypePermission> permissions) {
+                final Map<String, Class<?>> types = new HashMap<>();
+                for (final Class<?> type : TYPES) {
+                    types.put(type.getName(), type);
+                }
+                final SecurityMapper mapper = new SecurityMapper(new MapperWrapper(null) {
+                    @Override
+                    public Class<?> realClass(final String elementName) {
+                        return types.get(elementName);
+                    }
+                }, permissions.toArray(new TypePermission[permissions.size()]));
+                return type -> {
+                    try {
+                        mapper.realClass(type.getName());
+                        return true;
+                    } catch (final ForbiddenClassException e) {
+                        return false;
+                    }
+                };
+            }
+        };
+
+        /**
+         * Create the permission evaluating the given permissions in their sequence.
+         *
+         * @param permissions the permissions
+         * @return the evaluating permission
+         * @since upcoming
+         */
+        public abstract TypePermission create(List<TypePermission> permissions);
+    }
+
+    private static final Class<?>[] TYPES = {
+        String.class, Integer.class, int.class, ArrayList.class, HashMap.class, TreeSet.class, ConcurrentHashMap.class,
+        URL.class, File.class, LocalDate.class, BigDecimal.class, Pattern.class, SecurityPermissionBenchmark.class,
+        Evaluation.class, Thread.class, ProcessBuilder.class};
+
+    @Param
+    private Evaluation evaluation;
+    private TypePermission permission;
+
+    /**
+     * Setup the permissions.
+     *
+     * @since upcoming
+     */
+    @Setup
+    public void setUp() {
+        final List<TypePermission> permissions = new ArrayList<>();
+        for (int i = 0; i < 100; ++i) {
+            permissions.add(new ExplicitTypePermission("com.example.model" + i + ".Type" + i));
+            permissions.add(new WildcardTypePermission("com.example.package" + i + ".**"));
+            permissions.add(new RegExpTypePermission("org\\.example\\.module" + i + "\\..*Dto"));
+        }
+        permissions.add(new WildcardTypePermission("java.util.*", "java.time.*", "com.thoughtworks.xstream.**"));
+        permissions.add(new ExplicitTypePermission(String.class, BigDecimal.class));
+        permissions.add(PrimitiveTypePermission.PRIMITIVES);
+        permissions.add(NullPermission.NULL);
+        Collections.reverse(permissions);
+        permission = evaluation.create(permissions);
+    }
+
+    /**
+     * Evaluate the permissions for a set of types.
+     *
+     * @return the number of allowed types
+     * @since upcoming
+     */
+    @Benchmark
+    public int allows() {
+        int allowed = 0;
+        for (final Class<?> type : TYPES) {
+            if (permission.allows(type)) {
+                ++allowed;
+            }
+        }
+        return allowed;
+    }
+}
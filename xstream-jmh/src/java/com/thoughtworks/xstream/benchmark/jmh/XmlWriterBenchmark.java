@@ -0,0 +1,179 @@
+/*
+ * Copyright (C) 2026 XStream Committers.
+ * All rights reserved.
+ *
+ * The software in this package is published under the terms of the BSD
+ * style license a copy of which has been included with this distribution in
+ * the LICENSE.txt file.
+ *
+ * Created on 16. October 2026
+ */
+package com.thoughtworks.xstream.benchmark.jmh;
+
+import java.io.ByteArrayOutputStream;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.thoughtworks.xstream.XStream;
+import com.thoughtworks.xstream.io.HierarchicalStreamWriter;
+import com.thoughtworks.xstream.io.xml.CompactWriter;
+import com.thoughtworks.xstream.io.xml.PrettyPrintWriter;
+import com.thoughtworks.xstream.io.xml.Utf8XmlWriter;
+import com.thoughtworks.xstream.io.xml.XmlFriendlyNameCoder;
+
+
+/**
+ * Benchmark for the XML writers producing UTF-8 encoded bytes.
+ *
+ * @since upcoming
+ */
+@BenchmarkMode(Mode.AverageTime)
+@Fork(value = 1)
+@Measurement(iterations = 15)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+@Threads(1)
+@Warmup(iterations = 5)
+public class XmlWriterBenchmark {
+
+    /**
+     * Writer factory. Enum values used as parameter for the benchmark methods.
+     *
+     * @since upcoming
+     */
+    public enum WriterFactory {
+        /**
+         * Factory for the {@link PrettyPrintWriter} with an {@link OutputStreamWriter}.
+         *
+         * @since upcoming
+         */
+        PrettyPrint {
+            @Override
+            public HierarchicalStreamWriter createWriter(final OutputStream out) {
+                return new PrettyPrintWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+            }
+        },
+        /**
+         * Factory for the {@link CompactWriter} with an {@link OutputStreamWriter}.
+         *
+         * @since upcoming
+         */
+        Compact {
+            @Override
+            public HierarchicalStreamWriter createWriter(final OutputStream out) {
+                return new CompactWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+            }
+        },
+        /**
+         * Factory for the pretty printing {@link Utf8XmlWriter}.
+         *
+         * @since upcoming
+         */
+        Utf8PrettyPrint {
+            @Override
+            public HierarchicalStreamWriter createWriter(final OutputStream out) {
+                return new Utf8XmlWriter(out);
+            }
+        },
+        /**
+         * Factory for the compact {@link Utf8XmlWriter}.
+         *
+         * @since upcoming
+         */
+        Utf8Compact {
+            @Override
+            public HierarchicalStreamWriter createWriter(final OutputStream out) {
+                return new Utf8XmlWriter(out, PrettyPrintWriter.XML_QUIRKS, null, new XmlFriendlyNameCoder());
+            }
+        };
+
+        /**
+         * Create a writer for the output stream.
+         *
+         * @param out the target stream
+         * @return the writer
+         * @since upcoming
+         */
+        public abstract HierarchicalStreamWriter createWriter(OutputStream out);
+    }
+
+    /**
+     * Simple type with some text values.
+     *
+     * @since upcoming
+     */
+    public static class Item {
+        String name;
+        String description;
+        int quantity;
+        double price;
+
+        /**
+         * Construct an Item.
+         *
+         * @param index index of the item
+         * @since upcoming
+         */
+        public Item(final int index) {
+            name = "Item " + index;
+            description = "Description with <markup> & \"quotes\" and non-ASCII characters: äöü € " + index;
+            quantity = index;
+            price = index * 1.5;
+        }
+    }
+
+    @Param
+    private WriterFactory writerFactory;
+    private XStream xstream;
+    private List<Item> items;
+    private ByteArrayOutputStream out;
+
+    /**
+     * Setup the XStream instance and the data.
+     *
+     * @since upcoming
+     */
+    @Setup
+    public void setUp() {
+        xstream = new XStream();
+        xstream.allowTypes(Item.class);
+        xstream.alias("item", Item.class);
+        items = new ArrayList<>();
+        for (int i = 0; i < 100; ++i) {
+            items.add(new Item(i));
+        }
+        out = new ByteArrayOutputStream(64 * 1024);
+    }
+
+    /**
+     * Marshal a list of items into UTF-8 encoded bytes.
+     *
+     * @return the number of written bytes
+     * @since upcoming
+     */
+    @Benchmark
+    public int marshal() {
+        out.reset();
+        final HierarchicalStreamWriter writer = writerFactory.createWriter(out);
+        xstream.marshal(items, writer);
+        writer.flush();
+        return out.size();
+    }
+}
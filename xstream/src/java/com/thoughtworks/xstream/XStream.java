@@ -1,6 +1,6 @@
 /*
  * Copyright (C) 2003, 2004, 2005, 2006 Joe Walnes.
- * Copyright (C) 2006, 2007, 2008, 2009, 2010, 2011, 2012, 2013, 2014, 2015, 2016, 2017, 2018, 2019, 2020, 2021, 2022 XStream Committers.
+ * Copyright (C) 2006, 2007, 2008, 2009, 2010, 2011, 2012, 2013, 2014, 2015, 2016, 2017, 2018, 2019, 2020, 2021, 2022, 2026 XStream Committers.
  * All rights reserved.
  *
  * The software in this package is published under the terms of the BSD
@@ -11,6 +11,8 @@
  */
 package com.thoughtworks.xstream;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
 import java.io.EOFException;
 import java.io.File;
 import java.io.IOException;
@@ -73,6 +75,7 @@ import java.time.temporal.ChronoUnit;
 import java.time.temporal.ValueRange;
 import java.time.temporal.WeekFields;
 import java.util.ArrayList;
+import java.util.ArrayDeque;
 import java.util.Arrays;
 import java.util.BitSet;
 import java.util.Calendar;
@@ -80,18 +83,21 @@ import java.util.Collection;
 import java.util.Collections;
 import java.util.Currency;
 import java.util.Date;
+import java.util.Deque;
 import java.util.EnumMap;
 import java.util.EnumSet;
 import java.util.GregorianCalendar;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Hashtable;
+import java.util.Iterator;
 import java.util.LinkedHashMap;
 import java.util.LinkedHashSet;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
+import java.util.NoSuchElementException;
 import java.util.Optional;
 import java.util.OptionalDouble;
 import java.util.OptionalInt;
@@ -99,17 +105,25 @@ import java.util.OptionalLong;
 import java.util.Properties;
 import java.util.Set;
 import java.util.SortedSet;
+import java.util.Spliterator;
+import java.util.Spliterators;
 import java.util.TimeZone;
 import java.util.TreeMap;
 import java.util.TreeSet;
 import java.util.UUID;
 import java.util.Vector;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Future;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicLong;
 import java.util.concurrent.atomic.AtomicReference;
 import java.util.regex.Pattern;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 import com.thoughtworks.xstream.converters.ConversionException;
 import com.thoughtworks.xstream.converters.Converter;
@@ -141,6 +155,7 @@ import com.thoughtworks.xstream.converters.collections.BitSetConverter;
 import com.thoughtworks.xstream.converters.collections.CharArrayConverter;
 import com.thoughtworks.xstream.converters.collections.CollectionConverter;
 import com.thoughtworks.xstream.converters.collections.MapConverter;
+import com.thoughtworks.xstream.converters.collections.PrimitiveArrayConverter;
 import com.thoughtworks.xstream.converters.collections.PropertiesConverter;
 import com.thoughtworks.xstream.converters.collections.SingletonCollectionConverter;
 import com.thoughtworks.xstream.converters.collections.SingletonMapConverter;
@@ -213,14 +228,20 @@ import com.thoughtworks.xstream.core.ReferenceByIdMarshallingStrategy;
 import com.thoughtworks.xstream.core.ReferenceByXPathMarshallingStrategy;
 import com.thoughtworks.xstream.core.TreeMarshallingStrategy;
 import com.thoughtworks.xstream.core.util.CompositeClassLoader;
+import com.thoughtworks.xstream.core.util.CrossReferenceDetectingWriter;
 import com.thoughtworks.xstream.core.util.CustomObjectInputStream;
 import com.thoughtworks.xstream.core.util.CustomObjectOutputStream;
 import com.thoughtworks.xstream.core.util.DefaultDriver;
+import com.thoughtworks.xstream.core.util.HierarchicalStreams;
+import com.thoughtworks.xstream.core.util.RecordingWriter;
 import com.thoughtworks.xstream.core.util.SelfStreamingInstanceChecker;
 import com.thoughtworks.xstream.io.HierarchicalStreamDriver;
 import com.thoughtworks.xstream.io.HierarchicalStreamReader;
 import com.thoughtworks.xstream.io.HierarchicalStreamWriter;
 import com.thoughtworks.xstream.io.StatefulWriter;
+import com.thoughtworks.xstream.io.binary.BinaryStreamReader;
+import com.thoughtworks.xstream.io.binary.BinaryStreamWriter;
+import com.thoughtworks.xstream.io.copy.HierarchicalStreamCopier;
 import com.thoughtworks.xstream.mapper.AnnotationMapper;
 import com.thoughtworks.xstream.mapper.ArrayMapper;
 import com.thoughtworks.xstream.mapper.AttributeAliasingMapper;
@@ -414,6 +435,7 @@ public class XStream {
     private LocalConversionMapper localConversionMapper;
     private SecurityMapper securityMapper;
     private AnnotationMapper annotationMapper;
+    private CachingMapper cachingMapper;
 
     public static final int NO_REFERENCES = 1001;
     public static final int ID_REFERENCES = 1002;
@@ -431,6 +453,8 @@ public class XStream {
     public static final String COLLECTION_UPDATE_SECONDS = "XStreamCollectionUpdateSeconds";
 
     private static final Pattern IGNORE_ALL = Pattern.compile(".*");
+    private static final int PARALLEL_CHUNK_SIZE = 256;
+    private static final int PARALLEL_MAX_PENDING_CHUNKS = 64;
 
     /**
      * Constructs a default XStream.
@@ -709,6 +733,7 @@ public class XStream {
         localConversionMapper = mapper.lookupMapperOfType(LocalConversionMapper.class);
         securityMapper = mapper.lookupMapperOfType(SecurityMapper.class);
         annotationMapper = mapper.lookupMapperOfType(AnnotationMapper.class);
+        cachingMapper = mapper.lookupMapperOfType(CachingMapper.class);
     }
 
     protected void setupSecurity() {
@@ -990,6 +1015,7 @@ public class XStream {
 
         registerConverter(new ArrayConverter(mapper), PRIORITY_NORMAL);
         registerConverter(new CharArrayConverter(), PRIORITY_NORMAL);
+        registerConverter(new PrimitiveArrayConverter(mapper, converterLookup), PRIORITY_NORMAL);
         registerConverter(new CollectionConverter(mapper), PRIORITY_NORMAL);
         registerConverter(new MapConverter(mapper), PRIORITY_NORMAL);
         registerConverter(new TreeMapConverter(mapper), PRIORITY_NORMAL);
@@ -1434,12 +1460,13 @@ public class XStream {
      *
      * @param name Short name
      * @param type Type to be aliased
-     * @throws InitializationException if no {@link ClassAliasingMapper} is available
+     * @throws InitializationException if no {@link ClassAliasingMapper} is available or the mapper is frozen
      */
     public void alias(final String name, final Class<?> type) {
         if (classAliasingMapper == null) {
             throw new InitializationException("No " + ClassAliasingMapper.class.getName() + " available");
         }
+        checkMapperNotFrozen();
         classAliasingMapper.addClassAlias(name, type);
     }
 
@@ -1450,12 +1477,13 @@ public class XStream {
      * @param name Short name
      * @param type Type to be aliased
      * @since 1.2
-     * @throws InitializationException if no {@link ClassAliasingMapper} is available
+     * @throws InitializationException if no {@link ClassAliasingMapper} is available or the mapper is frozen
      */
     public void aliasType(final String name, final Class<?> type) {
         if (classAliasingMapper == null) {
             throw new InitializationException("No " + ClassAliasingMapper.class.getName() + " available");
         }
+        checkMapperNotFrozen();
         classAliasingMapper.addTypeAlias(name, type);
     }
 
@@ -1466,7 +1494,7 @@ public class XStream {
      * @param type Type to be aliased
      * @param defaultImplementation Default implementation of type to use if no other specified.
      * @throws InitializationException if no {@link DefaultImplementationsMapper} or no {@link ClassAliasingMapper} is
-     *             available
+     *             available or the mapper is frozen
      */
     public void alias(final String name, final Class<?> type, final Class<?> defaultImplementation) {
         alias(name, type);
@@ -1479,13 +1507,14 @@ public class XStream {
      * @param name Short name
      * @param pkgName package to be aliased
      * @throws InitializationException if no {@link DefaultImplementationsMapper} or no {@link PackageAliasingMapper} is
-     *             available
+     *             available or the mapper is frozen
      * @since 1.3.1
      */
     public void aliasPackage(final String name, final String pkgName) {
         if (packageAliasingMapper == null) {
             throw new InitializationException("No " + PackageAliasingMapper.class.getName() + " available");
         }
+        checkMapperNotFrozen();
         packageAliasingMapper.addPackageAlias(name, pkgName);
     }
 
@@ -1495,12 +1524,13 @@ public class XStream {
      * @param alias the alias itself
      * @param definedIn the type that declares the field
      * @param fieldName the name of the field
-     * @throws InitializationException if no {@link FieldAliasingMapper} is available
+     * @throws InitializationException if no {@link FieldAliasingMapper} is available or the mapper is frozen
      */
     public void aliasField(final String alias, final Class<?> definedIn, final String fieldName) {
         if (fieldAliasingMapper == null) {
             throw new InitializationException("No " + FieldAliasingMapper.class.getName() + " available");
         }
+        checkMapperNotFrozen();
         fieldAliasingMapper.addFieldAlias(alias, definedIn, fieldName);
     }
 
@@ -1509,12 +1539,13 @@ public class XStream {
      *
      * @param alias the alias itself
      * @param attributeName the name of the attribute
-     * @throws InitializationException if no {@link AttributeAliasingMapper} is available
+     * @throws InitializationException if no {@link AttributeAliasingMapper} is available or the mapper is frozen
      */
     public void aliasAttribute(final String alias, final String attributeName) {
         if (attributeAliasingMapper == null) {
             throw new InitializationException("No " + AttributeAliasingMapper.class.getName() + " available");
         }
+        checkMapperNotFrozen();
         attributeAliasingMapper.addAliasFor(attributeName, alias);
     }
 
@@ -1525,13 +1556,14 @@ public class XStream {
      *
      * @param alias the alias itself (may be <code>null</code>)
      * @param systemAttributeName the name of the system attribute
-     * @throws InitializationException if no {@link SystemAttributeAliasingMapper} is available
+     * @throws InitializationException if no {@link SystemAttributeAliasingMapper} is available or the mapper is frozen
      * @since 1.3.1
      */
     public void aliasSystemAttribute(final String alias, final String systemAttributeName) {
         if (systemAttributeAliasingMapper == null) {
             throw new InitializationException("No " + SystemAttributeAliasingMapper.class.getName() + " available");
         }
+        checkMapperNotFrozen();
         systemAttributeAliasingMapper.addAliasFor(systemAttributeName, alias);
     }
 
@@ -1541,7 +1573,7 @@ public class XStream {
      * @param definedIn the type where the attribute is defined
      * @param attributeName the name of the attribute
      * @param alias the alias itself
-     * @throws InitializationException if no {@link AttributeAliasingMapper} is available
+     * @throws InitializationException if no {@link AttributeAliasingMapper} is available or the mapper is frozen
      * @since 1.2.2
      */
     public void aliasAttribute(final Class<?> definedIn, final String attributeName, final String alias) {
@@ -1554,13 +1586,14 @@ public class XStream {
      *
      * @param fieldName the name of the field
      * @param type the Class of the type to be rendered as XML attribute
-     * @throws InitializationException if no {@link AttributeMapper} is available
+     * @throws InitializationException if no {@link AttributeMapper} is available or the mapper is frozen
      * @since 1.2
      */
     public void useAttributeFor(final String fieldName, final Class<?> type) {
         if (attributeMapper == null) {
             throw new InitializationException("No " + AttributeMapper.class.getName() + " available");
         }
+        checkMapperNotFrozen();
         attributeMapper.addAttributeFor(fieldName, type);
     }
 
@@ -1569,13 +1602,14 @@ public class XStream {
      *
      * @param fieldName the name of the field
      * @param definedIn the Class containing such field
-     * @throws InitializationException if no {@link AttributeMapper} is available
+     * @throws InitializationException if no {@link AttributeMapper} is available or the mapper is frozen
      * @since 1.2.2
      */
     public void useAttributeFor(final Class<?> definedIn, final String fieldName) {
         if (attributeMapper == null) {
             throw new InitializationException("No " + AttributeMapper.class.getName() + " available");
         }
+        checkMapperNotFrozen();
         attributeMapper.addAttributeFor(definedIn, fieldName);
     }
 
@@ -1583,13 +1617,14 @@ public class XStream {
      * Use an attribute for an arbitrary type.
      *
      * @param type the Class of the type to be rendered as XML attribute
-     * @throws InitializationException if no {@link AttributeMapper} is available
+     * @throws InitializationException if no {@link AttributeMapper} is available or the mapper is frozen
      * @since 1.2
      */
     public void useAttributeFor(final Class<?> type) {
         if (attributeMapper == null) {
             throw new InitializationException("No " + AttributeMapper.class.getName() + " available");
         }
+        checkMapperNotFrozen();
         attributeMapper.addAttributeFor(type);
     }
 
@@ -1600,12 +1635,13 @@ public class XStream {
      *
      * @param defaultImplementation
      * @param ofType
-     * @throws InitializationException if no {@link DefaultImplementationsMapper} is available
+     * @throws InitializationException if no {@link DefaultImplementationsMapper} is available or the mapper is frozen
      */
     public void addDefaultImplementation(final Class<?> defaultImplementation, final Class<?> ofType) {
         if (defaultImplementationsMapper == null) {
             throw new InitializationException("No " + DefaultImplementationsMapper.class.getName() + " available");
         }
+        checkMapperNotFrozen();
         defaultImplementationsMapper.addDefaultImplementation(defaultImplementation, ofType);
     }
 
@@ -1613,7 +1649,7 @@ public class XStream {
      * Add immutable types. The value of the instances of these types will always be written into the stream even if
      * they appear multiple times. However, references are still supported at deserialization time.
      *
-     * @throws InitializationException if no {@link ImmutableTypesMapper} is available
+     * @throws InitializationException if no {@link ImmutableTypesMapper} is available or the mapper is frozen
      * @deprecated As of 1.4.9 use {@link #addImmutableType(Class, boolean)}
      */
     @Deprecated
@@ -1633,7 +1669,7 @@ public class XStream {
      *
      * @param isReferenceable <code>true</code> if support at deserialization time is required for compatibility at the
      *            cost of a higher memory footprint, <code>false</code> otherwise
-     * @throws InitializationException if no {@link ImmutableTypesMapper} is available
+     * @throws InitializationException if no {@link ImmutableTypesMapper} is available or the mapper is frozen
      * @since 1.4.9
      */
     public void addImmutableType(final Class<?> type, final boolean isReferenceable) {
@@ -1642,6 +1678,7 @@ public class XStream {
                 + ImmutableTypesMapper.class.getName()
                 + " available");
         }
+        checkMapperNotFrozen();
         immutableTypesMapper.addImmutableType(type, isReferenceable);
     }
 
@@ -1649,6 +1686,7 @@ public class XStream {
      * Register a converter with normal priority.
      *
      * @param converter the converter instance
+     * @throws InitializationException if the mapper is frozen
      */
     public void registerConverter(final Converter converter) {
         registerConverter(converter, PRIORITY_NORMAL);
@@ -1659,8 +1697,10 @@ public class XStream {
      *
      * @param converter the converter instance
      * @param priority the converter priority
+     * @throws InitializationException if the mapper is frozen
      */
     public void registerConverter(final Converter converter, final int priority) {
+        checkMapperNotFrozen();
         if (converterRegistry != null) {
             converterRegistry.registerConverter(converter, priority);
         }
@@ -1670,6 +1710,7 @@ public class XStream {
      * Register a single value converter with normal priority.
      *
      * @param converter the single value converter instance
+     * @throws InitializationException if the mapper is frozen
      */
     public void registerConverter(final SingleValueConverter converter) {
         registerConverter(converter, PRIORITY_NORMAL);
@@ -1680,8 +1721,10 @@ public class XStream {
      *
      * @param converter the single converter instance
      * @param priority the converter priority
+     * @throws InitializationException if the mapper is frozen
      */
     public void registerConverter(final SingleValueConverter converter, final int priority) {
+        checkMapperNotFrozen();
         if (converterRegistry != null) {
             converterRegistry.registerConverter(new SingleValueConverterWrapper(converter), priority);
         }
@@ -1693,12 +1736,14 @@ public class XStream {
      * @param definedIn the class type the field is defined in
      * @param fieldName the field name
      * @param converter the converter to use
+     * @throws InitializationException if no {@link LocalConversionMapper} is available or the mapper is frozen
      * @since 1.3
      */
     public void registerLocalConverter(final Class<?> definedIn, final String fieldName, final Converter converter) {
         if (localConversionMapper == null) {
             throw new InitializationException("No " + LocalConversionMapper.class.getName() + " available");
         }
+        checkMapperNotFrozen();
         localConversionMapper.registerLocalConverter(definedIn, fieldName, converter);
     }
 
@@ -1882,6 +1927,7 @@ public class XStream {
      * @param itemName alias name of the items
      * @param itemType type of the items to be part of this map as value
      * @param keyFieldName the name of the field of the itemType that is used for the key in the map
+     * @throws InitializationException if no {@link ImplicitCollectionMapper} is available or the mapper is frozen
      * @since 1.4
      */
     public void addImplicitMap(final Class<?> ownerType, final String fieldName, final String itemName,
@@ -1889,6 +1935,7 @@ public class XStream {
         if (implicitCollectionMapper == null) {
             throw new InitializationException("No " + ImplicitCollectionMapper.class.getName() + " available");
         }
+        checkMapperNotFrozen();
         implicitCollectionMapper.add(ownerType, fieldName, itemName, itemType, keyFieldName);
     }
 
@@ -2149,6 +2196,357 @@ public class XStream {
         }, classLoaderReference);
     }
 
+    /**
+     * Creates a Stream that deserializes the child elements of the root element from a reader one by one.
+     *
+     * @see #createStream(HierarchicalStreamReader, DataHolder)
+     * @since upcoming
+     */
+    @SuppressWarnings("resource")
+    public <T> Stream<T> createStream(final Reader xmlReader) {
+        return createStream(hierarchicalStreamDriver.createReader(xmlReader), null);
+    }
+
+    /**
+     * Creates a Stream that deserializes the child elements of the root element from an InputStream one by one.
+     *
+     * @see #createStream(HierarchicalStreamReader, DataHolder)
+     * @since upcoming
+     */
+    @SuppressWarnings("resource")
+    public <T> Stream<T> createStream(final InputStream in) {
+        return createStream(hierarchicalStreamDriver.createReader(in), null);
+    }
+
+    /**
+     * Creates a Stream that deserializes the child elements of the current node of a reader one by one.
+     *
+     * @see #createStream(HierarchicalStreamReader, DataHolder)
+     * @since upcoming
+     */
+    public <T> Stream<T> createStream(final HierarchicalStreamReader reader) {
+        return createStream(reader, null);
+    }
+
+    /**
+     * Creates a Stream that deserializes the child elements of the current node of a reader one by one.
+     * <p>
+     * The stream is sequential and processes the elements as described for
+     * {@link #createIterator(HierarchicalStreamReader, DataHolder)}. Closing the stream will close the reader.
+     * </p>
+     * <h3>Example</h3>
+     *
+     * <pre>
+     * try (Stream&lt;Item&gt; items = xstream.createStream(aReader)) {
+     *     items.filter(Item::isAvailable).forEach(System.out::println);
+     * }
+     * </pre>
+     *
+     * @param reader the reader positioned at the parent element
+     * @param dataHolder Extra data you can use to pass to your converters. Use this as you want. If not present,
+     *            XStream shall create one lazily as needed.
+     * @return the stream of the deserialized elements
+     * @see #createIterator(HierarchicalStreamReader, DataHolder)
+     * @since upcoming
+     */
+    public <T> Stream<T> createStream(final HierarchicalStreamReader reader, final DataHolder dataHolder) {
+        final Iterator<T> iterator = createIterator(reader, dataHolder);
+        return StreamSupport
+            .stream(Spliterators.spliteratorUnknownSize(iterator, Spliterator.ORDERED), false)
+            .onClose(reader::close);
+    }
+
+    /**
+     * Creates an Iterator that deserializes the child elements of the current node of a reader one by one.
+     *
+     * @see #createIterator(HierarchicalStreamReader, DataHolder)
+     * @since upcoming
+     */
+    public <T> Iterator<T> createIterator(final HierarchicalStreamReader reader) {
+        return createIterator(reader, null);
+    }
+
+    /**
+     * Creates an Iterator that deserializes the child elements of the current node of a reader one by one.
+     * <p>
+     * Each element is deserialized only when it is requested and not kept by the iterator. Therefore a collection of
+     * arbitrary size can be processed, either as stream of objects written with an ObjectOutputStream or as elements of
+     * a collection. Since every element is deserialized on its own, references between different elements cannot be
+     * resolved. The iterator does not close the reader.
+     * </p>
+     * <p>
+     * A freshly created reader is positioned at the root element, i.e. the iterator returns the elements of a
+     * top-level collection. Move the reader down to process a nested collection instead.
+     * </p>
+     * <h3>Example</h3>
+     *
+     * <pre>
+     * HierarchicalStreamReader reader = driver.createReader(in);
+     * reader.moveDown(); // e.g. the list in the first field of the root object
+     * Iterator&lt;Item&gt; iter = xstream.createIterator(reader);
+     * while (iter.hasNext()) {
+     *     process(iter.next());
+     * }
+     * reader.moveUp();
+     * </pre>
+     *
+     * @param reader the reader positioned at the parent element
+     * @param dataHolder Extra data you can use to pass to your converters. Use this as you want. If not present,
+     *            XStream shall create one lazily as needed.
+     * @return the iterator of the deserialized elements
+     * @see #createObjectInputStream(HierarchicalStreamReader, DataHolder)
+     * @since upcoming
+     */
+    public <T> Iterator<T> createIterator(final HierarchicalStreamReader reader, final DataHolder dataHolder) {
+        final DataHolder dh = dataHolder != null ? dataHolder : new MapBackedDataHolder();
+        return new Iterator<T>() {
+            @Override
+            public boolean hasNext() {
+                return reader.hasMoreChildren();
+            }
+
+            @Override
+            public T next() {
+                if (!reader.hasMoreChildren()) {
+                    throw new NoSuchElementException();
+                }
+                reader.moveDown();
+                final T result = unmarshal(reader, null, dh);
+                reader.moveUp();
+                return result;
+            }
+        };
+    }
+
+    /**
+     * Deserialize an object from a hierarchical data structure (such as XML) unmarshalling the elements of a root
+     * collection concurrently.
+     *
+     * @see #unmarshalParallel(HierarchicalStreamReader, DataHolder, Executor)
+     * @since upcoming
+     */
+    public <T> T unmarshalParallel(final HierarchicalStreamReader reader, final Executor executor) {
+        return unmarshalParallel(reader, null, executor);
+    }
+
+    /**
+     * Deserialize an object from a hierarchical data structure (such as XML) unmarshalling the elements of a root
+     * collection concurrently.
+     * <p>
+     * If the root element is a collection handled by the {@link CollectionConverter}, the elements are read in chunks
+     * of 256 elements into a buffer and every chunk is unmarshalled as a separate task of the
+     * executor. The elements are added to the collection in their original order. Any other root object is
+     * deserialized as usual. Each element is deserialized on its own, i.e. the elements must be independent records.
+     * If a reference of an element points to the outside of this element, the already buffered input is deserialized
+     * as a whole in the current thread instead.
+     * </p>
+     * <p>
+     * The method requires a reader that is positioned at the root element. Note, that converters may be called
+     * concurrently and that every task uses its own copy of the data holder.
+     * </p>
+     *
+     * @param reader the reader positioned at the root element
+     * @param dataHolder Extra data you can use to pass to your converters. Use this as you want. If not present,
+     *            XStream shall create one lazily as needed.
+     * @param executor the executor for the tasks, e.g. a ForkJoinPool
+     * @throws XStreamException if the object cannot be deserialized
+     * @see #unmarshal(HierarchicalStreamReader, Object, DataHolder)
+     * @since upcoming
+     */
+    public <T> T unmarshalParallel(final HierarchicalStreamReader reader, final DataHolder dataHolder,
+            final Executor executor) {
+        final Class<?> type = mapper.defaultImplementationOf(HierarchicalStreams.readClassType(reader, mapper));
+        if (!Collection.class.isAssignableFrom(type)
+            || !(converterLookup.lookupConverterForType(type) instanceof CollectionConverter)) {
+            return unmarshal(reader, null, dataHolder);
+        }
+
+        final String rootName = reader.getNodeName();
+        final String[] attributes = new String[reader.getAttributeCount() * 2];
+        for (int i = 0; i < attributes.length; i += 2) {
+            attributes[i] = reader.getAttributeName(i / 2);
+            attributes[i + 1] = reader.getAttribute(i / 2);
+        }
+
+        final HierarchicalStreamCopier copier = new HierarchicalStreamCopier();
+        final List<byte[]> chunks = new ArrayList<>();
+        final List<CompletableFuture<List<Object>>> futures = new ArrayList<>();
+        boolean crossReference = false;
+        try {
+            while (reader.hasMoreChildren()) {
+                final ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+                final BinaryStreamWriter chunkWriter = new BinaryStreamWriter(buffer);
+                final CrossReferenceDetectingWriter detector = new CrossReferenceDetectingWriter(chunkWriter, mapper);
+                chunkWriter.startNode("chunk");
+                for (int i = 0; i < PARALLEL_CHUNK_SIZE && reader.hasMoreChildren(); ++i) {
+                    reader.moveDown();
+                    copier.copy(reader, detector);
+                    reader.moveUp();
+                }
+                chunkWriter.endNode();
+                chunkWriter.flush();
+                final byte[] chunk = buffer.toByteArray();
+                chunks.add(chunk);
+                if (!crossReference) {
+                    crossReference = detector.hasCrossReference();
+                    if (crossReference) {
+                        futures.forEach(future -> future.cancel(false));
+                    } else {
+                        final DataHolder taskDataHolder = copyDataHolder(dataHolder);
+                        futures.add(CompletableFuture.supplyAsync(() -> {
+                            final List<Object> elements = new ArrayList<>(PARALLEL_CHUNK_SIZE);
+                            createIterator(new BinaryStreamReader(new ByteArrayInputStream(chunk)), taskDataHolder)
+                                .forEachRemaining(elements::add);
+                            return elements;
+                        }, executor));
+                    }
+                }
+            }
+        } catch (final StackOverflowError e) {
+            throw new InputManipulationException("Possible Denial of Service attack by Stack Overflow");
+        }
+
+        final ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+        final BinaryStreamWriter writer = new BinaryStreamWriter(buffer);
+        writer.startNode(rootName);
+        for (int i = 0; i < attributes.length; i += 2) {
+            writer.addAttribute(attributes[i], attributes[i + 1]);
+        }
+        if (crossReference) {
+            for (final byte[] chunk : chunks) {
+                final HierarchicalStreamReader chunkReader = new BinaryStreamReader(new ByteArrayInputStream(chunk));
+                while (chunkReader.hasMoreChildren()) {
+                    chunkReader.moveDown();
+                    copier.copy(chunkReader, writer);
+                    chunkReader.moveUp();
+                }
+            }
+        }
+        writer.endNode();
+        writer.flush();
+        final T result = unmarshal(new BinaryStreamReader(new ByteArrayInputStream(buffer.toByteArray())), null,
+            dataHolder);
+        if (!crossReference) {
+            @SuppressWarnings("unchecked")
+            final Collection<Object> collection = (Collection<Object>)result;
+            long millis = 0;
+            for (final CompletableFuture<List<Object>> future : futures) {
+                final List<Object> elements = join(future, futures);
+                final long start = System.currentTimeMillis();
+                collection.addAll(elements);
+                millis += System.currentTimeMillis() - start;
+                if (collectionUpdateLimit > 0 && millis / 1000 > collectionUpdateLimit) {
+                    throw new InputManipulationException(
+                        "Denial of Service attack assumed. Adding elements to collections or maps exceeds "
+                            + collectionUpdateLimit
+                            + " seconds.");
+                }
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Serialize an object to a hierarchical data structure (such as XML) marshalling the elements of a root collection
+     * concurrently.
+     *
+     * @see #marshalParallel(Object, HierarchicalStreamWriter, DataHolder, Executor)
+     * @since upcoming
+     */
+    public void marshalParallel(final Object obj, final HierarchicalStreamWriter writer, final Executor executor) {
+        marshalParallel(obj, writer, null, executor);
+    }
+
+    /**
+     * Serialize an object to a hierarchical data structure (such as XML) marshalling the elements of a root collection
+     * concurrently.
+     * <p>
+     * If the object graph is written without references (see {@link #NO_REFERENCES}) and the root object is a
+     * collection handled by the {@link CollectionConverter}, the elements are marshalled in chunks of 256 elements as
+     * separate tasks of the executor. Each task records the output of its elements in memory and the calling thread
+     * writes the recorded chunks in their original order into the writer. The result is the same as written by
+     * {@link #marshal(Object, HierarchicalStreamWriter, DataHolder)}, which is used for any other object or mode.
+     * </p>
+     * <p>
+     * Note, that converters may be called concurrently and that every task uses its own copy of the data holder.
+     * </p>
+     *
+     * @param obj the object to marshal
+     * @param writer the target writer
+     * @param dataHolder Extra data you can use to pass to your converters. Use this as you want. If not present,
+     *            XStream shall create one lazily as needed.
+     * @param executor the executor for the tasks, e.g. a ForkJoinPool
+     * @throws XStreamException if the object cannot be serialized
+     * @since upcoming
+     */
+    public void marshalParallel(final Object obj, final HierarchicalStreamWriter writer, final DataHolder dataHolder,
+            final Executor executor) {
+        if (obj == null
+            || !(marshallingStrategy instanceof TreeMarshallingStrategy)
+            || !(converterLookup.lookupConverterForType(obj.getClass()) instanceof CollectionConverter)) {
+            marshal(obj, writer, dataHolder);
+            return;
+        }
+
+        writer.startNode(mapper.serializedClass(obj.getClass()), obj.getClass());
+        final Deque<CompletableFuture<RecordingWriter>> futures = new ArrayDeque<>();
+        final Iterator<?> iterator = ((Collection<?>)obj).iterator();
+        while (iterator.hasNext()) {
+            final Object[] chunk = new Object[PARALLEL_CHUNK_SIZE];
+            int size = 0;
+            while (size < chunk.length && iterator.hasNext()) {
+                chunk[size++] = iterator.next();
+            }
+            final int length = size;
+            final DataHolder taskDataHolder = copyDataHolder(dataHolder);
+            futures.add(CompletableFuture.supplyAsync(() -> {
+                final RecordingWriter recorder = new RecordingWriter();
+                for (int i = 0; i < length; ++i) {
+                    if (chunk[i] == null) {
+                        recorder.startNode(mapper.serializedClass(null), Mapper.Null.class);
+                        recorder.endNode();
+                    } else {
+                        marshal(chunk[i], recorder, taskDataHolder);
+                    }
+                }
+                return recorder;
+            }, executor));
+            if (futures.size() == PARALLEL_MAX_PENDING_CHUNKS) {
+                join(futures.poll(), futures).replay(writer);
+            }
+        }
+        while (!futures.isEmpty()) {
+            join(futures.poll(), futures).replay(writer);
+        }
+        writer.endNode();
+    }
+
+    private static <V> V join(final CompletableFuture<V> future, final Collection<? extends Future<?>> pending) {
+        try {
+            return future.join();
+        } catch (final CompletionException e) {
+            pending.forEach(f -> f.cancel(false));
+            final Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException)cause;
+            } else if (cause instanceof Error) {
+                throw (Error)cause;
+            }
+            throw e;
+        }
+    }
+
+    private static DataHolder copyDataHolder(final DataHolder dataHolder) {
+        final DataHolder copy = new MapBackedDataHolder();
+        if (dataHolder != null) {
+            for (final Iterator<Object> keys = dataHolder.keys(); keys.hasNext();) {
+                final Object key = keys.next();
+                copy.put(key, dataHolder.get(key));
+            }
+        }
+        return copy;
+    }
+
     /**
      * Change the ClassLoader XStream uses to load classes. Creating an XStream instance it will register for all kind
      * of classes and types of the current JDK, but not for any 3rd party type. To ensure that all other types are
@@ -2186,18 +2584,20 @@ public class XStream {
      * necessarily the type that is converted.
      *
      * @since 1.1.3
-     * @throws InitializationException if no {@link ElementIgnoringMapper} is available
+     * @throws InitializationException if no {@link ElementIgnoringMapper} is available or the mapper is frozen
      */
     public void omitField(final Class<?> definedIn, final String fieldName) {
         if (elementIgnoringMapper == null) {
             throw new InitializationException("No " + ElementIgnoringMapper.class.getName() + " available");
         }
+        checkMapperNotFrozen();
         elementIgnoringMapper.omitField(definedIn, fieldName);
     }
 
     /**
      * Ignore all unknown elements.
      *
+     * @throws InitializationException if no {@link ElementIgnoringMapper} is available or the mapper is frozen
      * @since 1.4.5
      */
     public void ignoreUnknownElements() {
@@ -2208,6 +2608,7 @@ public class XStream {
      * Add pattern for unknown element names to ignore.
      *
      * @param pattern the name pattern as regular expression
+     * @throws InitializationException if no {@link ElementIgnoringMapper} is available or the mapper is frozen
      * @since 1.4.5
      */
     public void ignoreUnknownElements(final String pattern) {
@@ -2218,12 +2619,14 @@ public class XStream {
      * Add pattern for unknown element names to ignore.
      *
      * @param pattern the name pattern as regular expression
+     * @throws InitializationException if no {@link ElementIgnoringMapper} is available or the mapper is frozen
      * @since 1.4.5
      */
     public void ignoreUnknownElements(final Pattern pattern) {
         if (elementIgnoringMapper == null) {
             throw new InitializationException("No " + ElementIgnoringMapper.class.getName() + " available");
         }
+        checkMapperNotFrozen();
         elementIgnoringMapper.addElementsToIgnore(pattern);
     }
 
@@ -2231,12 +2634,14 @@ public class XStream {
      * Process the annotations of the given types and configure the XStream.
      *
      * @param types the types with XStream annotations
+     * @throws InitializationException if no {@link AnnotationMapper} is available or the mapper is frozen
      * @since 1.3
      */
     public void processAnnotations(final Class<?>... types) {
         if (annotationMapper == null) {
             throw new InitializationException("No " + AnnotationMapper.class.getName() + " available");
         }
+        checkMapperNotFrozen();
         annotationMapper.processAnnotations(types);
     }
 
@@ -2246,14 +2651,45 @@ public class XStream {
      * not possible to detect all class aliases at deserialization. You have been warned!
      *
      * @param mode <code>true</code> if annotations are auto-detected
+     * @throws InitializationException if auto-detection is turned on for a frozen mapper
      * @since 1.3
      */
     public void autodetectAnnotations(final boolean mode) {
         if (annotationMapper != null) {
+            if (mode) {
+                checkMapperNotFrozen();
+            }
             annotationMapper.autodetectAnnotations(mode);
         }
     }
 
+    /**
+     * Freeze the mapping decisions of the mapper chain.
+     * <p>
+     * Once the configuration of this XStream instance is complete, the mapper can memoize the decisions about the names
+     * of the members, their serialization, their local converters and implicit collections per type. Any subsequent
+     * marshalling or unmarshalling call will then resolve those decisions with a single lookup. Any later attempt to
+     * change the mapping is rejected, i.e. the registration of aliases, attributes, default implementations, immutable
+     * types, converters, local converters, omitted fields, ignored elements, implicit collections or annotations, as
+     * is the auto-detection of annotations.
+     * </p>
+     *
+     * @throws InitializationException if no {@link CachingMapper} is available or annotations are auto-detected
+     * @since upcoming
+     */
+    public void freezeMapper() {
+        if (cachingMapper == null) {
+            throw new InitializationException("No " + CachingMapper.class.getName() + " available");
+        }
+        cachingMapper.freeze();
+    }
+
+    private void checkMapperNotFrozen() {
+        if (cachingMapper != null && cachingMapper.isFrozen()) {
+            throw new InitializationException("Mapper is frozen, the mapping cannot be changed");
+        }
+    }
+
     /**
      * Add a new security permission.
      * <p>
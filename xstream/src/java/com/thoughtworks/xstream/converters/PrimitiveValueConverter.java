@@ -0,0 +1,52 @@
+/*
+ * Copyright (C) 2026 XStream Committers.
+ * All rights reserved.
+ *
+ * The software in this package is published under the terms of the BSD
+ * style license a copy of which has been included with this distribution in
+ * the LICENSE.txt file.
+ *
+ * Created on 17. October 2026
+ */
+package com.thoughtworks.xstream.converters;
+
+import com.thoughtworks.xstream.io.PrimitiveValueReader;
+import com.thoughtworks.xstream.io.PrimitiveValueWriter;
+
+
+/**
+ * A {@link SingleValueConverter} that can write its value with a {@link PrimitiveValueWriter} and read it with a
+ * {@link PrimitiveValueReader}.
+ * <p>
+ * The {@link SingleValueConverterWrapper} uses these paths, if the writer or reader itself supports primitive values.
+ * Since a derived converter may change the representation, an implementation should use these paths only for its own
+ * type.
+ * </p>
+ *
+ * @since upcoming
+ */
+public interface PrimitiveValueConverter extends SingleValueConverter {
+
+    /**
+     * Write the object as primitive value.
+     * <p>
+     * The value must be written only if its String representation as returned by the writer's reader is equal to
+     * {@link #toString(Object)}.
+     * </p>
+     *
+     * @param obj the object to write
+     * @param writer the writer
+     * @return <code>true</code> if the value has been written
+     * @since upcoming
+     */
+    boolean setValue(Object obj, PrimitiveValueWriter writer);
+
+    /**
+     * Read the object from a primitive value.
+     *
+     * @param reader the reader
+     * @return the object or <code>null</code> if the value is not available in the appropriate primitive type
+     * @since upcoming
+     */
+    Object getValue(PrimitiveValueReader reader);
+}
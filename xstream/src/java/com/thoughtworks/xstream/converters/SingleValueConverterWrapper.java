@@ -1,5 +1,5 @@
 /*
- * Copyright (C) 2006, 2007, 2011, 2014 XStream Committers.
+ * Copyright (C) 2006, 2007, 2011, 2014, 2026 XStream Committers.
  * All rights reserved.
  *
  * The software in this package is published under the terms of the BSD
@@ -12,6 +12,8 @@ package com.thoughtworks.xstream.converters;
 
 import com.thoughtworks.xstream.io.HierarchicalStreamReader;
 import com.thoughtworks.xstream.io.HierarchicalStreamWriter;
+import com.thoughtworks.xstream.io.PrimitiveValueReader;
+import com.thoughtworks.xstream.io.PrimitiveValueWriter;
 
 
 /**
@@ -30,6 +32,16 @@ public class SingleValueConverterWrapper implements Converter, SingleValueConver
         this.wrapped = wrapped;
     }
 
+    /**
+     * Get the wrapped converter.
+     *
+     * @return the wrapped SingleValueConverter
+     * @since upcoming
+     */
+    public SingleValueConverter getWrapped() {
+        return wrapped;
+    }
+
     @Override
     public boolean canConvert(final Class<?> type) {
         return wrapped.canConvert(type);
@@ -47,11 +59,24 @@ public class SingleValueConverterWrapper implements Converter, SingleValueConver
 
     @Override
     public void marshal(final Object source, final HierarchicalStreamWriter writer, final MarshallingContext context) {
+        // a wrapper of the writer may modify the value, therefore the writer itself must support primitive values
+        if (wrapped instanceof PrimitiveValueConverter
+            && source != null
+            && writer instanceof PrimitiveValueWriter
+            && ((PrimitiveValueConverter)wrapped).setValue(source, (PrimitiveValueWriter)writer)) {
+            return;
+        }
         writer.setValue(toString(source));
     }
 
     @Override
     public Object unmarshal(final HierarchicalStreamReader reader, final UnmarshallingContext context) {
+        if (wrapped instanceof PrimitiveValueConverter && reader instanceof PrimitiveValueReader) {
+            final Object value = ((PrimitiveValueConverter)wrapped).getValue((PrimitiveValueReader)reader);
+            if (value != null) {
+                return value;
+            }
+        }
         return fromString(reader.getValue());
     }
 
@@ -1,6 +1,6 @@
 /*
  * Copyright (C) 2003, 2004 Joe Walnes.
- * Copyright (C) 2006, 2007, 2014, 2018 XStream Committers.
+ * Copyright (C) 2006, 2007, 2014, 2018, 2026 XStream Committers.
  * All rights reserved.
  *
  * The software in this package is published under the terms of the BSD
@@ -11,13 +11,18 @@
  */
 package com.thoughtworks.xstream.converters.basic;
 
+import com.thoughtworks.xstream.converters.PrimitiveValueConverter;
+import com.thoughtworks.xstream.io.PrimitiveValueReader;
+import com.thoughtworks.xstream.io.PrimitiveValueWriter;
+
+
 /**
  * Converts a boolean primitive or {@link Boolean} wrapper to a string.
  * 
  * @author Joe Walnes
  * @author David Blevins
  */
-public class BooleanConverter extends AbstractSingleValueConverter {
+public class BooleanConverter extends AbstractSingleValueConverter implements PrimitiveValueConverter {
 
     public static final BooleanConverter TRUE_FALSE = new BooleanConverter("true", "false", false);
     public static final BooleanConverter YES_NO = new BooleanConverter("yes", "no", false);
@@ -64,4 +69,26 @@ public class BooleanConverter extends AbstractSingleValueConverter {
         final Boolean value = (Boolean)obj;
         return obj == null ? null : value.booleanValue() ? positive : negative;
     }
+
+    @Override
+    public boolean setValue(final Object obj, final PrimitiveValueWriter writer) {
+        if (!isTrueFalse()) {
+            return false;
+        }
+        writer.setValue(((Boolean)obj).booleanValue());
+        return true;
+    }
+
+    @Override
+    public Object getValue(final PrimitiveValueReader reader) {
+        if (!isTrueFalse() || reader.getValueType() != boolean.class) {
+            return null;
+        }
+        return Boolean.valueOf(reader.getBooleanValue());
+    }
+
+    private boolean isTrueFalse() {
+        // a derived converter may use another representation
+        return getClass() == BooleanConverter.class && "true".equals(positive) && "false".equals(negative);
+    }
 }
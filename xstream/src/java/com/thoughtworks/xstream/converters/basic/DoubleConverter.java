@@ -1,6 +1,6 @@
 /*
  * Copyright (C) 2003, 2004 Joe Walnes.
- * Copyright (C) 2006, 2007, 2014, 2018 XStream Committers.
+ * Copyright (C) 2006, 2007, 2014, 2018, 2026 XStream Committers.
  * All rights reserved.
  *
  * The software in this package is published under the terms of the BSD
@@ -11,12 +11,17 @@
  */
 package com.thoughtworks.xstream.converters.basic;
 
+import com.thoughtworks.xstream.converters.PrimitiveValueConverter;
+import com.thoughtworks.xstream.io.PrimitiveValueReader;
+import com.thoughtworks.xstream.io.PrimitiveValueWriter;
+
+
 /**
  * Converts a double primitive or {@link Double} wrapper to a string.
  * 
  * @author Joe Walnes
  */
-public class DoubleConverter extends AbstractSingleValueConverter {
+public class DoubleConverter extends AbstractSingleValueConverter implements PrimitiveValueConverter {
 
     @Override
     public boolean canConvert(final Class<?> type) {
@@ -28,4 +33,20 @@ public class DoubleConverter extends AbstractSingleValueConverter {
         return Double.valueOf(str);
     }
 
+    @Override
+    public boolean setValue(final Object obj, final PrimitiveValueWriter writer) {
+        // a derived converter may use another representation
+        if (getClass() != DoubleConverter.class) {
+            return false;
+        }
+        writer.setValue(((Double)obj).doubleValue());
+        return true;
+    }
+
+    @Override
+    public Object getValue(final PrimitiveValueReader reader) {
+        return getClass() == DoubleConverter.class && reader.getValueType() == double.class
+            ? Double.valueOf(reader.getDoubleValue())
+            : null;
+    }
 }
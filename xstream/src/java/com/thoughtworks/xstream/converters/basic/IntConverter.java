@@ -1,6 +1,6 @@
 /*
  * Copyright (C) 2003, 2004 Joe Walnes.
- * Copyright (C) 2006, 2007, 2014, 2018 XStream Committers.
+ * Copyright (C) 2006, 2007, 2014, 2018, 2026 XStream Committers.
  * All rights reserved.
  *
  * The software in this package is published under the terms of the BSD
@@ -11,12 +11,17 @@
  */
 package com.thoughtworks.xstream.converters.basic;
 
+import com.thoughtworks.xstream.converters.PrimitiveValueConverter;
+import com.thoughtworks.xstream.io.PrimitiveValueReader;
+import com.thoughtworks.xstream.io.PrimitiveValueWriter;
+
+
 /**
  * Converts an int primitive or {@link Integer} wrapper to a string.
  * 
  * @author Joe Walnes
  */
-public class IntConverter extends AbstractSingleValueConverter {
+public class IntConverter extends AbstractSingleValueConverter implements PrimitiveValueConverter {
 
     @Override
     public boolean canConvert(final Class<?> type) {
@@ -32,4 +37,20 @@ public class IntConverter extends AbstractSingleValueConverter {
         return Integer.valueOf((int)value);
     }
 
+    @Override
+    public boolean setValue(final Object obj, final PrimitiveValueWriter writer) {
+        // a derived converter may use another representation
+        if (getClass() != IntConverter.class) {
+            return false;
+        }
+        writer.setValue(((Integer)obj).intValue());
+        return true;
+    }
+
+    @Override
+    public Object getValue(final PrimitiveValueReader reader) {
+        return getClass() == IntConverter.class && reader.getValueType() == int.class
+            ? Integer.valueOf(reader.getIntValue())
+            : null;
+    }
 }
@@ -1,6 +1,6 @@
 /*
  * Copyright (C) 2003, 2004 Joe Walnes.
- * Copyright (C) 2006, 2007, 2013, 2014, 2018 XStream Committers.
+ * Copyright (C) 2006, 2007, 2013, 2014, 2018, 2026 XStream Committers.
  * All rights reserved.
  *
  * The software in this package is published under the terms of the BSD
@@ -11,12 +11,17 @@
  */
 package com.thoughtworks.xstream.converters.basic;
 
+import com.thoughtworks.xstream.converters.PrimitiveValueConverter;
+import com.thoughtworks.xstream.io.PrimitiveValueReader;
+import com.thoughtworks.xstream.io.PrimitiveValueWriter;
+
+
 /**
  * Converts a long primitive or {@link Long} wrapper to a string.
  * 
  * @author Joe Walnes
  */
-public class LongConverter extends AbstractSingleValueConverter {
+public class LongConverter extends AbstractSingleValueConverter implements PrimitiveValueConverter {
 
     @Override
     public boolean canConvert(final Class<?> type) {
@@ -55,4 +60,20 @@ public class LongConverter extends AbstractSingleValueConverter {
         return Long.valueOf(num);
     }
 
+    @Override
+    public boolean setValue(final Object obj, final PrimitiveValueWriter writer) {
+        // a derived converter may use another representation
+        if (getClass() != LongConverter.class) {
+            return false;
+        }
+        writer.setValue(((Long)obj).longValue());
+        return true;
+    }
+
+    @Override
+    public Object getValue(final PrimitiveValueReader reader) {
+        return getClass() == LongConverter.class && reader.getValueType() == long.class
+            ? Long.valueOf(reader.getLongValue())
+            : null;
+    }
 }
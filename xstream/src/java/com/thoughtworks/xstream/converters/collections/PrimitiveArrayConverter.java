@@ -0,0 +1,234 @@
+/*
+ * Copyright (C) 2026 XStream Committers.
+ * All rights reserved.
+ *
+ * The software in this package is published under the terms of the BSD
+ * style license a copy of which has been included with this distribution in
+ * the LICENSE.txt file.
+ *
+ * Created on 17. October 2026
+ */
+package com.thoughtworks.xstream.converters.collections;
+
+import java.util.Arrays;
+
+import com.thoughtworks.xstream.converters.Converter;
+import com.thoughtworks.xstream.converters.ConverterLookup;
+import com.thoughtworks.xstream.converters.MarshallingContext;
+import com.thoughtworks.xstream.converters.SingleValueConverterWrapper;
+import com.thoughtworks.xstream.converters.UnmarshallingContext;
+import com.thoughtworks.xstream.converters.basic.DoubleConverter;
+import com.thoughtworks.xstream.converters.basic.IntConverter;
+import com.thoughtworks.xstream.converters.basic.LongConverter;
+import com.thoughtworks.xstream.io.ExtendedHierarchicalStreamWriterHelper;
+import com.thoughtworks.xstream.io.HierarchicalStreamReader;
+import com.thoughtworks.xstream.io.HierarchicalStreamWriter;
+import com.thoughtworks.xstream.io.PrimitiveArrayReader;
+import com.thoughtworks.xstream.io.PrimitiveArrayWriter;
+import com.thoughtworks.xstream.io.PrimitiveValueWriter;
+import com.thoughtworks.xstream.mapper.Mapper;
+
+
+/**
+ * Converts an int[], long[] or double[] without boxing its elements.
+ * <p>
+ * The format is the same as written by the {@link ArrayConverter}, i.e. a nested child element for each item. The
+ * converter handles the elements itself only as long as the default converters are registered for their types,
+ * otherwise it processes the array as its base class with the registered converters. A {@link PrimitiveArrayWriter}
+ * or {@link PrimitiveArrayReader} is used to write and read the complete array at once.
+ * </p>
+ *
+ * @since upcoming
+ */
+public class PrimitiveArrayConverter extends ArrayConverter {
+
+    private static final IntConverter INT_CONVERTER = new IntConverter();
+    private static final LongConverter LONG_CONVERTER = new LongConverter();
+
+    private final ConverterLookup lookup;
+
+    /**
+     * Construct a PrimitiveArrayConverter.
+     *
+     * @param mapper the mapper for the names of the elements
+     * @param lookup the lookup for the converters of the elements
+     * @since upcoming
+     */
+    public PrimitiveArrayConverter(final Mapper mapper, final ConverterLookup lookup) {
+        super(mapper);
+        this.lookup = lookup;
+    }
+
+    @Override
+    public boolean canConvert(final Class<?> type) {
+        return type == int[].class || type == long[].class || type == double[].class;
+    }
+
+    @Override
+    public void marshal(final Object source, final HierarchicalStreamWriter writer, final MarshallingContext context) {
+        final Class<?> elementType = elementType(source.getClass());
+        if (!hasDefaultConverter(elementType)) {
+            super.marshal(source, writer, context);
+            return;
+        }
+        // a wrapper of the writer may modify the values, therefore the writer itself must support primitive values
+        final PrimitiveValueWriter valueWriter = writer instanceof PrimitiveValueWriter
+            ? (PrimitiveValueWriter)writer
+            : null;
+        final String name = mapper().serializedClass(elementType);
+        if (source instanceof int[]) {
+            final int[] array = (int[])source;
+            if (writer instanceof PrimitiveArrayWriter) {
+                ((PrimitiveArrayWriter)writer).writeArray(name, array);
+                return;
+            }
+            for (final int element : array) {
+                ExtendedHierarchicalStreamWriterHelper.startNode(writer, name, Integer.class);
+                if (valueWriter != null) {
+                    valueWriter.setValue(element);
+                } else {
+                    writer.setValue(Integer.toString(element));
+                }
+                writer.endNode();
+            }
+        } else if (source instanceof long[]) {
+            final long[] array = (long[])source;
+            if (writer instanceof PrimitiveArrayWriter) {
+                ((PrimitiveArrayWriter)writer).writeArray(name, array);
+                return;
+            }
+            for (final long element : array) {
+                ExtendedHierarchicalStreamWriterHelper.startNode(writer, name, Long.class);
+                if (valueWriter != null) {
+                    valueWriter.setValue(element);
+                } else {
+                    writer.setValue(Long.toString(element));
+                }
+                writer.endNode();
+            }
+        } else {
+            final double[] array = (double[])source;
+            if (writer instanceof PrimitiveArrayWriter) {
+                ((PrimitiveArrayWriter)writer).writeArray(name, array);
+                return;
+            }
+            for (final double element : array) {
+                ExtendedHierarchicalStreamWriterHelper.startNode(writer, name, Double.class);
+                if (valueWriter != null) {
+                    valueWriter.setValue(element);
+                } else {
+                    writer.setValue(Double.toString(element));
+                }
+                writer.endNode();
+            }
+        }
+    }
+
+    @Override
+    public Object unmarshal(final HierarchicalStreamReader reader, final UnmarshallingContext context) {
+        final Class<?> type = context.getRequiredType();
+        if (!hasDefaultConverter(elementType(type))) {
+            return super.unmarshal(reader, context);
+        }
+        final PrimitiveArrayReader arrayReader = reader instanceof PrimitiveArrayReader
+            ? (PrimitiveArrayReader)reader
+            : null;
+        if (type == int[].class) {
+            int[] array = arrayReader != null ? arrayReader.readIntArray() : null;
+            if (array == null) {
+                array = new int[16];
+                int size = 0;
+                while (reader.hasMoreChildren()) {
+                    reader.moveDown();
+                    if (size == array.length) {
+                        array = Arrays.copyOf(array, size * 2);
+                    }
+                    array[size++] = parseInt(reader.getValue());
+                    reader.moveUp();
+                }
+                array = size == array.length ? array : Arrays.copyOf(array, size);
+            }
+            return array;
+        } else if (type == long[].class) {
+            long[] array = arrayReader != null ? arrayReader.readLongArray() : null;
+            if (array == null) {
+                array = new long[16];
+                int size = 0;
+                while (reader.hasMoreChildren()) {
+                    reader.moveDown();
+                    if (size == array.length) {
+                        array = Arrays.copyOf(array, size * 2);
+                    }
+                    array[size++] = parseLong(reader.getValue());
+                    reader.moveUp();
+                }
+                array = size == array.length ? array : Arrays.copyOf(array, size);
+            }
+            return array;
+        } else {
+            double[] array = arrayReader != null ? arrayReader.readDoubleArray() : null;
+            if (array == null) {
+                array = new double[16];
+                int size = 0;
+                while (reader.hasMoreChildren()) {
+                    reader.moveDown();
+                    if (size == array.length) {
+                        array = Arrays.copyOf(array, size * 2);
+                    }
+                    array[size++] = Double.parseDouble(reader.getValue());
+                    reader.moveUp();
+                }
+                array = size == array.length ? array : Arrays.copyOf(array, size);
+            }
+            return array;
+        }
+    }
+
+    private static Class<?> elementType(final Class<?> type) {
+        return type == int[].class ? Integer.class : type == long[].class ? Long.class : Double.class;
+    }
+
+    private boolean hasDefaultConverter(final Class<?> elementType) {
+        final Converter converter = lookup.lookupConverterForType(elementType);
+        if (!(converter instanceof SingleValueConverterWrapper)) {
+            return false;
+        }
+        final Class<?> converterType = ((SingleValueConverterWrapper)converter).getWrapped().getClass();
+        return converterType == IntConverter.class || converterType == LongConverter.class
+            || converterType == DoubleConverter.class;
+    }
+
+    private static int parseInt(final String str) {
+        final long value = parseDecimal(str, 9);
+        return value != Long.MIN_VALUE ? (int)value : ((Integer)INT_CONVERTER.fromString(str)).intValue();
+    }
+
+    private static long parseLong(final String str) {
+        final long value = parseDecimal(str, 18);
+        return value != Long.MIN_VALUE ? value : ((Long)LONG_CONVERTER.fromString(str)).longValue();
+    }
+
+    /**
+     * Parse a plain decimal number without leading zeros and a limited number of digits. Any other representation is
+     * left to the converter of the element type.
+     *
+     * @return the number or {@link Long#MIN_VALUE} if the string is not such a plain number
+     */
+    private static long parseDecimal(final String str, final int maxDigits) {
+        final int length = str.length();
+        final boolean negative = length > 0 && str.charAt(0) == '-';
+        int i = negative ? 1 : 0;
+        if (i == length || length - i > maxDigits || str.charAt(i) == '0' && length - i > 1) {
+            return Long.MIN_VALUE;
+        }
+        long value = 0;
+        for (; i < length; ++i) {
+            final int digit = str.charAt(i) - '0';
+            if (digit < 0 || digit > 9) {
+                return Long.MIN_VALUE;
+            }
+            value = value * 10 + digit;
+        }
+        return negative ? -value : value;
+    }
+}
@@ -1,6 +1,6 @@
 /*
  * Copyright (C) 2004, 2005, 2006 Joe Walnes.
- * Copyright (C) 2006, 2007, 2008, 2009, 2010, 2011, 2012, 2013, 2014, 2015, 2016, 2018, 2022 XStream Committers.
+ * Copyright (C) 2006, 2007, 2008, 2009, 2010, 2011, 2012, 2013, 2014, 2015, 2016, 2018, 2022, 2026 XStream Committers.
  * All rights reserved.
  *
  * The software in this package is published under the terms of the BSD
@@ -16,6 +16,7 @@ import java.lang.reflect.Field;
 import java.lang.reflect.Modifier;
 import java.util.AbstractList;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
@@ -24,6 +25,8 @@ import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 import com.thoughtworks.xstream.converters.ConversionException;
 import com.thoughtworks.xstream.converters.Converter;
@@ -40,12 +43,15 @@ import com.thoughtworks.xstream.core.util.Primitives;
 import com.thoughtworks.xstream.core.util.SerializationMembers;
 import com.thoughtworks.xstream.io.HierarchicalStreamReader;
 import com.thoughtworks.xstream.io.HierarchicalStreamWriter;
+import com.thoughtworks.xstream.mapper.CachingMapper;
 import com.thoughtworks.xstream.mapper.CannotResolveClassException;
 import com.thoughtworks.xstream.mapper.Mapper;
 
 
 public abstract class AbstractReflectionConverter implements Converter, Caching {
 
+    private static final Object UNRESOLVED = new Object();
+
     protected final ReflectionProvider reflectionProvider;
     protected final Mapper mapper;
     /**
@@ -55,6 +61,8 @@ public abstract class AbstractReflectionConverter implements Converter, Caching
     protected transient SerializationMethodInvoker serializationMethodInvoker;
     protected transient SerializationMembers serializationMembers;
     private transient ReflectionProvider pureJavaReflectionProvider;
+    private transient CachingMapper cachingMapper;
+    private transient ConcurrentMap<Class<?>, ReflectionPlan> reflectionPlans;
 
     @SuppressWarnings("deprecation")
     public AbstractReflectionConverter(final Mapper mapper, final ReflectionProvider reflectionProvider) {
@@ -62,6 +70,7 @@ public abstract class AbstractReflectionConverter implements Converter, Caching
         this.reflectionProvider = reflectionProvider;
         serializationMethodInvoker = new SerializationMethodInvoker();
         serializationMembers = serializationMethodInvoker.serializationMembers;
+        initReflectionPlans();
     }
 
     protected boolean canAccess(final Class<?> type) {
@@ -95,120 +104,40 @@ public abstract class AbstractReflectionConverter implements Converter, Caching
 
     protected void doMarshal(final Object source, final HierarchicalStreamWriter writer,
             final MarshallingContext context) {
-        final List<FieldInfo> fields = new ArrayList<>();
-        final Map<String, Field> defaultFieldDefinition = new HashMap<>();
         final Class<?> sourceType = source.getClass();
+        final ReflectionPlan plan = getReflectionPlan(sourceType);
 
         // Attributes might be preferred to child elements ...
-        reflectionProvider.visitSerializableFields(source, new ReflectionProvider.Visitor() {
-            final Set<String> writtenAttributes = new HashSet<>();
-
-            @Override
-            public void visit(final String fieldName, final Class<?> type, final Class<?> definedIn,
-                    final Object value) {
-                if (!mapper.shouldSerializeMember(definedIn, fieldName)) {
-                    return;
-                }
-                if (!defaultFieldDefinition.containsKey(fieldName)) {
-                    Class<?> lookupType = sourceType;
-                    // See XSTR-457 and OmitFieldsTest
-                    if (definedIn != sourceType && !mapper.shouldSerializeMember(lookupType, fieldName)) {
-                        lookupType = definedIn;
-                    }
-                    defaultFieldDefinition.put(fieldName, reflectionProvider.getField(lookupType, fieldName));
-                }
-
-                final SingleValueConverter converter = mapper.getConverterFromItemType(fieldName, type, definedIn);
-                if (converter != null) {
-                    final String attribute = mapper.aliasForAttribute(mapper.serializedMember(definedIn, fieldName));
-                    if (value != null) {
-                        if (writtenAttributes.contains(fieldName)) {
-                            final ConversionException exception = new ConversionException(
-                                "Cannot write field as attribute for object, attribute name already in use");
-                            exception.add("field-name", fieldName);
-                            exception.add("object-type", sourceType.getName());
-                            throw exception;
-                        }
-                        final String str = converter.toString(value);
-                        if (str != null) {
-                            writer.addAttribute(attribute, str);
-                        }
-                    }
-                    writtenAttributes.add(fieldName);
-                } else {
-                    fields.add(new FieldInfo(fieldName, type, definedIn, value));
-                }
-            }
-        });
-
-        final FieldMarshaller fieldMarshaller = new FieldMarshaller() {
-            @Override
-            public void writeField(final String fieldName, final String aliasName, final Class<?> fieldType,
-                    final Class<?> definedIn, final Object newObj) {
-                final Class<?> actualType = newObj != null ? newObj.getClass() : fieldType;
-                writer.startNode(aliasName != null ? aliasName : mapper.serializedMember(sourceType, fieldName),
-                    actualType);
-
-                if (newObj != null) {
-                    final Class<?> defaultType = mapper.defaultImplementationOf(fieldType);
-                    if (!actualType.equals(defaultType)) {
-                        final String serializedClassName = mapper.serializedClass(actualType);
-                        if (!serializedClassName.equals(mapper.serializedClass(defaultType))) {
-                            final String attributeName = mapper.aliasForSystemAttribute("class");
-                            if (attributeName != null) {
-                                writer.addAttribute(attributeName, serializedClassName);
-                            }
-                        }
-                    }
-
-                    final Field defaultField = defaultFieldDefinition.get(fieldName);
-                    if (defaultField.getDeclaringClass() != definedIn) {
-                        final String attributeName = mapper.aliasForSystemAttribute("defined-in");
-                        if (attributeName != null) {
-                            writer.addAttribute(attributeName, mapper.serializedClass(definedIn));
-                        }
-                    }
-
-                    final Field field = reflectionProvider.getField(definedIn, fieldName);
-                    marshallField(context, newObj, field);
-                }
-                writer.endNode();
-            }
-
-            @Override
-            public void writeItem(final Object item) {
-                if (item == null) {
-                    final String name = mapper.serializedClass(null);
-                    writer.startNode(name, Mapper.Null.class);
-                    writer.endNode();
-                } else {
-                    final String name = mapper.serializedClass(item.getClass());
-                    writer.startNode(name, item.getClass());
-                    context.convertAnother(item);
-                    writer.endNode();
-                }
-            }
-        };
+        final PlanningVisitor visitor = new PlanningVisitor(sourceType, plan != null
+            ? plan.fieldDescriptors
+            : null, writer);
+        reflectionProvider.visitSerializableFields(source, visitor);
+        if (plan != null && visitor.isChanged()) {
+            plan.fieldDescriptors = visitor.getFieldDescriptors();
+        }
 
-        final Map<String, Set<Mapper.ImplicitCollectionMapping>> hiddenMappers =
-                new HashMap<>();
-        for (final FieldInfo info : fields) {
-            if (info.value != null) {
-                final boolean isCollection = info.value instanceof Collection;
-                final boolean isMap = info.value instanceof Map;
-                final boolean isArray = info.value.getClass().isArray();
-                final Field defaultField = defaultFieldDefinition.get(info.fieldName);
+        Map<String, Set<Mapper.ImplicitCollectionMapping>> hiddenMappers = null;
+        final FieldDescriptor[] descriptors = visitor.descriptors;
+        final Object[] values = visitor.values;
+        for (int i = 0; i < visitor.count; ++i) {
+            final FieldDescriptor descriptor = descriptors[i];
+            final Object value = values[i];
+            if (value != null && descriptor.isElement()) {
+                final boolean isCollection = value instanceof Collection;
+                final boolean isMap = value instanceof Map;
+                final boolean isArray = value.getClass().isArray();
                 Mapper.ImplicitCollectionMapping mapping = isCollection || isMap || isArray
-                    ? mapper.getImplicitCollectionDefForFieldName(defaultField.getDeclaringClass() == info.definedIn
-                        ? sourceType
-                        : info.definedIn, info.fieldName)
+                    ? descriptor.getImplicitCollectionMapping()
                     : null;
                 if (mapping != null) {
-                    Set<Mapper.ImplicitCollectionMapping> mappings = hiddenMappers.get(info.fieldName);
+                    if (hiddenMappers == null) {
+                        hiddenMappers = new HashMap<>();
+                    }
+                    Set<Mapper.ImplicitCollectionMapping> mappings = hiddenMappers.get(descriptor.fieldName);
                     if (mappings == null) {
                         mappings = new HashSet<>();
                         mappings.add(mapping);
-                        hiddenMappers.put(info.fieldName, mappings);
+                        hiddenMappers.put(descriptor.fieldName, mappings);
                     } else {
                         if (!mappings.add(mapping)) {
                             mapping = null;
@@ -217,22 +146,22 @@ public abstract class AbstractReflectionConverter implements Converter, Caching
                 }
                 if (mapping != null) {
                     if (context instanceof ReferencingMarshallingContext) {
-                        if (info.value != Collections.EMPTY_LIST
-                            && info.value != Collections.EMPTY_SET
-                            && info.value != Collections.EMPTY_MAP) {
+                        if (value != Collections.EMPTY_LIST
+                            && value != Collections.EMPTY_SET
+                            && value != Collections.EMPTY_MAP) {
                             final ReferencingMarshallingContext<?> refContext =
                                     (ReferencingMarshallingContext<?>)context;
-                            refContext.registerImplicit(info.value);
+                            refContext.registerImplicit(value);
                         }
                     }
                     final boolean isEntry = isMap && mapping.getKeyFieldName() == null;
                     for (final Iterator<?> iter = isArray
-                        ? new ArrayIterator(info.value)
+                        ? new ArrayIterator(value)
                         : isCollection
-                            ? ((Collection<?>)info.value).iterator()
+                            ? ((Collection<?>)value).iterator()
                             : isEntry
-                                ? ((Map<?, ?>)info.value).entrySet().iterator()
-                                : ((Map<?, ?>)info.value).values().iterator(); iter.hasNext();) {
+                                ? ((Map<?, ?>)value).entrySet().iterator()
+                                : ((Map<?, ?>)value).values().iterator(); iter.hasNext();) {
                         final Object obj = iter.next();
                         final String itemName;
                         final Class<?> itemType;
@@ -245,8 +174,8 @@ public abstract class AbstractReflectionConverter implements Converter, Caching
                                 : mapper.serializedClass(Map.Entry.class);
                             final Map.Entry<?, ?> entry = (Map.Entry<?, ?>)obj;
                             writer.startNode(entryName, entry.getClass());
-                            fieldMarshaller.writeItem(entry.getKey());
-                            fieldMarshaller.writeItem(entry.getValue());
+                            writeItem(entry.getKey(), writer, context);
+                            writeItem(entry.getValue(), writer, context);
                             writer.endNode();
                             continue;
                         } else if (mapping.getItemFieldName() != null) {
@@ -256,15 +185,60 @@ public abstract class AbstractReflectionConverter implements Converter, Caching
                             itemType = obj.getClass();
                             itemName = mapper.serializedClass(itemType);
                         }
-                        fieldMarshaller.writeField(info.fieldName, itemName, itemType, info.definedIn, obj);
+                        writeField(descriptor, itemName, itemType, obj, writer, context);
                     }
                 } else {
-                    fieldMarshaller.writeField(info.fieldName, null, info.type, info.definedIn, info.value);
+                    writeField(descriptor, null, descriptor.type, value, writer, context);
                 }
             }
         }
     }
 
+    private void writeField(final FieldDescriptor descriptor, final String aliasName, final Class<?> fieldType,
+            final Object newObj, final HierarchicalStreamWriter writer, final MarshallingContext context) {
+        final Class<?> actualType = newObj != null ? newObj.getClass() : fieldType;
+        writer.startNode(aliasName != null ? aliasName : descriptor.getElementName(), actualType);
+
+        if (newObj != null) {
+            final Class<?> defaultType = aliasName == null
+                ? descriptor.getDefaultType()
+                : mapper.defaultImplementationOf(fieldType);
+            if (!actualType.equals(defaultType)) {
+                final String serializedClassName = mapper.serializedClass(actualType);
+                if (!serializedClassName.equals(mapper.serializedClass(defaultType))) {
+                    final String attributeName = mapper.aliasForSystemAttribute("class");
+                    if (attributeName != null) {
+                        writer.addAttribute(attributeName, serializedClassName);
+                    }
+                }
+            }
+
+            if (descriptor.defaultField.getDeclaringClass() != descriptor.definedIn) {
+                final String attributeName = mapper.aliasForSystemAttribute("defined-in");
+                if (attributeName != null) {
+                    writer.addAttribute(attributeName, mapper.serializedClass(descriptor.definedIn));
+                }
+            }
+
+            marshallField(context, newObj, descriptor.getField());
+        }
+        writer.endNode();
+    }
+
+    private void writeItem(final Object item, final HierarchicalStreamWriter writer,
+            final MarshallingContext context) {
+        if (item == null) {
+            final String name = mapper.serializedClass(null);
+            writer.startNode(name, Mapper.Null.class);
+            writer.endNode();
+        } else {
+            final String name = mapper.serializedClass(item.getClass());
+            writer.startNode(name, item.getClass());
+            context.convertAnother(item);
+            writer.endNode();
+        }
+    }
+
     protected void marshallField(final MarshallingContext context, final Object newObj, final Field field) {
         context.convertAnother(newObj, mapper.getLocalConverter(field.getDeclaringClass(), field.getName()));
     }
@@ -291,37 +265,29 @@ public abstract class AbstractReflectionConverter implements Converter, Caching
         };
 
         // process attributes before recursing into child elements.
+        final ReflectionPlan plan = getReflectionPlan(resultType);
         final Iterator<String> it = reader.getAttributeNames();
         while (it.hasNext()) {
             final String attrAlias = it.next();
-            // TODO: realMember should return FastField
-            final String attrName = mapper.realMember(resultType, mapper.attributeForAlias(attrAlias));
-            final Field field = reflectionProvider.getFieldOrNull(resultType, attrName);
-            if (field != null && shouldUnmarshalField(field)) {
-                final Class<?> classDefiningField = field.getDeclaringClass();
-                if (!mapper.shouldSerializeMember(classDefiningField, attrName)) {
+            AttributeDescriptor descriptor = plan != null ? plan.attributes.get(attrAlias) : null;
+            if (descriptor == null) {
+                descriptor = createAttributeDescriptor(resultType, attrAlias);
+                if (descriptor == null) {
                     continue;
                 }
-
-                // we need a converter that produces a string representation only
-                Class<?> type = field.getType();
-                final SingleValueConverter converter = mapper.getConverterFromAttribute(classDefiningField, attrName,
-                    type);
-                if (converter != null) {
-                    final Object value = converter.fromString(reader.getAttribute(attrAlias));
-                    if (type.isPrimitive()) {
-                        type = Primitives.box(type);
-                    }
-                    if (value != null && !type.isAssignableFrom(value.getClass())) {
-                        final ConversionException exception = new ConversionException("Cannot convert type");
-                        exception.add("source-type", value.getClass().getName());
-                        exception.add("target-type", type.getName());
-                        throw exception;
-                    }
-                    seenFields.add(new FastField(classDefiningField, attrName));
-                    reflectionProvider.writeField(result, attrName, value, classDefiningField);
+                if (plan != null) {
+                    plan.attributes.putIfAbsent(attrAlias, descriptor);
                 }
             }
+            final Object value = descriptor.converter.fromString(reader.getAttribute(attrAlias));
+            if (value != null && !descriptor.type.isAssignableFrom(value.getClass())) {
+                final ConversionException exception = new ConversionException("Cannot convert type");
+                exception.add("source-type", value.getClass().getName());
+                exception.add("target-type", descriptor.type.getName());
+                throw exception;
+            }
+            seenFields.add(descriptor.fastField);
+            reflectionProvider.writeField(result, descriptor.fieldName, value, descriptor.definedIn);
         }
 
         Map<FieldLocation, Collection<? super Object>> implicitCollectionsForCurrentObject = null;
@@ -331,16 +297,24 @@ public abstract class AbstractReflectionConverter implements Converter, Caching
             final String originalNodeName = reader.getNodeName();
             final Class<?> explicitDeclaringClass = readDeclaringClass(reader);
             final Class<?> fieldDeclaringClass = explicitDeclaringClass == null ? resultType : explicitDeclaringClass;
-            final String fieldName = mapper.realMember(fieldDeclaringClass, originalNodeName);
-            final Mapper.ImplicitCollectionMapping implicitCollectionMapping = mapper
-                .getImplicitCollectionDefForFieldName(fieldDeclaringClass, fieldName);
+            final ElementDescriptor elementDescriptor = plan != null && explicitDeclaringClass == null
+                ? plan.elements.get(originalNodeName)
+                : null;
+            final String fieldName = elementDescriptor != null
+                ? elementDescriptor.fieldName
+                : mapper.realMember(fieldDeclaringClass, originalNodeName);
+            final Mapper.ImplicitCollectionMapping implicitCollectionMapping = elementDescriptor != null
+                ? elementDescriptor.implicitCollectionMapping
+                : mapper.getImplicitCollectionDefForFieldName(fieldDeclaringClass, fieldName);
             final Object value;
             String implicitFieldName = null;
             Field field = null;
             Class<?> type = null;
             if (implicitCollectionMapping == null) {
                 // no item of an implicit collection for this name ... do we have a field?
-                field = reflectionProvider.getFieldOrNull(fieldDeclaringClass, fieldName);
+                field = elementDescriptor != null
+                    ? elementDescriptor.field
+                    : reflectionProvider.getFieldOrNull(fieldDeclaringClass, fieldName);
                 if (field == null) {
                     // it is not a field ... do we have a field alias?
                     final Class<?> itemType = mapper.getItemTypeForItemFieldName(fieldDeclaringClass, fieldName);
@@ -393,10 +367,10 @@ public abstract class AbstractReflectionConverter implements Converter, Caching
                         }
                     }
                 } else {
-                    boolean fieldAlreadyChecked = false;
+                    boolean fieldAlreadyChecked = elementDescriptor != null;
 
                     // we have a field, but do we have to address a hidden one?
-                    if (explicitDeclaringClass == null) {
+                    if (explicitDeclaringClass == null && !fieldAlreadyChecked) {
                         while (field != null
                             && !(fieldAlreadyChecked = shouldUnmarshalField(field)
                                 && mapper.shouldSerializeMember(field.getDeclaringClass(), fieldName))) {
@@ -409,6 +383,10 @@ public abstract class AbstractReflectionConverter implements Converter, Caching
                             || shouldUnmarshalField(field)
                                 && mapper.shouldSerializeMember(field.getDeclaringClass(), fieldName))) {
 
+                        if (plan != null && elementDescriptor == null && explicitDeclaringClass == null) {
+                            plan.elements.putIfAbsent(originalNodeName, new ElementDescriptor(fieldName, null,
+                                field));
+                        }
                         final String classAttribute = HierarchicalStreams.readClassAttribute(reader, mapper);
                         if (classAttribute != null) {
                             type = mapper.realClass(classAttribute);
@@ -427,6 +405,10 @@ public abstract class AbstractReflectionConverter implements Converter, Caching
                 }
             } else {
                 // we have an implicit collection with defined names
+                if (plan != null && elementDescriptor == null && explicitDeclaringClass == null) {
+                    plan.elements.putIfAbsent(originalNodeName, new ElementDescriptor(fieldName,
+                        implicitCollectionMapping, null));
+                }
                 implicitFieldName = implicitCollectionMapping.getFieldName();
                 type = implicitCollectionMapping.getItemType();
                 if (type == null) {
@@ -445,7 +427,9 @@ public abstract class AbstractReflectionConverter implements Converter, Caching
 
             if (field != null) {
                 reflectionProvider.writeField(result, fieldName, value, field.getDeclaringClass());
-                seenFields.add(new FastField(field.getDeclaringClass(), fieldName));
+                seenFields.add(elementDescriptor != null && elementDescriptor.fastField != null
+                    ? elementDescriptor.fastField
+                    : new FastField(field.getDeclaringClass(), fieldName));
             } else if (type != null) {
                 if (implicitFieldName == null) {
                     // look for implicit field
@@ -488,6 +472,27 @@ public abstract class AbstractReflectionConverter implements Converter, Caching
             .getName()));
     }
 
+    private AttributeDescriptor createAttributeDescriptor(final Class<?> resultType, final String attrAlias) {
+        // TODO: realMember should return FastField
+        final String attrName = mapper.realMember(resultType, mapper.attributeForAlias(attrAlias));
+        final Field field = reflectionProvider.getFieldOrNull(resultType, attrName);
+        if (field != null && shouldUnmarshalField(field)) {
+            final Class<?> classDefiningField = field.getDeclaringClass();
+            if (mapper.shouldSerializeMember(classDefiningField, attrName)) {
+                // we need a converter that produces a string representation only
+                final Class<?> type = field.getType();
+                final SingleValueConverter converter = mapper.getConverterFromAttribute(classDefiningField, attrName,
+                    type);
+                if (converter != null) {
+                    return new AttributeDescriptor(attrName, classDefiningField, type.isPrimitive()
+                        ? Primitives.box(type)
+                        : type, converter);
+                }
+            }
+        }
+        return null;
+    }
+
     protected boolean shouldUnmarshalTransientFields() {
         return false;
     }
@@ -571,16 +576,48 @@ public abstract class AbstractReflectionConverter implements Converter, Caching
         }
     }
 
+    /**
+     * Get the cached plan for a type. Plans are only cached if the mapper has been frozen, since otherwise the
+     * configuration of the mapper may still change. A plan captures the member names, the omitted members, the
+     * attribute names and their converters, the default implementations, the implicit collections and the local
+     * converters. XStream rejects any change of these inputs for a frozen mapper, including the registration of a
+     * converter. Without a frozen mapper the field descriptors are created for every call.
+     *
+     * @param type the marshalled or unmarshalled type
+     * @return the plan or <code>null</code> if plans are not cached
+     */
+    private ReflectionPlan getReflectionPlan(final Class<?> type) {
+        if (cachingMapper == null || !cachingMapper.isFrozen()) {
+            return null;
+        }
+        ReflectionPlan plan = reflectionPlans.get(type);
+        if (plan == null) {
+            final ReflectionPlan newPlan = new ReflectionPlan();
+            plan = reflectionPlans.putIfAbsent(type, newPlan);
+            if (plan == null) {
+                plan = newPlan;
+            }
+        }
+        return plan;
+    }
+
+    private void initReflectionPlans() {
+        cachingMapper = mapper.lookupMapperOfType(CachingMapper.class);
+        reflectionPlans = new ConcurrentHashMap<>();
+    }
+
     @SuppressWarnings("deprecation")
     @Override
     public void flushCache() {
         serializationMethodInvoker.flushCache();
+        reflectionPlans.clear();
     }
 
     @SuppressWarnings("deprecation")
     protected Object readResolve() {
         serializationMethodInvoker = new SerializationMethodInvoker();
         serializationMembers = serializationMethodInvoker.serializationMembers;
+        initReflectionPlans();
         return this;
     }
 
@@ -646,22 +683,239 @@ public abstract class AbstractReflectionConverter implements Converter, Caching
         }
     }
 
-    private static class FieldInfo extends FieldLocation {
+    /**
+     * The cached knowledge about the fields of a type. The field descriptors are used to marshal an instance, the
+     * attribute and element descriptors to resolve the names when unmarshalling an instance.
+     */
+    private static class ReflectionPlan {
+        volatile FieldDescriptor[] fieldDescriptors;
+        final ConcurrentMap<String, AttributeDescriptor> attributes = new ConcurrentHashMap<>();
+        final ConcurrentMap<String, ElementDescriptor> elements = new ConcurrentHashMap<>();
+    }
+
+    /**
+     * Descriptor of a serializable field in the order of the visit by the {@link ReflectionProvider}. Decisions that
+     * are not necessary for any instance are resolved on demand.
+     */
+    private final class FieldDescriptor {
+        final String fieldName;
         final Class<?> type;
-        final Object value;
+        final Class<?> definedIn;
+        final Class<?> sourceType;
+        final boolean serialized;
+        final Field defaultField;
+        final SingleValueConverter attributeConverter;
+        final String attributeName;
+        final boolean duplicateAttribute;
+        private volatile Object implicitCollectionMapping = UNRESOLVED;
+        private volatile String elementName;
+        private volatile Class<?> defaultType;
+        private volatile Field field;
+
+        FieldDescriptor(
+                final String fieldName, final Class<?> type, final Class<?> definedIn, final Class<?> sourceType,
+                final boolean serialized, final Field defaultField, final SingleValueConverter attributeConverter,
+                final String attributeName, final boolean duplicateAttribute) {
+            this.fieldName = fieldName;
+            this.type = type;
+            this.definedIn = definedIn;
+            this.sourceType = sourceType;
+            this.serialized = serialized;
+            this.defaultField = defaultField;
+            this.attributeConverter = attributeConverter;
+            this.attributeName = attributeName;
+            this.duplicateAttribute = duplicateAttribute;
+        }
+
+        boolean matches(final String fieldName, final Class<?> type, final Class<?> definedIn) {
+            return this.definedIn == definedIn && this.type == type && this.fieldName.equals(fieldName);
+        }
+
+        boolean isElement() {
+            return serialized && attributeConverter == null;
+        }
 
-        FieldInfo(final String fieldName, final Class<?> type, final Class<?> definedIn, final Object value) {
-            super(fieldName, definedIn);
+        Mapper.ImplicitCollectionMapping getImplicitCollectionMapping() {
+            Object mapping = implicitCollectionMapping;
+            if (mapping == UNRESOLVED) {
+                mapping = mapper.getImplicitCollectionDefForFieldName(defaultField.getDeclaringClass() == definedIn
+                    ? sourceType
+                    : definedIn, fieldName);
+                implicitCollectionMapping = mapping;
+            }
+            return (Mapper.ImplicitCollectionMapping)mapping;
+        }
+
+        String getElementName() {
+            String name = elementName;
+            if (name == null) {
+                name = mapper.serializedMember(sourceType, fieldName);
+                elementName = name;
+            }
+            return name;
+        }
+
+        Class<?> getDefaultType() {
+            Class<?> defaultType = this.defaultType;
+            if (defaultType == null) {
+                defaultType = mapper.defaultImplementationOf(type);
+                this.defaultType = defaultType;
+            }
+            return defaultType;
+        }
+
+        Field getField() {
+            Field field = this.field;
+            if (field == null) {
+                field = reflectionProvider.getField(definedIn, fieldName);
+                this.field = field;
+            }
+            return field;
+        }
+    }
+
+    private static class AttributeDescriptor {
+        final String fieldName;
+        final Class<?> definedIn;
+        final FastField fastField;
+        final Class<?> type;
+        final SingleValueConverter converter;
+
+        AttributeDescriptor(
+                final String fieldName, final Class<?> definedIn, final Class<?> type,
+                final SingleValueConverter converter) {
+            this.fieldName = fieldName;
+            this.definedIn = definedIn;
+            fastField = new FastField(definedIn, fieldName);
             this.type = type;
-            this.value = value;
+            this.converter = converter;
         }
     }
 
-    private interface FieldMarshaller {
-        void writeItem(final Object item);
+    private static class ElementDescriptor {
+        final String fieldName;
+        final Mapper.ImplicitCollectionMapping implicitCollectionMapping;
+        final Field field;
+        final FastField fastField;
+
+        ElementDescriptor(
+                final String fieldName, final Mapper.ImplicitCollectionMapping implicitCollectionMapping,
+                final Field field) {
+            this.fieldName = fieldName;
+            this.implicitCollectionMapping = implicitCollectionMapping;
+            this.field = field;
+            fastField = field != null ? new FastField(field.getDeclaringClass(), fieldName) : null;
+        }
+    }
+
+    /**
+     * Visitor collecting the values of the serializable fields. The visitor reuses the field descriptors of a plan as
+     * long as the visited fields match. Fields selected as attributes are written immediately.
+     */
+    private final class PlanningVisitor implements ReflectionProvider.Visitor {
+        private final Class<?> sourceType;
+        private final HierarchicalStreamWriter writer;
+        private boolean changed;
+        private Map<String, Field> defaultFields;
+        private Set<String> attributeFields;
+        FieldDescriptor[] descriptors;
+        Object[] values;
+        int count;
+
+        PlanningVisitor(
+                final Class<?> sourceType, final FieldDescriptor[] plannedDescriptors,
+                final HierarchicalStreamWriter writer) {
+            this.sourceType = sourceType;
+            this.writer = writer;
+            changed = plannedDescriptors == null;
+            descriptors = changed ? new FieldDescriptor[8] : plannedDescriptors;
+            values = new Object[Math.max(descriptors.length, 1)];
+        }
+
+        @Override
+        public void visit(final String fieldName, final Class<?> type, final Class<?> definedIn,
+                final Object value) {
+            FieldDescriptor descriptor = null;
+            if (!changed) {
+                if (count < descriptors.length && descriptors[count].matches(fieldName, type, definedIn)) {
+                    descriptor = descriptors[count];
+                } else {
+                    changed = true;
+                    descriptors = Arrays.copyOf(descriptors, count + 8);
+                }
+            }
+            if (descriptor == null) {
+                descriptor = createFieldDescriptor(fieldName, type, definedIn);
+                if (count == descriptors.length) {
+                    descriptors = Arrays.copyOf(descriptors, count * 2);
+                }
+                descriptors[count] = descriptor;
+            }
+            if (count == values.length) {
+                values = Arrays.copyOf(values, count * 2);
+            }
+            values[count++] = value;
+
+            if (descriptor.attributeConverter != null && value != null) {
+                if (descriptor.duplicateAttribute) {
+                    final ConversionException exception = new ConversionException(
+                        "Cannot write field as attribute for object, attribute name already in use");
+                    exception.add("field-name", fieldName);
+                    exception.add("object-type", sourceType.getName());
+                    throw exception;
+                }
+                final String str = descriptor.attributeConverter.toString(value);
+                if (str != null) {
+                    writer.addAttribute(descriptor.attributeName, str);
+                }
+            }
+        }
+
+        private FieldDescriptor createFieldDescriptor(final String fieldName, final Class<?> type,
+                final Class<?> definedIn) {
+            if (!mapper.shouldSerializeMember(definedIn, fieldName)) {
+                return new FieldDescriptor(fieldName, type, definedIn, sourceType, false, null, null, null, false);
+            }
+            if (defaultFields == null) {
+                defaultFields = new HashMap<>();
+                attributeFields = new HashSet<>();
+                for (int i = 0; i < count; ++i) {
+                    final FieldDescriptor descriptor = descriptors[i];
+                    if (descriptor.serialized) {
+                        defaultFields.putIfAbsent(descriptor.fieldName, descriptor.defaultField);
+                        if (descriptor.attributeConverter != null) {
+                            attributeFields.add(descriptor.fieldName);
+                        }
+                    }
+                }
+            }
+            Field defaultField = defaultFields.get(fieldName);
+            if (defaultField == null) {
+                Class<?> lookupType = sourceType;
+                // See XSTR-457 and OmitFieldsTest
+                if (definedIn != sourceType && !mapper.shouldSerializeMember(lookupType, fieldName)) {
+                    lookupType = definedIn;
+                }
+                defaultField = reflectionProvider.getField(lookupType, fieldName);
+                defaultFields.put(fieldName, defaultField);
+            }
+
+            final SingleValueConverter converter = mapper.getConverterFromItemType(fieldName, type, definedIn);
+            if (converter != null) {
+                final String attribute = mapper.aliasForAttribute(mapper.serializedMember(definedIn, fieldName));
+                return new FieldDescriptor(fieldName, type, definedIn, sourceType, true, defaultField, converter,
+                    attribute, !attributeFields.add(fieldName));
+            }
+            return new FieldDescriptor(fieldName, type, definedIn, sourceType, true, defaultField, null, null, false);
+        }
+
+        boolean isChanged() {
+            return changed;
+        }
 
-        void writeField(final String fieldName, final String aliasName, final Class<?> fieldType,
-                final Class<?> definedIn, final Object newObj);
+        FieldDescriptor[] getFieldDescriptors() {
+            return Arrays.copyOf(descriptors, count);
+        }
     }
 
     private static class ArraysList extends ArrayList<Object> {
@@ -0,0 +1,432 @@
+/*
+ * Copyright (C) 2026 XStream Committers.
+ * All rights reserved.
+ *
+ * The software in this package is published under the terms of the BSD
+ * style license a copy of which has been included with this distribution in
+ * the LICENSE.txt file.
+ *
+ * Created on 16. October 2026
+ */
+package com.thoughtworks.xstream.converters.reflection;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.Iterator;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import com.thoughtworks.xstream.converters.ConversionException;
+import com.thoughtworks.xstream.core.util.Fields;
+
+
+/**
+ * Accesses the fields of an object with method handles.
+ * <p>
+ * The fields are read and written with method handles that are created once for every field and specialized for the
+ * primitive types, i.e. a primitive value is never converted by reflection. The method handles are created with a
+ * private lookup in the declaring class of the field. Final fields can be written as long as they are accessible by
+ * reflection. If a field cannot be accessed with a method handle, the implementation falls back to standard
+ * reflection.
+ * </p>
+ * <p>
+ * New instances are created with a method handle for the default constructor of the type that is created once for
+ * every type. Without such a constructor a serializable type is created in the same way as the
+ * {@link PureJavaReflectionProvider} does, i.e. the provider has the same capabilities, but it does not depend on
+ * <code>sun.misc.Unsafe</code>. Note that any code in the default constructor is executed.
+ * </p>
+ *
+ * @since upcoming
+ */
+public class MethodHandleReflectionProvider extends PureJavaReflectionProvider {
+
+    private static final MethodHandles.Lookup LOOKUP = MethodHandles.lookup();
+    private static final ClassValue<MethodHandle> CONSTRUCTORS = new ClassValue<MethodHandle>() {
+        @Override
+        protected MethodHandle computeValue(final Class<?> type) {
+            if (type.isArray() || Modifier.isAbstract(type.getModifiers())) {
+                return null;
+            }
+            try {
+                final MethodHandle constructor = MethodHandles
+                    .privateLookupIn(type, LOOKUP)
+                    .findConstructor(type, MethodType.methodType(void.class));
+                return constructor.asType(MethodType.methodType(Object.class));
+            } catch (final NoSuchMethodException | IllegalAccessException | RuntimeException e) {
+                // no default constructor, package not opened or active SecurityManager
+                return null;
+            }
+        }
+    };
+
+    // references to the Field key are kept in the FieldDictionary
+    private transient ConcurrentMap<Field, FieldAccessor> fieldAccessorCache;
+
+    /**
+     * @since upcoming
+     */
+    public MethodHandleReflectionProvider() {
+        super();
+    }
+
+    /**
+     * @since upcoming
+     */
+    public MethodHandleReflectionProvider(final FieldDictionary fieldDictionary) {
+        super(fieldDictionary);
+    }
+
+    @Override
+    public Object newInstance(final Class<?> type) {
+        final MethodHandle constructor = type == Void.class ? null : CONSTRUCTORS.get(type);
+        if (constructor == null) {
+            if (Modifier.isAbstract(type.getModifiers()) && !type.isPrimitive()) {
+                final ConversionException ex = new ConversionException("Cannot construct abstract type");
+                ex.add("construction-type", type.getName());
+                throw ex;
+            }
+            return super.newInstance(type);
+        }
+        try {
+            return (Object)constructor.invokeExact();
+        } catch (final RuntimeException | Error e) {
+            throw e;
+        } catch (final Throwable e) {
+            final ObjectAccessException ex = new ObjectAccessException("Constructor for type threw an exception", e);
+            ex.add("construction-type", type.getName());
+            throw ex;
+        }
+    }
+
+    @Override
+    public void visitSerializableFields(final Object object, final ReflectionProvider.Visitor visitor) {
+        for (final Iterator<Field> iterator = fieldDictionary.fieldsFor(object.getClass()); iterator.hasNext();) {
+            final Field field = iterator.next();
+            if (!fieldModifiersSupported(field)) {
+                continue;
+            }
+            final Object value = getFieldAccessor(field).read(object);
+            visitor.visit(field.getName(), field.getType(), field.getDeclaringClass(), value);
+        }
+    }
+
+    @Override
+    public void writeField(final Object object, final String fieldName, final Object value, final Class<?> definedIn) {
+        final Field field = fieldDictionary.field(object.getClass(), fieldName, definedIn);
+        getFieldAccessor(field).write(object, value);
+    }
+
+    private FieldAccessor getFieldAccessor(final Field field) {
+        FieldAccessor accessor = fieldAccessorCache.get(field);
+        if (accessor == null) {
+            fieldAccessorCache.putIfAbsent(field, createFieldAccessor(field));
+            accessor = fieldAccessorCache.get(field);
+        }
+        return accessor;
+    }
+
+    private static FieldAccessor createFieldAccessor(final Field field) {
+        final MethodHandle getter;
+        final MethodHandle setter;
+        try {
+            final MethodHandles.Lookup lookup = MethodHandles.privateLookupIn(field.getDeclaringClass(), LOOKUP);
+            // a setter for a final field requires the field to be accessible
+            if (Modifier.isFinal(field.getModifiers()) && !field.trySetAccessible()) {
+                return new ReflectionFieldAccessor(field);
+            }
+            getter = lookup.unreflectGetter(field);
+            setter = lookup.unreflectSetter(field);
+        } catch (final RuntimeException | IllegalAccessException e) {
+            // package not opened, record type or active SecurityManager
+            return new ReflectionFieldAccessor(field);
+        }
+        final Class<?> type = field.getType();
+        if (!type.isPrimitive()) {
+            return new ObjectFieldAccessor(field, getter, setter);
+        } else if (type == int.class) {
+            return new IntFieldAccessor(field, getter, setter);
+        } else if (type == long.class) {
+            return new LongFieldAccessor(field, getter, setter);
+        } else if (type == double.class) {
+            return new DoubleFieldAccessor(field, getter, setter);
+        } else if (type == boolean.class) {
+            return new BooleanFieldAccessor(field, getter, setter);
+        } else if (type == float.class) {
+            return new FloatFieldAccessor(field, getter, setter);
+        } else if (type == short.class) {
+            return new ShortFieldAccessor(field, getter, setter);
+        } else if (type == char.class) {
+            return new CharFieldAccessor(field, getter, setter);
+        } else {
+            return new ByteFieldAccessor(field, getter, setter);
+        }
+    }
+
+    private Object readResolve() {
+        init();
+        return this;
+    }
+
+    @Override
+    protected void init() {
+        super.init();
+        fieldAccessorCache = new ConcurrentHashMap<>();
+    }
+
+    /**
+     * Accessor for a single field. The method handles are adjusted to the exact type of the field, primitive values
+     * are therefore only boxed as far as required by the {@link ReflectionProvider} API.
+     */
+    private static abstract class FieldAccessor {
+        final Field field;
+
+        FieldAccessor(final Field field) {
+            this.field = field;
+        }
+
+        final Object read(final Object object) {
+            try {
+                return doRead(object);
+            } catch (final RuntimeException | Error e) {
+                throw e;
+            } catch (final Throwable e) {
+                throw wrap("Cannot read field", e);
+            }
+        }
+
+        final void write(final Object object, final Object value) {
+            try {
+                doWrite(object, value);
+            } catch (final ClassCastException | NullPointerException e) {
+                throw wrap("Cannot write field", e);
+            } catch (final RuntimeException | Error e) {
+                throw e;
+            } catch (final Throwable e) {
+                throw wrap("Cannot write field", e);
+            }
+        }
+
+        private ObjectAccessException wrap(final String message, final Throwable ex) {
+            final ObjectAccessException exception = new ObjectAccessException(message, ex);
+            exception.add("field", field.getType().getName() + "." + field.getName());
+            return exception;
+        }
+
+        abstract Object doRead(Object object) throws Throwable;
+
+        abstract void doWrite(Object object, Object value) throws Throwable;
+
+        static MethodHandle adapt(final MethodHandle handle, final Class<?> returnType, final Class<?>... params) {
+            return handle.asType(MethodType.methodType(returnType, params));
+        }
+    }
+
+    private static final class ReflectionFieldAccessor extends FieldAccessor {
+
+        ReflectionFieldAccessor(final Field field) {
+            super(field);
+        }
+
+        @Override
+        Object doRead(final Object object) {
+            return Fields.read(field, object);
+        }
+
+        @Override
+        void doWrite(final Object object, final Object value) {
+            Fields.write(field, object, value);
+        }
+    }
+
+    private static final class ObjectFieldAccessor extends FieldAccessor {
+        private final MethodHandle getter;
+        private final MethodHandle setter;
+
+        ObjectFieldAccessor(final Field field, final MethodHandle getter, final MethodHandle setter) {
+            super(field);
+            this.getter = adapt(getter, Object.class, Object.class);
+            this.setter = adapt(setter, void.class, Object.class, Object.class);
+        }
+
+        @Override
+        Object doRead(final Object object) throws Throwable {
+            return (Object)getter.invokeExact(object);
+        }
+
+        @Override
+        void doWrite(final Object object, final Object value) throws Throwable {
+            setter.invokeExact(object, value);
+        }
+    }
+
+    private static final class IntFieldAccessor extends FieldAccessor {
+        private final MethodHandle getter;
+        private final MethodHandle setter;
+
+        IntFieldAccessor(final Field field, final MethodHandle getter, final MethodHandle setter) {
+            super(field);
+            this.getter = adapt(getter, int.class, Object.class);
+            this.setter = adapt(setter, void.class, Object.class, int.class);
+        }
+
+        @Override
+        Object doRead(final Object object) throws Throwable {
+            return Integer.valueOf((int)getter.invokeExact(object));
+        }
+
+        @Override
+        void doWrite(final Object object, final Object value) throws Throwable {
+            setter.invokeExact(object, ((Integer)value).intValue());
+        }
+    }
+
+    private static final class LongFieldAccessor extends FieldAccessor {
+        private final MethodHandle getter;
+        private final MethodHandle setter;
+
+        LongFieldAccessor(final Field field, final MethodHandle getter, final MethodHandle setter) {
+            super(field);
+            this.getter = adapt(getter, long.class, Object.class);
+            this.setter = adapt(setter, void.class, Object.class, long.class);
+        }
+
+        @Override
+        Object doRead(final Object object) throws Throwable {
+            return Long.valueOf((long)getter.invokeExact(object));
+        }
+
+        @Override
+        void doWrite(final Object object, final Object value) throws Throwable {
+            setter.invokeExact(object, ((Long)value).longValue());
+        }
+    }
+
+    private static final class DoubleFieldAccessor extends FieldAccessor {
+        private final MethodHandle getter;
+        private final MethodHandle setter;
+
+        DoubleFieldAccessor(final Field field, final MethodHandle getter, final MethodHandle setter) {
+            super(field);
+            this.getter = adapt(getter, double.class, Object.class);
+            this.setter = adapt(setter, void.class, Object.class, double.class);
+        }
+
+        @Override
+        Object doRead(final Object object) throws Throwable {
+            return Double.valueOf((double)getter.invokeExact(object));
+        }
+
+        @Override
+        void doWrite(final Object object, final Object value) throws Throwable {
+            setter.invokeExact(object, ((Double)value).doubleValue());
+        }
+    }
+
+    private static final class BooleanFieldAccessor extends FieldAccessor {
+        private final MethodHandle getter;
+        private final MethodHandle setter;
+
+        BooleanFieldAccessor(final Field field, final MethodHandle getter, final MethodHandle setter) {
+            super(field);
+            this.getter = adapt(getter, boolean.class, Object.class);
+            this.setter = adapt(setter, void.class, Object.class, boolean.class);
+        }
+
+        @Override
+        Object doRead(final Object object) throws Throwable {
+            return Boolean.valueOf((boolean)getter.invokeExact(object));
+        }
+
+        @Override
+        void doWrite(final Object object, final Object value) throws Throwable {
+            setter.invokeExact(object, ((Boolean)value).booleanValue());
+        }
+    }
+
+    private static final class FloatFieldAccessor extends FieldAccessor {
+        private final MethodHandle getter;
+        private final MethodHandle setter;
+
+        FloatFieldAccessor(final Field field, final MethodHandle getter, final MethodHandle setter) {
+            super(field);
+            this.getter = adapt(getter, float.class, Object.class);
+            this.setter = adapt(setter, void.class, Object.class, float.class);
+        }
+
+        @Override
+        Object doRead(final Object object) throws Throwable {
+            return Float.valueOf((float)getter.invokeExact(object));
+        }
+
+        @Override
+        void doWrite(final Object object, final Object value) throws Throwable {
+            setter.invokeExact(object, ((Float)value).floatValue());
+        }
+    }
+
+    private static final class ShortFieldAccessor extends FieldAccessor {
+        private final MethodHandle getter;
+        private final MethodHandle setter;
+
+        ShortFieldAccessor(final Field field, final MethodHandle getter, final MethodHandle setter) {
+            super(field);
+            this.getter = adapt(getter, short.class, Object.class);
+            this.setter = adapt(setter, void.class, Object.class, short.class);
+        }
+
+        @Override
+        Object doRead(final Object object) throws Throwable {
+            return Short.valueOf((short)getter.invokeExact(object));
+        }
+
+        @Override
+        void doWrite(final Object object, final Object value) throws Throwable {
+            setter.invokeExact(object, ((Short)value).shortValue());
+        }
+    }
+
+    private static final class CharFieldAccessor extends FieldAccessor {
+        private final MethodHandle getter;
+        private final MethodHandle setter;
+
+        CharFieldAccessor(final Field field, final MethodHandle getter, final MethodHandle setter) {
+            super(field);
+            this.getter = adapt(getter, char.class, Object.class);
+            this.setter = adapt(setter, void.class, Object.class, char.class);
+        }
+
+        @Override
+        Object doRead(final Object object) throws Throwable {
+            return Character.valueOf((char)getter.invokeExact(object));
+        }
+
+        @Override
+        void doWrite(final Object object, final Object value) throws Throwable {
+            setter.invokeExact(object, ((Character)value).charValue());
+        }
+    }
+
+    private static final class ByteFieldAccessor extends FieldAccessor {
+        private final MethodHandle getter;
+        private final MethodHandle setter;
+
+        ByteFieldAccessor(final Field field, final MethodHandle getter, final MethodHandle setter) {
+            super(field);
+            this.getter = adapt(getter, byte.class, Object.class);
+            this.setter = adapt(setter, void.class, Object.class, byte.class);
+        }
+
+        @Override
+        Object doRead(final Object object) throws Throwable {
+            return Byte.valueOf((byte)getter.invokeExact(object));
+        }
+
+        @Override
+        void doWrite(final Object object, final Object value) throws Throwable {
+            setter.invokeExact(object, ((Byte)value).byteValue());
+        }
+    }
+}
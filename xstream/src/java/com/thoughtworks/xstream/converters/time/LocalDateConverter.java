@@ -1,5 +1,5 @@
 /*
- * Copyright (C) 2017 XStream Committers.
+ * Copyright (C) 2017, 2026 XStream Committers.
  * All rights reserved.
  *
  * The software in this package is published under the terms of the BSD
@@ -10,11 +10,17 @@
  */
 package com.thoughtworks.xstream.converters.time;
 
+import java.time.DateTimeException;
 import java.time.LocalDate;
 import java.time.format.DateTimeParseException;
 
 import com.thoughtworks.xstream.converters.ConversionException;
+import com.thoughtworks.xstream.converters.PrimitiveValueConverter;
 import com.thoughtworks.xstream.converters.basic.AbstractSingleValueConverter;
+import com.thoughtworks.xstream.core.util.Digits;
+import com.thoughtworks.xstream.io.PrimitiveValueReader;
+import com.thoughtworks.xstream.io.PrimitiveValueWriter;
+import com.thoughtworks.xstream.io.ValueFormatter;
 
 
 /**
@@ -23,7 +29,10 @@ import com.thoughtworks.xstream.converters.basic.AbstractSingleValueConverter;
  * @author Matej Cimbora
  * @since 1.4.10
  */
-public class LocalDateConverter extends AbstractSingleValueConverter {
+public class LocalDateConverter extends AbstractSingleValueConverter implements PrimitiveValueConverter {
+
+    private static final ValueFormatter FORMATTER = //
+        (value, buffer, offset) -> format((LocalDate)value, buffer, offset);
 
     @Override
     public boolean canConvert(final Class<?> type) {
@@ -32,6 +41,10 @@ public class LocalDateConverter extends AbstractSingleValueConverter {
 
     @Override
     public Object fromString(final String str) {
+        final LocalDate date = str.length() == 10 ? parse(str, 0) : null;
+        if (date != null) {
+            return date;
+        }
         try {
             return LocalDate.parse(str);
         } catch (final DateTimeParseException e) {
@@ -41,4 +54,56 @@ public class LocalDateConverter extends AbstractSingleValueConverter {
         }
     }
 
+    @Override
+    public boolean setValue(final Object obj, final PrimitiveValueWriter writer) {
+        // a derived converter may use another representation
+        if (getClass() != LocalDateConverter.class) {
+            return false;
+        }
+        writer.setValue(obj, FORMATTER);
+        return true;
+    }
+
+    @Override
+    public Object getValue(final PrimitiveValueReader reader) {
+        return null;
+    }
+
+    static int format(final LocalDate date, final char[] buffer, final int offset) {
+        final int year = date.getYear();
+        final int absYear = Math.abs(year);
+        int pos = offset;
+        if (year < 0) {
+            buffer[pos++] = '-';
+        } else if (year > 9999) {
+            buffer[pos++] = '+';
+        }
+        pos = absYear < 10000 ? Digits.format(absYear, 4, buffer, pos) : Digits.format((long)absYear, buffer, pos);
+        buffer[pos++] = '-';
+        pos = Digits.format(date.getMonthValue(), 2, buffer, pos);
+        buffer[pos++] = '-';
+        return Digits.format(date.getDayOfMonth(), 2, buffer, pos);
+    }
+
+    /**
+     * Parse a date in the format yyyy-MM-dd without a formatter.
+     *
+     * @return the date or <code>null</code> if the text does not contain a valid date in this format at the position
+     */
+    static LocalDate parse(final String str, final int start) {
+        if (str.length() < start + 10 || str.charAt(start + 4) != '-' || str.charAt(start + 7) != '-') {
+            return null;
+        }
+        final int year = Digits.parse(str, start, start + 4);
+        final int month = Digits.parse(str, start + 5, start + 7);
+        final int day = Digits.parse(str, start + 8, start + 10);
+        if (year < 0 || month < 0 || day < 0) {
+            return null;
+        }
+        try {
+            return LocalDate.of(year, month, day);
+        } catch (final DateTimeException e) {
+            return null;
+        }
+    }
 }
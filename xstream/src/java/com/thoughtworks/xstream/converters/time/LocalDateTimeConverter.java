@@ -1,5 +1,5 @@
 /*
- * Copyright (C) 2017 XStream Committers.
+ * Copyright (C) 2017, 2026 XStream Committers.
  * All rights reserved.
  *
  * The software in this package is published under the terms of the BSD
@@ -10,14 +10,16 @@
  */
 package com.thoughtworks.xstream.converters.time;
 
+import java.time.LocalDate;
 import java.time.LocalDateTime;
-import java.time.format.DateTimeFormatter;
-import java.time.format.DateTimeFormatterBuilder;
+import java.time.LocalTime;
 import java.time.format.DateTimeParseException;
-import java.time.temporal.ChronoField;
 
 import com.thoughtworks.xstream.converters.ConversionException;
-import com.thoughtworks.xstream.converters.SingleValueConverter;
+import com.thoughtworks.xstream.converters.PrimitiveValueConverter;
+import com.thoughtworks.xstream.io.PrimitiveValueReader;
+import com.thoughtworks.xstream.io.PrimitiveValueWriter;
+import com.thoughtworks.xstream.io.ValueFormatter;
 
 
 /**
@@ -26,16 +28,10 @@ import com.thoughtworks.xstream.converters.SingleValueConverter;
  * @author Matej Cimbora
  * @since 1.4.10
  */
-public class LocalDateTimeConverter implements SingleValueConverter {
+public class LocalDateTimeConverter implements PrimitiveValueConverter {
 
-    private static final DateTimeFormatter FORMATTER;
-
-    static {
-        FORMATTER = new DateTimeFormatterBuilder()
-            .appendPattern("uuuu-MM-dd'T'HH:mm:ss")
-            .appendFraction(ChronoField.NANO_OF_SECOND, 0, 9, true)
-            .toFormatter();
-    }
+    private static final ValueFormatter FORMATTER = //
+        (value, buffer, offset) -> format((LocalDateTime)value, buffer, offset);
 
     @Override
     public boolean canConvert(final Class<?> type) {
@@ -44,6 +40,13 @@ public class LocalDateTimeConverter implements SingleValueConverter {
 
     @Override
     public Object fromString(final String str) {
+        if (str.length() >= 19 && str.charAt(10) == 'T') {
+            final LocalDate date = LocalDateConverter.parse(str, 0);
+            final LocalTime time = date != null ? LocalTimeConverter.parse(str, 11) : null;
+            if (time != null) {
+                return LocalDateTime.of(date, time);
+            }
+        }
         try {
             return LocalDateTime.parse(str);
         } catch (final DateTimeParseException e) {
@@ -59,7 +62,28 @@ public class LocalDateTimeConverter implements SingleValueConverter {
             return null;
         }
 
-        final LocalDateTime localDateTime = (LocalDateTime)obj;
-        return FORMATTER.format(localDateTime);
+        final char[] buffer = new char[ValueFormatter.MAX_LENGTH];
+        return new String(buffer, 0, format((LocalDateTime)obj, buffer, 0));
+    }
+
+    @Override
+    public boolean setValue(final Object obj, final PrimitiveValueWriter writer) {
+        // a derived converter may use another representation
+        if (getClass() != LocalDateTimeConverter.class) {
+            return false;
+        }
+        writer.setValue(obj, FORMATTER);
+        return true;
+    }
+
+    @Override
+    public Object getValue(final PrimitiveValueReader reader) {
+        return null;
+    }
+
+    private static int format(final LocalDateTime dateTime, final char[] buffer, final int offset) {
+        final int pos = LocalDateConverter.format(dateTime.toLocalDate(), buffer, offset);
+        buffer[pos] = 'T';
+        return LocalTimeConverter.format(dateTime.toLocalTime(), buffer, pos + 1);
     }
 }
@@ -1,5 +1,5 @@
 /*
- * Copyright (C) 2017 XStream Committers.
+ * Copyright (C) 2017, 2026 XStream Committers.
  * All rights reserved.
  *
  * The software in this package is published under the terms of the BSD
@@ -10,14 +10,16 @@
  */
 package com.thoughtworks.xstream.converters.time;
 
+import java.time.DateTimeException;
 import java.time.LocalTime;
-import java.time.format.DateTimeFormatter;
-import java.time.format.DateTimeFormatterBuilder;
 import java.time.format.DateTimeParseException;
-import java.time.temporal.ChronoField;
 
 import com.thoughtworks.xstream.converters.ConversionException;
-import com.thoughtworks.xstream.converters.SingleValueConverter;
+import com.thoughtworks.xstream.converters.PrimitiveValueConverter;
+import com.thoughtworks.xstream.core.util.Digits;
+import com.thoughtworks.xstream.io.PrimitiveValueReader;
+import com.thoughtworks.xstream.io.PrimitiveValueWriter;
+import com.thoughtworks.xstream.io.ValueFormatter;
 
 
 /**
@@ -26,16 +28,10 @@ import com.thoughtworks.xstream.converters.SingleValueConverter;
  * @author Matej Cimbora
  * @since 1.4.10
  */
-public class LocalTimeConverter implements SingleValueConverter {
+public class LocalTimeConverter implements PrimitiveValueConverter {
 
-    private static final DateTimeFormatter FORMATTER;
-
-    static {
-        FORMATTER = new DateTimeFormatterBuilder()
-            .appendPattern("HH:mm:ss")
-            .appendFraction(ChronoField.NANO_OF_SECOND, 0, 9, true)
-            .toFormatter();
-    }
+    private static final ValueFormatter FORMATTER = //
+        (value, buffer, offset) -> format((LocalTime)value, buffer, offset);
 
     @Override
     public boolean canConvert(final Class<?> type) {
@@ -44,6 +40,10 @@ public class LocalTimeConverter implements SingleValueConverter {
 
     @Override
     public Object fromString(final String str) {
+        final LocalTime time = parse(str, 0);
+        if (time != null) {
+            return time;
+        }
         try {
             return LocalTime.parse(str);
         } catch (final DateTimeParseException e) {
@@ -59,7 +59,77 @@ public class LocalTimeConverter implements SingleValueConverter {
             return null;
         }
 
-        final LocalTime localTime = (LocalTime)obj;
-        return FORMATTER.format(localTime);
+        final char[] buffer = new char[ValueFormatter.MAX_LENGTH];
+        return new String(buffer, 0, format((LocalTime)obj, buffer, 0));
+    }
+
+    @Override
+    public boolean setValue(final Object obj, final PrimitiveValueWriter writer) {
+        // a derived converter may use another representation
+        if (getClass() != LocalTimeConverter.class) {
+            return false;
+        }
+        writer.setValue(obj, FORMATTER);
+        return true;
+    }
+
+    @Override
+    public Object getValue(final PrimitiveValueReader reader) {
+        return null;
+    }
+
+    /**
+     * Format a time as HH:mm:ss with an optional fraction of a second without trailing zeros.
+     */
+    static int format(final LocalTime time, final char[] buffer, final int offset) {
+        int pos = Digits.format(time.getHour(), 2, buffer, offset);
+        buffer[pos++] = ':';
+        pos = Digits.format(time.getMinute(), 2, buffer, pos);
+        buffer[pos++] = ':';
+        pos = Digits.format(time.getSecond(), 2, buffer, pos);
+        int nano = time.getNano();
+        if (nano > 0) {
+            buffer[pos++] = '.';
+            int digits = 9;
+            while (nano % 10 == 0) {
+                nano /= 10;
+                --digits;
+            }
+            pos = Digits.format(nano, digits, buffer, pos);
+        }
+        return pos;
+    }
+
+    /**
+     * Parse a time in the format HH:mm:ss with an optional fraction of a second without a formatter.
+     *
+     * @return the time or <code>null</code> if the text does not end with a valid time in this format at the position
+     */
+    static LocalTime parse(final String str, final int start) {
+        final int length = str.length() - start;
+        if (length < 8 || str.charAt(start + 2) != ':' || str.charAt(start + 5) != ':') {
+            return null;
+        }
+        final int hour = Digits.parse(str, start, start + 2);
+        final int minute = Digits.parse(str, start + 3, start + 5);
+        final int second = Digits.parse(str, start + 6, start + 8);
+        int nano = 0;
+        if (length > 8) {
+            if (str.charAt(start + 8) != '.') {
+                return null;
+            }
+            nano = Digits.parse(str, start + 9, str.length());
+            for (int i = length - 9; i < 9 && nano > 0; ++i) {
+                nano *= 10;
+            }
+        }
+        if (hour < 0 || minute < 0 || second < 0 || nano < 0) {
+            return null;
+        }
+        try {
+            return LocalTime.of(hour, minute, second, nano);
+        } catch (final DateTimeException e) {
+            return null;
+        }
     }
 }
@@ -1,5 +1,5 @@
 /*
- * Copyright (C) 2006, 2007, 2008, 2009, 2010, 2011, 2014, 2015, 2018, 2019 XStream Committers.
+ * Copyright (C) 2006, 2007, 2008, 2009, 2010, 2011, 2014, 2015, 2018, 2019, 2026 XStream Committers.
  * All rights reserved.
  *
  * The software in this package is published under the terms of the BSD
@@ -15,7 +15,7 @@ import java.util.Iterator;
 import com.thoughtworks.xstream.converters.ConversionException;
 import com.thoughtworks.xstream.converters.Converter;
 import com.thoughtworks.xstream.converters.ConverterLookup;
-import com.thoughtworks.xstream.core.util.ObjectIdDictionary;
+import com.thoughtworks.xstream.core.util.ObjectIdMap;
 import com.thoughtworks.xstream.io.HierarchicalStreamWriter;
 import com.thoughtworks.xstream.io.path.Path;
 import com.thoughtworks.xstream.io.path.PathTracker;
@@ -33,8 +33,8 @@ import com.thoughtworks.xstream.mapper.Mapper;
  */
 public abstract class AbstractReferenceMarshaller<R> extends TreeMarshaller {
 
-    private final ObjectIdDictionary<Id<R>> references = new ObjectIdDictionary<>();
-    private final ObjectIdDictionary<Object> implicitElements = new ObjectIdDictionary<>();
+    private final ObjectIdMap<Id<R>> references = new ObjectIdMap<>();
+    private final ObjectIdMap<Object> implicitElements = new ObjectIdMap<>();
     private final PathTracker pathTracker = new PathTracker();
     private Path lastPath;
 
@@ -125,6 +125,15 @@ public abstract class AbstractReferenceMarshaller<R> extends TreeMarshaller {
         }
     }
 
+    @Override
+    protected void reset(final HierarchicalStreamWriter writer) {
+        pathTracker.reset();
+        super.reset(writer == null ? null : new PathTrackingWriter(writer, pathTracker));
+        references.clear();
+        implicitElements.clear();
+        lastPath = null;
+    }
+
     protected abstract String createReference(Path currentPath, R existingReferenceKey);
 
     protected abstract R createReferenceKey(Path currentPath, Object item);
@@ -1,5 +1,5 @@
 /*
- * Copyright (C) 2006, 2007, 2008, 2011, 2014, 2015, 2018 XStream Committers.
+ * Copyright (C) 2006, 2007, 2008, 2011, 2014, 2015, 2018, 2026 XStream Committers.
  * All rights reserved.
  *
  * The software in this package is published under the terms of the BSD
@@ -85,6 +85,13 @@ public abstract class AbstractReferenceUnmarshaller<R> extends TreeUnmarshaller
         return result;
     }
 
+    @Override
+    protected void reset(final Object root, final HierarchicalStreamReader reader) {
+        super.reset(root, reader);
+        values.clear();
+        parentStack.clear();
+    }
+
     protected abstract R getReferenceKey(String reference);
 
     protected abstract R getCurrentReferenceKey();
@@ -1,5 +1,5 @@
 /*
- * Copyright (C) 2006, 2007, 2008, 2009, 2014 XStream Committers.
+ * Copyright (C) 2006, 2007, 2008, 2009, 2014, 2026 XStream Committers.
  * All rights reserved.
  *
  * The software in this package is published under the terms of the BSD
@@ -13,6 +13,7 @@ package com.thoughtworks.xstream.core;
 import com.thoughtworks.xstream.MarshallingStrategy;
 import com.thoughtworks.xstream.converters.ConverterLookup;
 import com.thoughtworks.xstream.converters.DataHolder;
+import com.thoughtworks.xstream.core.util.Pool;
 import com.thoughtworks.xstream.io.HierarchicalStreamReader;
 import com.thoughtworks.xstream.io.HierarchicalStreamWriter;
 import com.thoughtworks.xstream.mapper.Mapper;
@@ -20,6 +21,12 @@ import com.thoughtworks.xstream.mapper.Mapper;
 
 /**
  * Basic functionality of a tree based marshalling strategy.
+ * <p>
+ * The built-in strategies keep a pool of marshalling and unmarshalling contexts that are reset and reused for later
+ * calls with the same converter lookup and mapper. If all contexts of the pool are in use, a new one is created for the
+ * call. A derived strategy may create contexts with additional state, therefore it creates a new context for each
+ * call.
+ * </p>
  * 
  * @author Joe Walnes
  * @author J&ouml;rg Schaible
@@ -27,18 +34,72 @@ import com.thoughtworks.xstream.mapper.Mapper;
  */
 public abstract class AbstractTreeMarshallingStrategy implements MarshallingStrategy {
 
+    private transient volatile Pool<Contexts> contextPool;
+
+    private final boolean reusingContexts = getClass() == TreeMarshallingStrategy.class
+        || getClass() == ReferenceByIdMarshallingStrategy.class
+        || getClass() == ReferenceByXPathMarshallingStrategy.class;
+
     @Override
     public Object unmarshal(final Object root, final HierarchicalStreamReader reader, final DataHolder dataHolder,
             final ConverterLookup converterLookup, final Mapper mapper) {
-        final TreeUnmarshaller context = createUnmarshallingContext(root, reader, converterLookup, mapper);
-        return context.start(dataHolder);
+        final Contexts contexts = reusingContexts ? getContextPool().fetchFromPoolIfAvailable() : null;
+        if (contexts == null) {
+            final TreeUnmarshaller context = createUnmarshallingContext(root, reader, converterLookup, mapper);
+            return context.start(dataHolder);
+        }
+        try {
+            contexts.prepare(converterLookup, mapper);
+            TreeUnmarshaller context = contexts.unmarshaller;
+            if (context == null) {
+                context = createUnmarshallingContext(root, reader, converterLookup, mapper);
+                contexts.unmarshaller = context;
+            } else {
+                context.reset(root, reader);
+            }
+            return context.start(dataHolder);
+        } finally {
+            if (contexts.unmarshaller != null) {
+                contexts.unmarshaller.reset(null, null);
+            }
+            getContextPool().returnToPool(contexts);
+        }
     }
 
     @Override
     public void marshal(final HierarchicalStreamWriter writer, final Object obj, final ConverterLookup converterLookup,
             final Mapper mapper, final DataHolder dataHolder) {
-        final TreeMarshaller context = createMarshallingContext(writer, converterLookup, mapper);
-        context.start(obj, dataHolder);
+        final Contexts contexts = reusingContexts ? getContextPool().fetchFromPoolIfAvailable() : null;
+        if (contexts == null) {
+            final TreeMarshaller context = createMarshallingContext(writer, converterLookup, mapper);
+            context.start(obj, dataHolder);
+            return;
+        }
+        try {
+            contexts.prepare(converterLookup, mapper);
+            TreeMarshaller context = contexts.marshaller;
+            if (context == null) {
+                context = createMarshallingContext(writer, converterLookup, mapper);
+                contexts.marshaller = context;
+            } else {
+                context.reset(writer);
+            }
+            context.start(obj, dataHolder);
+        } finally {
+            if (contexts.marshaller != null) {
+                contexts.marshaller.reset(null);
+            }
+            getContextPool().returnToPool(contexts);
+        }
+    }
+
+    private Pool<Contexts> getContextPool() {
+        Pool<Contexts> pool = contextPool;
+        if (pool == null) {
+            pool = new Pool<>(0, 16, Contexts::new);
+            contextPool = pool;
+        }
+        return pool;
     }
 
     protected abstract TreeUnmarshaller createUnmarshallingContext(Object root, HierarchicalStreamReader reader,
@@ -46,4 +107,20 @@ public abstract class AbstractTreeMarshallingStrategy implements MarshallingStra
 
     protected abstract TreeMarshaller createMarshallingContext(HierarchicalStreamWriter writer,
             ConverterLookup converterLookup, Mapper mapper);
+
+    private static class Contexts {
+        private ConverterLookup converterLookup;
+        private Mapper mapper;
+        private TreeMarshaller marshaller;
+        private TreeUnmarshaller unmarshaller;
+
+        void prepare(final ConverterLookup converterLookup, final Mapper mapper) {
+            if (this.converterLookup != converterLookup || this.mapper != mapper) {
+                this.converterLookup = converterLookup;
+                this.mapper = mapper;
+                marshaller = null;
+                unmarshaller = null;
+            }
+        }
+    }
 }
@@ -1,6 +1,6 @@
 /*
  * Copyright (C) 2004, 2005, 2006 Joe Walnes.
- * Copyright (C) 2006, 2007, 2008, 2009, 2011, 2013, 2014, 2015, 2016, 2017, 2019, 2022 XStream Committers.
+ * Copyright (C) 2006, 2007, 2008, 2009, 2011, 2013, 2014, 2015, 2016, 2017, 2019, 2022, 2026 XStream Committers.
  * All rights reserved.
  *
  * The software in this package is published under the terms of the BSD
@@ -11,7 +11,7 @@
  */
 package com.thoughtworks.xstream.core;
 
-import java.util.HashMap;
+import java.lang.ref.WeakReference;
 import java.util.LinkedHashMap;
 import java.util.Map;
 
@@ -19,12 +19,17 @@ import com.thoughtworks.xstream.converters.ConversionException;
 import com.thoughtworks.xstream.converters.Converter;
 import com.thoughtworks.xstream.converters.ConverterLookup;
 import com.thoughtworks.xstream.converters.ConverterRegistry;
-import com.thoughtworks.xstream.core.util.Cloneables;
 import com.thoughtworks.xstream.core.util.PrioritizedList;
 
 
 /**
  * The default implementation of converters lookup.
+ * <p>
+ * The converter selected for a type is cached in a {@link ClassValue} owned by this instance, i.e. the cache is attached
+ * to the type itself and can be read without any lock. The cache refers the converter only weakly, therefore it
+ * neither keeps the class loader of a cached type nor this instance alive. Registering a new converter or flushing the
+ * cache replaces the complete cache atomically.
+ * </p>
  *
  * @author Joe Walnes
  * @author J&ouml;rg Schaible
@@ -33,11 +38,10 @@ import com.thoughtworks.xstream.core.util.PrioritizedList;
 public class DefaultConverterLookup implements ConverterLookup, ConverterRegistry, Caching {
 
     private final PrioritizedList<Converter> converters = new PrioritizedList<>();
-    private transient Map<String, Converter> typeToConverterMap;
-    private Map<String, Converter> serializationMap = null;
+    private transient volatile ClassValue<WeakReference<Converter>> typeToConverterCache;
 
     public DefaultConverterLookup() {
-        this(new HashMap<>());
+        typeToConverterCache = new ConverterCache();
     }
 
     /**
@@ -46,30 +50,35 @@ public class DefaultConverterLookup implements ConverterLookup, ConverterRegistr
      * @param map the map to use
      * @throws NullPointerException if map is null
      * @since 1.4.11
+     * @deprecated As of upcoming, the converters are cached by type in a lock-free cache, the map is no longer used
      */
+    @Deprecated
     public DefaultConverterLookup(final Map<String, Converter> map) {
-        typeToConverterMap = map;
-        typeToConverterMap.clear();
+        this();
+        map.clear();
     }
 
     @Override
     public Converter lookupConverterForType(final Class<?> type) {
-        final Converter cachedConverter = type != null ? typeToConverterMap.get(type.getName()) : null;
-        if (cachedConverter != null) {
-            return cachedConverter;
+        if (type == null) {
+            return findConverter(null);
         }
+        // a converter found for a replaced cache is only stored in the replaced one
+        final Converter converter = typeToConverterCache.get(type).get();
+        return converter != null ? converter : findConverter(type);
+    }
 
+    private Converter findConverter(final Class<?> type) {
         final Map<String, String> errors = new LinkedHashMap<>();
-        for (final Converter converter : converters) {
-            try {
-                if (converter.canConvert(type)) {
-                    if (type != null) {
-                        typeToConverterMap.put(type.getName(), converter);
+        synchronized (converters) {
+            for (final Converter converter : converters) {
+                try {
+                    if (converter.canConvert(type)) {
+                        return converter;
                     }
-                    return converter;
+                } catch (final RuntimeException | LinkageError e) {
+                    errors.put(converter.getClass().getName(), e.getMessage());
                 }
-            } catch (final RuntimeException | LinkageError e) {
-                errors.put(converter.getClass().getName(), e.getMessage());
             }
         }
 
@@ -86,29 +95,34 @@ public class DefaultConverterLookup implements ConverterLookup, ConverterRegistr
 
     @Override
     public void registerConverter(final Converter converter, final int priority) {
-        typeToConverterMap.clear();
-        converters.add(converter, priority);
+        synchronized (converters) {
+            converters.add(converter, priority);
+            typeToConverterCache = new ConverterCache();
+        }
     }
 
     @Override
     public void flushCache() {
-        typeToConverterMap.clear();
-        for (final Converter converter : converters) {
-            if (converter instanceof Caching) {
-                ((Caching)converter).flushCache();
+        typeToConverterCache = new ConverterCache();
+        synchronized (converters) {
+            for (final Converter converter : converters) {
+                if (converter instanceof Caching) {
+                    ((Caching)converter).flushCache();
+                }
             }
         }
     }
 
-    private Object writeReplace() {
-        serializationMap = Cloneables.cloneIfPossible(typeToConverterMap);
-        serializationMap.clear();
+    private Object readResolve() {
+        typeToConverterCache = new ConverterCache();
         return this;
     }
 
-    private Object readResolve() {
-        typeToConverterMap = serializationMap == null ? new HashMap<>() : serializationMap;
-        serializationMap = null;
-        return this;
+    private class ConverterCache extends ClassValue<WeakReference<Converter>> {
+        @Override
+        protected WeakReference<Converter> computeValue(final Class<?> type) {
+            // the registered converters keep the converter alive
+            return new WeakReference<>(findConverter(type));
+        }
     }
 }
@@ -1,6 +1,6 @@
 /*
  * Copyright (C) 2004, 2005, 2006 Joe Walnes.
- * Copyright (C) 2006, 2007, 2008, 2009, 2014 XStream Committers.
+ * Copyright (C) 2006, 2007, 2008, 2009, 2014, 2026 XStream Committers.
  * All rights reserved.
  *
  * The software in this package is published under the terms of the BSD
@@ -37,6 +37,14 @@ public class ReferenceByIdMarshaller extends AbstractReferenceMarshaller<String>
         this(writer, converterLookup, mapper, new SequenceGenerator(1));
     }
 
+    @Override
+    protected void reset(final HierarchicalStreamWriter writer) {
+        super.reset(writer);
+        if (idGenerator instanceof SequenceGenerator) {
+            ((SequenceGenerator)idGenerator).reset();
+        }
+    }
+
     @Override
     protected String createReference(final Path currentPath, final String existingReferenceKey) {
         return existingReferenceKey.toString();
@@ -1,6 +1,6 @@
 /*
  * Copyright (C) 2004, 2005, 2006 Joe Walnes.
- * Copyright (C) 2006, 2007, 2009, 2011, 2014 XStream Committers.
+ * Copyright (C) 2006, 2007, 2009, 2011, 2014, 2026 XStream Committers.
  * All rights reserved.
  *
  * The software in this package is published under the terms of the BSD
@@ -33,6 +33,13 @@ public class ReferenceByXPathUnmarshaller extends AbstractReferenceUnmarshaller<
         isNameEncoding = reader.underlyingReader() instanceof AbstractReader;
     }
 
+    @Override
+    protected void reset(final Object root, final HierarchicalStreamReader reader) {
+        pathTracker.reset();
+        super.reset(root, reader == null ? null : new PathTrackingReader(reader, pathTracker));
+        isNameEncoding = reader != null && reader.underlyingReader() instanceof AbstractReader;
+    }
+
     @Override
     protected Path getReferenceKey(final String reference) {
         final Path path = new Path(isNameEncoding
@@ -1,6 +1,6 @@
 /*
  * Copyright (C) 2004 Joe Walnes.
- * Copyright (C) 2006, 2007, 2008, 2014 XStream Committers.
+ * Copyright (C) 2006, 2007, 2008, 2014, 2026 XStream Committers.
  * All rights reserved.
  *
  * The software in this package is published under the terms of the BSD
@@ -13,9 +13,15 @@ package com.thoughtworks.xstream.core;
 
 public class SequenceGenerator implements ReferenceByIdMarshaller.IDGenerator {
 
+    private final int startsAt;
     private int counter;
 
     public SequenceGenerator(final int startsAt) {
+        this.startsAt = startsAt;
+        counter = startsAt;
+    }
+
+    void reset() {
         counter = startsAt;
     }
 
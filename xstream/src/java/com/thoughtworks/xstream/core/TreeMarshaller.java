@@ -1,6 +1,6 @@
 /*
  * Copyright (C) 2004, 2005, 2006 Joe Walnes.
- * Copyright (C) 2006, 2007, 2009, 2011, 2014, 2015, 2018, 2021 XStream Committers.
+ * Copyright (C) 2006, 2007, 2009, 2011, 2014, 2015, 2018, 2021, 2026 XStream Committers.
  * All rights reserved.
  *
  * The software in this package is published under the terms of the BSD
@@ -19,17 +19,22 @@ import com.thoughtworks.xstream.converters.Converter;
 import com.thoughtworks.xstream.converters.ConverterLookup;
 import com.thoughtworks.xstream.converters.DataHolder;
 import com.thoughtworks.xstream.converters.MarshallingContext;
-import com.thoughtworks.xstream.core.util.ObjectIdDictionary;
+import com.thoughtworks.xstream.core.util.FastStack;
+import com.thoughtworks.xstream.core.util.ObjectIdMap;
 import com.thoughtworks.xstream.io.HierarchicalStreamWriter;
 import com.thoughtworks.xstream.mapper.Mapper;
 
 
 public class TreeMarshaller implements MarshallingContext {
 
+    // parent objects up to this depth are checked by a scan of the stack, deeper ones by the map
+    private static final int SHALLOW_DEPTH = 16;
+
     protected HierarchicalStreamWriter writer;
     protected ConverterLookup converterLookup;
     private final Mapper mapper;
-    private final ObjectIdDictionary<Object> parentObjects = new ObjectIdDictionary<>();
+    private final FastStack<Object> parentObjects = new FastStack<>(SHALLOW_DEPTH);
+    private ObjectIdMap<Object> deepParentObjects;
     private DataHolder dataHolder;
 
     public TreeMarshaller(
@@ -60,15 +65,56 @@ public class TreeMarshaller implements MarshallingContext {
     }
 
     protected void convert(final Object item, final Converter converter) {
-        if (parentObjects.containsId(item)) {
+        if (isParentObject(item)) {
             final ConversionException e = new CircularReferenceException("Recursive reference to parent object");
             e.add("item-type", item.getClass().getName());
             e.add("converter-type", converter.getClass().getName());
             throw e;
         }
-        parentObjects.associateId(item, "");
-        converter.marshal(item, writer, this);
-        parentObjects.removeId(item);
+        final int depth = parentObjects.size();
+        if (depth >= SHALLOW_DEPTH) {
+            if (deepParentObjects == null) {
+                deepParentObjects = new ObjectIdMap<>();
+            }
+            deepParentObjects.associateId(item, null);
+        }
+        parentObjects.push(item);
+        try {
+            converter.marshal(item, writer, this);
+        } finally {
+            parentObjects.popSilently();
+            if (depth >= SHALLOW_DEPTH) {
+                deepParentObjects.removeId(item);
+            }
+        }
+    }
+
+    private boolean isParentObject(final Object item) {
+        final int depth = Math.min(parentObjects.size(), SHALLOW_DEPTH);
+        for (int i = 0; i < depth; ++i) {
+            if (parentObjects.get(i) == item) {
+                return true;
+            }
+        }
+        return deepParentObjects != null && deepParentObjects.containsId(item);
+    }
+
+    /**
+     * Reset the marshaller for another marshalling process. Any state of a previous process is dropped.
+     * <p>
+     * Derived marshallers with additional state must override this method.
+     * </p>
+     *
+     * @param writer the writer for the next process or <code>null</code> to release the previous process only
+     * @since upcoming
+     */
+    protected void reset(final HierarchicalStreamWriter writer) {
+        this.writer = writer;
+        parentObjects.clear();
+        if (deepParentObjects != null) {
+            deepParentObjects.clear();
+        }
+        dataHolder = null;
     }
 
     public void start(final Object item, final DataHolder dataHolder) {
@@ -1,6 +1,6 @@
 /*
  * Copyright (C) 2004, 2005, 2006 Joe Walnes.
- * Copyright (C) 2006, 2007, 2008, 2009, 2011, 2014, 2015, 2018, 2021 XStream Committers.
+ * Copyright (C) 2006, 2007, 2008, 2009, 2011, 2014, 2015, 2018, 2021, 2026 XStream Committers.
  * All rights reserved.
  *
  * The software in this package is published under the terms of the BSD
@@ -31,7 +31,7 @@ import com.thoughtworks.xstream.security.AbstractSecurityException;
 
 public class TreeUnmarshaller implements UnmarshallingContext {
 
-    private final Object root;
+    private Object root;
     protected HierarchicalStreamReader reader;
     private final ConverterLookup converterLookup;
     private final Mapper mapper;
@@ -138,6 +138,24 @@ public class TreeUnmarshaller implements UnmarshallingContext {
         }
     }
 
+    /**
+     * Reset the unmarshaller for another unmarshalling process. Any state of a previous process is dropped.
+     * <p>
+     * Derived unmarshallers with additional state must override this method.
+     * </p>
+     *
+     * @param root the root object for the next process
+     * @param reader the reader for the next process or <code>null</code> to release the previous process only
+     * @since upcoming
+     */
+    protected void reset(final Object root, final HierarchicalStreamReader reader) {
+        this.root = root;
+        this.reader = reader;
+        types.clear();
+        dataHolder = null;
+        validationList.clear();
+    }
+
     public Object start(final DataHolder dataHolder) {
         this.dataHolder = dataHolder;
         final Class<?> type = HierarchicalStreams.readClassType(reader, mapper);
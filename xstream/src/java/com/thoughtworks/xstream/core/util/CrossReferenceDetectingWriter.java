@@ -0,0 +1,115 @@
+/*
+ * Copyright (C) 2026 XStream Committers.
+ * All rights reserved.
+ *
+ * The software in this package is published under the terms of the BSD
+ * style license a copy of which has been included with this distribution in
+ * the LICENSE.txt file.
+ *
+ * Created on 17. October 2026
+ */
+package com.thoughtworks.xstream.core.util;
+
+import java.util.HashSet;
+import java.util.Set;
+
+import com.thoughtworks.xstream.io.HierarchicalStreamWriter;
+import com.thoughtworks.xstream.io.PrimitiveWriterWrapper;
+import com.thoughtworks.xstream.mapper.Mapper;
+
+
+/**
+ * A writer that detects references leaving the current record.
+ * <p>
+ * Records are the top-level elements written into this writer. A reference crosses the record boundary if it is an
+ * absolute XPath, a relative XPath pointing outside of the record or an id that has not been defined in the same record
+ * before. The values are passed unmodified to the wrapped writer, primitive values only if it supports them itself.
+ * </p>
+ *
+ * @since upcoming
+ */
+public class CrossReferenceDetectingWriter extends PrimitiveWriterWrapper {
+
+    private final String idAttribute;
+    private final String referenceAttribute;
+    private final Set<String> ids = new HashSet<>();
+    private int depth = -1;
+    private boolean crossReference;
+
+    /**
+     * Construct a CrossReferenceDetectingWriter.
+     *
+     * @param writer the wrapped writer
+     * @param mapper the mapper for the names of the system attributes
+     * @since upcoming
+     */
+    public CrossReferenceDetectingWriter(final HierarchicalStreamWriter writer, final Mapper mapper) {
+        super(writer);
+        idAttribute = mapper.aliasForSystemAttribute("id");
+        referenceAttribute = mapper.aliasForSystemAttribute("reference");
+    }
+
+    @Override
+    public void startNode(final String name) {
+        startRecord();
+        super.startNode(name);
+    }
+
+    @Override
+    public void startNode(final String name, final Class<?> clazz) {
+        startRecord();
+        super.startNode(name, clazz);
+    }
+
+    private void startRecord() {
+        if (++depth == 0) {
+            ids.clear();
+        }
+    }
+
+    @Override
+    public void endNode() {
+        --depth;
+        super.endNode();
+    }
+
+    @Override
+    public void addAttribute(final String name, final String value) {
+        if (name.equals(idAttribute)) {
+            ids.add(value);
+        } else if (name.equals(referenceAttribute) && !crossReference) {
+            crossReference = isOutsideOfRecord(value);
+        }
+        super.addAttribute(name, value);
+    }
+
+    private boolean isOutsideOfRecord(final String reference) {
+        if (reference.startsWith("/")) {
+            return true;
+        }
+        if (reference.startsWith("..")) {
+            int level = depth;
+            for (final String step : reference.split("/")) {
+                if (step.equals("..")) {
+                    if (--level < 0) {
+                        return true;
+                    }
+                } else if (!step.equals(".")) {
+                    ++level;
+                }
+            }
+            return false;
+        }
+        return !ids.contains(reference);
+    }
+
+    /**
+     * Check whether any reference written so far crosses the boundary of its record.
+     *
+     * @return <code>true</code> if a cross reference has been detected
+     * @since upcoming
+     */
+    public boolean hasCrossReference() {
+        return crossReference;
+    }
+}
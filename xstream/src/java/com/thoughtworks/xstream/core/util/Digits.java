@@ -0,0 +1,118 @@
+/*
+ * Copyright (C) 2026 XStream Committers.
+ * All rights reserved.
+ *
+ * The software in this package is published under the terms of the BSD
+ * style license a copy of which has been included with this distribution in
+ * the LICENSE.txt file.
+ *
+ * Created on 17. October 2026
+ */
+package com.thoughtworks.xstream.core.util;
+
+/**
+ * Utility class to format and parse decimal numbers directly in character buffers.
+ *
+ * @since upcoming
+ */
+public final class Digits {
+
+    private Digits() {
+    }
+
+    /**
+     * Format a long value in the representation of {@link Long#toString(long)}.
+     *
+     * @param value the value
+     * @param buffer the target buffer
+     * @param offset the start position in the buffer
+     * @return the position after the last written character
+     * @since upcoming
+     */
+    public static int format(final long value, final char[] buffer, final int offset) {
+        // calculate with negative values to support Long.MIN_VALUE
+        long remaining = value < 0 ? value : -value;
+        int length = value < 0 ? 2 : 1;
+        for (long v = remaining; v <= -10; v /= 10) {
+            ++length;
+        }
+        final int end = offset + length;
+        int pos = end;
+        do {
+            buffer[--pos] = (char)('0' - remaining % 10);
+            remaining /= 10;
+        } while (remaining != 0);
+        if (value < 0) {
+            buffer[offset] = '-';
+        }
+        return end;
+    }
+
+    /**
+     * Format a double value in the representation of {@link Double#toString(double)}.
+     * <p>
+     * Integral values with less than eight digits are formatted directly, any other value is formatted with
+     * {@link Double#toString(double)}.
+     * </p>
+     *
+     * @param value the value
+     * @param buffer the target buffer
+     * @param offset the start position in the buffer
+     * @return the position after the last written character
+     * @since upcoming
+     */
+    public static int format(final double value, final char[] buffer, final int offset) {
+        if (value == (long)value && Math.abs(value) < 1e7 && (value != 0 || Double.doubleToRawLongBits(value) == 0)) {
+            final int end = format((long)value, buffer, offset);
+            buffer[end] = '.';
+            buffer[end + 1] = '0';
+            return end + 2;
+        }
+        final String text = Double.toString(value);
+        text.getChars(0, text.length(), buffer, offset);
+        return offset + text.length();
+    }
+
+    /**
+     * Format a non-negative int value with a fixed number of digits padded with leading zeros.
+     *
+     * @param value the value, it must be less than 10 to the power of digits
+     * @param digits the number of digits
+     * @param buffer the target buffer
+     * @param offset the start position in the buffer
+     * @return the position after the last written character
+     * @since upcoming
+     */
+    public static int format(final int value, final int digits, final char[] buffer, final int offset) {
+        int remaining = value;
+        for (int pos = offset + digits - 1; pos >= offset; --pos) {
+            buffer[pos] = (char)('0' + remaining % 10);
+            remaining /= 10;
+        }
+        return offset + digits;
+    }
+
+    /**
+     * Parse a non-negative int value from a sequence of up to nine decimal digits.
+     *
+     * @param text the text containing the digits
+     * @param start the position of the first digit
+     * @param end the position after the last digit
+     * @return the value or -1 if the range is empty, too long or contains other characters than decimal digits
+     * @since upcoming
+     */
+    public static int parse(final CharSequence text, final int start, final int end) {
+        if (start >= end || end - start > 9) {
+            return -1;
+        }
+        int value = 0;
+        for (int i = start; i < end; ++i) {
+            final char c = text.charAt(i);
+            if (c < '0' || c > '9') {
+                return -1;
+            }
+            value = value * 10 + c - '0';
+        }
+        return value;
+    }
+}
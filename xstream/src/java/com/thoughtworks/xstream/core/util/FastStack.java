@@ -1,6 +1,6 @@
 /*
  * Copyright (C) 2004, 2005 Joe Walnes.
- * Copyright (C) 2006, 2007, 2009, 2014, 2018 XStream Committers.
+ * Copyright (C) 2006, 2007, 2009, 2014, 2018, 2026 XStream Committers.
  * All rights reserved.
  *
  * The software in this package is published under the terms of the BSD
@@ -71,6 +71,16 @@ public final class FastStack<T> {
         return pointer;
     }
 
+    /**
+     * Remove all elements from the stack.
+     *
+     * @since upcoming
+     */
+    public void clear() {
+        Arrays.fill(stack, 0, pointer, null);
+        pointer = 0;
+    }
+
     public boolean hasStuff() {
         return pointer > 0;
     }
@@ -0,0 +1,119 @@
+/*
+ * Copyright (C) 2026 XStream Committers.
+ * All rights reserved.
+ *
+ * The software in this package is published under the terms of the BSD
+ * style license a copy of which has been included with this distribution in
+ * the LICENSE.txt file.
+ *
+ * Created on 17. October 2026
+ */
+package com.thoughtworks.xstream.core.util;
+
+import java.util.AbstractMap;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+
+/**
+ * A thread-safe map with a limited number of entries for caching purposes.
+ * <p>
+ * New entries are added to a young generation. If the young generation is full, it replaces the old generation and all
+ * entries of the previous old generation are dropped at once. An entry found in the old generation is moved into the
+ * young one again. Therefore recently used entries are kept, while eviction costs nothing per entry. Threads adding
+ * entries concurrently may exceed the limit by a few entries. Neither keys nor values may be <code>null</code>.
+ * </p>
+ *
+ * @since upcoming
+ */
+public class GenerationalCache<K, V> extends AbstractMap<K, V> {
+
+    private final int generationSize;
+    private volatile Map<K, V> young;
+    private volatile Map<K, V> old;
+
+    /**
+     * Construct a GenerationalCache.
+     *
+     * @param maxSize the maximum number of entries
+     * @throws IllegalArgumentException if maxSize is less than 2
+     * @since upcoming
+     */
+    public GenerationalCache(final int maxSize) {
+        if (maxSize < 2) {
+            throw new IllegalArgumentException("Cache must contain at least 2 entries");
+        }
+        generationSize = maxSize / 2;
+        young = new ConcurrentHashMap<>();
+        old = Collections.emptyMap();
+    }
+
+    @Override
+    public V get(final Object key) {
+        V value = young.get(key);
+        if (value == null) {
+            value = old.get(key);
+            if (value != null) {
+                @SuppressWarnings("unchecked")
+                final K k = (K)key;
+                put(k, value);
+            }
+        }
+        return value;
+    }
+
+    @Override
+    public boolean containsKey(final Object key) {
+        return young.containsKey(key) || old.containsKey(key);
+    }
+
+    @Override
+    public V put(final K key, final V value) {
+        Map<K, V> young = this.young;
+        if (young.size() >= generationSize) {
+            synchronized (this) {
+                if (this.young == young) {
+                    old = young;
+                    this.young = new ConcurrentHashMap<>();
+                }
+                young = this.young;
+            }
+        }
+        final V previous = young.put(key, value);
+        return previous != null ? previous : old.get(key);
+    }
+
+    @Override
+    public V remove(final Object key) {
+        final V value = young.remove(key);
+        final V oldValue = old.remove(key);
+        return value != null ? value : oldValue;
+    }
+
+    @Override
+    public synchronized void clear() {
+        young = new ConcurrentHashMap<>();
+        old = Collections.emptyMap();
+    }
+
+    @Override
+    public int size() {
+        return entrySet().size();
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * The set is an unmodifiable snapshot of the current entries.
+     * </p>
+     */
+    @Override
+    public Set<Map.Entry<K, V>> entrySet() {
+        final Map<K, V> snapshot = new HashMap<>(old);
+        snapshot.putAll(young);
+        return Collections.unmodifiableMap(snapshot).entrySet();
+    }
+}
@@ -1,6 +1,6 @@
 /*
  * Copyright (C) 2004 Joe Walnes.
- * Copyright (C) 2006, 2007, 2008, 2010, 2014, 2015 XStream Committers.
+ * Copyright (C) 2006, 2007, 2008, 2010, 2014, 2015, 2026 XStream Committers.
  * All rights reserved.
  *
  * The software in this package is published under the terms of the BSD
@@ -23,7 +23,10 @@ import java.util.Map;
  * Behaves similar to java.util.IdentityHashMap, but in JDK1.3 as well. Additionally the implementation keeps track of
  * orphaned IDs by using a WeakReference to store the reference object.
  * </p>
+ *
+ * @deprecated As of upcoming, use {@link ObjectIdMap}
  */
+@Deprecated
 public class ObjectIdDictionary<E> {
 
     private final Map<? super Wrapper, E> map = new HashMap<>();
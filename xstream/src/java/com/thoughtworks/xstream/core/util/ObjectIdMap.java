@@ -0,0 +1,194 @@
+/*
+ * Copyright (C) 2026 XStream Committers.
+ * All rights reserved.
+ *
+ * The software in this package is published under the terms of the BSD
+ * style license a copy of which has been included with this distribution in
+ * the LICENSE.txt file.
+ *
+ * Created on 16. October 2026
+ */
+package com.thoughtworks.xstream.core.util;
+
+import java.util.Arrays;
+
+
+/**
+ * Store IDs against given object references.
+ * <p>
+ * The implementation is an open-addressing hash table based on the identity of the objects using linear probing.
+ * Keys and values are kept in a single array without any wrapper for the entries, therefore no lookup allocates
+ * anything. In contrast to {@link ObjectIdDictionary} the object references are kept strongly, the map can be reused
+ * after a call of {@link #clear()}. A cleared map retains its capacity only up to a limit, so that a reused map does
+ * not keep the table of an exceptionally large object graph.
+ * </p>
+ *
+ * @since upcoming
+ */
+public final class ObjectIdMap<E> {
+
+    private static final int MINIMUM_CAPACITY = 4;
+    private static final int MAXIMUM_CAPACITY = 1 << 29;
+    private static final int MAXIMUM_RETAINED_CAPACITY = 1024;
+
+    // keys at even, values at odd indices
+    private final int initialCapacity;
+    private Object[] table;
+    private int size;
+    private int threshold;
+
+    /**
+     * Constructs an ObjectIdMap.
+     *
+     * @since upcoming
+     */
+    public ObjectIdMap() {
+        this(32);
+    }
+
+    /**
+     * Constructs an ObjectIdMap.
+     *
+     * @param expectedSize the number of entries the map should hold without resizing
+     * @since upcoming
+     */
+    public ObjectIdMap(final int expectedSize) {
+        int capacity = MINIMUM_CAPACITY;
+        while (capacity < MAXIMUM_CAPACITY && capacity * 2 < expectedSize * 3) {
+            capacity <<= 1;
+        }
+        initialCapacity = capacity;
+        init(capacity);
+    }
+
+    private void init(final int capacity) {
+        table = new Object[2 * capacity];
+        threshold = capacity * 2 / 3;
+    }
+
+    private static int indexFor(final Object obj, final int length) {
+        final int h = System.identityHashCode(obj);
+        // multiply by -127 and use the lowest bit as part of the hash
+        return (h << 1) - (h << 8) & length - 1;
+    }
+
+    private static int nextIndex(final int i, final int length) {
+        return i + 2 < length ? i + 2 : 0;
+    }
+
+    private int find(final Object obj) {
+        final Object[] tab = table;
+        final int length = tab.length;
+        int i = indexFor(obj, length);
+        for (Object item; (item = tab[i]) != null; i = nextIndex(i, length)) {
+            if (item == obj) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    public void associateId(final Object obj, final E id) {
+        final Object[] tab = table;
+        final int length = tab.length;
+        int i = indexFor(obj, length);
+        for (Object item; (item = tab[i]) != null; i = nextIndex(i, length)) {
+            if (item == obj) {
+                tab[i + 1] = id;
+                return;
+            }
+        }
+        tab[i] = obj;
+        tab[i + 1] = id;
+        if (++size > threshold) {
+            resize();
+        }
+    }
+
+    public E lookupId(final Object obj) {
+        final int i = find(obj);
+        @SuppressWarnings("unchecked")
+        final E id = i < 0 ? null : (E)table[i + 1];
+        return id;
+    }
+
+    public boolean containsId(final Object obj) {
+        return find(obj) >= 0;
+    }
+
+    public void removeId(final Object obj) {
+        final int i = find(obj);
+        if (i >= 0) {
+            --size;
+            closeDeletion(i);
+        }
+    }
+
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Remove all entries. The capacity of the map is retained up to 1024 entries, a larger map is shrunk to its initial
+     * capacity.
+     *
+     * @since upcoming
+     */
+    public void clear() {
+        final int capacity = table.length / 2;
+        if (capacity > MAXIMUM_RETAINED_CAPACITY && capacity > initialCapacity) {
+            init(initialCapacity);
+            size = 0;
+        } else if (size > 0) {
+            Arrays.fill(table, null);
+            size = 0;
+        }
+    }
+
+    int capacity() {
+        return table.length / 2;
+    }
+
+    private void closeDeletion(int d) {
+        // move the following entries of the probe sequence into the free slot unless they are at their home position
+        final Object[] tab = table;
+        final int length = tab.length;
+        tab[d] = null;
+        tab[d + 1] = null;
+        for (int i = nextIndex(d, length); tab[i] != null; i = nextIndex(i, length)) {
+            final int r = indexFor(tab[i], length);
+            if (i < r && (r <= d || d <= i) || r <= d && d <= i) {
+                tab[d] = tab[i];
+                tab[d + 1] = tab[i + 1];
+                tab[i] = null;
+                tab[i + 1] = null;
+                d = i;
+            }
+        }
+    }
+
+    private void resize() {
+        final Object[] oldTable = table;
+        final int oldCapacity = oldTable.length / 2;
+        if (oldCapacity >= MAXIMUM_CAPACITY) {
+            if (size >= MAXIMUM_CAPACITY - 1) {
+                throw new IllegalStateException("Capacity exhausted");
+            }
+            return;
+        }
+        init(oldCapacity * 2);
+        final Object[] tab = table;
+        final int length = tab.length;
+        for (int j = 0; j < oldTable.length; j += 2) {
+            final Object key = oldTable[j];
+            if (key != null) {
+                int i = indexFor(key, length);
+                while (tab[i] != null) {
+                    i = nextIndex(i, length);
+                }
+                tab[i] = key;
+                tab[i + 1] = oldTable[j + 1];
+            }
+        }
+    }
+}
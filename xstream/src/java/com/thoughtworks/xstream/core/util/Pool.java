@@ -43,6 +43,20 @@ public class Pool<T> {
     }
 
     public T fetchFromPool() {
+        return fetchFromPool(true);
+    }
+
+    /**
+     * Fetch an element from the pool without waiting.
+     *
+     * @return the element or <code>null</code> if all elements of the pool are in use
+     * @since upcoming
+     */
+    public T fetchFromPoolIfAvailable() {
+        return fetchFromPool(false);
+    }
+
+    private T fetchFromPool(final boolean wait) {
         T result;
         synchronized (this) {
             if (pool == null) {
@@ -52,6 +66,9 @@ public class Pool<T> {
                     putInPool(factory.newInstance());
                 }
             }
+            if (!wait && nextAvailable == maxPoolSize) {
+                return null;
+            }
             while (nextAvailable == maxPoolSize) {
                 try {
                     wait();
@@ -70,6 +87,16 @@ public class Pool<T> {
         return result;
     }
 
+    /**
+     * Return an element to the pool that has been fetched before.
+     *
+     * @param object the element
+     * @since upcoming
+     */
+    public void returnToPool(final T object) {
+        putInPool(object);
+    }
+
     protected void putInPool(final T object) {
         synchronized (this) {
             if (nextAvailable == 0) {
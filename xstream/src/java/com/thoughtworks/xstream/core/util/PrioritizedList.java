@@ -1,6 +1,6 @@
 /*
  * Copyright (C) 2005, 2006 Joe Walnes.
- * Copyright (C) 2006, 2007, 2011, 2014, 2015 XStream Committers.
+ * Copyright (C) 2006, 2007, 2011, 2014, 2015, 2026 XStream Committers.
  * All rights reserved.
  *
  * The software in this package is published under the terms of the BSD
@@ -38,6 +38,17 @@ public class PrioritizedList<E> implements Iterable<E> {
         this.set.add(new PrioritizedItem<>(item, priority, ++lastId));
     }
 
+    /**
+     * Remove all items from the list.
+     *
+     * @since upcoming
+     */
+    public void clear() {
+        set.clear();
+        lowestPriority = Integer.MAX_VALUE;
+        lastId = 0;
+    }
+
     @Override
     public Iterator<E> iterator() {
         return new PrioritizedItemIterator<>(this.set.iterator());
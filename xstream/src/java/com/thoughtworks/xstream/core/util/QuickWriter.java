@@ -1,6 +1,6 @@
 /*
  * Copyright (C) 2004, 2005, 2006 Joe Walnes.
- * Copyright (C) 2006, 2007, 2009, 2014, 2023 XStream Committers.
+ * Copyright (C) 2006, 2007, 2009, 2014, 2023, 2026 XStream Committers.
  * All rights reserved.
  *
  * The software in this package is published under the terms of the BSD
@@ -14,6 +14,7 @@ package com.thoughtworks.xstream.core.util;
 import java.io.Closeable;
 import java.io.IOException;
 import java.io.Writer;
+import java.util.Arrays;
 
 import com.thoughtworks.xstream.io.StreamException;
 
@@ -70,6 +71,26 @@ public class QuickWriter implements Closeable {
         pointer += len;
     }
 
+    /**
+     * Write a range of characters.
+     *
+     * @param c the characters
+     * @param offset the start position in the array
+     * @param len the number of characters to write
+     * @since upcoming
+     */
+    public void write(final char[] c, final int offset, final int len) {
+        if (pointer + len > buffer.length) {
+            flush();
+            if (len > buffer.length) {
+                raw(Arrays.copyOfRange(c, offset, offset + len));
+                return;
+            }
+        }
+        System.arraycopy(c, offset, buffer, pointer, len);
+        pointer += len;
+    }
+
     public void flush() {
         try {
             writer.write(buffer, 0, pointer);
@@ -0,0 +1,272 @@
+/*
+ * Copyright (C) 2026 XStream Committers.
+ * All rights reserved.
+ *
+ * The software in this package is published under the terms of the BSD
+ * style license a copy of which has been included with this distribution in
+ * the LICENSE.txt file.
+ *
+ * Created on 17. October 2026
+ */
+package com.thoughtworks.xstream.core.util;
+
+import java.util.Arrays;
+
+import com.thoughtworks.xstream.io.HierarchicalStreamWriter;
+import com.thoughtworks.xstream.io.PrimitiveArrayWriter;
+import com.thoughtworks.xstream.io.PrimitiveValueWriter;
+import com.thoughtworks.xstream.io.ValueFormatter;
+
+
+/**
+ * A writer that records all calls in memory to replay them later into another writer.
+ * <p>
+ * Primitive values and arrays are kept as they are. They are replayed with the same methods if the target writer
+ * itself supports them, otherwise they are replayed in their String representation. The underlying writer of the target
+ * is not used, since a wrapper may modify the values.
+ * </p>
+ *
+ * @since upcoming
+ */
+public class RecordingWriter implements PrimitiveValueWriter, PrimitiveArrayWriter {
+
+    private static final byte START_NODE = 0;
+    private static final byte ATTRIBUTE = 1;
+    private static final byte VALUE = 2;
+    private static final byte END_NODE = 3;
+    private static final byte INT_VALUE = 4;
+    private static final byte LONG_VALUE = 5;
+    private static final byte DOUBLE_VALUE = 6;
+    private static final byte BOOLEAN_VALUE = 7;
+    private static final byte ARRAY = 8;
+    private static final byte FORMATTED_VALUE = 9;
+
+    private byte[] operations = new byte[64];
+    private Object[] arguments = new Object[128];
+    private long[] numbers = new long[64];
+    private int size;
+
+    private void record(final byte operation, final Object first, final Object second, final long number) {
+        if (size == operations.length) {
+            operations = Arrays.copyOf(operations, size * 2);
+            arguments = Arrays.copyOf(arguments, size * 4);
+            numbers = Arrays.copyOf(numbers, size * 2);
+        }
+        operations[size] = operation;
+        arguments[size * 2] = first;
+        arguments[size * 2 + 1] = second;
+        numbers[size++] = number;
+    }
+
+    @Override
+    public void startNode(final String name, final Class<?> clazz) {
+        record(START_NODE, name, clazz, 0);
+    }
+
+    @Override
+    public void startNode(final String name) {
+        record(START_NODE, name, null, 0);
+    }
+
+    @Override
+    public void addAttribute(final String name, final String value) {
+        record(ATTRIBUTE, name, value, 0);
+    }
+
+    @Override
+    public void setValue(final String text) {
+        record(VALUE, text, null, 0);
+    }
+
+    @Override
+    public void setValue(final int value) {
+        record(INT_VALUE, null, null, value);
+    }
+
+    @Override
+    public void setValue(final long value) {
+        record(LONG_VALUE, null, null, value);
+    }
+
+    @Override
+    public void setValue(final double value) {
+        record(DOUBLE_VALUE, null, null, Double.doubleToRawLongBits(value));
+    }
+
+    @Override
+    public void setValue(final boolean value) {
+        record(BOOLEAN_VALUE, null, null, value ? 1 : 0);
+    }
+
+    @Override
+    public void setValue(final Object value, final ValueFormatter formatter) {
+        record(FORMATTED_VALUE, value, formatter, 0);
+    }
+
+    @Override
+    public void writeArray(final String itemName, final int[] values) {
+        record(ARRAY, itemName, values, 0);
+    }
+
+    @Override
+    public void writeArray(final String itemName, final long[] values) {
+        record(ARRAY, itemName, values, 0);
+    }
+
+    @Override
+    public void writeArray(final String itemName, final double[] values) {
+        record(ARRAY, itemName, values, 0);
+    }
+
+    @Override
+    public void endNode() {
+        record(END_NODE, null, null, 0);
+    }
+
+    @Override
+    public void flush() {
+        // nothing to do
+    }
+
+    @Override
+    public void close() {
+        // nothing to do
+    }
+
+    @Override
+    public HierarchicalStreamWriter underlyingWriter() {
+        return this;
+    }
+
+    /**
+     * Replay the recorded calls into another writer.
+     *
+     * @param writer the target
+     * @since upcoming
+     */
+    public void replay(final HierarchicalStreamWriter writer) {
+        final PrimitiveValueWriter valueWriter = writer instanceof PrimitiveValueWriter
+            ? (PrimitiveValueWriter)writer
+            : null;
+        final PrimitiveArrayWriter arrayWriter = writer instanceof PrimitiveArrayWriter
+            ? (PrimitiveArrayWriter)writer
+            : null;
+        for (int i = 0; i < size; ++i) {
+            final Object first = arguments[i * 2];
+            final Object second = arguments[i * 2 + 1];
+            final long number = numbers[i];
+            switch (operations[i]) {
+            case START_NODE:
+                if (second == null) {
+                    writer.startNode((String)first);
+                } else {
+                    writer.startNode((String)first, (Class<?>)second);
+                }
+                break;
+            case ATTRIBUTE:
+                writer.addAttribute((String)first, (String)second);
+                break;
+            case VALUE:
+                writer.setValue((String)first);
+                break;
+            case END_NODE:
+                writer.endNode();
+                break;
+            case INT_VALUE:
+                writeValue(writer, valueWriter, (int)number);
+                break;
+            case LONG_VALUE:
+                writeValue(writer, valueWriter, number);
+                break;
+            case DOUBLE_VALUE:
+                writeValue(writer, valueWriter, Double.longBitsToDouble(number));
+                break;
+            case BOOLEAN_VALUE:
+                if (valueWriter != null) {
+                    valueWriter.setValue(number != 0);
+                } else {
+                    writer.setValue(Boolean.toString(number != 0));
+                }
+                break;
+            case ARRAY:
+                writeArray(writer, valueWriter, arrayWriter, (String)first, second);
+                break;
+            case FORMATTED_VALUE:
+                if (valueWriter != null) {
+                    valueWriter.setValue(first, (ValueFormatter)second);
+                } else {
+                    final char[] chars = new char[ValueFormatter.MAX_LENGTH];
+                    writer.setValue(new String(chars, 0, ((ValueFormatter)second).format(first, chars, 0)));
+                }
+                break;
+            default:
+                throw new IllegalStateException("Unknown operation " + operations[i]);
+            }
+        }
+    }
+
+    private static void writeValue(final HierarchicalStreamWriter writer, final PrimitiveValueWriter valueWriter,
+            final int value) {
+        if (valueWriter != null) {
+            valueWriter.setValue(value);
+        } else {
+            writer.setValue(Integer.toString(value));
+        }
+    }
+
+    private static void writeValue(final HierarchicalStreamWriter writer, final PrimitiveValueWriter valueWriter,
+            final long value) {
+        if (valueWriter != null) {
+            valueWriter.setValue(value);
+        } else {
+            writer.setValue(Long.toString(value));
+        }
+    }
+
+    private static void writeValue(final HierarchicalStreamWriter writer, final PrimitiveValueWriter valueWriter,
+            final double value) {
+        if (valueWriter != null) {
+            valueWriter.setValue(value);
+        } else {
+            writer.setValue(Double.toString(value));
+        }
+    }
+
+    private static void writeArray(final HierarchicalStreamWriter writer, final PrimitiveValueWriter valueWriter,
+            final PrimitiveArrayWriter arrayWriter, final String itemName, final Object array) {
+        if (array instanceof int[]) {
+            final int[] values = (int[])array;
+            if (arrayWriter != null) {
+                arrayWriter.writeArray(itemName, values);
+            } else {
+                for (final int value : values) {
+                    writer.startNode(itemName, Integer.class);
+                    writeValue(writer, valueWriter, value);
+                    writer.endNode();
+                }
+            }
+        } else if (array instanceof long[]) {
+            final long[] values = (long[])array;
+            if (arrayWriter != null) {
+                arrayWriter.writeArray(itemName, values);
+            } else {
+                for (final long value : values) {
+                    writer.startNode(itemName, Long.class);
+                    writeValue(writer, valueWriter, value);
+                    writer.endNode();
+                }
+            }
+        } else {
+            final double[] values = (double[])array;
+            if (arrayWriter != null) {
+                arrayWriter.writeArray(itemName, values);
+            } else {
+                for (final double value : values) {
+                    writer.startNode(itemName, Double.class);
+                    writeValue(writer, valueWriter, value);
+                    writer.endNode();
+                }
+            }
+        }
+    }
+}
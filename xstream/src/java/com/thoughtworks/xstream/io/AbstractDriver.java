@@ -1,5 +1,5 @@
 /*
- * Copyright (C) 2009, 2011, 2014, 2018 XStream Committers.
+ * Copyright (C) 2009, 2011, 2014, 2018, 2026 XStream Committers.
  * All rights reserved.
  *
  * The software in this package is published under the terms of the BSD
@@ -17,6 +17,7 @@ import java.io.IOException;
 import java.net.URL;
 
 import com.thoughtworks.xstream.io.naming.NameCoder;
+import com.thoughtworks.xstream.io.naming.NameSymbolTable;
 import com.thoughtworks.xstream.io.naming.NoNameCoder;
 
 
@@ -30,6 +31,7 @@ import com.thoughtworks.xstream.io.naming.NoNameCoder;
 public abstract class AbstractDriver implements HierarchicalStreamDriver {
 
     private final NameCoder replacer;
+    private transient NameSymbolTable symbols;
 
     /**
      * Creates an AbstractDriver with a NameCoder that does nothing.
@@ -51,6 +53,21 @@ public abstract class AbstractDriver implements HierarchicalStreamDriver {
         return replacer;
     }
 
+    /**
+     * Retrieve the table of names shared by the readers of this driver.
+     *
+     * @return the table
+     * @since upcoming
+     */
+    protected NameSymbolTable getNameSymbolTable() {
+        NameSymbolTable table = symbols;
+        if (table == null) {
+            table = new NameSymbolTable();
+            symbols = table;
+        }
+        return table;
+    }
+
     @Override
     public HierarchicalStreamReader createReader(final URL in) {
         try {
@@ -1,5 +1,5 @@
 /*
- * Copyright (C) 2009, 2011, 2014, 2016 XStream Committers.
+ * Copyright (C) 2009, 2011, 2014, 2016, 2026 XStream Committers.
  * All rights reserved.
  *
  * The software in this package is published under the terms of the BSD
@@ -14,6 +14,7 @@ import java.util.Iterator;
 
 import com.thoughtworks.xstream.core.util.Cloneables;
 import com.thoughtworks.xstream.io.naming.NameCoder;
+import com.thoughtworks.xstream.io.naming.NameSymbolTable;
 import com.thoughtworks.xstream.io.naming.NoNameCoder;
 
 
@@ -27,6 +28,7 @@ import com.thoughtworks.xstream.io.naming.NoNameCoder;
 public abstract class AbstractReader implements ExtendedHierarchicalStreamReader {
 
     private final NameCoder nameCoder;
+    private final NameSymbolTable symbols;
 
     /**
      * Creates an AbstractReader with a NameCoder that does nothing.
@@ -44,7 +46,19 @@ public abstract class AbstractReader implements ExtendedHierarchicalStreamReader
      * @since 1.4
      */
     protected AbstractReader(final NameCoder nameCoder) {
+        this(nameCoder, null);
+    }
+
+    /**
+     * Creates an AbstractReader with a provided {@link NameCoder} and a table caching the decoded names.
+     *
+     * @param nameCoder the name coder used to read names from the incoming format
+     * @param symbols the table of the names, may be null
+     * @since upcoming
+     */
+    protected AbstractReader(final NameCoder nameCoder, final NameSymbolTable symbols) {
         this.nameCoder = Cloneables.cloneIfPossible(nameCoder);
+        this.symbols = symbols;
     }
 
     @Override
@@ -65,7 +79,7 @@ public abstract class AbstractReader implements ExtendedHierarchicalStreamReader
      * @since 1.4
      */
     public String decodeNode(final String name) {
-        return nameCoder.decodeNode(name);
+        return symbols != null ? symbols.decodeNode(name, nameCoder) : nameCoder.decodeNode(name);
     }
 
     /**
@@ -76,7 +90,7 @@ public abstract class AbstractReader implements ExtendedHierarchicalStreamReader
      * @since 1.4
      */
     public String decodeAttribute(final String name) {
-        return nameCoder.decodeAttribute(name);
+        return symbols != null ? symbols.decodeAttribute(name, nameCoder) : nameCoder.decodeAttribute(name);
     }
 
     /**
@@ -0,0 +1,48 @@
+/*
+ * Copyright (C) 2026 XStream Committers.
+ * All rights reserved.
+ *
+ * The software in this package is published under the terms of the BSD
+ * style license a copy of which has been included with this distribution in
+ * the LICENSE.txt file.
+ *
+ * Created on 17. October 2026
+ */
+package com.thoughtworks.xstream.io;
+
+/**
+ * A reader that can read the children of the current node as primitive array in one go.
+ * <p>
+ * This is possible, if a {@link PrimitiveArrayWriter} has written the children in a packed representation. Converters
+ * can detect the support by checking the reader itself, since a wrapper may modify the nodes. If the array is returned,
+ * all its elements are consumed, otherwise the reader has not been moved and the children have to be read as usual.
+ * </p>
+ *
+ * @since upcoming
+ */
+public interface PrimitiveArrayReader extends HierarchicalStreamReader {
+
+    /**
+     * Read the next children of the current node as int array.
+     *
+     * @return the array or <code>null</code> if the next children are not a packed int array
+     * @since upcoming
+     */
+    int[] readIntArray();
+
+    /**
+     * Read the next children of the current node as long array.
+     *
+     * @return the array or <code>null</code> if the next children are not a packed long array
+     * @since upcoming
+     */
+    long[] readLongArray();
+
+    /**
+     * Read the next children of the current node as double array.
+     *
+     * @return the array or <code>null</code> if the next children are not a packed double array
+     * @since upcoming
+     */
+    double[] readDoubleArray();
+}
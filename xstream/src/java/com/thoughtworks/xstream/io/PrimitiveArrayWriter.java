@@ -0,0 +1,51 @@
+/*
+ * Copyright (C) 2026 XStream Committers.
+ * All rights reserved.
+ *
+ * The software in this package is published under the terms of the BSD
+ * style license a copy of which has been included with this distribution in
+ * the LICENSE.txt file.
+ *
+ * Created on 17. October 2026
+ */
+package com.thoughtworks.xstream.io;
+
+/**
+ * A writer that can write the elements of a primitive array as child nodes in one go.
+ * <p>
+ * The result must be equivalent to a child node with the item name for each element, that contains the element as
+ * value. A writer may use a packed representation for it, a {@link PrimitiveArrayReader} can read such an array in one
+ * go again. Converters can detect the support by checking the writer itself, since a wrapper may modify the nodes.
+ * </p>
+ *
+ * @since upcoming
+ */
+public interface PrimitiveArrayWriter extends HierarchicalStreamWriter {
+
+    /**
+     * Write the elements of an int array as children of the current node.
+     *
+     * @param itemName the name of the child nodes
+     * @param values the elements
+     * @since upcoming
+     */
+    void writeArray(String itemName, int[] values);
+
+    /**
+     * Write the elements of a long array as children of the current node.
+     *
+     * @param itemName the name of the child nodes
+     * @param values the elements
+     * @since upcoming
+     */
+    void writeArray(String itemName, long[] values);
+
+    /**
+     * Write the elements of a double array as children of the current node.
+     *
+     * @param itemName the name of the child nodes
+     * @param values the elements
+     * @since upcoming
+     */
+    void writeArray(String itemName, double[] values);
+}
@@ -0,0 +1,76 @@
+/*
+ * Copyright (C) 2026 XStream Committers.
+ * All rights reserved.
+ *
+ * The software in this package is published under the terms of the BSD
+ * style license a copy of which has been included with this distribution in
+ * the LICENSE.txt file.
+ *
+ * Created on 17. October 2026
+ */
+package com.thoughtworks.xstream.io;
+
+/**
+ * Base class for wrappers that do not modify the read values and pass on the primitive values of the wrapped reader.
+ * <p>
+ * Primitive values are available only if the wrapped reader is itself a {@link PrimitiveValueReader}, primitive arrays
+ * only if it is a {@link PrimitiveArrayReader}. A wrapper overriding {@link #getValue()} must therefore override also
+ * the methods for the primitive values and arrays.
+ * </p>
+ *
+ * @since upcoming
+ */
+public abstract class PrimitiveReaderWrapper extends ReaderWrapper implements
+    PrimitiveValueReader, PrimitiveArrayReader {
+
+    protected PrimitiveReaderWrapper(final HierarchicalStreamReader reader) {
+        super(reader);
+    }
+
+    @Override
+    public Class<?> getValueType() {
+        return wrapped instanceof PrimitiveValueReader ? ((PrimitiveValueReader)wrapped).getValueType() : null;
+    }
+
+    @Override
+    public int getIntValue() {
+        return primitiveValueReader().getIntValue();
+    }
+
+    @Override
+    public long getLongValue() {
+        return primitiveValueReader().getLongValue();
+    }
+
+    @Override
+    public double getDoubleValue() {
+        return primitiveValueReader().getDoubleValue();
+    }
+
+    @Override
+    public boolean getBooleanValue() {
+        return primitiveValueReader().getBooleanValue();
+    }
+
+    @Override
+    public int[] readIntArray() {
+        return wrapped instanceof PrimitiveArrayReader ? ((PrimitiveArrayReader)wrapped).readIntArray() : null;
+    }
+
+    @Override
+    public long[] readLongArray() {
+        return wrapped instanceof PrimitiveArrayReader ? ((PrimitiveArrayReader)wrapped).readLongArray() : null;
+    }
+
+    @Override
+    public double[] readDoubleArray() {
+        return wrapped instanceof PrimitiveArrayReader ? ((PrimitiveArrayReader)wrapped).readDoubleArray() : null;
+    }
+
+    private PrimitiveValueReader primitiveValueReader() {
+        if (wrapped instanceof PrimitiveValueReader) {
+            return (PrimitiveValueReader)wrapped;
+        }
+        throw new StreamException("Value not available as primitive");
+    }
+}
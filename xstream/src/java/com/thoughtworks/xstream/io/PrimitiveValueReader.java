@@ -0,0 +1,71 @@
+/*
+ * Copyright (C) 2026 XStream Committers.
+ * All rights reserved.
+ *
+ * The software in this package is published under the terms of the BSD
+ * style license a copy of which has been included with this distribution in
+ * the LICENSE.txt file.
+ *
+ * Created on 17. October 2026
+ */
+package com.thoughtworks.xstream.io;
+
+/**
+ * A reader that can return the value of a node as primitive type without creating its String representation first.
+ * <p>
+ * This is possible, if a {@link PrimitiveValueWriter} has written the value in a typed representation. Converters can
+ * detect the support by checking the reader itself, not its {@link HierarchicalStreamReader#underlyingReader()}, since
+ * a wrapper may modify the values. A wrapper that keeps the values unmodified can pass them on as
+ * {@link PrimitiveReaderWrapper}. The String representation of such a value is still available with
+ * {@link #getValue()}.
+ * </p>
+ *
+ * @since upcoming
+ */
+public interface PrimitiveValueReader extends HierarchicalStreamReader {
+
+    /**
+     * Get the primitive type of the value of the current node.
+     *
+     * @return <code>int.class</code>, <code>long.class</code>, <code>double.class</code>, <code>boolean.class</code> or
+     *         <code>null</code> if the value is not available as primitive
+     * @since upcoming
+     */
+    Class<?> getValueType();
+
+    /**
+     * Get the value of the current node as int.
+     *
+     * @return the value
+     * @throws StreamException if the {@link #getValueType() value type} is not int
+     * @since upcoming
+     */
+    int getIntValue();
+
+    /**
+     * Get the value of the current node as long.
+     *
+     * @return the value
+     * @throws StreamException if the {@link #getValueType() value type} is not long
+     * @since upcoming
+     */
+    long getLongValue();
+
+    /**
+     * Get the value of the current node as double.
+     *
+     * @return the value
+     * @throws StreamException if the {@link #getValueType() value type} is not double
+     * @since upcoming
+     */
+    double getDoubleValue();
+
+    /**
+     * Get the value of the current node as boolean.
+     *
+     * @return the value
+     * @throws StreamException if the {@link #getValueType() value type} is not boolean
+     * @since upcoming
+     */
+    boolean getBooleanValue();
+}
@@ -0,0 +1,67 @@
+/*
+ * Copyright (C) 2026 XStream Committers.
+ * All rights reserved.
+ *
+ * The software in this package is published under the terms of the BSD
+ * style license a copy of which has been included with this distribution in
+ * the LICENSE.txt file.
+ *
+ * Created on 17. October 2026
+ */
+package com.thoughtworks.xstream.io;
+
+/**
+ * A writer that can write the value of a node as primitive type or with a {@link ValueFormatter} without creating its
+ * String representation first.
+ * <p>
+ * A reader must return such a value in the representation of the appropriate toString method of the primitive's
+ * wrapper type, e.g. {@link Integer#toString(int)}. Converters can detect the support by checking the writer itself,
+ * not its {@link HierarchicalStreamWriter#underlyingWriter()}, since a wrapper may modify the values. A wrapper that
+ * keeps the values unmodified can pass them on as {@link PrimitiveWriterWrapper}.
+ * </p>
+ *
+ * @since upcoming
+ */
+public interface PrimitiveValueWriter extends HierarchicalStreamWriter {
+
+    /**
+     * Write an int as value of the current node.
+     *
+     * @param value the value
+     * @since upcoming
+     */
+    void setValue(int value);
+
+    /**
+     * Write a long as value of the current node.
+     *
+     * @param value the value
+     * @since upcoming
+     */
+    void setValue(long value);
+
+    /**
+     * Write a double as value of the current node.
+     *
+     * @param value the value
+     * @since upcoming
+     */
+    void setValue(double value);
+
+    /**
+     * Write a boolean as value of the current node.
+     *
+     * @param value the value
+     * @since upcoming
+     */
+    void setValue(boolean value);
+
+    /**
+     * Write a value formatted directly into a buffer of the writer as value of the current node.
+     *
+     * @param value the value
+     * @param formatter the formatter for the value
+     * @since upcoming
+     */
+    void setValue(Object value, ValueFormatter formatter);
+}
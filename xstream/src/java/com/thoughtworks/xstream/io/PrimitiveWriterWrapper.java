@@ -0,0 +1,115 @@
+/*
+ * Copyright (C) 2026 XStream Committers.
+ * All rights reserved.
+ *
+ * The software in this package is published under the terms of the BSD
+ * style license a copy of which has been included with this distribution in
+ * the LICENSE.txt file.
+ *
+ * Created on 17. October 2026
+ */
+package com.thoughtworks.xstream.io;
+
+/**
+ * Base class for wrappers that do not modify the written values and pass primitive values to the wrapped writer.
+ * <p>
+ * A primitive value is passed on only if the wrapped writer is itself a {@link PrimitiveValueWriter}, otherwise its
+ * String representation is written with {@link #setValue(String)}. A wrapper overriding {@link #setValue(String)} must
+ * therefore override also the methods for the primitive values. In the same way a primitive array is passed on only if
+ * the wrapped writer is a {@link PrimitiveArrayWriter}, otherwise the elements are written as single nodes.
+ * </p>
+ *
+ * @since upcoming
+ */
+public abstract class PrimitiveWriterWrapper extends WriterWrapper implements
+    PrimitiveValueWriter, PrimitiveArrayWriter {
+
+    protected PrimitiveWriterWrapper(final HierarchicalStreamWriter wrapped) {
+        super(wrapped);
+    }
+
+    @Override
+    public void setValue(final int value) {
+        if (wrapped instanceof PrimitiveValueWriter) {
+            ((PrimitiveValueWriter)wrapped).setValue(value);
+        } else {
+            setValue(Integer.toString(value));
+        }
+    }
+
+    @Override
+    public void setValue(final long value) {
+        if (wrapped instanceof PrimitiveValueWriter) {
+            ((PrimitiveValueWriter)wrapped).setValue(value);
+        } else {
+            setValue(Long.toString(value));
+        }
+    }
+
+    @Override
+    public void setValue(final double value) {
+        if (wrapped instanceof PrimitiveValueWriter) {
+            ((PrimitiveValueWriter)wrapped).setValue(value);
+        } else {
+            setValue(Double.toString(value));
+        }
+    }
+
+    @Override
+    public void setValue(final boolean value) {
+        if (wrapped instanceof PrimitiveValueWriter) {
+            ((PrimitiveValueWriter)wrapped).setValue(value);
+        } else {
+            setValue(Boolean.toString(value));
+        }
+    }
+
+    @Override
+    public void setValue(final Object value, final ValueFormatter formatter) {
+        if (wrapped instanceof PrimitiveValueWriter) {
+            ((PrimitiveValueWriter)wrapped).setValue(value, formatter);
+        } else {
+            final char[] chars = new char[ValueFormatter.MAX_LENGTH];
+            setValue(new String(chars, 0, formatter.format(value, chars, 0)));
+        }
+    }
+
+    @Override
+    public void writeArray(final String itemName, final int[] values) {
+        if (wrapped instanceof PrimitiveArrayWriter) {
+            ((PrimitiveArrayWriter)wrapped).writeArray(itemName, values);
+        } else {
+            for (final int value : values) {
+                startNode(itemName, Integer.class);
+                setValue(value);
+                endNode();
+            }
+        }
+    }
+
+    @Override
+    public void writeArray(final String itemName, final long[] values) {
+        if (wrapped instanceof PrimitiveArrayWriter) {
+            ((PrimitiveArrayWriter)wrapped).writeArray(itemName, values);
+        } else {
+            for (final long value : values) {
+                startNode(itemName, Long.class);
+                setValue(value);
+                endNode();
+            }
+        }
+    }
+
+    @Override
+    public void writeArray(final String itemName, final double[] values) {
+        if (wrapped instanceof PrimitiveArrayWriter) {
+            ((PrimitiveArrayWriter)wrapped).writeArray(itemName, values);
+        } else {
+            for (final double value : values) {
+                startNode(itemName, Double.class);
+                setValue(value);
+                endNode();
+            }
+        }
+    }
+}
@@ -0,0 +1,41 @@
+/*
+ * Copyright (C) 2026 XStream Committers.
+ * All rights reserved.
+ *
+ * The software in this package is published under the terms of the BSD
+ * style license a copy of which has been included with this distribution in
+ * the LICENSE.txt file.
+ *
+ * Created on 17. October 2026
+ */
+package com.thoughtworks.xstream.io;
+
+/**
+ * A formatter writing the representation of a value directly into a character buffer of a {@link PrimitiveValueWriter}.
+ * <p>
+ * The representation must not be longer than {@link #MAX_LENGTH} characters and may consist only of ASCII letters,
+ * digits and the characters '+', '-', '.' and ':', i.e. of characters that never have to be escaped.
+ * </p>
+ *
+ * @since upcoming
+ */
+public interface ValueFormatter {
+
+    /**
+     * The maximum length of a formatted value.
+     *
+     * @since upcoming
+     */
+    int MAX_LENGTH = 64;
+
+    /**
+     * Format the value into the buffer.
+     *
+     * @param value the value to format
+     * @param buffer the target buffer with at least {@link #MAX_LENGTH} characters available at the offset
+     * @param offset the start position in the buffer
+     * @return the position in the buffer after the last formatted character
+     * @since upcoming
+     */
+    int format(Object value, char[] buffer, int offset);
+}
@@ -1,5 +1,5 @@
 /*
- * Copyright (C) 2011, 2014 XStream Committers.
+ * Copyright (C) 2011, 2014, 2026 XStream Committers.
  * All rights reserved.
  *
  * The software in this package is published under the terms of the BSD
@@ -10,6 +10,7 @@
  */
 package com.thoughtworks.xstream.io.binary;
 
+import java.io.BufferedInputStream;
 import java.io.InputStream;
 import java.io.OutputStream;
 import java.io.Reader;
@@ -30,6 +31,31 @@ import com.thoughtworks.xstream.io.HierarchicalStreamWriter;
  */
 public class BinaryStreamDriver extends AbstractDriver {
 
+    private final int formatVersion;
+
+    /**
+     * Construct a BinaryStreamDriver writing the original format.
+     */
+    public BinaryStreamDriver() {
+        this(BinaryStreamWriter.FORMAT_VERSION_1);
+    }
+
+    /**
+     * Construct a BinaryStreamDriver writing a specific version of the format. The reader detects the version of the
+     * format on its own.
+     *
+     * @param formatVersion {@link BinaryStreamWriter#FORMAT_VERSION_1} or {@link BinaryStreamWriter#FORMAT_VERSION_2}
+     * @throws IllegalArgumentException if the version is not supported
+     * @since upcoming
+     */
+    public BinaryStreamDriver(final int formatVersion) {
+        if (formatVersion != BinaryStreamWriter.FORMAT_VERSION_1
+            && formatVersion != BinaryStreamWriter.FORMAT_VERSION_2) {
+            throw new IllegalArgumentException("Unsupported format version " + formatVersion);
+        }
+        this.formatVersion = formatVersion;
+    }
+
     /**
      * @throws UnsupportedOperationException if called
      */
@@ -38,9 +64,18 @@ public class BinaryStreamDriver extends AbstractDriver {
         throw new UnsupportedOperationException("The BinaryDriver cannot use character-oriented input streams.");
     }
 
+    /**
+     * {@inheritDoc}
+     * <p>
+     * A stream without support for marks is considered to be unbuffered and wrapped into a {@link BufferedInputStream},
+     * since the reader requests the bytes of every token separately. The reader may therefore consume the stream
+     * beyond the end of the document. Use a {@link BinaryStreamReader} directly to read documents written one after
+     * another into the same stream.
+     * </p>
+     */
     @Override
     public HierarchicalStreamReader createReader(final InputStream in) {
-        return new BinaryStreamReader(in);
+        return new BinaryStreamReader(in.markSupported() ? in : new BufferedInputStream(in));
     }
 
     /**
@@ -53,6 +88,6 @@ public class BinaryStreamDriver extends AbstractDriver {
 
     @Override
     public HierarchicalStreamWriter createWriter(final OutputStream out) {
-        return new BinaryStreamWriter(out);
+        return new BinaryStreamWriter(out, formatVersion);
     }
 }
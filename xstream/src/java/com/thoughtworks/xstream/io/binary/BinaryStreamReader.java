@@ -1,6 +1,6 @@
 /*
  * Copyright (C) 2006 Joe Walnes.
- * Copyright (C) 2006, 2007, 2011, 2013, 2014, 2015, 2018 XStream Committers.
+ * Copyright (C) 2006, 2007, 2011, 2013, 2014, 2015, 2018, 2026 XStream Committers.
  * All rights reserved.
  *
  * The software in this package is published under the terms of the BSD
@@ -11,9 +11,11 @@
  */
 package com.thoughtworks.xstream.io.binary;
 
-import java.io.DataInputStream;
+import java.io.EOFException;
 import java.io.IOException;
 import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
 import java.util.HashMap;
 import java.util.Iterator;
 import java.util.Map;
@@ -21,27 +23,57 @@ import java.util.Map;
 import com.thoughtworks.xstream.converters.ErrorWriter;
 import com.thoughtworks.xstream.io.ExtendedHierarchicalStreamReader;
 import com.thoughtworks.xstream.io.HierarchicalStreamReader;
+import com.thoughtworks.xstream.io.PrimitiveArrayReader;
+import com.thoughtworks.xstream.io.PrimitiveValueReader;
 import com.thoughtworks.xstream.io.StreamException;
 
 
 /**
  * A HierarchicalStreamReader that reads from a binary stream created by {@link BinaryStreamWriter}.
+ * <p>
+ * The tokens are decoded directly from an internal buffer into reused token instances. The reader fills this buffer
+ * only with the bytes of the current token and consumes therefore no bytes of the stream beyond the end of the
+ * document. Documents written one after another into the same stream can be read one after another. Wrap the stream
+ * into a {@link java.io.BufferedInputStream} to read it in larger blocks, as the {@link BinaryStreamDriver} does.
+ * </p>
  * 
  * @author Joe Walnes
  * @see BinaryStreamReader
  * @since 1.2
  */
-public class BinaryStreamReader implements ExtendedHierarchicalStreamReader {
+public class BinaryStreamReader
+    implements ExtendedHierarchicalStreamReader, PrimitiveArrayReader, PrimitiveValueReader {
+
+    private static final int BUFFER_SIZE = 8192;
+
+    private final InputStream in;
+    private final byte[] buffer = new byte[BUFFER_SIZE];
+    private int pos;
+    private int limit;
+    private char[] chars = new char[256];
+    private byte[] bytes;
 
-    private final DataInputStream in;
     private final ReaderDepthState depthState = new ReaderDepthState();
     private final IdRegistry idRegistry = new IdRegistry();
 
+    private final Token.StartNode startNode = new Token.StartNode();
+    private final Token.EndNode endNode = new Token.EndNode();
+    private final Token.Attribute attribute = new Token.Attribute();
+    private final Token.Value value = new Token.Value();
+    private final Token.StartNode packedArray = new Token.StartNode();
     private Token pushback;
-    private final Token.Formatter tokenFormatter = new Token.Formatter();
+    private byte packedKind;
+    private int packedLength;
+    private int packedRemaining;
+    private boolean inPackedArray;
+    private boolean version2;
+    private byte valueKind;
+    private long valueBits;
+    private String[] dictionary;
+    private int dictionarySize;
 
     public BinaryStreamReader(final InputStream inputStream) {
-        in = new DataInputStream(inputStream);
+        in = inputStream;
         moveDown();
     }
 
@@ -89,6 +121,15 @@ public class BinaryStreamReader implements ExtendedHierarchicalStreamReader {
     public void moveDown() {
         depthState.push();
         final Token firstToken = readToken();
+        if (firstToken == packedArray) {
+            // element of a packed array
+            depthState.setName(idRegistry.get(firstToken.getId()));
+            depthState.setValue(packedKind, readPrimitive(packedKind));
+            depthState.setHasMoreChildren(false);
+            --packedRemaining;
+            inPackedArray = true;
+            return;
+        }
         switch (firstToken.getType()) {
         case Token.TYPE_START_NODE:
             depthState.setName(idRegistry.get(firstToken.getId()));
@@ -103,7 +144,11 @@ public class BinaryStreamReader implements ExtendedHierarchicalStreamReader {
                 depthState.addAttribute(idRegistry.get(nextToken.getId()), nextToken.getValue());
                 break;
             case Token.TYPE_VALUE:
-                depthState.setValue(nextToken.getValue());
+                if (valueKind == Token.VALUE_STRING) {
+                    depthState.setValue(nextToken.getValue());
+                } else {
+                    depthState.setValue(valueKind, valueBits);
+                }
                 break;
             case Token.TYPE_END_NODE:
                 depthState.setHasMoreChildren(false);
@@ -122,11 +167,25 @@ public class BinaryStreamReader implements ExtendedHierarchicalStreamReader {
     @Override
     public void moveUp() {
         depthState.pop();
+        if (inPackedArray) {
+            inPackedArray = false;
+            if (packedRemaining > 0) {
+                depthState.setHasMoreChildren(true);
+                pushBack(packedArray);
+            } else {
+                checkNextChild(readToken());
+            }
+            return;
+        }
         // We're done with this depth. Skip over all tokens until we get to the end.
         int depth = 0;
         slurp:
         while (true) {
             final Token nextToken = readToken();
+            if (nextToken == packedArray) {
+                skipPackedValues();
+                continue;
+            }
             switch (nextToken.getType()) {
             case Token.TYPE_END_NODE:
                 if (depth == 0) {
@@ -143,7 +202,10 @@ public class BinaryStreamReader implements ExtendedHierarchicalStreamReader {
             }
         }
         // Peek ahead to determine if there are any more kids at this level.
-        final Token nextToken = readToken();
+        checkNextChild(readToken());
+    }
+
+    private void checkNextChild(final Token nextToken) {
         switch (nextToken.getType()) {
         case Token.TYPE_END_NODE:
             depthState.setHasMoreChildren(false);
@@ -157,30 +219,419 @@ public class BinaryStreamReader implements ExtendedHierarchicalStreamReader {
         pushBack(nextToken);
     }
 
+    @Override
+    public Class<?> getValueType() {
+        switch (depthState.getValueKind()) {
+        case Token.VALUE_INT:
+            return int.class;
+        case Token.VALUE_LONG:
+            return long.class;
+        case Token.VALUE_DOUBLE:
+            return double.class;
+        case Token.VALUE_TRUE:
+        case Token.VALUE_FALSE:
+            return boolean.class;
+        default:
+            return null;
+        }
+    }
+
+    @Override
+    public int getIntValue() {
+        checkValueType(int.class);
+        return (int)depthState.getValueBits();
+    }
+
+    @Override
+    public long getLongValue() {
+        checkValueType(long.class);
+        return depthState.getValueBits();
+    }
+
+    @Override
+    public double getDoubleValue() {
+        checkValueType(double.class);
+        return Double.longBitsToDouble(depthState.getValueBits());
+    }
+
+    @Override
+    public boolean getBooleanValue() {
+        checkValueType(boolean.class);
+        return depthState.getValueBits() != 0;
+    }
+
+    private void checkValueType(final Class<?> type) {
+        if (getValueType() != type) {
+            throw new StreamException("Value is not of type " + type.getName());
+        }
+    }
+
+    @Override
+    public int[] readIntArray() {
+        if (pushback != packedArray || packedKind != Token.VALUE_INT || packedRemaining != packedLength) {
+            return null;
+        }
+        final int[] array = new int[packedLength];
+        for (int i = 0; i < array.length; ++i) {
+            final int value = (int)readVarLong();
+            array[i] = value >>> 1 ^ -(value & 1);
+        }
+        endPackedArray();
+        return array;
+    }
+
+    @Override
+    public long[] readLongArray() {
+        if (pushback != packedArray || packedKind != Token.VALUE_LONG || packedRemaining != packedLength) {
+            return null;
+        }
+        final long[] array = new long[packedLength];
+        for (int i = 0; i < array.length; ++i) {
+            final long value = readVarLong();
+            array[i] = value >>> 1 ^ -(value & 1);
+        }
+        endPackedArray();
+        return array;
+    }
+
+    @Override
+    public double[] readDoubleArray() {
+        if (pushback != packedArray || packedKind != Token.VALUE_DOUBLE || packedRemaining != packedLength) {
+            return null;
+        }
+        final double[] array = new double[packedLength];
+        for (int i = 0; i < array.length; ++i) {
+            array[i] = Double.longBitsToDouble(readBytes(8));
+        }
+        endPackedArray();
+        return array;
+    }
+
+    private void endPackedArray() {
+        packedRemaining = 0;
+        pushback = null;
+        checkNextChild(readToken());
+    }
+
+    private void skipPackedValues() {
+        while (packedRemaining > 0) {
+            if (packedKind == Token.VALUE_DOUBLE) {
+                readBytes(8);
+            } else {
+                readVarLong();
+            }
+            --packedRemaining;
+        }
+    }
+
     @Override
     public int getLevel() {
         return depthState.getLevel();
     }
 
     private Token readToken() {
-        if (pushback == null) {
-            try {
-                final Token token = tokenFormatter.read(in);
-                switch (token.getType()) {
-                case Token.TYPE_MAP_ID_TO_VALUE:
-                    idRegistry.put(token.getId(), token.getValue());
-                    return readToken(); // Next one please.
-                default:
-                    return token;
-                }
-            } catch (final IOException e) {
-                throw new StreamException(e);
-            }
-        } else {
+        if (pushback != null) {
             final Token result = pushback;
             pushback = null;
             return result;
         }
+        while (true) {
+            final byte nextByte = readByte();
+            final byte idType = (byte)(nextByte & Token.ID_MASK);
+            switch (nextByte & Token.TYPE_MASK) {
+            case Token.TYPE_START_NODE:
+                startNode.id = readId(idType);
+                return startNode;
+            case Token.TYPE_END_NODE:
+                return endNode;
+            case Token.TYPE_ATTRIBUTE:
+                attribute.id = readId(idType);
+                attribute.value = readValue(idType);
+                return attribute;
+            case Token.TYPE_VALUE:
+                if (version2 && isPrimitive(idType)) {
+                    value.value = null;
+                    valueKind = idType;
+                    valueBits = readPrimitive(idType);
+                } else {
+                    value.value = readValue(idType);
+                    valueKind = Token.VALUE_STRING;
+                }
+                return value;
+            case Token.TYPE_MAP_ID_TO_VALUE:
+                final long id = readId(idType);
+                idRegistry.put(id, version2 ? readUtf8() : readString());
+                break; // Next one please.
+            case Token.TYPE_PACKED_ARRAY:
+                if (!version2) {
+                    throw new StreamException("Unknown token type");
+                }
+                packedKind = idType;
+                if (packedKind != Token.VALUE_INT && packedKind != Token.VALUE_LONG
+                    && packedKind != Token.VALUE_DOUBLE) {
+                    throw new StreamException("Unknown value kind " + packedKind);
+                }
+                packedArray.id = readVarLong();
+                packedLength = (int)readVarLong();
+                packedRemaining = packedLength;
+                if (packedLength > 0) {
+                    return packedArray;
+                }
+                break;
+            case Token.TYPE_VERSION:
+                final long version = readFixedId(idType); // always in the original format
+                if (version == BinaryStreamWriter.FORMAT_VERSION_2) {
+                    version2 = true;
+                    dictionary = new String[256];
+                } else if (version != BinaryStreamWriter.FORMAT_VERSION_1) {
+                    throw new StreamException("Unsupported format version " + version);
+                }
+                break;
+            default:
+                throw new StreamException("Unknown token type");
+            }
+        }
+    }
+
+    private void fill(final int length) {
+        if (limit - pos >= length) {
+            return;
+        }
+        if (pos > 0) {
+            System.arraycopy(buffer, pos, buffer, 0, limit - pos);
+            limit -= pos;
+            pos = 0;
+        }
+        try {
+            // read only the requested bytes, the stream may continue with another document
+            while (limit < length) {
+                final int read = in.read(buffer, limit, length - limit);
+                if (read < 0) {
+                    throw new StreamException(new EOFException());
+                }
+                limit += read;
+            }
+        } catch (final IOException e) {
+            throw new StreamException(e);
+        }
+    }
+
+    private byte readByte() {
+        fill(1);
+        return buffer[pos++];
+    }
+
+    private long readBytes(final int length) {
+        fill(length);
+        long result = 0;
+        for (int i = 0; i < length; ++i) {
+            result = result << 8 | buffer[pos++] & 0xFF;
+        }
+        return result;
+    }
+
+    private long readId(final byte idType) {
+        return version2 ? readVarLong() : readFixedId(idType);
+    }
+
+    private long readFixedId(final byte idType) {
+        switch (idType) {
+        case Token.ID_ONE_BYTE:
+            return (byte)readBytes(1) - Byte.MIN_VALUE;
+        case Token.ID_TWO_BYTES:
+            return (short)readBytes(2) - Short.MIN_VALUE;
+        case Token.ID_FOUR_BYTES:
+            return (int)readBytes(4) - Integer.MIN_VALUE;
+        case Token.ID_EIGHT_BYTES:
+            return readBytes(8) - Long.MIN_VALUE;
+        default:
+            throw new StreamException("Unknown idType " + idType);
+        }
+    }
+
+    private long readVarLong() {
+        long result = 0;
+        for (int shift = 0; shift < 64; shift += 7) {
+            final byte b = readByte();
+            result |= (long)(b & 0x7F) << shift;
+            if (b >= 0) {
+                return result;
+            }
+        }
+        throw new StreamException("Malformed variable-length quantity");
+    }
+
+    private String readValue(final byte kind) {
+        if (!version2) {
+            return readString();
+        }
+        switch (kind) {
+        case Token.VALUE_STRING:
+            return readUtf8();
+        case Token.VALUE_DEFINITION:
+            final String string = readUtf8();
+            if (dictionarySize == BinaryStreamWriter.MAX_DICTIONARY_SIZE) {
+                throw new StreamException("Too many value definitions");
+            }
+            if (dictionarySize == dictionary.length) {
+                dictionary = Arrays.copyOf(dictionary, dictionarySize * 2);
+            }
+            dictionary[dictionarySize++] = string;
+            return string;
+        case Token.VALUE_REFERENCE:
+            final long index = readVarLong();
+            if (index >= dictionarySize) {
+                throw new StreamException("Unknown value reference : " + index);
+            }
+            return dictionary[(int)index];
+        default:
+            return ReaderDepthState.toString(kind, readPrimitive(kind));
+        }
+    }
+
+    private static boolean isPrimitive(final byte kind) {
+        return kind != Token.VALUE_STRING && kind != Token.VALUE_DEFINITION && kind != Token.VALUE_REFERENCE;
+    }
+
+    private long readPrimitive(final byte kind) {
+        switch (kind) {
+        case Token.VALUE_INT:
+            final int i = (int)readVarLong();
+            return i >>> 1 ^ -(i & 1);
+        case Token.VALUE_LONG:
+            final long l = readVarLong();
+            return l >>> 1 ^ -(l & 1);
+        case Token.VALUE_DOUBLE:
+            return readBytes(8);
+        case Token.VALUE_TRUE:
+            return 1;
+        case Token.VALUE_FALSE:
+            return 0;
+        default:
+            throw new StreamException("Unknown value kind " + kind);
+        }
+    }
+
+    /**
+     * Read a string in UTF-8 with an explicit length. Unpaired surrogates encoded with three bytes (WTF-8) are replaced
+     * by the standard decoder, therefore such a string is decoded again with {@link #decodeUtf8(byte[], int, int)}.
+     */
+    private String readUtf8() {
+        final int length = (int)readVarLong();
+        final byte[] source;
+        final int offset;
+        if (length <= buffer.length) {
+            fill(length);
+            source = buffer;
+            offset = pos;
+            pos += length;
+        } else {
+            source = readFully(length);
+            offset = 0;
+        }
+        final String string = new String(source, offset, length, StandardCharsets.UTF_8);
+        return string.indexOf('\ufffd') < 0 ? string : decodeUtf8(source, offset, length);
+    }
+
+    /**
+     * Read a string in modified UTF-8 as {@link java.io.DataInput#readUTF()} does or a split string in UTF-8 with an
+     * explicit length.
+     */
+    private String readString() {
+        final int length = (int)readBytes(2);
+        final byte[] source;
+        final int offset;
+        if (length <= buffer.length) {
+            fill(length);
+            source = buffer;
+            offset = pos;
+            pos += length;
+        } else {
+            source = readFully(length);
+            offset = 0;
+        }
+        final String string = decodeUtf8(source, offset, length);
+        if (!Token.ID_SPLITTED.equals(string)) {
+            return string;
+        }
+        final int size = (int)readBytes(4);
+        return new String(readFully(size), 0, size, StandardCharsets.UTF_8);
+    }
+
+    private byte[] readFully(final int length) {
+        if (bytes == null || bytes.length < length) {
+            bytes = new byte[Math.max(length, BUFFER_SIZE * 2)];
+        }
+        int count = Math.min(length, limit - pos);
+        System.arraycopy(buffer, pos, bytes, 0, count);
+        pos += count;
+        try {
+            while (count < length) {
+                final int read = in.read(bytes, count, length - count);
+                if (read < 0) {
+                    throw new StreamException(new EOFException());
+                }
+                count += read;
+            }
+        } catch (final IOException e) {
+            throw new StreamException(e);
+        }
+        return bytes;
+    }
+
+    /**
+     * Decode modified UTF-8 or generalized UTF-8 (WTF-8). Encoded surrogates are decoded into their char value and four
+     * byte sequences into a surrogate pair.
+     */
+    private String decodeUtf8(final byte[] source, final int offset, final int length) {
+        final int end = offset + length;
+        int i = offset;
+        while (i < end && source[i] >= 0) {
+            ++i;
+        }
+        if (i == end) {
+            return new String(source, offset, length, StandardCharsets.ISO_8859_1);
+        }
+        if (chars.length < length) {
+            chars = new char[Math.max(length, chars.length * 2)];
+        }
+        final char[] chars = this.chars;
+        int count = 0;
+        for (i = offset; i < end; ++i) {
+            final int c = source[i] & 0xFF;
+            if (c < 0x80) {
+                chars[count++] = (char)c;
+            } else if ((c & 0xE0) == 0xC0 && i + 1 < end) {
+                final int c2 = source[++i];
+                if ((c2 & 0xC0) != 0x80) {
+                    throw new StreamException("Malformed UTF-8 input");
+                }
+                chars[count++] = (char)((c & 0x1F) << 6 | c2 & 0x3F);
+            } else if ((c & 0xF0) == 0xE0 && i + 2 < end) {
+                final int c2 = source[++i];
+                final int c3 = source[++i];
+                if ((c2 & 0xC0) != 0x80 || (c3 & 0xC0) != 0x80) {
+                    throw new StreamException("Malformed UTF-8 input");
+                }
+                chars[count++] = (char)((c & 0x0F) << 12 | (c2 & 0x3F) << 6 | c3 & 0x3F);
+            } else if ((c & 0xF8) == 0xF0 && i + 3 < end) {
+                final int c2 = source[++i];
+                final int c3 = source[++i];
+                final int c4 = source[++i];
+                if ((c2 & 0xC0) != 0x80 || (c3 & 0xC0) != 0x80 || (c4 & 0xC0) != 0x80) {
+                    throw new StreamException("Malformed UTF-8 input");
+                }
+                final int codePoint = (c & 0x07) << 18 | (c2 & 0x3F) << 12 | (c3 & 0x3F) << 6 | c4 & 0x3F;
+                if (!Character.isSupplementaryCodePoint(codePoint)) {
+                    throw new StreamException("Malformed UTF-8 input");
+                }
+                chars[count++] = Character.highSurrogate(codePoint);
+                chars[count++] = Character.lowSurrogate(codePoint);
+            } else {
+                throw new StreamException("Malformed UTF-8 input");
+            }
+        }
+        return new String(chars, 0, count);
     }
 
     public void pushBack(final Token token) {
@@ -221,14 +672,30 @@ public class BinaryStreamReader implements ExtendedHierarchicalStreamReader {
 
     private static class IdRegistry {
 
-        private final Map<Long, String> map = new HashMap<>();
+        private String[] values = new String[256];
+        private Map<Long, String> map;
 
         public void put(final long id, final String value) {
-            map.put(Long.valueOf(id), value);
+            if (id < values.length) {
+                values[(int)id] = value;
+            } else if (id < 1 << 16) {
+                values = Arrays.copyOf(values, Math.max((int)id + 1, values.length * 2));
+                values[(int)id] = value;
+            } else {
+                if (map == null) {
+                    map = new HashMap<>();
+                }
+                map.put(Long.valueOf(id), value);
+            }
         }
 
         public String get(final long id) {
-            final String result = map.get(Long.valueOf(id));
+            final String result;
+            if (id >= 0 && id < values.length) {
+                result = values[(int)id];
+            } else {
+                result = map == null ? null : map.get(Long.valueOf(id));
+            }
             if (result == null) {
                 throw new StreamException("Unknown ID : " + id);
             } else {
@@ -1,6 +1,6 @@
 /*
  * Copyright (C) 2006 Joe Walnes.
- * Copyright (C) 2006, 2007, 2014, 2015 XStream Committers.
+ * Copyright (C) 2006, 2007, 2014, 2015, 2026 XStream Committers.
  * All rights reserved.
  *
  * The software in this package is published under the terms of the BSD
@@ -11,33 +11,93 @@
  */
 package com.thoughtworks.xstream.io.binary;
 
-import java.io.DataOutputStream;
 import java.io.IOException;
 import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
 import java.util.HashMap;
 import java.util.Map;
 
 import com.thoughtworks.xstream.io.ExtendedHierarchicalStreamWriter;
 import com.thoughtworks.xstream.io.HierarchicalStreamWriter;
+import com.thoughtworks.xstream.io.PrimitiveArrayWriter;
+import com.thoughtworks.xstream.io.PrimitiveValueWriter;
 import com.thoughtworks.xstream.io.StreamException;
+import com.thoughtworks.xstream.io.ValueFormatter;
 
 
 /**
+ * A HierarchicalStreamWriter that writes a binary stream that can be read by {@link BinaryStreamReader}.
+ * <p>
+ * The tokens are encoded directly into an internal buffer, that is written to the stream whenever it is full, the root
+ * element is closed or the writer is flushed.
+ * </p>
+ * <p>
+ * By default the writer uses the original format of the binary stream, that can be read by any version of the
+ * {@link BinaryStreamReader}. The more compact {@link #FORMAT_VERSION_2} uses variable-length IDs, keeps a dictionary
+ * of repeated short values, supports values of primitive types and packs the elements of primitive arrays.
+ * </p>
+ *
  * @since 1.2
  */
-public class BinaryStreamWriter implements ExtendedHierarchicalStreamWriter {
+public class BinaryStreamWriter
+    implements ExtendedHierarchicalStreamWriter, PrimitiveValueWriter, PrimitiveArrayWriter {
+
+    /**
+     * The original format of the binary stream.
+     *
+     * @since upcoming
+     */
+    public static final int FORMAT_VERSION_1 = 1;
+    /**
+     * The format of the binary stream with variable-length IDs, a value dictionary and primitive values.
+     *
+     * @since upcoming
+     */
+    public static final int FORMAT_VERSION_2 = 2;
+
+    private static final int BUFFER_SIZE = 8192;
+    static final int MAX_DICTIONARY_SIZE = 1 << 14;
+    private static final int MAX_DICTIONARY_VALUE_LENGTH = 64;
 
     private final IdRegistry idRegistry = new IdRegistry();
-    private final DataOutputStream out;
-    private final Token.Formatter tokenFormatter = new Token.Formatter();
+    private final OutputStream out;
+    private final boolean version2;
+    private final Map<String, Integer> dictionary;
+    private final byte[] buffer = new byte[BUFFER_SIZE];
+    private int count;
+    private int depth;
+    private char[] valueBuffer;
 
     public BinaryStreamWriter(final OutputStream outputStream) {
-        out = new DataOutputStream(outputStream);
+        this(outputStream, FORMAT_VERSION_1);
+    }
+
+    /**
+     * Construct a BinaryStreamWriter for a specific version of the format.
+     *
+     * @param outputStream the target stream
+     * @param formatVersion {@link #FORMAT_VERSION_1} or {@link #FORMAT_VERSION_2}
+     * @throws IllegalArgumentException if the version is not supported
+     * @since upcoming
+     */
+    public BinaryStreamWriter(final OutputStream outputStream, final int formatVersion) {
+        if (formatVersion != FORMAT_VERSION_1 && formatVersion != FORMAT_VERSION_2) {
+            throw new IllegalArgumentException("Unsupported format version " + formatVersion);
+        }
+        out = outputStream;
+        version2 = formatVersion == FORMAT_VERSION_2;
+        dictionary = version2 ? new HashMap<>() : null;
+        if (version2) {
+            // the version token itself uses the original format
+            buffer[count++] = Token.TYPE_VERSION + Token.ID_ONE_BYTE;
+            buffer[count++] = (byte)(formatVersion + Byte.MIN_VALUE);
+        }
     }
 
     @Override
     public void startNode(final String name) {
-        write(new Token.StartNode(idRegistry.getId(name)));
+        writeToken(Token.TYPE_START_NODE, idRegistry.getId(name));
+        ++depth;
     }
 
     @Override
@@ -47,21 +107,139 @@ public class BinaryStreamWriter implements ExtendedHierarchicalStreamWriter {
 
     @Override
     public void addAttribute(final String name, final String value) {
-        write(new Token.Attribute(idRegistry.getId(name), value));
+        final long id = idRegistry.getId(name);
+        if (version2) {
+            writeValue(Token.TYPE_ATTRIBUTE, id, value);
+        } else {
+            writeToken(Token.TYPE_ATTRIBUTE, id);
+            writeString(value);
+        }
     }
 
     @Override
     public void setValue(final String text) {
-        write(new Token.Value(text));
+        if (version2) {
+            writeValue(Token.TYPE_VALUE, -1, text);
+        } else {
+            writeToken(Token.TYPE_VALUE, -1);
+            writeString(text);
+        }
+    }
+
+    @Override
+    public void setValue(final int value) {
+        if (version2) {
+            ensure(6);
+            buffer[count++] = Token.TYPE_VALUE + Token.VALUE_INT;
+            writeVarLong((value << 1 ^ value >> 31) & 0xFFFFFFFFL);
+        } else {
+            setValue(Integer.toString(value));
+        }
+    }
+
+    @Override
+    public void setValue(final long value) {
+        if (version2) {
+            ensure(11);
+            buffer[count++] = Token.TYPE_VALUE + Token.VALUE_LONG;
+            writeVarLong(value << 1 ^ value >> 63);
+        } else {
+            setValue(Long.toString(value));
+        }
+    }
+
+    @Override
+    public void setValue(final double value) {
+        if (version2) {
+            ensure(9);
+            buffer[count++] = Token.TYPE_VALUE + Token.VALUE_DOUBLE;
+            writeBytes(Double.doubleToRawLongBits(value), 8);
+        } else {
+            setValue(Double.toString(value));
+        }
+    }
+
+    @Override
+    public void setValue(final boolean value) {
+        if (version2) {
+            ensure(1);
+            buffer[count++] = (byte)(Token.TYPE_VALUE + (value ? Token.VALUE_TRUE : Token.VALUE_FALSE));
+        } else {
+            setValue(Boolean.toString(value));
+        }
+    }
+
+    @Override
+    public void setValue(final Object value, final ValueFormatter formatter) {
+        if (valueBuffer == null) {
+            valueBuffer = new char[ValueFormatter.MAX_LENGTH];
+        }
+        setValue(new String(valueBuffer, 0, formatter.format(value, valueBuffer, 0)));
+    }
+
+    @Override
+    public void writeArray(final String itemName, final int[] values) {
+        if (version2) {
+            writePackedArrayToken(itemName, Token.VALUE_INT, values.length);
+            for (final int value : values) {
+                ensure(5);
+                writeVarLong((value << 1 ^ value >> 31) & 0xFFFFFFFFL);
+            }
+        } else {
+            for (final int value : values) {
+                startNode(itemName);
+                setValue(Integer.toString(value));
+                endNode();
+            }
+        }
+    }
+
+    @Override
+    public void writeArray(final String itemName, final long[] values) {
+        if (version2) {
+            writePackedArrayToken(itemName, Token.VALUE_LONG, values.length);
+            for (final long value : values) {
+                ensure(10);
+                writeVarLong(value << 1 ^ value >> 63);
+            }
+        } else {
+            for (final long value : values) {
+                startNode(itemName);
+                setValue(Long.toString(value));
+                endNode();
+            }
+        }
+    }
+
+    @Override
+    public void writeArray(final String itemName, final double[] values) {
+        if (version2) {
+            writePackedArrayToken(itemName, Token.VALUE_DOUBLE, values.length);
+            for (final double value : values) {
+                ensure(8);
+                writeBytes(Double.doubleToRawLongBits(value), 8);
+            }
+        } else {
+            for (final double value : values) {
+                startNode(itemName);
+                setValue(Double.toString(value));
+                endNode();
+            }
+        }
     }
 
     @Override
     public void endNode() {
-        write(new Token.EndNode());
+        writeToken(Token.TYPE_END_NODE, -1);
+        if (--depth == 0) {
+            // write through at the end of the document, the writer might never be flushed explicitly
+            flushBuffer();
+        }
     }
 
     @Override
     public void flush() {
+        flushBuffer();
         try {
             out.flush();
         } catch (final IOException e) {
@@ -71,6 +249,7 @@ public class BinaryStreamWriter implements ExtendedHierarchicalStreamWriter {
 
     @Override
     public void close() {
+        flushBuffer();
         try {
             out.close();
         } catch (final IOException e) {
@@ -83,11 +262,202 @@ public class BinaryStreamWriter implements ExtendedHierarchicalStreamWriter {
         return this;
     }
 
-    private void write(final Token token) {
-        try {
-            tokenFormatter.write(out, token);
-        } catch (final IOException e) {
-            throw new StreamException(e);
+    private void flushBuffer() {
+        if (count > 0) {
+            try {
+                out.write(buffer, 0, count);
+            } catch (final IOException e) {
+                throw new StreamException(e);
+            }
+            count = 0;
+        }
+    }
+
+    private void ensure(final int length) {
+        if (count + length > buffer.length) {
+            flushBuffer();
+        }
+    }
+
+    /**
+     * Write the type and the ID of a token in the same way as {@link Token.Formatter} does. Tokens without an ID use
+     * the smallest ID type, but do not write any ID. In version 2 the ID is written as variable-length quantity.
+     */
+    private void writeToken(final byte type, final long id) {
+        ensure(11);
+        final byte[] buffer = this.buffer;
+        if (version2) {
+            buffer[count++] = type;
+            if (id >= 0) {
+                writeVarLong(id);
+            }
+        } else if (id <= Byte.MAX_VALUE - Byte.MIN_VALUE) {
+            buffer[count++] = (byte)(type + Token.ID_ONE_BYTE);
+            if (id >= 0) {
+                buffer[count++] = (byte)(id + Byte.MIN_VALUE);
+            }
+        } else if (id <= Short.MAX_VALUE - Short.MIN_VALUE) {
+            buffer[count++] = (byte)(type + Token.ID_TWO_BYTES);
+            writeBytes(id + Short.MIN_VALUE, 2);
+        } else if (id <= (long)Integer.MAX_VALUE - (long)Integer.MIN_VALUE) {
+            buffer[count++] = (byte)(type + Token.ID_FOUR_BYTES);
+            writeBytes(id + Integer.MIN_VALUE, 4);
+        } else {
+            buffer[count++] = (byte)(type + Token.ID_EIGHT_BYTES);
+            writeBytes(id + Long.MIN_VALUE, 8);
+        }
+    }
+
+    /**
+     * Write a token with a value in version 2. Short values are added to the dictionary and written as reference if
+     * they are repeated.
+     */
+    private void writeValue(final byte type, final long id, final String value) {
+        byte kind = Token.VALUE_STRING;
+        final int length = value.length();
+        if (length > 1 && length <= MAX_DICTIONARY_VALUE_LENGTH) {
+            final Integer index = dictionary.get(value);
+            if (index != null) {
+                writeToken((byte)(type + Token.VALUE_REFERENCE), id);
+                ensure(5);
+                writeVarLong(index.intValue());
+                return;
+            }
+            if (dictionary.size() < MAX_DICTIONARY_SIZE) {
+                dictionary.put(value, Integer.valueOf(dictionary.size()));
+                kind = Token.VALUE_DEFINITION;
+            }
+        }
+        writeToken((byte)(type + kind), id);
+        writeUtf8(value);
+    }
+
+    private void writePackedArrayToken(final String itemName, final byte kind, final int length) {
+        writeToken((byte)(Token.TYPE_PACKED_ARRAY + kind), idRegistry.getId(itemName));
+        ensure(5);
+        writeVarLong(length);
+    }
+
+    private void writeVarLong(long value) {
+        while ((value & ~0x7FL) != 0) {
+            buffer[count++] = (byte)(value & 0x7F | 0x80);
+            value >>>= 7;
+        }
+        buffer[count++] = (byte)value;
+    }
+
+    private void writeBytes(final long value, final int length) {
+        for (int shift = (length - 1) * 8; shift >= 0; shift -= 8) {
+            buffer[count++] = (byte)(value >>> shift);
+        }
+    }
+
+    /**
+     * Write a string in modified UTF-8 as {@link java.io.DataOutput#writeUTF(String)} does. A string that exceeds the
+     * maximum length of this encoding is marked as split and written in UTF-8 with an explicit length.
+     */
+    private void writeString(final String string) {
+        final int length = string.length();
+        int utfLength = length;
+        for (int i = 0; i < length; ++i) {
+            final char c = string.charAt(i);
+            if (c >= 0x80 || c == 0) {
+                utfLength += c >= 0x800 ? 2 : 1;
+            }
+        }
+        if (utfLength > Token.MAX_UTF8_LENGTH) {
+            final byte[] bytes = string.getBytes(StandardCharsets.UTF_8);
+            writeString(Token.ID_SPLITTED);
+            ensure(4);
+            writeBytes(bytes.length, 4);
+            flushBuffer();
+            try {
+                out.write(bytes);
+            } catch (final IOException e) {
+                throw new StreamException(e);
+            }
+            return;
+        }
+        ensure(2);
+        buffer[count++] = (byte)(utfLength >>> 8);
+        buffer[count++] = (byte)utfLength;
+        if (utfLength == length && count + length <= buffer.length) {
+            final byte[] buffer = this.buffer;
+            int pos = count;
+            for (int i = 0; i < length; ++i) {
+                buffer[pos++] = (byte)string.charAt(i);
+            }
+            count = pos;
+            return;
+        }
+        for (int i = 0; i < length; ++i) {
+            final char c = string.charAt(i);
+            ensure(3);
+            if (c < 0x80 && c != 0) {
+                buffer[count++] = (byte)c;
+            } else if (c < 0x800) {
+                buffer[count++] = (byte)(0xC0 | c >> 6 & 0x1F);
+                buffer[count++] = (byte)(0x80 | c & 0x3F);
+            } else {
+                buffer[count++] = (byte)(0xE0 | c >> 12 & 0x0F);
+                buffer[count++] = (byte)(0x80 | c >> 6 & 0x3F);
+                buffer[count++] = (byte)(0x80 | c & 0x3F);
+            }
+        }
+    }
+
+    /**
+     * Write a string in UTF-8 with its length as variable-length quantity. Unpaired surrogates are encoded like any
+     * other character with three bytes (WTF-8), i.e. any string is written losslessly.
+     */
+    private void writeUtf8(final String string) {
+        final int length = string.length();
+        int utfLength = length;
+        for (int i = 0; i < length; ++i) {
+            final char c = string.charAt(i);
+            if (c >= 0x80) {
+                if (c < 0x800) {
+                    utfLength += 1;
+                } else {
+                    utfLength += 2;
+                    if (Character.isHighSurrogate(c) && i + 1 < length
+                        && Character.isLowSurrogate(string.charAt(i + 1))) {
+                        ++i;
+                    }
+                }
+            }
+        }
+        ensure(5);
+        writeVarLong(utfLength);
+        if (utfLength == length && count + length <= buffer.length) {
+            final byte[] buffer = this.buffer;
+            int pos = count;
+            for (int i = 0; i < length; ++i) {
+                buffer[pos++] = (byte)string.charAt(i);
+            }
+            count = pos;
+            return;
+        }
+        for (int i = 0; i < length; ++i) {
+            final char c = string.charAt(i);
+            ensure(4);
+            if (c < 0x80) {
+                buffer[count++] = (byte)c;
+            } else if (c < 0x800) {
+                buffer[count++] = (byte)(0xC0 | c >> 6);
+                buffer[count++] = (byte)(0x80 | c & 0x3F);
+            } else if (Character.isHighSurrogate(c) && i + 1 < length
+                && Character.isLowSurrogate(string.charAt(i + 1))) {
+                final int codePoint = Character.toCodePoint(c, string.charAt(++i));
+                buffer[count++] = (byte)(0xF0 | codePoint >> 18);
+                buffer[count++] = (byte)(0x80 | codePoint >> 12 & 0x3F);
+                buffer[count++] = (byte)(0x80 | codePoint >> 6 & 0x3F);
+                buffer[count++] = (byte)(0x80 | codePoint & 0x3F);
+            } else {
+                buffer[count++] = (byte)(0xE0 | c >> 12);
+                buffer[count++] = (byte)(0x80 | c >> 6 & 0x3F);
+                buffer[count++] = (byte)(0x80 | c & 0x3F);
+            }
         }
     }
 
@@ -97,14 +467,19 @@ public class BinaryStreamWriter implements ExtendedHierarchicalStreamWriter {
         private final Map<String, Long> ids = new HashMap<>();
 
         public long getId(final String value) {
-            Long id = ids.get(value);
-            if (id == null) {
-                id = Long.valueOf(++nextId);
-                ids.put(value, id);
-                write(new Token.MapIdToValue(id.longValue(), value));
+            final Long id = ids.get(value);
+            if (id != null) {
+                return id.longValue();
             }
-            return id.longValue();
+            final long newId = ++nextId;
+            ids.put(value, Long.valueOf(newId));
+            writeToken(Token.TYPE_MAP_ID_TO_VALUE, newId);
+            if (version2) {
+                writeUtf8(value);
+            } else {
+                writeString(value);
+            }
+            return newId;
         }
-
     }
 }
@@ -1,6 +1,6 @@
 /*
  * Copyright (C) 2006 Joe Walnes.
- * Copyright (C) 2006, 2007, 2014, 2015, 2018 XStream Committers.
+ * Copyright (C) 2006, 2007, 2014, 2015, 2018, 2026 XStream Committers.
  * All rights reserved.
  *
  * The software in this package is published under the terms of the BSD
@@ -11,14 +11,19 @@
  */
 package com.thoughtworks.xstream.io.binary;
 
-import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.Iterator;
-import java.util.List;
+import java.util.NoSuchElementException;
+
+import com.thoughtworks.xstream.io.StreamException;
 
 
 /**
  * Maintains the state of a pull reader at various states in the document depth. Used by the {@link BinaryStreamReader}
+ * <p>
+ * The state objects of the individual depths are kept and reused when the reader moves down again.
+ * </p>
  * 
  * @author Joe Walnes
  * @since 1.2
@@ -30,23 +35,42 @@ class ReaderDepthState {
     private static class State {
         String name;
         String value;
-        List<Attribute> attributes;
+        byte valueKind;
+        long valueBits;
+        String[] attributeNames;
+        String[] attributeValues;
+        int attributeCount;
         boolean hasMoreChildren;
         State parent;
+        State child;
         int level;
     }
 
-    private static class Attribute {
-        String name;
-        String value;
-    }
-
     private State current;
+    private State root;
 
     public void push() {
-        final State newState = new State();
-        newState.parent = current;
-        newState.level = getLevel() + 1;
+        State newState = current == null ? root : current.child;
+        if (newState == null) {
+            newState = new State();
+            newState.parent = current;
+            newState.level = getLevel() + 1;
+            if (current == null) {
+                root = newState;
+            } else {
+                current.child = newState;
+            }
+        } else {
+            newState.name = null;
+            newState.value = null;
+            newState.valueKind = Token.VALUE_STRING;
+            newState.hasMoreChildren = false;
+            if (newState.attributeCount > 0) {
+                Arrays.fill(newState.attributeNames, 0, newState.attributeCount, null);
+                Arrays.fill(newState.attributeValues, 0, newState.attributeCount, null);
+                newState.attributeCount = 0;
+            }
+        }
         current = newState;
     }
 
@@ -67,11 +91,47 @@ class ReaderDepthState {
     }
 
     public String getValue() {
-        return current.value == null ? EMPTY_STRING : current.value;
+        final State state = current;
+        if (state.value == null && state.valueKind != Token.VALUE_STRING) {
+            state.value = toString(state.valueKind, state.valueBits);
+        }
+        return state.value == null ? EMPTY_STRING : state.value;
     }
 
     public void setValue(final String value) {
         current.value = value;
+        current.valueKind = Token.VALUE_STRING;
+    }
+
+    public void setValue(final byte kind, final long bits) {
+        current.value = null;
+        current.valueKind = kind;
+        current.valueBits = bits;
+    }
+
+    public byte getValueKind() {
+        return current.valueKind;
+    }
+
+    public long getValueBits() {
+        return current.valueBits;
+    }
+
+    static String toString(final byte kind, final long bits) {
+        switch (kind) {
+        case Token.VALUE_INT:
+            return Integer.toString((int)bits);
+        case Token.VALUE_LONG:
+            return Long.toString(bits);
+        case Token.VALUE_DOUBLE:
+            return Double.toString(Double.longBitsToDouble(bits));
+        case Token.VALUE_TRUE:
+            return "true";
+        case Token.VALUE_FALSE:
+            return "false";
+        default:
+            throw new StreamException("Unknown value kind " + kind);
+        }
     }
 
     public boolean hasMoreChildren() {
@@ -83,66 +143,75 @@ class ReaderDepthState {
     }
 
     public void addAttribute(final String name, final String value) {
-        final Attribute attribute = new Attribute();
-        attribute.name = name;
-        attribute.value = value;
-        if (current.attributes == null) {
-            current.attributes = new ArrayList<>();
+        final State state = current;
+        if (state.attributeNames == null) {
+            state.attributeNames = new String[4];
+            state.attributeValues = new String[4];
+        } else if (state.attributeCount == state.attributeNames.length) {
+            state.attributeNames = Arrays.copyOf(state.attributeNames, state.attributeCount * 2);
+            state.attributeValues = Arrays.copyOf(state.attributeValues, state.attributeCount * 2);
         }
-        current.attributes.add(attribute);
+        state.attributeNames[state.attributeCount] = name;
+        state.attributeValues[state.attributeCount++] = value;
     }
 
     public String getAttribute(final String name) {
-        if (current.attributes == null) {
-            return null;
-        } else {
-            // For short maps, it's faster to iterate then do a hashlookup.
-            for (final Attribute attribute : current.attributes) {
-                if (attribute.name.equals(name)) {
-                    return attribute.value;
-                }
+        // For short maps, it's faster to iterate then do a hashlookup.
+        for (int i = 0; i < current.attributeCount; ++i) {
+            if (current.attributeNames[i].equals(name)) {
+                return current.attributeValues[i];
             }
-            return null;
         }
+        return null;
     }
 
     public String getAttribute(final int index) {
-        if (current.attributes == null) {
+        if (current.attributeCount == 0) {
             return null;
         } else {
-            final Attribute attribute = current.attributes.get(index);
-            return attribute.value;
+            checkIndex(index);
+            return current.attributeValues[index];
         }
     }
 
     public String getAttributeName(final int index) {
-        if (current.attributes == null) {
+        if (current.attributeCount == 0) {
             return null;
         } else {
-            final Attribute attribute = current.attributes.get(index);
-            return attribute.name;
+            checkIndex(index);
+            return current.attributeNames[index];
+        }
+    }
+
+    private void checkIndex(final int index) {
+        if (index < 0 || index >= current.attributeCount) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + current.attributeCount);
         }
     }
 
     public int getAttributeCount() {
-        return current.attributes == null ? 0 : current.attributes.size();
+        return current.attributeCount;
     }
 
     public Iterator<String> getAttributeNames() {
-        if (current.attributes == null) {
+        if (current.attributeCount == 0) {
             return Collections.<String>emptyIterator();
         } else {
-            final Iterator<Attribute> attributeIterator = current.attributes.iterator();
+            final String[] names = Arrays.copyOf(current.attributeNames, current.attributeCount);
             return new Iterator<String>() {
+                private int index;
+
                 @Override
                 public boolean hasNext() {
-                    return attributeIterator.hasNext();
+                    return index < names.length;
                 }
 
                 @Override
                 public String next() {
-                    final Attribute attribute = attributeIterator.next();
-                    return attribute.name;
+                    if (!hasNext()) {
+                        throw new NoSuchElementException();
+                    }
+                    return names[index++];
                 }
 
                 @Override
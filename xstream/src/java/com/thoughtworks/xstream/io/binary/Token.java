@@ -1,6 +1,6 @@
 /*
  * Copyright (C) 2006 Joe Walnes.
- * Copyright (C) 2006, 2007, 2009, 2013, 2014, 2020 XStream Committers.
+ * Copyright (C) 2006, 2007, 2009, 2013, 2014, 2020, 2026 XStream Committers.
  * All rights reserved.
  *
  * The software in this package is published under the terms of the BSD
@@ -28,6 +28,13 @@ import com.thoughtworks.xstream.io.StreamException;
  * <p>
  * The first byte of the token represents how many subsequent bytes are used by the ID.
  * </p>
+ * <p>
+ * A stream in version 2 of the format starts with a version token and uses the bits of the ID type in the first byte
+ * of a token for the kind of the value instead. IDs and lengths are written as variable-length quantities, strings in
+ * UTF-8. A value can be a string, a string added to a dictionary of the stream, a reference into this dictionary or
+ * one of the primitive types int, long, double or boolean. The elements of primitive arrays can be packed into a
+ * single token.
+ * </p>
  * 
  * @author Joe Walnes
  * @see BinaryStreamReader
@@ -36,22 +43,32 @@ import com.thoughtworks.xstream.io.StreamException;
  */
 public abstract class Token {
 
-    private static final byte TYPE_MASK = 0x7;
+    static final byte TYPE_MASK = 0x7;
     public static final byte TYPE_VERSION = 0x1;
     public static final byte TYPE_MAP_ID_TO_VALUE = 0x2;
     public static final byte TYPE_START_NODE = 0x3;
     public static final byte TYPE_END_NODE = 0x4;
     public static final byte TYPE_ATTRIBUTE = 0x5;
     public static final byte TYPE_VALUE = 0x6;
-
-    private static final byte ID_MASK = 0x38;
-    private static final byte ID_ONE_BYTE = 0x08;
-    private static final byte ID_TWO_BYTES = 0x10;
-    private static final byte ID_FOUR_BYTES = 0x18;
-    private static final byte ID_EIGHT_BYTES = 0x20;
-
-    private static final String ID_SPLITTED = "\u0000\u2021\u0000";
-    private static final int MAX_UTF8_LENGTH = 0xffff;
+    static final byte TYPE_PACKED_ARRAY = 0x7;
+
+    static final byte ID_MASK = 0x38;
+    static final byte ID_ONE_BYTE = 0x08;
+    static final byte ID_TWO_BYTES = 0x10;
+    static final byte ID_FOUR_BYTES = 0x18;
+    static final byte ID_EIGHT_BYTES = 0x20;
+
+    static final byte VALUE_STRING = 0x00;
+    static final byte VALUE_DEFINITION = 0x08;
+    static final byte VALUE_REFERENCE = 0x10;
+    static final byte VALUE_INT = 0x18;
+    static final byte VALUE_LONG = 0x20;
+    static final byte VALUE_DOUBLE = 0x28;
+    static final byte VALUE_TRUE = 0x30;
+    static final byte VALUE_FALSE = 0x38;
+
+    static final String ID_SPLITTED = "\u0000\u2021\u0000";
+    static final int MAX_UTF8_LENGTH = 0xffff;
 
     private final byte type;
 
@@ -93,7 +93,8 @@ public class JettisonMappedXmlDriver extends AbstractDriver {
     @Override
     public HierarchicalStreamReader createReader(final Reader reader) {
         try {
-            return new StaxReader(new QNameMap(), mif.createXMLStreamReader(reader), getNameCoder());
+            return new StaxReader(new QNameMap(), mif.createXMLStreamReader(reader), getNameCoder(),
+                getNameSymbolTable());
         } catch (final XMLStreamException e) {
             throw new StreamException(e);
         }
@@ -102,7 +103,8 @@ public class JettisonMappedXmlDriver extends AbstractDriver {
     @Override
     public HierarchicalStreamReader createReader(final InputStream input) {
         try {
-            return new StaxReader(new QNameMap(), mif.createXMLStreamReader(input), getNameCoder());
+            return new StaxReader(new QNameMap(), mif.createXMLStreamReader(input), getNameCoder(),
+                getNameSymbolTable());
         } catch (final XMLStreamException e) {
             throw new StreamException(e);
         }
@@ -114,7 +116,7 @@ public class JettisonMappedXmlDriver extends AbstractDriver {
         try {
             instream = in.openStream();
             return new StaxReader(new QNameMap(), mif.createXMLStreamReader(in.toExternalForm(), instream),
-                getNameCoder());
+                getNameCoder(), getNameSymbolTable());
         } catch (final XMLStreamException | IOException e) {
             throw new StreamException(e);
         } finally {
@@ -134,7 +136,7 @@ public class JettisonMappedXmlDriver extends AbstractDriver {
         try {
             instream = new FileInputStream(in);
             return new StaxReader(new QNameMap(), mif.createXMLStreamReader(in.toURI().toASCIIString(), instream),
-                getNameCoder());
+                getNameCoder(), getNameSymbolTable());
         } catch (final XMLStreamException | IOException e) {
             throw new StreamException(e);
         } finally {
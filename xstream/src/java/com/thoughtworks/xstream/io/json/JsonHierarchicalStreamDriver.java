@@ -1,6 +1,6 @@
 /*
  * Copyright (C) 2006 Joe Walnes.
- * Copyright (C) 2006, 2007, 2008, 2011, 2014, 2020 XStream Committers.
+ * Copyright (C) 2006, 2007, 2008, 2011, 2014, 2020, 2026 XStream Committers.
  * All rights reserved.
  *
  * The software in this package is published under the terms of the BSD
@@ -11,13 +11,12 @@
  */
 package com.thoughtworks.xstream.io.json;
 
-import java.io.File;
 import java.io.InputStream;
+import java.io.InputStreamReader;
 import java.io.OutputStream;
 import java.io.OutputStreamWriter;
 import java.io.Reader;
 import java.io.Writer;
-import java.net.URL;
 import java.nio.charset.StandardCharsets;
 
 import com.thoughtworks.xstream.io.AbstractDriver;
@@ -27,18 +26,29 @@ import com.thoughtworks.xstream.io.naming.NameCoder;
 
 
 /**
- * A driver for JSON that writes optimized JSON format, but is not able to deserialize the result.
+ * A driver for JSON that writes optimized JSON format.
+ * <p>
+ * The JSON is read with a {@link JsonReader}. Note, that only JSON written in {@link AbstractJsonWriter#EXPLICIT_MODE}
+ * contains all the information to deserialize any object graph, see the {@link JsonReader} for the limitations of the
+ * other modes. JSON written in {@link AbstractJsonWriter#DROP_ROOT_MODE} has no name for the root element, therefore
+ * the driver must know the name of the root element's type to read such JSON again.
+ * </p>
  * 
  * @author Paul Hammant
  * @since 1.2
  */
 public class JsonHierarchicalStreamDriver extends AbstractDriver {
 
+    private final int mode;
+    private final String rootName;
+
     /**
      * Construct a JsonHierarchicalStreamDriver.
      */
     public JsonHierarchicalStreamDriver() {
         super();
+        mode = 0;
+        rootName = null;
     }
 
     /**
@@ -48,27 +58,49 @@ public class JsonHierarchicalStreamDriver extends AbstractDriver {
      * @since 1.4.2
      */
     public JsonHierarchicalStreamDriver(final NameCoder nameCoder) {
-        super(nameCoder);
+        this(0, nameCoder);
     }
 
-    @Override
-    public HierarchicalStreamReader createReader(final Reader in) {
-        throw new UnsupportedOperationException("The JsonHierarchicalStreamDriver can only write JSON");
+    /**
+     * Construct a JsonHierarchicalStreamDriver with a mode and name coding.
+     * 
+     * @param mode the mode of the {@link JsonWriter} and {@link JsonReader}
+     * @param nameCoder the coder to encode and decode the JSON labels.
+     * @since upcoming
+     */
+    public JsonHierarchicalStreamDriver(final int mode, final NameCoder nameCoder) {
+        this(mode, null, nameCoder);
     }
 
-    @Override
-    public HierarchicalStreamReader createReader(final InputStream in) {
-        throw new UnsupportedOperationException("The JsonHierarchicalStreamDriver can only write JSON");
+    /**
+     * Construct a JsonHierarchicalStreamDriver with a mode, the name of the root element and name coding.
+     * <p>
+     * The name of the root element is only used to read JSON written in {@link AbstractJsonWriter#DROP_ROOT_MODE}.
+     * </p>
+     * 
+     * @param mode the mode of the {@link JsonWriter} and {@link JsonReader}
+     * @param rootName the name of the root element, may be <code>null</code> to derive it from the JSON value
+     * @param nameCoder the coder to encode and decode the JSON labels.
+     * @since upcoming
+     */
+    public JsonHierarchicalStreamDriver(final int mode, final String rootName, final NameCoder nameCoder) {
+        super(nameCoder);
+        this.mode = mode;
+        this.rootName = rootName;
     }
 
+    /**
+     * Create a HierarchicalStreamReader that reads JSON.
+     */
     @Override
-    public HierarchicalStreamReader createReader(final URL in) {
-        throw new UnsupportedOperationException("The JsonHierarchicalStreamDriver can only write JSON");
+    public HierarchicalStreamReader createReader(final Reader in) {
+        return new JsonReader(in, mode, rootName, getNameCoder(), getNameSymbolTable());
     }
 
     @Override
-    public HierarchicalStreamReader createReader(final File in) {
-        throw new UnsupportedOperationException("The JsonHierarchicalStreamDriver can only write JSON");
+    public HierarchicalStreamReader createReader(final InputStream in) {
+        // JSON spec requires UTF-8
+        return createReader(new InputStreamReader(in, StandardCharsets.UTF_8));
     }
 
     /**
@@ -76,7 +108,8 @@ public class JsonHierarchicalStreamDriver extends AbstractDriver {
      */
     @Override
     public HierarchicalStreamWriter createWriter(final Writer out) {
-        return new JsonWriter(out);
+        return new JsonWriter(out, mode, new JsonWriter.Format(new char[]{' ', ' '}, new char[]{'\n'},
+            JsonWriter.Format.SPACE_AFTER_LABEL | JsonWriter.Format.COMPACT_EMPTY_ELEMENT, getNameCoder()));
     }
 
     @Override
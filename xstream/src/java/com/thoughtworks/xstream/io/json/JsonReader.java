@@ -0,0 +1,662 @@
+/*
+ * Copyright (C) 2026 XStream Committers.
+ * All rights reserved.
+ *
+ * The software in this package is published under the terms of the BSD
+ * style license a copy of which has been included with this distribution in
+ * the LICENSE.txt file.
+ *
+ * Created on 16. October 2026
+ */
+package com.thoughtworks.xstream.io.json;
+
+import java.io.IOException;
+import java.io.Reader;
+
+import com.thoughtworks.xstream.converters.ErrorWriter;
+import com.thoughtworks.xstream.io.StreamException;
+import com.thoughtworks.xstream.io.naming.NameCoder;
+import com.thoughtworks.xstream.io.naming.NameSymbolTable;
+import com.thoughtworks.xstream.io.naming.NoNameCoder;
+import com.thoughtworks.xstream.io.xml.AbstractPullReader;
+
+
+/**
+ * A reader for the JSON written by a {@link JsonWriter} or any other {@link AbstractJsonWriter}.
+ * <p>
+ * The reader parses the JSON in a single pass without any external library and supports the same modes as the
+ * writer. The JSON written in {@link AbstractJsonWriter#EXPLICIT_MODE} contains all the information of the original
+ * hierarchical stream and is therefore read without any loss. Any other mode has no representation for the names of
+ * the elements of a JSON array. Such an element is reported with a name derived from its JSON value: a string as
+ * <em>string</em>, an integer number as <em>int</em> or <em>long</em> depending on its value, a decimal number as
+ * <em>double</em>, a boolean as <em>boolean</em>, null as <em>null</em>, an array as <em>list</em> and an object as
+ * <em>object</em>. In {@link AbstractJsonWriter#IEEE_754_MODE} a string representing an integer value beyond the
+ * precision of a JavaScript number is reported as <em>long</em>. The same rule applies for the root element in
+ * {@link AbstractJsonWriter#DROP_ROOT_MODE}, unless a name for the root element is provided.
+ * </p>
+ *
+ * @since upcoming
+ */
+public class JsonReader extends AbstractPullReader {
+
+    private static final int BUFFER_SIZE = 8192;
+    private static final long IEEE_754_LIMIT = 9007199254740992L;
+
+    // frames of the parser, each one represents the content of an element or the document itself
+    private static final int DOCUMENT = 0;
+    private static final int EMPTY = 1;
+    private static final int VALUE = 2;
+    private static final int OBJECT = 3;
+    private static final int ARRAY_START = 4;
+    private static final int ARRAY = 5;
+    private static final int CHILDREN_START = 6;
+    private static final int CHILDREN = 7;
+
+    private final Reader reader;
+    private final int mode;
+    private final String rootName;
+    private final NameSymbolTable symbols;
+    private final char[] buf = new char[BUFFER_SIZE];
+    private int pos;
+    private int limit;
+    private int lines;
+    private final StringBuilder builder = new StringBuilder();
+
+    private int[] frames = new int[16];
+    private int depth = -1;
+    private String elementName;
+    private String text;
+    private boolean textPending;
+    private boolean quoted;
+    private String pendingLabel;
+    private boolean ended;
+
+    private String[] attributeNames = new String[8];
+    private String[] attributeValues = new String[8];
+    private int attributeCount;
+
+    /**
+     * Construct a JsonReader for JSON written without any special mode.
+     *
+     * @param reader the reader with the JSON
+     * @since upcoming
+     */
+    public JsonReader(final Reader reader) {
+        this(reader, 0);
+    }
+
+    /**
+     * Construct a JsonReader.
+     *
+     * @param reader the reader with the JSON
+     * @param mode the mode of the writer that has written the JSON
+     * @since upcoming
+     */
+    public JsonReader(final Reader reader, final int mode) {
+        this(reader, mode, new NoNameCoder());
+    }
+
+    /**
+     * Construct a JsonReader.
+     *
+     * @param reader the reader with the JSON
+     * @param mode the mode of the writer that has written the JSON
+     * @param nameCoder the coder to decode the JSON labels
+     * @since upcoming
+     */
+    public JsonReader(final Reader reader, final int mode, final NameCoder nameCoder) {
+        this(reader, mode, null, nameCoder, new NameSymbolTable(64));
+    }
+
+    /**
+     * Construct a JsonReader.
+     *
+     * @param reader the reader with the JSON
+     * @param mode the mode of the writer that has written the JSON
+     * @param rootName the name of the root element in {@link AbstractJsonWriter#DROP_ROOT_MODE}, may be
+     *            <code>null</code>
+     * @param nameCoder the coder to decode the JSON labels
+     * @param symbols the table of the names, may be shared between readers using the same name coder
+     * @since upcoming
+     */
+    public JsonReader(
+            final Reader reader, final int mode, final String rootName, final NameCoder nameCoder,
+            final NameSymbolTable symbols) {
+        super(nameCoder, symbols);
+        this.reader = reader;
+        this.mode = (mode & AbstractJsonWriter.EXPLICIT_MODE) != 0 ? AbstractJsonWriter.EXPLICIT_MODE : mode;
+        this.rootName = rootName;
+        this.symbols = symbols;
+        moveDown();
+    }
+
+    private boolean isMode(final int flag) {
+        return (mode & flag) != 0;
+    }
+
+    private boolean fill() {
+        if (pos < limit) {
+            return true;
+        }
+        try {
+            final int count = reader.read(buf, 0, buf.length);
+            pos = 0;
+            limit = count < 0 ? 0 : count;
+            return count > 0;
+        } catch (final IOException e) {
+            throw new StreamException(e);
+        }
+    }
+
+    private int peekNonWhitespace() {
+        while (pos < limit || fill()) {
+            final char c = buf[pos];
+            switch (c) {
+            case '\n':
+                ++lines;
+                //$FALL-THROUGH$
+            case ' ':
+            case '\t':
+            case '\r':
+                ++pos;
+                break;
+            default:
+                return c;
+            }
+        }
+        return -1;
+    }
+
+    private int readNonWhitespace() {
+        final int c = peekNonWhitespace();
+        if (c >= 0) {
+            ++pos;
+        }
+        return c;
+    }
+
+    private void expect(final char expected) {
+        final int c = readNonWhitespace();
+        if (c != expected) {
+            throw unexpected(c, "'" + expected + "'");
+        }
+    }
+
+    private StreamException unexpected(final int c, final String expected) {
+        return new StreamException((c < 0 ? "Unexpected end of JSON" : "Unexpected character '" + (char)c + "'")
+            + ", expected "
+            + expected);
+    }
+
+    private String readLabel() {
+        expect('"');
+        int i = pos;
+        while (i < limit) {
+            final char c = buf[i];
+            if (c == '"') {
+                final String name = symbols.intern(buf, pos, i - pos);
+                pos = i + 1;
+                expect(':');
+                return name;
+            } else if (c == '\\') {
+                break;
+            }
+            ++i;
+        }
+        final String name = symbols.intern(readString());
+        expect(':');
+        return name;
+    }
+
+    private String readString() {
+        int start = pos;
+        int i = pos;
+        while (i < limit) {
+            final char c = buf[i];
+            if (c == '"') {
+                pos = i + 1;
+                return new String(buf, start, i - start);
+            } else if (c == '\\') {
+                break;
+            }
+            ++i;
+        }
+        builder.setLength(0);
+        while (true) {
+            if (i == limit) {
+                builder.append(buf, start, i - start);
+                pos = i;
+                if (!fill()) {
+                    throw unexpected(-1, "'\"'");
+                }
+                start = i = pos;
+            }
+            final char c = buf[i];
+            if (c == '"') {
+                builder.append(buf, start, i - start);
+                pos = i + 1;
+                return builder.toString();
+            } else if (c == '\\') {
+                builder.append(buf, start, i - start);
+                pos = i + 1;
+                builder.append(readEscape());
+                start = i = pos;
+            } else {
+                ++i;
+            }
+        }
+    }
+
+    private char readEscape() {
+        if (!fill()) {
+            throw unexpected(-1, "escape sequence");
+        }
+        final char c = buf[pos++];
+        switch (c) {
+        case '"':
+        case '\\':
+        case '/':
+            return c;
+        case 'b':
+            return '\b';
+        case 'f':
+            return '\f';
+        case 'n':
+            return '\n';
+        case 'r':
+            return '\r';
+        case 't':
+            return '\t';
+        case 'u':
+            int value = 0;
+            for (int i = 0; i < 4; ++i) {
+                if (!fill()) {
+                    throw unexpected(-1, "hex digit");
+                }
+                final int digit = Character.digit(buf[pos++], 16);
+                if (digit < 0) {
+                    throw unexpected(buf[pos - 1], "hex digit");
+                }
+                value = value << 4 | digit;
+            }
+            return (char)value;
+        default:
+            throw unexpected(c, "escape sequence");
+        }
+    }
+
+    /**
+     * Read a scalar value. The result is <code>null</code> for the JSON null value and {@link #quoted} is set, if the
+     * value was a string.
+     */
+    private String readScalar() {
+        final int c = readNonWhitespace();
+        if (c == '"') {
+            quoted = true;
+            return readString();
+        }
+        quoted = false;
+        if (c < 0 || c == ',' || c == ':' || c == '{' || c == '}' || c == '[' || c == ']') {
+            throw unexpected(c, "value");
+        }
+        final int start = pos - 1;
+        int i = pos;
+        while (i < limit && !isLiteralEnd(buf[i])) {
+            ++i;
+        }
+        final String literal;
+        if (i < limit) {
+            literal = new String(buf, start, i - start);
+            pos = i;
+        } else {
+            builder.setLength(0);
+            builder.append(buf, start, i - start);
+            pos = i;
+            while (fill() && !isLiteralEnd(buf[pos])) {
+                builder.append(buf[pos++]);
+            }
+            literal = builder.toString();
+        }
+        return "null".equals(literal) ? null : literal;
+    }
+
+    private static boolean isLiteralEnd(final char c) {
+        switch (c) {
+        case ',':
+        case ':':
+        case '}':
+        case ']':
+        case ' ':
+        case '\t':
+        case '\r':
+        case '\n':
+            return true;
+        default:
+            return false;
+        }
+    }
+
+    private String nameForValue(final String value) {
+        if (value == null) {
+            return "null";
+        }
+        if (quoted) {
+            return isMode(AbstractJsonWriter.IEEE_754_MODE) && isLongBeyondDoublePrecision(value) ? "long" : "string";
+        }
+        if (value.equals("true") || value.equals("false")) {
+            return "boolean";
+        }
+        for (int i = 0; i < value.length(); ++i) {
+            final char c = value.charAt(i);
+            if ((c < '0' || c > '9') && (c != '-' || i != 0)) {
+                return "double";
+            }
+        }
+        try {
+            final long number = Long.parseLong(value);
+            return number == (int)number ? "int" : "long";
+        } catch (final NumberFormatException e) {
+            return "big-int";
+        }
+    }
+
+    private static boolean isLongBeyondDoublePrecision(final String value) {
+        final int length = value.length();
+        if (length < 16 || length > 20) {
+            return false;
+        }
+        try {
+            final long number = Long.parseLong(value);
+            return number > IEEE_754_LIMIT || number < -IEEE_754_LIMIT;
+        } catch (final NumberFormatException e) {
+            return false;
+        }
+    }
+
+    private void push(final int frame) {
+        if (++depth == frames.length) {
+            final int[] newFrames = new int[depth * 2];
+            System.arraycopy(frames, 0, newFrames, 0, depth);
+            frames = newFrames;
+        }
+        frames[depth] = frame;
+    }
+
+    private void addAttribute(final String name, final String value) {
+        if (attributeCount == attributeNames.length) {
+            final String[] names = new String[attributeCount * 2];
+            final String[] values = new String[attributeCount * 2];
+            System.arraycopy(attributeNames, 0, names, 0, attributeCount);
+            System.arraycopy(attributeValues, 0, values, 0, attributeCount);
+            attributeNames = names;
+            attributeValues = values;
+        }
+        attributeNames[attributeCount] = name;
+        attributeValues[attributeCount++] = value;
+    }
+
+    /**
+     * Start an element from a JSON value. Labels of a JSON object starting with '@' are attributes of the element, a
+     * value with the label '$' is its text, any other label is the name of a child element. A JSON array contains the
+     * child elements and any other JSON value is the text of the element.
+     */
+    private int startElement(final String name) {
+        attributeCount = 0;
+        switch (peekNonWhitespace()) {
+        case '{':
+            ++pos;
+            push(EMPTY);
+            while (true) {
+                int c = readNonWhitespace();
+                if (c == '}') {
+                    break;
+                }
+                if (c != '"') {
+                    throw unexpected(c, "label");
+                }
+                --pos;
+                final String label = readLabel();
+                if (label.length() == 0 || label.charAt(0) != '@') {
+                    pendingLabel = label;
+                    frames[depth] = OBJECT;
+                    break;
+                }
+                addAttribute(label, readScalar());
+                c = readNonWhitespace();
+                if (c == '}') {
+                    break;
+                } else if (c != ',') {
+                    throw unexpected(c, "',' or '}'");
+                }
+            }
+            elementName = name != null ? name : "object";
+            break;
+        case '[':
+            ++pos;
+            push(ARRAY_START);
+            elementName = name != null ? name : "list";
+            break;
+        default:
+            text = readScalar();
+            textPending = text != null;
+            push(VALUE);
+            elementName = name != null ? name : nameForValue(text);
+        }
+        return START_NODE;
+    }
+
+    /**
+     * Start an element in explicit mode. Each element is a JSON object with a single label for the name of the
+     * element. Its value is an array with two arrays, the first one contains an optional object with the attributes,
+     * the second one the text or the child elements.
+     */
+    private int startExplicitElement() {
+        attributeCount = 0;
+        expect('{');
+        elementName = readLabel();
+        expect('[');
+        expect('[');
+        int c = readNonWhitespace();
+        if (c == '{') {
+            do {
+                final String label = readLabel();
+                addAttribute(label, readScalar());
+                c = readNonWhitespace();
+            } while (c == ',');
+            if (c != '}') {
+                throw unexpected(c, "',' or '}'");
+            }
+            c = readNonWhitespace();
+        }
+        if (c != ']') {
+            throw unexpected(c, "']'");
+        }
+        expect(',');
+        expect('[');
+        switch (peekNonWhitespace()) {
+        case ']':
+            push(EMPTY);
+            break;
+        case '{':
+            push(CHILDREN_START);
+            break;
+        default:
+            text = readScalar();
+            textPending = text != null;
+            push(VALUE);
+        }
+        return START_NODE;
+    }
+
+    private int startRoot() {
+        if (isMode(AbstractJsonWriter.EXPLICIT_MODE)) {
+            push(DOCUMENT);
+            return startExplicitElement();
+        } else if (isMode(AbstractJsonWriter.DROP_ROOT_MODE)) {
+            final int c = peekNonWhitespace();
+            if (isMode(AbstractJsonWriter.STRICT_MODE) && c != '{' && c != '[') {
+                throw new StreamException("Single value cannot be root element");
+            }
+            push(DOCUMENT);
+            return startElement(rootName);
+        } else {
+            expect('{');
+            push(DOCUMENT);
+            return startElement(readLabel());
+        }
+    }
+
+    private int endElement() {
+        if (isMode(AbstractJsonWriter.EXPLICIT_MODE)) {
+            expect(']');
+            expect(']');
+            expect('}');
+        }
+        --depth;
+        return END_NODE;
+    }
+
+    private int endDocument() {
+        if (!ended) {
+            if (!isMode(AbstractJsonWriter.EXPLICIT_MODE) && !isMode(AbstractJsonWriter.DROP_ROOT_MODE)) {
+                expect('}');
+            }
+            final int c = readNonWhitespace();
+            if (c >= 0) {
+                throw unexpected(c, "end of JSON");
+            }
+            ended = true;
+        }
+        return END_NODE;
+    }
+
+    @Override
+    protected int pullNextEvent() {
+        if (depth < 0) {
+            return startRoot();
+        }
+        final int c;
+        switch (frames[depth]) {
+        case DOCUMENT:
+            return endDocument();
+        case EMPTY:
+            return endElement();
+        case VALUE:
+            if (textPending) {
+                textPending = false;
+                return TEXT;
+            }
+            return endElement();
+        case OBJECT:
+            String label = pendingLabel;
+            if (label == null) {
+                c = readNonWhitespace();
+                if (c == '}') {
+                    return endElement();
+                } else if (c != ',') {
+                    throw unexpected(c, "',' or '}'");
+                }
+                label = readLabel();
+            } else {
+                pendingLabel = null;
+            }
+            if (label.equals("$")) {
+                text = readScalar();
+                return TEXT;
+            } else if (label.length() > 0 && label.charAt(0) == '@') {
+                throw new StreamException("Attribute " + label + " follows child elements");
+            }
+            return startElement(label);
+        case ARRAY_START:
+            frames[depth] = ARRAY;
+            if (peekNonWhitespace() == ']') {
+                ++pos;
+                return endElement();
+            }
+            return startElement(null);
+        case ARRAY:
+            c = readNonWhitespace();
+            if (c == ']') {
+                return endElement();
+            } else if (c != ',') {
+                throw unexpected(c, "',' or ']'");
+            }
+            return startElement(null);
+        case CHILDREN_START:
+            frames[depth] = CHILDREN;
+            return startExplicitElement();
+        case CHILDREN:
+            c = readNonWhitespace();
+            if (c == ']') {
+                --pos;
+                return endElement();
+            } else if (c != ',') {
+                throw unexpected(c, "',' or ']'");
+            }
+            return startExplicitElement();
+        default:
+            throw new IllegalStateException("Unknown frame " + frames[depth]);
+        }
+    }
+
+    @Override
+    protected String pullElementName() {
+        return elementName;
+    }
+
+    @Override
+    protected String pullText() {
+        return text;
+    }
+
+    private String encodedAttributeName(final String name) {
+        return encodeAttribute(isMode(AbstractJsonWriter.EXPLICIT_MODE) ? name : "@" + name);
+    }
+
+    @Override
+    public String getAttribute(final String name) {
+        if (attributeCount == 0) {
+            return null;
+        }
+        final String encoded = encodedAttributeName(name);
+        for (int i = 0; i < attributeCount; ++i) {
+            if (encoded.equals(attributeNames[i])) {
+                return attributeValues[i];
+            }
+        }
+        return null;
+    }
+
+    @Override
+    public String getAttribute(final int index) {
+        return index < attributeCount ? attributeValues[index] : null;
+    }
+
+    @Override
+    public int getAttributeCount() {
+        return attributeCount;
+    }
+
+    @Override
+    public String getAttributeName(final int index) {
+        if (index >= attributeCount) {
+            return null;
+        }
+        final String name = decodeAttribute(attributeNames[index]);
+        return isMode(AbstractJsonWriter.EXPLICIT_MODE) ? name : name.substring(1);
+    }
+
+    @Override
+    public void appendErrors(final ErrorWriter errorWriter) {
+        errorWriter.add("line number", String.valueOf(lines + 1));
+    }
+
+    @Override
+    public void close() {
+        try {
+            reader.close();
+        } catch (final IOException e) {
+            throw new StreamException(e);
+        }
+    }
+}
@@ -0,0 +1,190 @@
+/*
+ * Copyright (C) 2026 XStream Committers.
+ * All rights reserved.
+ *
+ * The software in this package is published under the terms of the BSD
+ * style license a copy of which has been included with this distribution in
+ * the LICENSE.txt file.
+ *
+ * Created on 16. October 2026
+ */
+package com.thoughtworks.xstream.io.naming;
+
+import java.util.Arrays;
+
+
+/**
+ * A bounded table of canonical names read from a hierarchical stream.
+ * <p>
+ * The names of a document stem typically from a small vocabulary. The table returns for equal names always the same
+ * String instance as long as the name is kept in the table, therefore a reader does not have to create a new String
+ * for every occurrence of a name when it parses characters directly. Additionally the table caches the decoded form
+ * of a name, so the {@link NameCoder} is called only once for each name and the mapper receives the decoded names as
+ * canonical instances also.
+ * </p>
+ * <p>
+ * The table has a fixed capacity. Each name has two possible slots and a new name replaces the older one of these
+ * slots. The table is thread-safe without any lock and can be shared by the readers created by a driver, as long as
+ * all of them use the same configuration of the {@link NameCoder}.
+ * </p>
+ *
+ * @since upcoming
+ */
+public final class NameSymbolTable {
+
+    private static final class Symbol {
+        final String name;
+        final char[] chars;
+        final int hash;
+        // racy caches, the decoded name is immutable and might be calculated more than once
+        String node;
+        String attribute;
+
+        Symbol(final String name, final int hash) {
+            this.name = name;
+            chars = name.toCharArray();
+            this.hash = hash;
+        }
+    }
+
+    private final Symbol[] symbols;
+
+    /**
+     * Construct a NameSymbolTable with the default capacity of 256 names.
+     *
+     * @since upcoming
+     */
+    public NameSymbolTable() {
+        this(256);
+    }
+
+    /**
+     * Construct a NameSymbolTable.
+     *
+     * @param capacity the maximum number of names kept in the table
+     * @since upcoming
+     */
+    public NameSymbolTable(final int capacity) {
+        int size = 2;
+        while (size < capacity && size < 1 << 16) {
+            size <<= 1;
+        }
+        symbols = new Symbol[size];
+    }
+
+    private int indexFor(final int hash) {
+        return (hash ^ hash >>> 16) & symbols.length - 2;
+    }
+
+    /**
+     * Retrieve the canonical name for a sequence of characters.
+     *
+     * @param chars the array containing the name
+     * @param offset the start of the name in the array
+     * @param length the length of the name
+     * @return the canonical name
+     * @since upcoming
+     */
+    public String intern(final char[] chars, final int offset, final int length) {
+        int hash = 0;
+        for (int i = offset; i < offset + length; ++i) {
+            hash = 31 * hash + chars[i];
+        }
+        return intern(chars, offset, length, hash);
+    }
+
+    /**
+     * Retrieve the canonical name for a sequence of characters with a precalculated hash.
+     *
+     * @param chars the array containing the name
+     * @param offset the start of the name in the array
+     * @param length the length of the name
+     * @param hash the hash of the name, calculated as {@link String#hashCode()} does
+     * @return the canonical name
+     * @since upcoming
+     */
+    public String intern(final char[] chars, final int offset, final int length, final int hash) {
+        final Symbol[] table = symbols;
+        final int index = indexFor(hash);
+        for (int i = index; i <= index + 1; ++i) {
+            final Symbol symbol = table[i];
+            if (symbol != null
+                && symbol.hash == hash
+                && Arrays.equals(symbol.chars, 0, symbol.chars.length, chars, offset, offset + length)) {
+                return symbol.name;
+            }
+        }
+        return add(new Symbol(new String(chars, offset, length), hash), index).name;
+    }
+
+    /**
+     * Retrieve the canonical instance of a name.
+     *
+     * @param name the name
+     * @return the canonical name
+     * @since upcoming
+     */
+    public String intern(final String name) {
+        return lookup(name).name;
+    }
+
+    /**
+     * Decode a node name. The decoded name is cached in the table.
+     *
+     * @param name the name in the target format
+     * @param nameCoder the coder used if the decoded name is not yet known
+     * @return the original name
+     * @since upcoming
+     */
+    public String decodeNode(final String name, final NameCoder nameCoder) {
+        final Symbol symbol = lookup(name);
+        String node = symbol.node;
+        if (node == null) {
+            node = nameCoder.decodeNode(symbol.name);
+            symbol.node = node;
+        }
+        return node;
+    }
+
+    /**
+     * Decode an attribute name. The decoded name is cached in the table.
+     *
+     * @param name the name in the target format
+     * @param nameCoder the coder used if the decoded name is not yet known
+     * @return the original name
+     * @since upcoming
+     */
+    public String decodeAttribute(final String name, final NameCoder nameCoder) {
+        final Symbol symbol = lookup(name);
+        String attribute = symbol.attribute;
+        if (attribute == null) {
+            attribute = nameCoder.decodeAttribute(symbol.name);
+            symbol.attribute = attribute;
+        }
+        return attribute;
+    }
+
+    private Symbol lookup(final String name) {
+        final Symbol[] table = symbols;
+        final int hash = name.hashCode();
+        final int index = indexFor(hash);
+        for (int i = index; i <= index + 1; ++i) {
+            final Symbol symbol = table[i];
+            if (symbol != null && (symbol.name == name || symbol.hash == hash && symbol.name.equals(name))) {
+                return symbol;
+            }
+        }
+        return add(new Symbol(name, hash), index);
+    }
+
+    private Symbol add(final Symbol symbol, final int index) {
+        // the latest name takes the first slot, the previous one is moved into the second slot
+        final Symbol[] table = symbols;
+        final Symbol previous = table[index];
+        if (previous != null) {
+            table[index + 1] = previous;
+        }
+        table[index] = symbol;
+        return symbol;
+    }
+}
@@ -1,6 +1,6 @@
 /*
  * Copyright (C) 2004, 2005 Joe Walnes.
- * Copyright (C) 2006, 2007, 2009, 2013, 2014, 2015 XStream Committers.
+ * Copyright (C) 2006, 2007, 2009, 2013, 2014, 2015, 2026 XStream Committers.
  * All rights reserved.
  *
  * The software in this package is published under the terms of the BSD
@@ -61,7 +61,8 @@ import com.thoughtworks.xstream.core.util.FastStack;
  */
 public class Path {
 
-    private final String[] chunks;
+    private String[] chunks;
+    private final Chunk last;
     private transient String pathAsString;
     private transient String pathExplicit;
     private static final Path DOT = new Path(new String[]{"."});
@@ -81,6 +82,7 @@ public class Path {
         final String[] arr = new String[result.size()];
         result.toArray(arr);
         chunks = arr;
+        last = null;
     }
 
     private String normalize(final String s, final int start, final int end) {
@@ -95,11 +97,34 @@ public class Path {
 
     public Path(final String[] chunks) {
         this.chunks = chunks;
+        last = null;
+    }
+
+    /**
+     * Creates a path from the chain of chunks maintained by the {@link PathTracker}. The separate path elements are
+     * only materialized on demand.
+     *
+     * @param last the last chunk of the path
+     */
+    Path(final Chunk last) {
+        this.last = last;
+    }
+
+    private String[] chunks() {
+        if (chunks == null) {
+            final String[] result = new String[last.depth + 1];
+            for (Chunk chunk = last; chunk != null; chunk = chunk.parent) {
+                result[chunk.depth] = chunk.value();
+            }
+            chunks = result;
+        }
+        return chunks;
     }
 
     @Override
     public String toString() {
         if (pathAsString == null) {
+            final String[] chunks = chunks();
             final StringBuilder buffer = new StringBuilder();
             for (int i = 0; i < chunks.length; i++) {
                 if (i > 0) {
@@ -114,6 +139,7 @@ public class Path {
 
     public String explicit() {
         if (pathExplicit == null) {
+            final String[] chunks = chunks();
             final StringBuilder buffer = new StringBuilder();
             for (int i = 0; i < chunks.length; i++) {
                 if (i > 0) {
@@ -144,7 +170,11 @@ public class Path {
         }
 
         final Path other = (Path)o;
-        if (chunks.length != other.chunks.length) {
+        if (last != null && other.last != null) {
+            return last.depth == other.last.depth && Chunk.same(last, other.last);
+        }
+        final String[] chunks = chunks();
+        if (chunks.length != other.chunks().length) {
             return false;
         }
         for (int i = 0; i < chunks.length; i++) {
@@ -159,22 +189,24 @@ public class Path {
     @Override
     public int hashCode() {
         int result = 543645643;
-        for (final String chunk : chunks) {
+        for (final String chunk : chunks()) {
             result = 29 * result + chunk.hashCode();
         }
         return result;
     }
 
     public Path relativeTo(final Path that) {
-        final int depthOfPathDivergence = depthOfPathDivergence(chunks, that.chunks);
-        final String[] result = new String[chunks.length + that.chunks.length - 2 * depthOfPathDivergence];
+        final String[] chunks = chunks();
+        final String[] thatChunks = that.chunks();
+        final int depthOfPathDivergence = depthOfPathDivergence(chunks, thatChunks);
+        final String[] result = new String[chunks.length + thatChunks.length - 2 * depthOfPathDivergence];
         int count = 0;
 
         for (int i = depthOfPathDivergence; i < chunks.length; i++) {
             result[count++] = "..";
         }
-        for (int j = depthOfPathDivergence; j < that.chunks.length; j++) {
-            result[count++] = that.chunks[j];
+        for (int j = depthOfPathDivergence; j < thatChunks.length; j++) {
+            result[count++] = thatChunks[j];
         }
 
         if (count == 0) {
@@ -197,11 +229,11 @@ public class Path {
     public Path apply(final Path relativePath) {
         final FastStack<String> absoluteStack = new FastStack<>(16);
 
-        for (final String chunk : chunks) {
+        for (final String chunk : chunks()) {
             absoluteStack.push(chunk);
         }
 
-        for (final String relativeChunk : relativePath.chunks) {
+        for (final String relativeChunk : relativePath.chunks()) {
             if (relativeChunk.equals("..")) {
                 absoluteStack.pop();
             } else if (!relativeChunk.equals(".")) {
@@ -218,7 +250,18 @@ public class Path {
     }
 
     public boolean isAncestor(final Path child) {
-        if (child == null || child.chunks.length < chunks.length) {
+        if (child == null) {
+            return false;
+        }
+        if (last != null && child.last != null) {
+            Chunk chunk = child.last;
+            while (chunk.depth > last.depth) {
+                chunk = chunk.parent;
+            }
+            return chunk.depth == last.depth && Chunk.same(last, chunk);
+        }
+        final String[] chunks = chunks();
+        if (child.chunks().length < chunks.length) {
             return false;
         }
         for (int i = 0; i < chunks.length; i++) {
@@ -228,4 +271,42 @@ public class Path {
         }
         return true;
     }
+
+    /**
+     * A single element of a path maintained by the {@link PathTracker}. The chunks of a common ancestor are shared.
+     */
+    static final class Chunk {
+        static final Chunk ROOT = new Chunk(null, "", 1);
+
+        final Chunk parent;
+        final String name;
+        final int index;
+        final int depth;
+        private String value;
+
+        Chunk(final Chunk parent, final String name, final int index) {
+            this.parent = parent;
+            this.name = name;
+            this.index = index;
+            depth = parent == null ? 0 : parent.depth + 1;
+        }
+
+        String value() {
+            if (value == null) {
+                value = index > 1 ? name + '[' + index + ']' : name;
+            }
+            return value;
+        }
+
+        static boolean same(Chunk chunk, Chunk other) {
+            while (chunk != other) {
+                if (chunk.index != other.index || !chunk.name.equals(other.name)) {
+                    return false;
+                }
+                chunk = chunk.parent;
+                other = other.parent;
+            }
+            return true;
+        }
+    }
 }
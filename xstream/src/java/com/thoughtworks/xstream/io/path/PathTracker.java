@@ -1,6 +1,6 @@
 /*
  * Copyright (C) 2004, 2005, 2006 Joe Walnes.
- * Copyright (C) 2006, 2007, 2009, 2011, 2014, 2015, 2020 XStream Committers.
+ * Copyright (C) 2006, 2007, 2009, 2011, 2014, 2015, 2020, 2026 XStream Committers.
  * All rights reserved.
  *
  * The software in this package is published under the terms of the BSD
@@ -11,6 +11,7 @@
  */
 package com.thoughtworks.xstream.io.path;
 
+import java.util.Arrays;
 import java.util.HashMap;
 import java.util.Map;
 
@@ -48,7 +49,9 @@ public class PathTracker {
     private int pointer;
     private int capacity;
     private String[] pathStack;
+    private int[] indexStack;
     private Map<String, Integer>[] indexMapStack;
+    private Path.Chunk[] chunkStack;
 
     private Path currentPath;
 
@@ -64,9 +67,12 @@ public class PathTracker {
     public PathTracker(final int initialCapacity) {
         capacity = Math.max(1, initialCapacity);
         pathStack = new String[capacity];
+        indexStack = new int[capacity];
         @SuppressWarnings("unchecked")
         final Map<String, Integer>[] newIndexMapStack = new Map[capacity];
         indexMapStack = newIndexMapStack;
+        chunkStack = new Path.Chunk[capacity];
+        chunkStack[0] = Path.Chunk.ROOT;
     }
 
     /**
@@ -84,12 +90,12 @@ public class PathTracker {
             indexMap = new HashMap<>();
             indexMapStack[pointer] = indexMap;
         }
-        if (indexMap.containsKey(name)) {
-            indexMap.put(name, Integer.valueOf(indexMap.get(name).intValue() + 1));
-        } else {
-            indexMap.put(name, Integer.valueOf(1));
-        }
+        final Integer count = indexMap.get(name);
+        final int index = count == null ? 1 : count.intValue() + 1;
+        indexMap.put(name, Integer.valueOf(index));
+        indexStack[pointer] = index;
         pointer++;
+        chunkStack[pointer] = null;
         currentPath = null;
     }
 
@@ -99,10 +105,24 @@ public class PathTracker {
     public void popElement() {
         indexMapStack[pointer] = null;
         pathStack[pointer] = null;
+        chunkStack[pointer] = null;
         currentPath = null;
         pointer--;
     }
 
+    /**
+     * Reset the tracker to its initial state.
+     *
+     * @since upcoming
+     */
+    public void reset() {
+        Arrays.fill(pathStack, null);
+        Arrays.fill(indexMapStack, null);
+        Arrays.fill(chunkStack, 1, capacity, null);
+        pointer = 0;
+        currentPath = null;
+    }
+
     /**
      * Get the last path element from the stack.
      * 
@@ -125,10 +145,12 @@ public class PathTracker {
         if (i < -pointer || i > 0) {
             throw new ArrayIndexOutOfBoundsException(i);
         }
-        final int idx = pointer + i - 1;
+        return chunkName(pointer + i - 1);
+    }
+
+    private String chunkName(final int idx) {
         final String name;
-        final Integer integer = indexMapStack[idx].get(pathStack[idx]);
-        final int index = integer.intValue();
+        final int index = indexStack[idx];
         if (index > 1) {
             final StringBuffer chunk = new StringBuffer(pathStack[idx].length() + 6);
             chunk.append(pathStack[idx]).append('[').append(index).append(']');
@@ -151,28 +173,41 @@ public class PathTracker {
 
     private void resizeStacks(final int newCapacity) {
         final String[] newPathStack = new String[newCapacity];
+        final int[] newIndexStack = new int[newCapacity];
         @SuppressWarnings("unchecked")
         final Map<String, Integer>[] newIndexMapStack = new Map[newCapacity];
+        final Path.Chunk[] newChunkStack = new Path.Chunk[newCapacity];
         final int min = Math.min(capacity, newCapacity);
         System.arraycopy(pathStack, 0, newPathStack, 0, min);
+        System.arraycopy(indexStack, 0, newIndexStack, 0, min);
         System.arraycopy(indexMapStack, 0, newIndexMapStack, 0, min);
+        System.arraycopy(chunkStack, 0, newChunkStack, 0, min);
         pathStack = newPathStack;
+        indexStack = newIndexStack;
         indexMapStack = newIndexMapStack;
+        chunkStack = newChunkStack;
         capacity = newCapacity;
     }
 
     /**
      * Current Path in stream.
+     * <p>
+     * The returned path is a cheap token for the current position. It shares the elements with the paths of its
+     * ancestors and creates the names of the elements including their index as well as its textual representation only
+     * on demand.
+     * </p>
      */
     public Path getPath() {
         if (currentPath == null) {
-            final String[] chunks = new String[pointer + 1];
-            chunks[0] = "";
-            for (int i = -pointer; ++i <= 0;) {
-                final String name = peekElement(i);
-                chunks[i + pointer] = name;
+            int depth = pointer;
+            while (chunkStack[depth] == null) {
+                --depth;
+            }
+            while (depth < pointer) {
+                final Path.Chunk parent = chunkStack[depth++];
+                chunkStack[depth] = new Path.Chunk(parent, pathStack[depth - 1], indexStack[depth - 1]);
             }
-            currentPath = new Path(chunks);
+            currentPath = new Path(chunkStack[pointer]);
         }
         return currentPath;
     }
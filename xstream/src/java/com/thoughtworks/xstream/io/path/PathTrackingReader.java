@@ -1,6 +1,6 @@
 /*
  * Copyright (C) 2004, 2005 Joe Walnes.
- * Copyright (C) 2006, 2007, 2014 XStream Committers.
+ * Copyright (C) 2006, 2007, 2014, 2026 XStream Committers.
  * All rights reserved.
  *
  * The software in this package is published under the terms of the BSD
@@ -13,7 +13,7 @@ package com.thoughtworks.xstream.io.path;
 
 import com.thoughtworks.xstream.converters.ErrorWriter;
 import com.thoughtworks.xstream.io.HierarchicalStreamReader;
-import com.thoughtworks.xstream.io.ReaderWrapper;
+import com.thoughtworks.xstream.io.PrimitiveReaderWrapper;
 
 
 /**
@@ -23,7 +23,7 @@ import com.thoughtworks.xstream.io.ReaderWrapper;
  * @see Path
  * @author Joe Walnes
  */
-public class PathTrackingReader extends ReaderWrapper {
+public class PathTrackingReader extends PrimitiveReaderWrapper {
 
     private final PathTracker pathTracker;
 
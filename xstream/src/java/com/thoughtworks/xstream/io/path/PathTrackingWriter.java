@@ -1,6 +1,6 @@
 /*
  * Copyright (C) 2004, 2005, 2006 Joe Walnes.
- * Copyright (C) 2006, 2007, 2011, 2014 XStream Committers.
+ * Copyright (C) 2006, 2007, 2011, 2014, 2026 XStream Committers.
  * All rights reserved.
  *
  * The software in this package is published under the terms of the BSD
@@ -13,7 +13,7 @@ package com.thoughtworks.xstream.io.path;
 
 import com.thoughtworks.xstream.io.AbstractWriter;
 import com.thoughtworks.xstream.io.HierarchicalStreamWriter;
-import com.thoughtworks.xstream.io.WriterWrapper;
+import com.thoughtworks.xstream.io.PrimitiveWriterWrapper;
 
 
 /**
@@ -24,7 +24,7 @@ import com.thoughtworks.xstream.io.WriterWrapper;
  * @see Path
  * @author Joe Walnes
  */
-public class PathTrackingWriter extends WriterWrapper {
+public class PathTrackingWriter extends PrimitiveWriterWrapper {
 
     private final PathTracker pathTracker;
     private final boolean isNameEncoding;
@@ -1,6 +1,6 @@
 /*
  * Copyright (C) 2005, 2006 Joe Walnes.
- * Copyright (C) 2006, 2007, 2009, 2010, 2011, 2014, 2015, 2016 XStream Committers.
+ * Copyright (C) 2006, 2007, 2009, 2010, 2011, 2014, 2015, 2016, 2026 XStream Committers.
  * All rights reserved.
  *
  * The software in this package is published under the terms of the BSD
@@ -13,6 +13,7 @@ package com.thoughtworks.xstream.io.xml;
 
 import com.thoughtworks.xstream.core.util.FastStack;
 import com.thoughtworks.xstream.io.naming.NameCoder;
+import com.thoughtworks.xstream.io.naming.NameSymbolTable;
 
 
 /**
@@ -30,6 +31,7 @@ public abstract class AbstractPullReader extends AbstractXmlReader {
     protected static final int COMMENT = 4;
     protected static final int OTHER = 0;
 
+    private final NameSymbolTable symbols;
     private final FastStack<String> elementStack = new FastStack<>(16);
     private final FastStack<Event> pool = new FastStack<>(16);
 
@@ -46,7 +48,19 @@ public abstract class AbstractPullReader extends AbstractXmlReader {
      * @since 1.4
      */
     protected AbstractPullReader(final NameCoder nameCoder) {
-        super(nameCoder);
+        this(nameCoder, new NameSymbolTable(64));
+    }
+
+    /**
+     * Construct an AbstractPullReader with a table for the names of the elements and attributes.
+     *
+     * @param nameCoder the coder for the names
+     * @param symbols the table of the names, may be shared between readers using the same name coder
+     * @since upcoming
+     */
+    protected AbstractPullReader(final NameCoder nameCoder, final NameSymbolTable symbols) {
+        super(nameCoder, symbols);
+        this.symbols = symbols;
     }
 
     /**
@@ -127,7 +141,7 @@ public abstract class AbstractPullReader extends AbstractXmlReader {
         pool.push(event);
         switch (event.type) {
         case START_NODE:
-            elementStack.push(pullElementName());
+            elementStack.push(event.value);
             break;
         case END_NODE:
             elementStack.pop();
@@ -157,7 +171,8 @@ public abstract class AbstractPullReader extends AbstractXmlReader {
         if (event.type == TEXT) {
             event.value = pullText();
         } else if (event.type == START_NODE) {
-            event.value = pullElementName();
+            final String name = pullElementName();
+            event.value = name != null ? symbols.intern(name) : null;
         } else {
             event.value = null;
         }
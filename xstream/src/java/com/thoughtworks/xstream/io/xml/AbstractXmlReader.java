@@ -1,6 +1,6 @@
 /*
  * Copyright (C) 2006 Joe Walnes.
- * Copyright (C) 2006, 2007, 2008, 2009, 2011, 2014 XStream Committers.
+ * Copyright (C) 2006, 2007, 2008, 2009, 2011, 2014, 2026 XStream Committers.
  * All rights reserved.
  *
  * The software in this package is published under the terms of the BSD
@@ -13,6 +13,7 @@ package com.thoughtworks.xstream.io.xml;
 
 import com.thoughtworks.xstream.io.AbstractReader;
 import com.thoughtworks.xstream.io.naming.NameCoder;
+import com.thoughtworks.xstream.io.naming.NameSymbolTable;
 
 
 /**
@@ -42,6 +43,13 @@ public abstract class AbstractXmlReader extends AbstractReader /* implements Xml
         super(nameCoder);
     }
 
+    /**
+     * @since upcoming
+     */
+    protected AbstractXmlReader(final NameCoder nameCoder, final NameSymbolTable symbols) {
+        super(nameCoder, symbols);
+    }
+
     /**
      * Unescapes XML-friendly name (node or attribute)
      * 
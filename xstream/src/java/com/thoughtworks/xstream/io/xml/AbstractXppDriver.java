@@ -1,5 +1,5 @@
 /*
- * Copyright (C) 2009, 2011, 2014, 2015, 2018 XStream Committers.
+ * Copyright (C) 2009, 2011, 2014, 2015, 2018, 2026 XStream Committers.
  * All rights reserved.
  *
  * The software in this package is published under the terms of the BSD
@@ -50,7 +50,7 @@ public abstract class AbstractXppDriver extends AbstractXmlDriver {
     @Override
     public HierarchicalStreamReader createReader(final Reader in) {
         try {
-            return new XppReader(in, createParser(), getNameCoder());
+            return new XppReader(in, createParser(), getNameCoder(), getNameSymbolTable());
         } catch (final XmlPullParserException e) {
             throw new StreamException("Cannot create XmlPullParser", e);
         }
@@ -0,0 +1,74 @@
+/*
+ * Copyright (C) 2026 XStream Committers.
+ * All rights reserved.
+ *
+ * The software in this package is published under the terms of the BSD
+ * style license a copy of which has been included with this distribution in
+ * the LICENSE.txt file.
+ *
+ * Created on 16. October 2026
+ */
+package com.thoughtworks.xstream.io.xml;
+
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.Reader;
+import java.io.Writer;
+
+import com.thoughtworks.xstream.io.AbstractDriver;
+import com.thoughtworks.xstream.io.HierarchicalStreamDriver;
+import com.thoughtworks.xstream.io.HierarchicalStreamReader;
+import com.thoughtworks.xstream.io.HierarchicalStreamWriter;
+import com.thoughtworks.xstream.io.naming.NameCoder;
+
+
+/**
+ * A {@link HierarchicalStreamDriver} with its own XML parser that does not depend on any external library.
+ * <p>
+ * The reader is a {@link NativeXmlReader} supporting the subset of XML written by XStream. Streams are written with a
+ * {@link Utf8XmlWriter} and read without an intermediate {@link Reader} as long as the input is encoded in UTF-8.
+ * </p>
+ *
+ * @since upcoming
+ */
+public class NativeXmlDriver extends AbstractDriver {
+
+    /**
+     * Construct a NativeXmlDriver.
+     *
+     * @since upcoming
+     */
+    public NativeXmlDriver() {
+        this(new XmlFriendlyNameCoder());
+    }
+
+    /**
+     * Construct a NativeXmlDriver.
+     *
+     * @param nameCoder the replacer for XML friendly names
+     * @since upcoming
+     */
+    public NativeXmlDriver(final NameCoder nameCoder) {
+        super(nameCoder);
+    }
+
+    @Override
+    public HierarchicalStreamReader createReader(final Reader in) {
+        return new NativeXmlReader(in, getNameCoder(), getNameSymbolTable());
+    }
+
+    @Override
+    public HierarchicalStreamReader createReader(final InputStream in) {
+        return new NativeXmlReader(in, getNameCoder(), getNameSymbolTable());
+    }
+
+    @Override
+    public HierarchicalStreamWriter createWriter(final Writer out) {
+        return new PrettyPrintWriter(out, getNameCoder());
+    }
+
+    @Override
+    public HierarchicalStreamWriter createWriter(final OutputStream out) {
+        return new Utf8XmlWriter(out, getNameCoder());
+    }
+}
@@ -0,0 +1,955 @@
+/*
+ * Copyright (C) 2026 XStream Committers.
+ * All rights reserved.
+ *
+ * The software in this package is published under the terms of the BSD
+ * style license a copy of which has been included with this distribution in
+ * the LICENSE.txt file.
+ *
+ * Created on 16. October 2026
+ */
+package com.thoughtworks.xstream.io.xml;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.io.SequenceInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+import com.thoughtworks.xstream.converters.ErrorWriter;
+import com.thoughtworks.xstream.core.util.XmlHeaderAwareReader;
+import com.thoughtworks.xstream.io.AbstractReader;
+import com.thoughtworks.xstream.io.StreamException;
+import com.thoughtworks.xstream.io.naming.NameCoder;
+import com.thoughtworks.xstream.io.naming.NameSymbolTable;
+
+
+/**
+ * A reader parsing XML directly without any external parser.
+ * <p>
+ * The reader supports the subset of XML that is written by XStream: elements, attributes, text, CDATA sections, the
+ * predefined entities and character references. An XML declaration, comments and processing instructions are
+ * skipped. A document type declaration is skipped as well, but no entity declared in it is ever resolved. There is no
+ * namespace support, element and attribute names are taken literally.
+ * </p>
+ * <p>
+ * An {@link InputStream} is decoded by the reader itself if its content is encoded in UTF-8, any other encoding
+ * declared in the XML header is processed by an {@link XmlHeaderAwareReader}. Element and attribute names are
+ * interned in a {@link NameSymbolTable}, attribute values are decoded when they are requested for the first time.
+ * </p>
+ *
+ * @since upcoming
+ */
+public class NativeXmlReader extends AbstractReader {
+
+    private static final int BUFFER_SIZE = 8192;
+
+    // positions of the reader within the current element
+    private static final int CONTENT = 0;
+    private static final int EMPTY = 1;
+    private static final int START_TAG = 2;
+    private static final int END_TAG = 3;
+
+    private Reader reader;
+    private final InputStream in;
+    private byte[] bytes;
+    private int bytePos;
+    private int byteLimit;
+    private final char[] buf = new char[BUFFER_SIZE];
+    private int pos;
+    private int limit;
+    private int lines;
+
+    private final NameSymbolTable symbols;
+    private char[] nameChars = new char[64];
+    private String[] elements = new String[16];
+    private int depth;
+    private int state;
+    private String nextElement;
+
+    private char[] text = new char[256];
+    private int textOffset = -1; // text is still kept in the input buffer
+    private int textLength;
+    private String value;
+
+    private String[] attributeNames = new String[8];
+    private String[] attributeValues = new String[8];
+    private int[] attributeOffsets = new int[9];
+    private char[] attributeChars = new char[256];
+    private int attributeCharsLength;
+    private int attributeCount;
+
+    /**
+     * Construct a NativeXmlReader.
+     *
+     * @param reader the reader with the input data
+     * @param nameCoder the coder for XML friendly tag and attribute names
+     * @since upcoming
+     */
+    public NativeXmlReader(final Reader reader, final NameCoder nameCoder) {
+        this(reader, nameCoder, new NameSymbolTable(64));
+    }
+
+    /**
+     * Construct a NativeXmlReader.
+     *
+     * @param reader the reader with the input data
+     * @param nameCoder the coder for XML friendly tag and attribute names
+     * @param symbols the table of the names, may be shared between readers using the same name coder
+     * @since upcoming
+     */
+    public NativeXmlReader(final Reader reader, final NameCoder nameCoder, final NameSymbolTable symbols) {
+        super(nameCoder, symbols);
+        this.symbols = symbols;
+        this.reader = reader;
+        in = null;
+        readProlog();
+    }
+
+    /**
+     * Construct a NativeXmlReader.
+     *
+     * @param in the stream with the input data
+     * @param nameCoder the coder for XML friendly tag and attribute names
+     * @since upcoming
+     */
+    public NativeXmlReader(final InputStream in, final NameCoder nameCoder) {
+        this(in, nameCoder, new NameSymbolTable(64));
+    }
+
+    /**
+     * Construct a NativeXmlReader.
+     *
+     * @param in the stream with the input data
+     * @param nameCoder the coder for XML friendly tag and attribute names
+     * @param symbols the table of the names, may be shared between readers using the same name coder
+     * @since upcoming
+     */
+    public NativeXmlReader(final InputStream in, final NameCoder nameCoder, final NameSymbolTable symbols) {
+        super(nameCoder, symbols);
+        this.symbols = symbols;
+        this.in = in;
+        bytes = new byte[BUFFER_SIZE];
+        try {
+            detectEncoding();
+        } catch (final IOException e) {
+            throw new StreamException(e);
+        }
+        readProlog();
+    }
+
+    private void detectEncoding() throws IOException {
+        // read at least the XML header
+        while (byteLimit < 256 && indexOf('>') < 0) {
+            final int n = in.read(bytes, byteLimit, bytes.length - byteLimit);
+            if (n < 0) {
+                break;
+            }
+            byteLimit += n;
+        }
+        if (byteLimit >= 2 && (bytes[0] == (byte)0xFE || bytes[0] == (byte)0xFF || bytes[0] == 0 || bytes[1] == 0)) {
+            reader = new InputStreamReader(new SequenceInputStream(new ByteArrayInputStream(bytes, 0, byteLimit), in),
+                "UTF-16");
+            bytes = null;
+            return;
+        }
+        if (byteLimit >= 3 && bytes[0] == (byte)0xEF && bytes[1] == (byte)0xBB && bytes[2] == (byte)0xBF) {
+            bytePos = 3;
+        }
+        final int end = indexOf('>');
+        if (end > bytePos + 1 && bytes[bytePos] == '<' && bytes[bytePos + 1] == '?') {
+            final String header = new String(bytes, bytePos, end - bytePos, StandardCharsets.US_ASCII);
+            final int idx = header.indexOf("encoding");
+            if (idx > 0) {
+                int start = header.indexOf('"', idx);
+                if (start < 0) {
+                    start = header.indexOf('\'', idx);
+                }
+                final int stop = start < 0 ? -1 : header.indexOf(header.charAt(start), start + 1);
+                if (stop > 0) {
+                    final String encoding = header.substring(start + 1, stop).trim();
+                    if (!encoding.equalsIgnoreCase("UTF-8")
+                        && !encoding.equalsIgnoreCase("UTF8")
+                        && !encoding.equalsIgnoreCase("US-ASCII")) {
+                        reader = new XmlHeaderAwareReader(new SequenceInputStream(new ByteArrayInputStream(bytes, 0,
+                            byteLimit), in));
+                        bytes = null;
+                    }
+                }
+            }
+        }
+    }
+
+    private int indexOf(final char ch) {
+        for (int i = bytePos; i < byteLimit; ++i) {
+            if (bytes[i] == ch) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private boolean fill() {
+        if (textOffset >= 0) {
+            spillText();
+        }
+        for (int i = 0; i < limit; ++i) {
+            if (buf[i] == '\n') {
+                ++lines;
+            }
+        }
+        pos = 0;
+        limit = 0;
+        try {
+            final int n = reader != null ? reader.read(buf, 0, buf.length) : decode(buf, buf.length);
+            if (n > 0) {
+                limit = n;
+                return true;
+            }
+            return false;
+        } catch (final IOException e) {
+            throw new StreamException(e);
+        }
+    }
+
+    private int decode(final char[] dst, final int len) throws IOException {
+        for (;;) {
+            final int n = decodeBytes(dst, len);
+            if (n > 0) {
+                return n;
+            }
+            final int remaining = byteLimit - bytePos;
+            System.arraycopy(bytes, bytePos, bytes, 0, remaining);
+            bytePos = 0;
+            byteLimit = remaining;
+            final int read = in.read(bytes, byteLimit, bytes.length - byteLimit);
+            if (read < 0) {
+                if (byteLimit > 0) {
+                    // truncated multi-byte sequence at the end of the stream
+                    bytePos = byteLimit;
+                    dst[0] = '\uFFFD';
+                    return 1;
+                }
+                return -1;
+            }
+            byteLimit += read;
+        }
+    }
+
+    private int decodeBytes(final char[] dst, final int len) {
+        final byte[] b = bytes;
+        final int bl = byteLimit;
+        final int dl = len - 1; // room for a surrogate pair
+        int bp = bytePos;
+        int d = 0;
+        while (bp < bl && d < dl) {
+            final int b0 = b[bp];
+            if (b0 >= 0) {
+                dst[d++] = (char)b0;
+                ++bp;
+            } else if ((b0 & 0xE0) == 0xC0) {
+                if (bp + 1 >= bl) {
+                    break;
+                }
+                final int b1 = b[bp + 1];
+                if ((b1 & 0xC0) != 0x80) {
+                    dst[d++] = '\uFFFD';
+                    ++bp;
+                } else {
+                    dst[d++] = (char)((b0 & 0x1F) << 6 | b1 & 0x3F);
+                    bp += 2;
+                }
+            } else if ((b0 & 0xF0) == 0xE0) {
+                if (bp + 2 >= bl) {
+                    break;
+                }
+                final int b1 = b[bp + 1];
+                final int b2 = b[bp + 2];
+                if ((b1 & 0xC0) != 0x80 || (b2 & 0xC0) != 0x80) {
+                    dst[d++] = '\uFFFD';
+                    ++bp;
+                } else {
+                    dst[d++] = (char)((b0 & 0x0F) << 12 | (b1 & 0x3F) << 6 | b2 & 0x3F);
+                    bp += 3;
+                }
+            } else if ((b0 & 0xF8) == 0xF0) {
+                if (bp + 3 >= bl) {
+                    break;
+                }
+                final int b1 = b[bp + 1];
+                final int b2 = b[bp + 2];
+                final int b3 = b[bp + 3];
+                if ((b1 & 0xC0) != 0x80 || (b2 & 0xC0) != 0x80 || (b3 & 0xC0) != 0x80) {
+                    dst[d++] = '\uFFFD';
+                    ++bp;
+                } else {
+                    final int cp = (b0 & 0x07) << 18 | (b1 & 0x3F) << 12 | (b2 & 0x3F) << 6 | b3 & 0x3F;
+                    dst[d++] = Character.highSurrogate(cp);
+                    dst[d++] = Character.lowSurrogate(cp);
+                    bp += 4;
+                }
+            } else {
+                dst[d++] = '\uFFFD';
+                ++bp;
+            }
+        }
+        bytePos = bp;
+        return d;
+    }
+
+    private int read() {
+        if (pos >= limit && !fill()) {
+            return -1;
+        }
+        return buf[pos++];
+    }
+
+    private int readNonWhitespace() {
+        int c;
+        do {
+            c = read();
+        } while (c >= 0 && c <= ' ');
+        return c;
+    }
+
+    private void expect(final String token) {
+        for (int i = 0; i < token.length(); ++i) {
+            if (read() != token.charAt(i)) {
+                throw new StreamException("Expected \"" + token + "\" at line " + getLineNumber());
+            }
+        }
+    }
+
+    private StreamException unexpectedEnd() {
+        return new StreamException("Unexpected end of document");
+    }
+
+    private StreamException invalidMarkup(final int c) {
+        return new StreamException("Invalid character '" + (char)c + "' in markup at line " + getLineNumber());
+    }
+
+    private static boolean isNameStart(final int c) {
+        return c >= 'a' && c <= 'z' || c >= 'A' && c <= 'Z' || c == '_' || c == ':' || c >= 0x80;
+    }
+
+    private void readProlog() {
+        for (;;) {
+            int c = read();
+            if (c < 0) {
+                throw new StreamException("Document has no root element");
+            } else if (c <= ' ' || c == '\uFEFF') {
+                continue;
+            } else if (c != '<') {
+                throw new StreamException("Content is not allowed in prolog at line " + getLineNumber());
+            }
+            c = read();
+            if (c == '?') {
+                skipProcessingInstruction();
+            } else if (c == '!') {
+                c = read();
+                if (c == '-') {
+                    expect("-");
+                    skipComment();
+                } else if (c == 'D') {
+                    expect("OCTYPE");
+                    skipDoctype();
+                } else {
+                    throw new StreamException("Unexpected markup in prolog at line " + getLineNumber());
+                }
+            } else if (!isNameStart(c)) {
+                throw c < 0 ? unexpectedEnd() : invalidMarkup(c);
+            } else {
+                --pos;
+                push(readName());
+                readAttributes();
+                return;
+            }
+        }
+    }
+
+    private void skipProcessingInstruction() {
+        boolean question = false;
+        for (;;) {
+            final int c = read();
+            if (c < 0) {
+                throw unexpectedEnd();
+            } else if (c == '>' && question) {
+                return;
+            }
+            question = c == '?';
+        }
+    }
+
+    private void skipComment() {
+        int dashes = 0;
+        for (;;) {
+            final int c = read();
+            if (c < 0) {
+                throw unexpectedEnd();
+            } else if (c == '-') {
+                ++dashes;
+            } else if (c == '>' && dashes >= 2) {
+                return;
+            } else {
+                dashes = 0;
+            }
+        }
+    }
+
+    private void skipDoctype() {
+        // entities of the document type are never resolved
+        int brackets = 0;
+        int quote = 0;
+        for (;;) {
+            final int c = read();
+            if (c < 0) {
+                throw unexpectedEnd();
+            } else if (quote != 0) {
+                if (c == quote) {
+                    quote = 0;
+                }
+            } else if (c == '"' || c == '\'') {
+                quote = c;
+            } else if (c == '[') {
+                ++brackets;
+            } else if (c == ']') {
+                --brackets;
+            } else if (c == '>' && brackets == 0) {
+                return;
+            }
+        }
+    }
+
+    private String readName() {
+        int p = pos;
+        int hash = 0;
+        final char[] b = buf;
+        final int l = limit;
+        while (p < l) {
+            final char c = b[p];
+            if (c <= ' ' || c == '>' || c == '/' || c == '=') {
+                if (p == pos) {
+                    throw new StreamException("Missing name at line " + getLineNumber());
+                }
+                final String name = symbols.intern(b, pos, p - pos, hash);
+                pos = p;
+                return name;
+            }
+            hash = 31 * hash + c;
+            ++p;
+        }
+        return readSplitName();
+    }
+
+    private String readSplitName() {
+        // name crosses the end of the buffer
+        int length = 0;
+        int hash = 0;
+        for (;;) {
+            final int c = read();
+            if (c < 0) {
+                throw unexpectedEnd();
+            } else if (c <= ' ' || c == '>' || c == '/' || c == '=') {
+                --pos;
+                if (length == 0) {
+                    throw new StreamException("Missing name at line " + getLineNumber());
+                }
+                return symbols.intern(nameChars, 0, length, hash);
+            }
+            if (length == nameChars.length) {
+                nameChars = grow(nameChars, length + 1);
+            }
+            nameChars[length++] = (char)c;
+            hash = 31 * hash + c;
+        }
+    }
+
+    private void readAttributes() {
+        attributeCount = 0;
+        attributeCharsLength = 0;
+        for (;;) {
+            int c = readNonWhitespace();
+            if (c == '>') {
+                state = CONTENT;
+                return;
+            } else if (c == '/') {
+                if (read() != '>') {
+                    throw new StreamException("Expected \">\" at line " + getLineNumber());
+                }
+                state = EMPTY;
+                return;
+            } else if (c < 0) {
+                throw unexpectedEnd();
+            }
+            --pos;
+            final String name = readName();
+            if (readNonWhitespace() != '=') {
+                throw new StreamException("Missing value of attribute " + name + " at line " + getLineNumber());
+            }
+            final int quote = readNonWhitespace();
+            if (quote != '"' && quote != '\'') {
+                throw new StreamException("Missing quote for attribute " + name + " at line " + getLineNumber());
+            }
+            if (attributeCount == attributeNames.length) {
+                final int capacity = attributeCount * 2;
+                attributeNames = grow(attributeNames, capacity);
+                attributeValues = grow(attributeValues, capacity);
+                attributeOffsets = Arrays.copyOf(attributeOffsets, capacity + 1);
+            }
+            attributeNames[attributeCount] = name;
+            attributeValues[attributeCount] = null;
+            attributeOffsets[attributeCount] = attributeCharsLength;
+            for (;;) {
+                int p = pos;
+                while (p < limit && buf[p] != quote && buf[p] != '<') {
+                    ++p;
+                }
+                appendAttributeChars(pos, p - pos);
+                pos = p;
+                c = read();
+                if (c == quote) {
+                    break;
+                } else if (c < 0) {
+                    throw unexpectedEnd();
+                } else if (c == '<') {
+                    throw new StreamException("Invalid character '<' in attribute "
+                        + name
+                        + " at line "
+                        + getLineNumber());
+                }
+                --pos;
+            }
+            ++attributeCount;
+            attributeOffsets[attributeCount] = attributeCharsLength;
+        }
+    }
+
+    private void appendAttributeChars(final int offset, final int length) {
+        if (length > 0) {
+            if (attributeCharsLength + length > attributeChars.length) {
+                attributeChars = grow(attributeChars, attributeCharsLength + length);
+            }
+            System.arraycopy(buf, offset, attributeChars, attributeCharsLength, length);
+            attributeCharsLength += length;
+        }
+    }
+
+    private String decodeAttributeValue(final int index) {
+        final int start = attributeOffsets[index];
+        final int end = attributeOffsets[index + 1];
+        int i = start;
+        while (i < end) {
+            final char c = attributeChars[i];
+            if (c == '&' || c == '\t' || c == '\n' || c == '\r') {
+                break;
+            }
+            ++i;
+        }
+        if (i == end) {
+            return new String(attributeChars, start, end - start);
+        }
+        final StringBuilder builder = new StringBuilder(end - start);
+        builder.append(attributeChars, start, i - start);
+        while (i < end) {
+            final char c = attributeChars[i++];
+            if (c == '&') {
+                final int semicolon = indexOfSemicolon(attributeChars, i, end);
+                builder.appendCodePoint(resolveReference(attributeChars, i, semicolon - i));
+                i = semicolon + 1;
+            } else if (c == '\t' || c == '\n' || c == '\r') {
+                // attribute value normalization
+                if (c == '\r' && i < end && attributeChars[i] == '\n') {
+                    ++i;
+                }
+                builder.append(' ');
+            } else {
+                builder.append(c);
+            }
+        }
+        return builder.toString();
+    }
+
+    private int indexOfSemicolon(final char[] chars, final int start, final int end) {
+        for (int i = start; i < end && i - start <= 10; ++i) {
+            if (chars[i] == ';') {
+                return i;
+            }
+        }
+        throw new StreamException("Unterminated reference at line " + getLineNumber());
+    }
+
+    private int resolveReference(final char[] chars, final int offset, final int length) {
+        if (length > 1 && chars[offset] == '#') {
+            int i = offset + 1;
+            int radix = 10;
+            if (chars[i] == 'x') {
+                radix = 16;
+                ++i;
+            }
+            int cp = 0;
+            if (i == offset + length) {
+                cp = -1;
+            }
+            for (; i < offset + length && cp >= 0; ++i) {
+                final int digit = Character.digit(chars[i], radix);
+                cp = digit < 0 ? -1 : cp * radix + digit;
+            }
+            if (cp >= 0 && cp <= Character.MAX_CODE_POINT) {
+                return cp;
+            }
+        } else if (length == 2 && chars[offset + 1] == 't') {
+            if (chars[offset] == 'l') {
+                return '<';
+            } else if (chars[offset] == 'g') {
+                return '>';
+            }
+        } else if (length == 3 && chars[offset] == 'a' && chars[offset + 1] == 'm' && chars[offset + 2] == 'p') {
+            return '&';
+        } else if (length == 4) {
+            final String name = new String(chars, offset, length);
+            if (name.equals("quot")) {
+                return '"';
+            } else if (name.equals("apos")) {
+                return '\'';
+            }
+        }
+        throw new StreamException("Cannot resolve entity &"
+            + new String(chars, offset, length)
+            + "; at line "
+            + getLineNumber());
+    }
+
+    private void readReference(final boolean collect) {
+        int length = 0;
+        for (;;) {
+            final int c = read();
+            if (c < 0) {
+                throw unexpectedEnd();
+            } else if (c == ';') {
+                break;
+            } else if (length == 10) {
+                throw new StreamException("Unterminated reference at line " + getLineNumber());
+            }
+            nameChars[length++] = (char)c;
+        }
+        final int cp = resolveReference(nameChars, 0, length);
+        if (collect) {
+            if (Character.isBmpCodePoint(cp)) {
+                appendText((char)cp);
+            } else {
+                appendText(Character.highSurrogate(cp));
+                appendText(Character.lowSurrogate(cp));
+            }
+        }
+    }
+
+    private void readContent(final boolean collect) {
+        for (;;) {
+            int p = pos;
+            final int l = limit;
+            final char[] b = buf;
+            while (p < l) {
+                final char c = b[p];
+                if (c == '<' || c == '&' || c == '\r') {
+                    break;
+                }
+                ++p;
+            }
+            if (collect && p > pos) {
+                if (textLength == 0 && p < l && b[p] == '<') {
+                    textOffset = pos;
+                    textLength = p - pos;
+                } else {
+                    appendText(b, pos, p - pos);
+                }
+            }
+            pos = p;
+            if (p == l) {
+                if (!fill()) {
+                    throw unexpectedEnd();
+                }
+                continue;
+            }
+            int c = b[pos++];
+            if (c == '&') {
+                readReference(collect);
+            } else if (c == '\r') {
+                if (read() != '\n') {
+                    --pos;
+                }
+                if (collect) {
+                    appendText('\n');
+                }
+            } else if (c == '<') {
+                c = read();
+                if (c == '/') {
+                    state = END_TAG;
+                    return;
+                } else if (c == '!') {
+                    c = read();
+                    if (c == '-') {
+                        expect("-");
+                        skipComment();
+                    } else if (c == '[') {
+                        expect("CDATA[");
+                        readCData(collect);
+                    } else {
+                        throw new StreamException("Unexpected markup at line " + getLineNumber());
+                    }
+                } else if (c == '?') {
+                    skipProcessingInstruction();
+                } else if (!isNameStart(c)) {
+                    throw c < 0 ? unexpectedEnd() : invalidMarkup(c);
+                } else {
+                    --pos;
+                    nextElement = readName();
+                    state = START_TAG;
+                    return;
+                }
+            }
+        }
+    }
+
+    private void readCData(final boolean collect) {
+        int brackets = 0;
+        for (;;) {
+            int c = read();
+            if (c < 0) {
+                throw unexpectedEnd();
+            } else if (c == ']') {
+                ++brackets;
+                continue;
+            } else if (c == '>' && brackets >= 2) {
+                brackets -= 2;
+                c = -1;
+            } else if (c == '\r') {
+                if (read() != '\n') {
+                    --pos;
+                }
+                c = '\n';
+            }
+            if (collect) {
+                for (; brackets > 0; --brackets) {
+                    appendText(']');
+                }
+                if (c < 0) {
+                    return;
+                }
+                appendText((char)c);
+            } else if (c < 0) {
+                return;
+            }
+            brackets = 0;
+        }
+    }
+
+    private void readEndTag() {
+        final String name = readName();
+        final String expected = elements[depth - 1];
+        if (name != expected && !name.equals(expected)) {
+            throw new StreamException("Expected end tag of element "
+                + expected
+                + " instead of "
+                + name
+                + " at line "
+                + getLineNumber());
+        }
+        if (readNonWhitespace() != '>') {
+            throw new StreamException("Expected \">\" at line " + getLineNumber());
+        }
+    }
+
+    private void spillText() {
+        final int offset = textOffset;
+        final int length = textLength;
+        textOffset = -1;
+        textLength = 0;
+        appendText(buf, offset, length);
+    }
+
+    private void appendText(final char[] chars, final int offset, final int length) {
+        if (textOffset >= 0) {
+            spillText();
+        }
+        if (textLength + length > text.length) {
+            text = grow(text, textLength + length);
+        }
+        System.arraycopy(chars, offset, text, textLength, length);
+        textLength += length;
+    }
+
+    private void appendText(final char c) {
+        if (textOffset >= 0) {
+            spillText();
+        }
+        if (textLength == text.length) {
+            text = grow(text, textLength + 1);
+        }
+        text[textLength++] = c;
+    }
+
+    private void push(final String name) {
+        if (depth == elements.length) {
+            elements = grow(elements, depth + 1);
+        }
+        elements[depth++] = name;
+    }
+
+    private static char[] grow(final char[] array, final int minimum) {
+        return Arrays.copyOf(array, Math.max(minimum, array.length * 2));
+    }
+
+    private static String[] grow(final String[] array, final int minimum) {
+        return Arrays.copyOf(array, Math.max(minimum, array.length * 2));
+    }
+
+    private int getLineNumber() {
+        int line = lines + 1;
+        for (int i = 0; i < pos; ++i) {
+            if (buf[i] == '\n') {
+                ++line;
+            }
+        }
+        return line;
+    }
+
+    @Override
+    public boolean hasMoreChildren() {
+        if (state == CONTENT) {
+            readContent(true);
+        }
+        return state == START_TAG;
+    }
+
+    @Override
+    public String peekNextChild() {
+        return hasMoreChildren() ? decodeNode(nextElement) : null;
+    }
+
+    @Override
+    public void moveDown() {
+        if (state == CONTENT) {
+            readContent(false);
+        }
+        if (state != START_TAG) {
+            throw new StreamException("No child element available at line " + getLineNumber());
+        }
+        push(nextElement);
+        nextElement = null;
+        textOffset = -1;
+        textLength = 0;
+        value = null;
+        readAttributes();
+    }
+
+    @Override
+    public void moveUp() {
+        final int level = depth - 1;
+        do {
+            switch (state) {
+            case CONTENT:
+                readContent(false);
+                break;
+            case START_TAG:
+                push(nextElement);
+                nextElement = null;
+                readAttributes();
+                break;
+            case END_TAG:
+                readEndTag();
+                //$FALL-THROUGH$
+            case EMPTY:
+                elements[--depth] = null;
+                state = CONTENT;
+                break;
+            }
+        } while (depth > level);
+        attributeCount = 0;
+        textOffset = -1;
+        textLength = 0;
+        value = null;
+    }
+
+    @Override
+    public int getLevel() {
+        return depth;
+    }
+
+    @Override
+    public String getNodeName() {
+        return decodeNode(elements[depth - 1]);
+    }
+
+    @Override
+    public String getValue() {
+        if (value == null) {
+            if (state == CONTENT) {
+                readContent(true);
+            }
+            if (textLength == 0) {
+                value = "";
+            } else if (textOffset >= 0) {
+                value = new String(buf, textOffset, textLength);
+            } else {
+                value = new String(text, 0, textLength);
+            }
+        }
+        return value;
+    }
+
+    @Override
+    public String getAttribute(final String name) {
+        final String encoded = encodeAttribute(name);
+        for (int i = 0; i < attributeCount; ++i) {
+            final String attributeName = attributeNames[i];
+            if (attributeName == encoded || attributeName.equals(encoded)) {
+                return getAttribute(i);
+            }
+        }
+        return null;
+    }
+
+    @Override
+    public String getAttribute(final int index) {
+        if (index < 0 || index >= attributeCount) {
+            return null;
+        }
+        String attributeValue = attributeValues[index];
+        if (attributeValue == null) {
+            attributeValue = decodeAttributeValue(index);
+            attributeValues[index] = attributeValue;
+        }
+        return attributeValue;
+    }
+
+    @Override
+    public int getAttributeCount() {
+        return attributeCount;
+    }
+
+    @Override
+    public String getAttributeName(final int index) {
+        return index < 0 || index >= attributeCount ? null : decodeAttribute(attributeNames[index]);
+    }
+
+    @Override
+    public void appendErrors(final ErrorWriter errorWriter) {
+        errorWriter.add("line number", String.valueOf(getLineNumber()));
+    }
+
+    @Override
+    public void close() {
+        try {
+            if (reader != null) {
+                reader.close();
+            } else {
+                in.close();
+            }
+        } catch (final IOException e) {
+            throw new StreamException(e);
+        }
+    }
+}
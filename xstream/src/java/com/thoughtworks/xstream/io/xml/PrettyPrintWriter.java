@@ -1,6 +1,6 @@
 /*
  * Copyright (C) 2004, 2005, 2006 Joe Walnes.
- * Copyright (C) 2006, 2007, 2008, 2009, 2011, 2013, 2014, 2015, 2023 XStream Committers.
+ * Copyright (C) 2006, 2007, 2008, 2009, 2011, 2013, 2014, 2015, 2023, 2026 XStream Committers.
  * All rights reserved.
  *
  * The software in this package is published under the terms of the BSD
@@ -13,9 +13,12 @@ package com.thoughtworks.xstream.io.xml;
 
 import java.io.Writer;
 
+import com.thoughtworks.xstream.core.util.Digits;
 import com.thoughtworks.xstream.core.util.FastStack;
 import com.thoughtworks.xstream.core.util.QuickWriter;
+import com.thoughtworks.xstream.io.PrimitiveValueWriter;
 import com.thoughtworks.xstream.io.StreamException;
+import com.thoughtworks.xstream.io.ValueFormatter;
 import com.thoughtworks.xstream.io.naming.NameCoder;
 
 
@@ -45,11 +48,16 @@ import com.thoughtworks.xstream.io.naming.NameCoder;
  * XML_1_0_REPLACEMENT or XML_1_1_REPLACEMENT mode, which will replace the invalid characters with a U+FFFD replacement
  * character.
  * </p>
+ * <p>
+ * The PrettyPrintWriter and the {@link CompactWriter} write primitive values directly into their buffer. A derived
+ * writer writes them in their String representation with {@link #setValue(String)}, since it might have overwritten
+ * the escaping of the text.
+ * </p>
  *
  * @author Joe Walnes
  * @author J&ouml;rg Schaible
  */
-public class PrettyPrintWriter extends AbstractXmlWriter {
+public class PrettyPrintWriter extends AbstractXmlWriter implements PrimitiveValueWriter {
 
     /** Quirks mode: Writes any character into data stream incl. U+0000. */
     public static int XML_QUIRKS = -1;
@@ -82,6 +90,8 @@ public class PrettyPrintWriter extends AbstractXmlWriter {
     private final FastStack<String> elementStack = new FastStack<>(16);
     private final char[] lineIndenter;
     private final int mode;
+    private final boolean directValues = getClass() == PrettyPrintWriter.class || getClass() == CompactWriter.class;
+    private final char[] valueBuffer = new char[ValueFormatter.MAX_LENGTH];
 
     private boolean tagInProgress;
     protected int depth;
@@ -214,6 +224,54 @@ public class PrettyPrintWriter extends AbstractXmlWriter {
         writeText(writer, text);
     }
 
+    @Override
+    public void setValue(final int value) {
+        setValue((long)value);
+    }
+
+    @Override
+    public void setValue(final long value) {
+        final int length = Digits.format(value, valueBuffer, 0);
+        if (directValues) {
+            writeValue(length);
+        } else {
+            setValue(new String(valueBuffer, 0, length));
+        }
+    }
+
+    @Override
+    public void setValue(final double value) {
+        final int length = Digits.format(value, valueBuffer, 0);
+        if (directValues) {
+            writeValue(length);
+        } else {
+            setValue(new String(valueBuffer, 0, length));
+        }
+    }
+
+    @Override
+    public void setValue(final boolean value) {
+        setValue(value ? "true" : "false");
+    }
+
+    @Override
+    public void setValue(final Object value, final ValueFormatter formatter) {
+        final int length = formatter.format(value, valueBuffer, 0);
+        if (directValues) {
+            writeValue(length);
+        } else {
+            setValue(new String(valueBuffer, 0, length));
+        }
+    }
+
+    private void writeValue(final int length) {
+        readyForNewLine = false;
+        tagIsEmpty = false;
+        finishTag();
+
+        writer.write(valueBuffer, 0, length);
+    }
+
     @Override
     public void addAttribute(final String key, final String value) {
         writer.write(' ');
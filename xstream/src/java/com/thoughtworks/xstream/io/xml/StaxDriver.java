@@ -1,6 +1,6 @@
 /*
  * Copyright (C) 2004, 2005, 2006 Joe Walnes.
- * Copyright (C) 2006, 2007, 2009, 2011, 2013, 2014, 2015, 2019, 2020 XStream Committers.
+ * Copyright (C) 2006, 2007, 2009, 2011, 2013, 2014, 2015, 2019, 2020, 2026 XStream Committers.
  * All rights reserved.
  *
  * The software in this package is published under the terms of the BSD
@@ -176,7 +176,7 @@ public class StaxDriver extends AbstractXmlDriver {
     }
 
     public AbstractPullReader createStaxReader(final XMLStreamReader in) {
-        return new StaxReader(qnameMap, in, getNameCoder());
+        return new StaxReader(qnameMap, in, getNameCoder(), getNameSymbolTable());
     }
 
     public StaxWriter createStaxWriter(final XMLStreamWriter out, final boolean writeStartEndDocument)
@@ -1,6 +1,6 @@
 /*
  * Copyright (C) 2004, 2005, 2006 Joe Walnes.
- * Copyright (C) 2006, 2007, 2009, 2011, 2014, 2018 XStream Committers.
+ * Copyright (C) 2006, 2007, 2009, 2011, 2014, 2018, 2026 XStream Committers.
  * All rights reserved.
  *
  * The software in this package is published under the terms of the BSD
@@ -19,6 +19,7 @@ import javax.xml.stream.XMLStreamReader;
 import com.thoughtworks.xstream.converters.ErrorWriter;
 import com.thoughtworks.xstream.io.StreamException;
 import com.thoughtworks.xstream.io.naming.NameCoder;
+import com.thoughtworks.xstream.io.naming.NameSymbolTable;
 
 
 /**
@@ -40,7 +41,16 @@ public class StaxReader extends AbstractPullReader {
      * @since 1.4
      */
     public StaxReader(final QNameMap qnameMap, final XMLStreamReader in, final NameCoder replacer) {
-        super(replacer);
+        this(qnameMap, in, replacer, new NameSymbolTable(64));
+    }
+
+    /**
+     * @since upcoming
+     */
+    public StaxReader(
+            final QNameMap qnameMap, final XMLStreamReader in, final NameCoder replacer,
+            final NameSymbolTable symbols) {
+        super(replacer, symbols);
         this.qnameMap = qnameMap;
         this.in = in;
         moveDown();
@@ -0,0 +1,512 @@
+/*
+ * Copyright (C) 2026 XStream Committers.
+ * All rights reserved.
+ *
+ * The software in this package is published under the terms of the BSD
+ * style license a copy of which has been included with this distribution in
+ * the LICENSE.txt file.
+ *
+ * Created on 16. October 2026
+ */
+package com.thoughtworks.xstream.io.xml;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+
+import com.thoughtworks.xstream.core.util.Digits;
+import com.thoughtworks.xstream.core.util.FastStack;
+import com.thoughtworks.xstream.io.AbstractWriter;
+import com.thoughtworks.xstream.io.PrimitiveValueWriter;
+import com.thoughtworks.xstream.io.StreamException;
+import com.thoughtworks.xstream.io.ValueFormatter;
+import com.thoughtworks.xstream.io.naming.NameCoder;
+
+
+/**
+ * A writer that encodes XML directly as UTF-8 into a byte buffer.
+ * <p>
+ * The writer produces the same output as the {@link PrettyPrintWriter} (or the {@link CompactWriter} if no line
+ * indenter is provided), but it does not need an additional {@link java.io.OutputStreamWriter} to encode the
+ * characters. The escaping of the characters in the ASCII range is done with precomputed byte sequences. The internal
+ * buffer is reused and written to the target {@link OutputStream} or {@link WritableByteChannel} whenever it is full,
+ * at the end of the root element or when the writer is flushed.
+ * </p>
+ * <p>
+ * The writer supports the same XML modes as the {@link PrettyPrintWriter}. In quirks mode a surrogate pair is written
+ * as single UTF-8 sequence, an unpaired surrogate is replaced by a question mark.
+ * </p>
+ * <p>
+ * Primitive values are encoded directly into the buffer. A derived writer writes them in their String representation
+ * with {@link #setValue(String)}.
+ * </p>
+ *
+ * @since upcoming
+ */
+public class Utf8XmlWriter extends AbstractWriter implements PrimitiveValueWriter {
+
+    private static final byte[] INVALID = new byte[0];
+    private static final byte[] REPLACEMENT = bytes("&#xfffd;");
+    private static final byte[] CLOSE = bytes("</");
+    private static final byte[] HEX = bytes("0123456789abcdef");
+    private static final byte[][][] ESCAPES = new byte[2 * (PrettyPrintWriter.XML_1_1_REPLACEMENT + 2)][][];
+
+    static {
+        for (int mode = PrettyPrintWriter.XML_QUIRKS; mode <= PrettyPrintWriter.XML_1_1_REPLACEMENT; ++mode) {
+            ESCAPES[2 * (mode + 1)] = createEscapes(mode, false);
+            ESCAPES[2 * (mode + 1) + 1] = createEscapes(mode, true);
+        }
+    }
+
+    private final OutputStream out;
+    private final WritableByteChannel channel;
+    private final ByteBuffer byteBuffer;
+    private final byte[] buffer;
+    private int pointer;
+    private final FastStack<String> elementStack = new FastStack<>(16);
+    private final byte[] lineIndenter;
+    private byte[] newLine;
+    private final int mode;
+    private final byte[][] textEscapes;
+    private final byte[][] attributeEscapes;
+    private final boolean directValues = getClass() == Utf8XmlWriter.class;
+    private final char[] valueBuffer = new char[ValueFormatter.MAX_LENGTH];
+
+    private boolean tagInProgress;
+    private int depth;
+    private boolean readyForNewLine;
+    private boolean tagIsEmpty;
+
+    /**
+     * Constructs a pretty printing Utf8XmlWriter.
+     *
+     * @param out the target stream
+     * @since upcoming
+     */
+    public Utf8XmlWriter(final OutputStream out) {
+        this(out, PrettyPrintWriter.XML_QUIRKS, "  ", new XmlFriendlyNameCoder());
+    }
+
+    /**
+     * Constructs a pretty printing Utf8XmlWriter.
+     *
+     * @param out the target stream
+     * @param nameCoder the coder for the names of the elements and attributes
+     * @since upcoming
+     */
+    public Utf8XmlWriter(final OutputStream out, final NameCoder nameCoder) {
+        this(out, PrettyPrintWriter.XML_QUIRKS, "  ", nameCoder);
+    }
+
+    /**
+     * Constructs a Utf8XmlWriter.
+     *
+     * @param out the target stream
+     * @param mode the XML mode as defined by the {@link PrettyPrintWriter}
+     * @param lineIndenter the indentation for a nesting level or <code>null</code> for compact output
+     * @param nameCoder the coder for the names of the elements and attributes
+     * @since upcoming
+     */
+    public Utf8XmlWriter(final OutputStream out, final int mode, final String lineIndenter, final NameCoder nameCoder) {
+        this(out, null, 8192, mode, lineIndenter, nameCoder);
+    }
+
+    /**
+     * Constructs a pretty printing Utf8XmlWriter.
+     *
+     * @param channel the target channel
+     * @since upcoming
+     */
+    public Utf8XmlWriter(final WritableByteChannel channel) {
+        this(channel, PrettyPrintWriter.XML_QUIRKS, "  ", new XmlFriendlyNameCoder());
+    }
+
+    /**
+     * Constructs a Utf8XmlWriter.
+     *
+     * @param channel the target channel
+     * @param mode the XML mode as defined by the {@link PrettyPrintWriter}
+     * @param lineIndenter the indentation for a nesting level or <code>null</code> for compact output
+     * @param nameCoder the coder for the names of the elements and attributes
+     * @since upcoming
+     */
+    public Utf8XmlWriter(
+            final WritableByteChannel channel, final int mode, final String lineIndenter, final NameCoder nameCoder) {
+        this(null, channel, 8192, mode, lineIndenter, nameCoder);
+    }
+
+    private Utf8XmlWriter(
+            final OutputStream out, final WritableByteChannel channel, final int bufferSize, final int mode,
+            final String lineIndenter, final NameCoder nameCoder) {
+        super(nameCoder);
+        if (mode < PrettyPrintWriter.XML_QUIRKS || mode > PrettyPrintWriter.XML_1_1_REPLACEMENT) {
+            throw new IllegalArgumentException("Not a valid XML mode: " + mode);
+        }
+        this.out = out;
+        this.channel = channel;
+        this.mode = mode;
+        buffer = new byte[bufferSize];
+        byteBuffer = channel == null ? null : ByteBuffer.wrap(buffer);
+        this.lineIndenter = lineIndenter == null ? null : bytes(lineIndenter);
+        textEscapes = ESCAPES[2 * (mode + 1)];
+        attributeEscapes = ESCAPES[2 * (mode + 1) + 1];
+    }
+
+    private static byte[] bytes(final String s) {
+        return s.getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static byte[][] createEscapes(final int mode, final boolean isAttribute) {
+        final boolean replacing = mode == PrettyPrintWriter.XML_1_0_REPLACEMENT
+            || mode == PrettyPrintWriter.XML_1_1_REPLACEMENT;
+        final boolean xml10 = mode == PrettyPrintWriter.XML_1_0 || mode == PrettyPrintWriter.XML_1_0_REPLACEMENT;
+        final byte[][] escapes = new byte[128][];
+        for (char c = 0; c < 128; ++c) {
+            switch (c) {
+            case '\0':
+                escapes[c] = mode == PrettyPrintWriter.XML_QUIRKS ? bytes("&#x0;") : replacing ? REPLACEMENT : INVALID;
+                break;
+            case '&':
+                escapes[c] = bytes("&amp;");
+                break;
+            case '<':
+                escapes[c] = bytes("&lt;");
+                break;
+            case '>':
+                escapes[c] = bytes("&gt;");
+                break;
+            case '"':
+                escapes[c] = bytes("&quot;");
+                break;
+            case '\'':
+                escapes[c] = bytes("&apos;");
+                break;
+            case '\r':
+                escapes[c] = bytes("&#xd;");
+                break;
+            case '\t':
+            case '\n':
+                escapes[c] = isAttribute ? bytes("&#x" + Integer.toHexString(c) + ";") : null;
+                break;
+            default:
+                if (c < ' ' || c == '\u007f') {
+                    if (xml10 && c != '\u007f') {
+                        escapes[c] = replacing ? REPLACEMENT : INVALID;
+                    } else {
+                        escapes[c] = bytes("&#x" + Integer.toHexString(c) + ";");
+                    }
+                }
+            }
+        }
+        return escapes;
+    }
+
+    @Override
+    public void startNode(final String name) {
+        final String escapedName = encodeNode(name);
+        tagIsEmpty = false;
+        finishTag();
+        write('<');
+        writeName(escapedName);
+        elementStack.push(escapedName);
+        tagInProgress = true;
+        depth++;
+        readyForNewLine = true;
+        tagIsEmpty = true;
+    }
+
+    @Override
+    public void startNode(final String name, final Class<?> clazz) {
+        startNode(name);
+    }
+
+    @Override
+    public void addAttribute(final String key, final String value) {
+        write(' ');
+        writeName(encodeAttribute(key));
+        write('=');
+        write('"');
+        writeText(value, attributeEscapes);
+        write('"');
+    }
+
+    @Override
+    public void setValue(final String text) {
+        readyForNewLine = false;
+        tagIsEmpty = false;
+        finishTag();
+        writeText(text, textEscapes);
+    }
+
+    @Override
+    public void setValue(final int value) {
+        setValue((long)value);
+    }
+
+    @Override
+    public void setValue(final long value) {
+        final int length = Digits.format(value, valueBuffer, 0);
+        if (directValues) {
+            writeValue(length);
+        } else {
+            setValue(new String(valueBuffer, 0, length));
+        }
+    }
+
+    @Override
+    public void setValue(final double value) {
+        final int length = Digits.format(value, valueBuffer, 0);
+        if (directValues) {
+            writeValue(length);
+        } else {
+            setValue(new String(valueBuffer, 0, length));
+        }
+    }
+
+    @Override
+    public void setValue(final boolean value) {
+        setValue(value ? "true" : "false");
+    }
+
+    @Override
+    public void setValue(final Object value, final ValueFormatter formatter) {
+        final int length = formatter.format(value, valueBuffer, 0);
+        if (directValues) {
+            writeValue(length);
+        } else {
+            setValue(new String(valueBuffer, 0, length));
+        }
+    }
+
+    private void writeValue(final int length) {
+        readyForNewLine = false;
+        tagIsEmpty = false;
+        finishTag();
+        ensure(length);
+        for (int i = 0; i < length; i++) {
+            buffer[pointer++] = (byte)valueBuffer[i];
+        }
+    }
+
+    @Override
+    public void endNode() {
+        depth--;
+        if (tagIsEmpty) {
+            write('/');
+            readyForNewLine = false;
+            finishTag();
+            elementStack.popSilently();
+        } else {
+            finishTag();
+            write(CLOSE);
+            writeName(elementStack.pop());
+            write('>');
+        }
+        readyForNewLine = true;
+        if (depth == 0) {
+            flush();
+        }
+    }
+
+    private void finishTag() {
+        if (tagInProgress) {
+            write('>');
+        }
+        tagInProgress = false;
+        if (readyForNewLine) {
+            endOfLine();
+        }
+        readyForNewLine = false;
+        tagIsEmpty = false;
+    }
+
+    private void endOfLine() {
+        if (lineIndenter != null) {
+            if (newLine == null) {
+                newLine = bytes(getNewLine());
+            }
+            write(newLine);
+            for (int i = 0; i < depth; i++) {
+                write(lineIndenter);
+            }
+        }
+    }
+
+    /**
+     * Retrieve the line terminator. This method returns always a line feed, since according the XML specification any
+     * parser must ignore a carriage return. Overload this method, if you need different behavior.
+     *
+     * @return the line terminator
+     * @since upcoming
+     */
+    protected String getNewLine() {
+        return "\n";
+    }
+
+    private void writeName(final String name) {
+        final int length = name.length();
+        for (int i = 0; i < length; i++) {
+            final char c = name.charAt(i);
+            if (c < 0x80) {
+                write(c);
+            } else {
+                i = writeUtf8(name, i, c);
+            }
+        }
+    }
+
+    private void writeText(final String text, final byte[][] escapes) {
+        final int length = text.length();
+        for (int i = 0; i < length; i++) {
+            final char c = text.charAt(i);
+            if (c < 0x80) {
+                final byte[] escape = escapes[c];
+                if (escape == null) {
+                    if (pointer == buffer.length) {
+                        flushBuffer();
+                    }
+                    buffer[pointer++] = (byte)c;
+                } else if (escape == INVALID) {
+                    throw new StreamException("Invalid character 0x"
+                        + Integer.toHexString(c)
+                        + (c != 0 && mode == PrettyPrintWriter.XML_1_0 ? " in XML 1.0 stream" : " in XML stream"));
+                } else {
+                    write(escape);
+                }
+            } else if (c < 0xa0 || !Character.isDefined(c)) {
+                if (mode != PrettyPrintWriter.XML_QUIRKS && (c == '\ufffe' || c == '\uffff')) {
+                    writeInvalid(c);
+                } else {
+                    writeCharacterEntity(c);
+                }
+            } else if (Character.isSurrogate(c) && mode != PrettyPrintWriter.XML_QUIRKS) {
+                writeInvalid(c);
+            } else {
+                i = writeUtf8(text, i, c);
+            }
+        }
+    }
+
+    private void writeInvalid(final char c) {
+        if (mode == PrettyPrintWriter.XML_1_0_REPLACEMENT || mode == PrettyPrintWriter.XML_1_1_REPLACEMENT) {
+            write(REPLACEMENT);
+        } else {
+            throw new StreamException("Invalid character 0x" + Integer.toHexString(c) + " in XML stream");
+        }
+    }
+
+    private void writeCharacterEntity(final char c) {
+        ensure(8);
+        buffer[pointer++] = '&';
+        buffer[pointer++] = '#';
+        buffer[pointer++] = 'x';
+        boolean started = false;
+        for (int shift = 12; shift >= 0; shift -= 4) {
+            final int digit = c >> shift & 0xf;
+            if (started || digit != 0 || shift == 0) {
+                buffer[pointer++] = HEX[digit];
+                started = true;
+            }
+        }
+        buffer[pointer++] = ';';
+    }
+
+    private int writeUtf8(final String s, final int i, final char c) {
+        ensure(4);
+        if (c < 0x800) {
+            buffer[pointer++] = (byte)(0xc0 | c >> 6);
+            buffer[pointer++] = (byte)(0x80 | c & 0x3f);
+        } else if (!Character.isSurrogate(c)) {
+            buffer[pointer++] = (byte)(0xe0 | c >> 12);
+            buffer[pointer++] = (byte)(0x80 | c >> 6 & 0x3f);
+            buffer[pointer++] = (byte)(0x80 | c & 0x3f);
+        } else if (Character.isHighSurrogate(c) && i + 1 < s.length() && Character.isLowSurrogate(s.charAt(i + 1))) {
+            final int codePoint = Character.toCodePoint(c, s.charAt(i + 1));
+            buffer[pointer++] = (byte)(0xf0 | codePoint >> 18);
+            buffer[pointer++] = (byte)(0x80 | codePoint >> 12 & 0x3f);
+            buffer[pointer++] = (byte)(0x80 | codePoint >> 6 & 0x3f);
+            buffer[pointer++] = (byte)(0x80 | codePoint & 0x3f);
+            return i + 1;
+        } else {
+            buffer[pointer++] = '?';
+        }
+        return i;
+    }
+
+    private void write(final char c) {
+        if (pointer == buffer.length) {
+            flushBuffer();
+        }
+        buffer[pointer++] = (byte)c;
+    }
+
+    private void write(final byte[] bytes) {
+        final int length = bytes.length;
+        if (pointer + length > buffer.length) {
+            flushBuffer();
+            if (length > buffer.length) {
+                // e.g. a huge line indenter
+                writeBytes(bytes, length);
+                return;
+            }
+        }
+        System.arraycopy(bytes, 0, buffer, pointer, length);
+        pointer += length;
+    }
+
+    private void ensure(final int length) {
+        if (pointer + length > buffer.length) {
+            flushBuffer();
+        }
+    }
+
+    private void flushBuffer() {
+        writeBytes(buffer, pointer);
+        pointer = 0;
+    }
+
+    private void writeBytes(final byte[] bytes, final int length) {
+        try {
+            if (channel != null) {
+                final ByteBuffer byteBuffer = bytes == buffer ? this.byteBuffer : ByteBuffer.wrap(bytes);
+                byteBuffer.clear();
+                byteBuffer.limit(length);
+                while (byteBuffer.hasRemaining()) {
+                    channel.write(byteBuffer);
+                }
+            } else {
+                out.write(bytes, 0, length);
+            }
+        } catch (final IOException e) {
+            throw new StreamException(e);
+        }
+    }
+
+    @Override
+    public void flush() {
+        flushBuffer();
+        if (out != null) {
+            try {
+                out.flush();
+            } catch (final IOException e) {
+                throw new StreamException(e);
+            }
+        }
+    }
+
+    @Override
+    public void close() {
+        flush();
+        try {
+            if (channel != null) {
+                channel.close();
+            } else {
+                out.close();
+            }
+        } catch (final IOException e) {
+            throw new StreamException(e);
+        }
+    }
+}
@@ -1,6 +1,6 @@
 /*
  * Copyright (C) 2006 Joe Walnes.
- * Copyright (C) 2006, 2007, 2008, 2009, 2011, 2013, 2014, 2015, 2019, 2020, 2021 XStream Committers.
+ * Copyright (C) 2006, 2007, 2008, 2009, 2011, 2013, 2014, 2015, 2019, 2020, 2021, 2026 XStream Committers.
  * All rights reserved.
  *
  * The software in this package is published under the terms of the BSD
@@ -12,10 +12,11 @@
 package com.thoughtworks.xstream.io.xml;
 
 import java.util.BitSet;
-import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
 
 import com.thoughtworks.xstream.converters.reflection.ObjectAccessException;
+import com.thoughtworks.xstream.core.util.GenerationalCache;
 import com.thoughtworks.xstream.io.naming.NameCoder;
 
 
@@ -52,6 +53,7 @@ import com.thoughtworks.xstream.io.naming.NameCoder;
 public class XmlFriendlyNameCoder implements NameCoder, Cloneable {
     private static final BitSet XML_NAME_START_CHARS;
     private static final BitSet XML_NAME_CHARS;
+    private static final int CACHE_SIZE = 1024;
     static {
         final BitSet XML_NAME_START_CHARS_4TH = new BitSet(0xFFFFF);
         XML_NAME_START_CHARS_4TH.set(':');
@@ -419,6 +421,8 @@ public class XmlFriendlyNameCoder implements NameCoder, Cloneable {
     private final String escapeCharReplacement;
     private transient Map<String, String> escapeCache;
     private transient Map<String, String> unescapeCache;
+    private transient LongAdder cacheHits;
+    private transient LongAdder cacheMisses;
     private final String hexPrefix;
 
     /**
@@ -478,114 +482,145 @@ public class XmlFriendlyNameCoder implements NameCoder, Cloneable {
     }
 
     private String encodeName(final String name) {
-        String s = escapeCache.get(name);
-        if (s == null) {
-            final int length = name.length();
-
-            // First, fast (common) case: nothing to escape
-            int i = 0;
+        final int length = name.length();
 
-            for (; i < length; i++) {
+        // First, fast (common) case: nothing to escape, no need to look into the cache
+        int i = 0;
+        if (length > 0 && isAsciiLetter(name.charAt(0))) {
+            for (i = 1; i < length; i++) {
                 final char c = name.charAt(i);
-                if (c < 'A' || (c > 'Z' && c < 'a') || c > 'z') {
+                if (!isAsciiLetter(c) && (c < '0' || c > '9') && c != '-' && c != '.') {
                     break;
                 }
             }
-
             if (i == length) {
                 return name;
             }
+        }
+
+        String s = escapeCache.get(name);
+        if (s != null) {
+            cacheHits.increment();
+            return s;
+        }
+        cacheMisses.increment();
 
-            // Otherwise full processing
-            final StringBuffer result = new StringBuffer(length + 8);
+        // Otherwise full processing
+        final StringBuilder result = new StringBuilder(length + 8);
 
-            // We know first N chars are safe
-            if (i > 0) {
-                result.append(name.substring(0, i));
-            }
+        // We know first N chars are safe
+        if (i > 0) {
+            result.append(name, 0, i);
+        }
 
-            for (; i < length; i++) {
-                final char c = name.charAt(i);
-                if (c == '$') {
-                    result.append(dollarReplacement);
-                } else if (c == '_') {
-                    result.append(escapeCharReplacement);
-                } else if (i == 0 && !isXmlNameStartChar(c) || i > 0 && !isXmlNameChar(c)) {
-                    result.append(hexPrefix);
-                    if (c < 16) {
-                        result.append("000");
-                    } else if (c < 256) {
-                        result.append("00");
-                    } else if (c < 4096) {
-                        result.append("0");
-                    }
-                    result.append(Integer.toHexString(c));
-                } else {
-                    result.append(c);
+        for (; i < length; i++) {
+            final char c = name.charAt(i);
+            if (c == '$') {
+                result.append(dollarReplacement);
+            } else if (c == '_') {
+                result.append(escapeCharReplacement);
+            } else if (i == 0 && !isXmlNameStartChar(c) || i > 0 && !isXmlNameChar(c)) {
+                result.append(hexPrefix);
+                if (c < 16) {
+                    result.append("000");
+                } else if (c < 256) {
+                    result.append("00");
+                } else if (c < 4096) {
+                    result.append("0");
                 }
+                result.append(Integer.toHexString(c));
+            } else {
+                result.append(c);
             }
-            s = result.toString();
-            escapeCache.put(name, s);
         }
+        s = result.toString();
+        escapeCache.put(name, s);
         return s;
     }
 
     private String decodeName(final String name) {
-        String s = unescapeCache.get(name);
-        if (s == null) {
-            final char dollarReplacementFirstChar = dollarReplacement.charAt(0);
-            final char escapeReplacementFirstChar = escapeCharReplacement.charAt(0);
-            final char hexPrefixFirstChar = hexPrefix.charAt(0);
-            final int length = name.length();
-
-            // First, fast (common) case: nothing to decode
-            int i = 0;
-
-            for (; i < length; i++) {
-                final char c = name.charAt(i);
-                // We'll do a quick check for potential match
-                if (c == dollarReplacementFirstChar || c == escapeReplacementFirstChar || c == hexPrefixFirstChar) {
-                    // and if it might be a match, just quit, will check later on
-                    break;
-                }
+        final char dollarReplacementFirstChar = dollarReplacement.charAt(0);
+        final char escapeReplacementFirstChar = escapeCharReplacement.charAt(0);
+        final char hexPrefixFirstChar = hexPrefix.charAt(0);
+        final int length = name.length();
+
+        // First, fast (common) case: nothing to decode, no need to look into the cache
+        int i = 0;
+
+        for (; i < length; i++) {
+            final char c = name.charAt(i);
+            // We'll do a quick check for potential match
+            if (c == dollarReplacementFirstChar || c == escapeReplacementFirstChar || c == hexPrefixFirstChar) {
+                // and if it might be a match, just quit, will check later on
+                break;
             }
+        }
 
-            if (i == length) {
-                return name;
-            }
+        if (i == length) {
+            return name;
+        }
 
-            // Otherwise full processing
-            final StringBuffer result = new StringBuffer(length + 8);
+        String s = unescapeCache.get(name);
+        if (s != null) {
+            cacheHits.increment();
+            return s;
+        }
+        cacheMisses.increment();
 
-            // We know first N chars are safe
-            if (i > 0) {
-                result.append(name.substring(0, i));
-            }
+        // Otherwise full processing
+        final StringBuilder result = new StringBuilder(length + 8);
 
-            for (; i < length; i++) {
-                char c = name.charAt(i);
-                if (c == dollarReplacementFirstChar && name.startsWith(dollarReplacement, i)) {
-                    i += dollarReplacement.length() - 1;
-                    result.append('$');
-                } else if (c == hexPrefixFirstChar && name.startsWith(hexPrefix, i)) {
-                    i += hexPrefix.length();
-                    c = (char)Integer.parseInt(name.substring(i, i + 4), 16);
-                    i += 3;
-                    result.append(c);
-                } else if (c == escapeReplacementFirstChar && name.startsWith(escapeCharReplacement, i)) {
-                    i += escapeCharReplacement.length() - 1;
-                    result.append('_');
-                } else {
-                    result.append(c);
-                }
-            }
+        // We know first N chars are safe
+        if (i > 0) {
+            result.append(name, 0, i);
+        }
 
-            s = result.toString();
-            unescapeCache.put(name, s);
+        for (; i < length; i++) {
+            char c = name.charAt(i);
+            if (c == dollarReplacementFirstChar && name.startsWith(dollarReplacement, i)) {
+                i += dollarReplacement.length() - 1;
+                result.append('$');
+            } else if (c == hexPrefixFirstChar && name.startsWith(hexPrefix, i)) {
+                i += hexPrefix.length();
+                c = (char)Integer.parseInt(name.substring(i, i + 4), 16);
+                i += 3;
+                result.append(c);
+            } else if (c == escapeReplacementFirstChar && name.startsWith(escapeCharReplacement, i)) {
+                i += escapeCharReplacement.length() - 1;
+                result.append('_');
+            } else {
+                result.append(c);
+            }
         }
+
+        s = result.toString();
+        unescapeCache.put(name, s);
         return s;
     }
 
+    /**
+     * Retrieve the number of names that have been found in the caches.
+     * <p>
+     * Names that do not need any encoding or decoding at all are not looked up in the caches and are not counted.
+     * </p>
+     *
+     * @return the number of cache hits
+     * @since upcoming
+     */
+    public long getCacheHits() {
+        return cacheHits.sum();
+    }
+
+    /**
+     * Retrieve the number of names that had to be encoded or decoded, because they were not found in the caches.
+     *
+     * @return the number of cache misses
+     * @since upcoming
+     */
+    public long getCacheMisses() {
+        return cacheMisses.sum();
+    }
+
     @Override
     public Object clone() {
         try {
@@ -601,11 +636,27 @@ public class XmlFriendlyNameCoder implements NameCoder, Cloneable {
     private Object readResolve() {
         escapeCache = createCacheMap();
         unescapeCache = createCacheMap();
+        cacheHits = new LongAdder();
+        cacheMisses = new LongAdder();
         return this;
     }
 
+    /**
+     * Create a map used to cache the encoded and decoded names.
+     * <p>
+     * The coder may be used concurrently, therefore the map must be thread-safe. The default implementation returns a
+     * {@link GenerationalCache} limited to 1024 entries.
+     * </p>
+     *
+     * @return the map for the cache
+     * @since 1.4
+     */
     protected Map<String, String> createCacheMap() {
-        return new HashMap<>();
+        return new GenerationalCache<>(CACHE_SIZE);
+    }
+
+    private static boolean isAsciiLetter(final char c) {
+        return c >= 'a' && c <= 'z' || c >= 'A' && c <= 'Z';
     }
 
     private static boolean isXmlNameStartChar(final int cp) {
@@ -1,6 +1,6 @@
 /*
  * Copyright (C) 2004, 2005, 2006 Joe Walnes.
- * Copyright (C) 2006, 2007, 2008, 2009, 2011, 2014, 2020 XStream Committers.
+ * Copyright (C) 2006, 2007, 2008, 2009, 2011, 2014, 2020, 2026 XStream Committers.
  * All rights reserved.
  *
  * The software in this package is published under the terms of the BSD
@@ -20,6 +20,7 @@ import org.xmlpull.v1.XmlPullParserException;
 import com.thoughtworks.xstream.converters.ErrorWriter;
 import com.thoughtworks.xstream.io.StreamException;
 import com.thoughtworks.xstream.io.naming.NameCoder;
+import com.thoughtworks.xstream.io.naming.NameSymbolTable;
 
 
 /**
@@ -53,7 +54,21 @@ public class XppReader extends AbstractPullReader {
      * @since 1.4
      */
     public XppReader(final Reader reader, final XmlPullParser parser, final NameCoder nameCoder) {
-        super(nameCoder);
+        this(reader, parser, nameCoder, new NameSymbolTable(64));
+    }
+
+    /**
+     * Construct an XppReader.
+     *
+     * @param reader the reader with the input data
+     * @param parser the XPP parser to use
+     * @param nameCoder the coder for XML friendly tag and attribute names
+     * @param symbols the table of the names, may be shared between readers using the same name coder
+     * @since upcoming
+     */
+    public XppReader(
+            final Reader reader, final XmlPullParser parser, final NameCoder nameCoder, final NameSymbolTable symbols) {
+        super(nameCoder, symbols);
         this.parser = parser;
         this.reader = reader;
         try {
@@ -1,5 +1,5 @@
 /*
- * Copyright (C) 2007, 2008, 2009, 2011, 2012, 2013, 2014, 2015, 2016, 2022 XStream Committers.
+ * Copyright (C) 2007, 2008, 2009, 2011, 2012, 2013, 2014, 2015, 2016, 2022, 2026 XStream Committers.
  * All rights reserved.
  *
  * The software in this package is published under the terms of the BSD
@@ -30,6 +30,7 @@ import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 
 import com.thoughtworks.xstream.InitializationException;
 import com.thoughtworks.xstream.annotations.XStreamAlias;
@@ -55,6 +56,10 @@ import com.thoughtworks.xstream.core.util.TypedNull;
 
 /**
  * A mapper that uses annotations to prepare the remaining mappers in the chain.
+ * <p>
+ * The annotations of a type are processed only once. With automatic detection every lookup checks the processed types
+ * without locking, only the processing itself is serialized with a lock private to this instance.
+ * </p>
  *
  * @author J&ouml;rg Schaible
  * @since 1.3
@@ -71,8 +76,11 @@ public class AnnotationMapper extends MapperWrapper implements AnnotationConfigu
     private transient ElementIgnoringMapper elementIgnoringMapper;
     private transient AttributeMapper attributeMapper;
     private transient LocalConversionMapper localConversionMapper;
+    private transient Object processingLock;
+    // guarded by the processing lock
     private final Map<Class<?>, Map<List<Object>, Converter>> converterCache = new HashMap<>();
-    private final Set<Class<?>> annotatedTypes = Collections.synchronizedSet(new HashSet<Class<?>>());
+    // a type is added after its processing, including array and system types that are skipped
+    private final Set<Class<?>> annotatedTypes = Collections.newSetFromMap(new ConcurrentHashMap<>());
 
     /**
      * Construct an AnnotationMapper.
@@ -86,6 +94,7 @@ public class AnnotationMapper extends MapperWrapper implements AnnotationConfigu
         super(wrapped);
         this.converterRegistry = converterRegistry;
         annotatedTypes.add(Object.class);
+        processingLock = new Object();
         setupMappers();
         locked = true;
 
@@ -152,6 +161,16 @@ public class AnnotationMapper extends MapperWrapper implements AnnotationConfigu
         locked = !mode;
     }
 
+    /**
+     * Check whether annotations are detected automatically.
+     *
+     * @return <code>true</code> if annotations are auto-detected
+     * @since upcoming
+     */
+    public boolean isAutodetectingAnnotations() {
+        return !locked;
+    }
+
     @Override
     public void processAnnotations(final Class<?>... initialTypes) {
         if (initialTypes == null || initialTypes.length == 0) {
@@ -167,22 +186,23 @@ public class AnnotationMapper extends MapperWrapper implements AnnotationConfigu
     }
 
     private void processAnnotation(final Class<?> initialType) {
-        if (initialType == null) {
+        if (initialType == null || annotatedTypes.contains(initialType)) {
             return;
         }
 
         final Set<Class<?>> types = new UnprocessedTypesSet();
         types.add(initialType);
         processTypes(types);
+        annotatedTypes.add(initialType);
     }
 
     private void processTypes(final Set<Class<?>> types) {
-        while (!types.isEmpty()) {
-            final Iterator<Class<?>> iter = types.iterator();
-            final Class<?> type = iter.next();
-            iter.remove();
+        synchronized (processingLock) {
+            while (!types.isEmpty()) {
+                final Iterator<Class<?>> iter = types.iterator();
+                final Class<?> type = iter.next();
+                iter.remove();
 
-            synchronized (type) {
                 if (annotatedTypes.contains(type)) {
                     continue;
                 }
@@ -514,6 +534,7 @@ public class AnnotationMapper extends MapperWrapper implements AnnotationConfigu
 
     private void readObject(final ObjectInputStream in) throws IOException, ClassNotFoundException {
         in.defaultReadObject();
+        processingLock = new Object();
         setupMappers();
         final int max = in.readInt();
         arguments = new Object[max + 2];
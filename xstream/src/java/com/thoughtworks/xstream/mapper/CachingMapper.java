@@ -1,6 +1,6 @@
 /*
  * Copyright (C) 2005 Joe Walnes.
- * Copyright (C) 2006, 2007, 2008, 2009, 2011, 2013, 2014, 2015, 2020 XStream Committers.
+ * Copyright (C) 2006, 2007, 2008, 2009, 2011, 2013, 2014, 2015, 2020, 2026 XStream Committers.
  * All rights reserved.
  *
  * The software in this package is published under the terms of the BSD
@@ -13,21 +13,35 @@ package com.thoughtworks.xstream.mapper;
 
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
+import java.util.function.Function;
 
+import com.thoughtworks.xstream.InitializationException;
 import com.thoughtworks.xstream.XStreamException;
+import com.thoughtworks.xstream.converters.Converter;
 import com.thoughtworks.xstream.core.Caching;
 import com.thoughtworks.xstream.security.ForbiddenClassException;
 
 
 /**
  * Mapper that caches which names map to which classes. Prevents repetitive searching and class loading.
+ * <p>
+ * A frozen CachingMapper memoizes additionally the mapping decisions for the members of a type. Any call for the
+ * serialized or real name of a member, for its serialization, its local converter or its implicit collection is then
+ * answered with a single lookup instead of walking the complete chain of wrapped mappers. Freeze the mapper only after
+ * the configuration is complete, XStream rejects later changes of the member mapping.
+ * </p>
  *
  * @author Joe Walnes
  * @author J&ouml;rg Schaible
  */
 public class CachingMapper extends MapperWrapper implements Caching {
 
+    private static final Object NULL = new Object();
+
     private transient ConcurrentMap<String, ? super Object> realClassCache;
+    private transient ConcurrentMap<Class<?>, MemberMapping> memberCache;
+    private transient ConcurrentMap<String, Object> systemAttributeAliasCache;
+    private volatile boolean frozen;
 
     public CachingMapper(final Mapper wrapped) {
         super(wrapped);
@@ -53,13 +67,136 @@ public class CachingMapper extends MapperWrapper implements Caching {
         }
     }
 
+    /**
+     * Freeze the mapping decisions for members.
+     * <p>
+     * The configuration of the mappers in the chain must be complete when the mapper is frozen. It cannot be frozen
+     * while annotations are detected automatically at runtime.
+     * </p>
+     *
+     * @throws InitializationException if the chain contains an {@link AnnotationMapper} detecting annotations
+     * @since upcoming
+     */
+    public void freeze() {
+        final AnnotationMapper annotationMapper = lookupMapperOfType(AnnotationMapper.class);
+        if (annotationMapper != null && annotationMapper.isAutodetectingAnnotations()) {
+            throw new InitializationException("Cannot freeze mapper while annotations are auto-detected");
+        }
+        frozen = true;
+    }
+
+    /**
+     * Check whether the mapping decisions for members are frozen.
+     *
+     * @return <code>true</code> if the mapper is frozen
+     * @since upcoming
+     */
+    public boolean isFrozen() {
+        return frozen;
+    }
+
+    @Override
+    public String serializedMember(final Class<?> type, final String memberName) {
+        if (!frozen || type == null) {
+            return super.serializedMember(type, memberName);
+        }
+        return lookup(memberMapping(type).serializedMembers, memberName, name -> super.serializedMember(type,
+            name));
+    }
+
+    @Override
+    public String realMember(final Class<?> type, final String serialized) {
+        if (!frozen || type == null) {
+            return super.realMember(type, serialized);
+        }
+        return lookup(memberMapping(type).realMembers, serialized, name -> super.realMember(type, name));
+    }
+
+    @Override
+    public boolean shouldSerializeMember(final Class<?> definedIn, final String fieldName) {
+        if (!frozen || definedIn == null) {
+            return super.shouldSerializeMember(definedIn, fieldName);
+        }
+        return lookup(memberMapping(definedIn).serializableMembers, fieldName, name -> Boolean.valueOf(super
+            .shouldSerializeMember(definedIn, name))).booleanValue();
+    }
+
+    @Override
+    public Converter getLocalConverter(final Class<?> definedIn, final String fieldName) {
+        if (!frozen || definedIn == null) {
+            return super.getLocalConverter(definedIn, fieldName);
+        }
+        return lookup(memberMapping(definedIn).localConverters, fieldName, name -> super.getLocalConverter(
+            definedIn, name));
+    }
+
+    @Override
+    public ImplicitCollectionMapping getImplicitCollectionDefForFieldName(final Class<?> itemType,
+            final String fieldName) {
+        if (!frozen || itemType == null) {
+            return super.getImplicitCollectionDefForFieldName(itemType, fieldName);
+        }
+        return lookup(memberMapping(itemType).implicitCollections, fieldName, name -> super
+            .getImplicitCollectionDefForFieldName(itemType, name));
+    }
+
+    @Override
+    public String aliasForSystemAttribute(final String attribute) {
+        if (!frozen) {
+            return super.aliasForSystemAttribute(attribute);
+        }
+        return lookup(systemAttributeAliasCache, attribute, super::aliasForSystemAttribute);
+    }
+
+    private MemberMapping memberMapping(final Class<?> type) {
+        MemberMapping mapping = memberCache.get(type);
+        if (mapping == null) {
+            mapping = new MemberMapping();
+            final MemberMapping existing = memberCache.putIfAbsent(type, mapping);
+            if (existing != null) {
+                mapping = existing;
+            }
+        }
+        return mapping;
+    }
+
+    private static <T> T lookup(final ConcurrentMap<String, Object> cache, final String name,
+            final Function<String, T> resolver) {
+        if (name == null) {
+            return resolver.apply(name);
+        }
+        Object cached = cache.get(name);
+        if (cached == null) {
+            final T resolved = resolver.apply(name);
+            cached = cache.putIfAbsent(name, resolved == null ? NULL : resolved);
+            if (cached == null) {
+                return resolved;
+            }
+        }
+        @SuppressWarnings("unchecked")
+        final T result = cached == NULL ? null : (T)cached;
+        return result;
+    }
+
     @Override
     public void flushCache() {
         realClassCache.clear();
+        systemAttributeAliasCache.clear();
+        memberCache.clear();
     }
 
     private Object readResolve() {
         realClassCache = new ConcurrentHashMap<>(128);
+        systemAttributeAliasCache = new ConcurrentHashMap<>();
+        memberCache = new ConcurrentHashMap<>();
         return this;
     }
+
+    private static class MemberMapping {
+        final ConcurrentMap<String, Object> serializedMembers = new ConcurrentHashMap<>();
+        final ConcurrentMap<String, Object> realMembers = new ConcurrentHashMap<>();
+        final ConcurrentMap<String, Object> serializableMembers = new ConcurrentHashMap<>();
+        final ConcurrentMap<String, Object> localConverters = new ConcurrentHashMap<>();
+        final ConcurrentMap<String, Object> implicitCollections = new ConcurrentHashMap<>();
+    }
 }
@@ -1,5 +1,5 @@
 /*
- * Copyright (C) 2014, 2015, 2022 XStream Committers.
+ * Copyright (C) 2014, 2015, 2022, 2026 XStream Committers.
  * All rights reserved.
  *
  * Created on 08. January 2014 by Joerg Schaible
@@ -11,6 +11,7 @@ import java.util.Arrays;
 import java.util.List;
 
 import com.thoughtworks.xstream.security.AnyTypePermission;
+import com.thoughtworks.xstream.security.CompositeTypePermission;
 import com.thoughtworks.xstream.security.ForbiddenClassException;
 import com.thoughtworks.xstream.security.NoTypePermission;
 import com.thoughtworks.xstream.security.TypePermission;
@@ -19,6 +20,11 @@ import com.thoughtworks.xstream.security.TypePermission;
 /**
  * A Mapper implementation injecting a security layer based on permission rules for any type required in the
  * unmarshalling process.
+ * <p>
+ * The permissions are compiled into a {@link CompositeTypePermission} with the first lookup and the decision for a
+ * type is cached in a {@link ClassValue}. Adding a permission drops the complete cache atomically. A permission must
+ * therefore always come to the same decision for the same type.
+ * </p>
  * 
  * @author J&ouml;rg Schaible
  * @since 1.4.7
@@ -26,6 +32,7 @@ import com.thoughtworks.xstream.security.TypePermission;
 public class SecurityMapper extends MapperWrapper {
 
     private final List<TypePermission> permissions;
+    private transient volatile DecisionCache decisionCache;
 
     /**
      * Construct a SecurityMapper.
@@ -62,20 +69,55 @@ public class SecurityMapper extends MapperWrapper {
      * @since 1.4.7
      */
     public void addPermission(final TypePermission permission) {
-        if (permission.equals(NoTypePermission.NONE) || permission.equals(AnyTypePermission.ANY)) {
-            permissions.clear();
+        synchronized (permissions) {
+            if (permission.equals(NoTypePermission.NONE) || permission.equals(AnyTypePermission.ANY)) {
+                permissions.clear();
+            }
+            permissions.add(0, permission);
+            // compiled again with the next lookup
+            decisionCache = null;
         }
-        permissions.add(0, permission);
     }
 
     @Override
     public Class<?> realClass(final String elementName) {
         final Class<?> type = super.realClass(elementName);
-        for (final TypePermission permission : permissions) {
-            if (permission.allows(type)) {
-                return type;
+        final DecisionCache cache = getDecisionCache();
+        final Boolean decision = type != null ? cache.get(type) : cache.computeValue(null);
+        if (!decision.booleanValue()) {
+            throw new ForbiddenClassException(type);
+        }
+        return type;
+    }
+
+    private DecisionCache getDecisionCache() {
+        DecisionCache cache = decisionCache;
+        if (cache == null) {
+            synchronized (permissions) {
+                cache = decisionCache;
+                if (cache == null) {
+                    cache = new DecisionCache(permissions);
+                    decisionCache = cache;
+                }
+            }
+        }
+        return cache;
+    }
+
+    private static class DecisionCache extends ClassValue<Boolean> {
+        private final TypePermission permission;
+
+        DecisionCache(final List<TypePermission> permissions) {
+            permission = new CompositeTypePermission(permissions.toArray(new TypePermission[permissions.size()]));
+        }
+
+        @Override
+        protected Boolean computeValue(final Class<?> type) {
+            try {
+                return Boolean.valueOf(permission.allows(type));
+            } catch (final ForbiddenClassException e) {
+                return Boolean.FALSE;
             }
         }
-        throw new ForbiddenClassException(type);
     }
 }
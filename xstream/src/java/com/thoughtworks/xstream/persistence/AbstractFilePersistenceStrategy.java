@@ -1,5 +1,5 @@
 /*
- * Copyright (C) 2008, 2014, 2020 XStream Committers.
+ * Copyright (C) 2008, 2014, 2020, 2026 XStream Committers.
  * All rights reserved.
  *
  * The software in this package is published under the terms of the BSD
@@ -10,18 +10,30 @@
  */
 package com.thoughtworks.xstream.persistence;
 
+import java.io.BufferedOutputStream;
 import java.io.File;
 import java.io.FileInputStream;
 import java.io.FileNotFoundException;
-import java.io.FileOutputStream;
 import java.io.FilenameFilter;
 import java.io.IOException;
 import java.io.InputStreamReader;
+import java.io.OutputStream;
 import java.io.OutputStreamWriter;
 import java.io.Reader;
 import java.io.Writer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
 import java.util.Iterator;
 import java.util.Map;
+import java.util.Spliterator;
+import java.util.concurrent.ThreadLocalRandom;
 
 import com.thoughtworks.xstream.XStream;
 import com.thoughtworks.xstream.converters.ConverterLookup;
@@ -31,6 +43,15 @@ import com.thoughtworks.xstream.mapper.Mapper;
 
 /**
  * Abstract base class for file based persistence strategies.
+ * <p>
+ * A value is written into a new temporary file in the base directory first, that replaces the file of the key
+ * afterwards with an atomic rename. A concurrent reader or a crash during the write will therefore never see a
+ * partially written file. Optionally the content of the temporary file is forced to the storage device before the
+ * rename and the base directory afterwards, so that the value survives also a crash of the operating system. The
+ * temporary files get a random name and are created with the default permissions for new files, i.e. the umask
+ * applies on POSIX systems. Temporary files left behind by a crash are ignored and may be removed while no value is
+ * written.
+ * </p>
  *
  * @author Guilherme Silveira
  * @author Joerg Schaible
@@ -38,15 +59,33 @@ import com.thoughtworks.xstream.mapper.Mapper;
  */
 public abstract class AbstractFilePersistenceStrategy<K, V> implements PersistenceStrategy<K, V> {
 
+    private static final String TEMPORARY_SUFFIX = ".tmp";
+
     private final FilenameFilter filter;
     private final File baseDirectory;
     private final String encoding;
+    private final boolean sync;
     private final transient XStream xstream;
 
     public AbstractFilePersistenceStrategy(final File baseDirectory, final XStream xstream, final String encoding) {
+        this(baseDirectory, xstream, encoding, false);
+    }
+
+    /**
+     * Construct an AbstractFilePersistenceStrategy.
+     *
+     * @param baseDirectory the directory for the serialized values
+     * @param xstream the XStream instance to use for (de)serialization
+     * @param encoding encoding used to write the files
+     * @param sync flag to force the content of each written file and its directory entry to the storage device
+     * @since upcoming
+     */
+    public AbstractFilePersistenceStrategy(
+            final File baseDirectory, final XStream xstream, final String encoding, final boolean sync) {
         this.baseDirectory = baseDirectory;
         this.xstream = xstream;
         this.encoding = encoding;
+        this.sync = sync;
         filter = new ValidFilenameFilter();
     }
 
@@ -81,7 +120,7 @@ public abstract class AbstractFilePersistenceStrategy<K, V> implements Persisten
     protected class ValidFilenameFilter implements FilenameFilter {
         @Override
         public boolean accept(final File dir, final String name) {
-            return new File(dir, name).isFile() && isValid(dir, name);
+            return !name.endsWith(TEMPORARY_SUFFIX) && new File(dir, name).isFile() && isValid(dir, name);
         }
     }
 
@@ -109,60 +148,113 @@ public abstract class AbstractFilePersistenceStrategy<K, V> implements Persisten
 
         @Override
         public Map.Entry<K, V> next() {
-            return new Map.Entry<K, V>() {
-                private final File file = current = files[++position];
-                private final K key = extractKey(file.getName());
+            current = files[++position];
+            return new XmlMapEntry(current);
+        }
+    }
 
-                @Override
-                public K getKey() {
-                    return key;
-                }
+    private class XmlMapEntry implements Map.Entry<K, V> {
 
-                @Override
-                public V getValue() {
-                    return readFile(file);
-                }
+        private final File file;
+        private final K key;
 
-                @Override
-                public V setValue(final V value) {
-                    return put(key, value);
-                }
+        XmlMapEntry(final File file) {
+            this.file = file;
+            key = extractKey(file.getName());
+        }
 
-                @Override
-                public int hashCode() {
-                    final V value = getValue();
-                    return (key == null ? 0 : key.hashCode()) ^ (value == null ? 0 : value.hashCode());
-                }
+        @Override
+        public K getKey() {
+            return key;
+        }
 
-                @Override
-                public boolean equals(final Object obj) {
-                    if (!(obj instanceof Map.Entry<?, ?>)) {
-                        return false;
-                    }
-                    @SuppressWarnings("unchecked")
-                    final Map.Entry<K, V> e2 = (Map.Entry<K, V>)obj;
-                    final K key2 = e2.getKey();
-                    if (key == null ? key2 == null : key.equals(key2)) {
-                        final V value = getValue();
-                        final V value2 = e2.getValue();
-                        return value == null ? value2 == null : value.equals(value2);
-                    }
-                    return false;
-                }
-            };
+        @Override
+        public V getValue() {
+            return readFile(file);
+        }
+
+        @Override
+        public V setValue(final V value) {
+            return put(key, value);
+        }
+
+        @Override
+        public int hashCode() {
+            final V value = getValue();
+            return (key == null ? 0 : key.hashCode()) ^ (value == null ? 0 : value.hashCode());
+        }
+
+        @Override
+        public boolean equals(final Object obj) {
+            if (!(obj instanceof Map.Entry<?, ?>)) {
+                return false;
+            }
+            @SuppressWarnings("unchecked")
+            final Map.Entry<K, V> e2 = (Map.Entry<K, V>)obj;
+            final K key2 = e2.getKey();
+            if (key == null ? key2 == null : key.equals(key2)) {
+                final V value = getValue();
+                final V value2 = e2.getValue();
+                return value == null ? value2 == null : value.equals(value2);
+            }
+            return false;
         }
     }
 
     private void writeFile(final File file, final Object value) {
+        Path tmpFile = null;
         try {
-            final FileOutputStream out = new FileOutputStream(file);
+            // a unique name keeps concurrent writers of the same key apart, also in other instances or processes, and
+            // the suffix prevents the temporary file from being accepted by the filter
+            FileChannel channel = null;
+            while (channel == null) {
+                tmpFile = new File(baseDirectory, file.getName()
+                    + '.'
+                    + Long.toHexString(ThreadLocalRandom.current().nextLong())
+                    + TEMPORARY_SUFFIX).toPath();
+                try {
+                    channel = FileChannel.open(tmpFile, StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE);
+                } catch (final FileAlreadyExistsException e) {
+                    tmpFile = null;
+                }
+            }
+            final OutputStream out = Channels.newOutputStream(channel);
             try (final Writer writer = encoding != null
-                ? new OutputStreamWriter(out, encoding)
-                : new OutputStreamWriter(out)) {
+                ? new OutputStreamWriter(new BufferedOutputStream(out), encoding)
+                : new OutputStreamWriter(new BufferedOutputStream(out))) {
                 xstream.toXML(value, writer);
+                if (sync) {
+                    writer.flush();
+                    channel.force(true);
+                }
+            }
+            try {
+                Files.move(tmpFile, file.toPath(), StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            } catch (final AtomicMoveNotSupportedException e) {
+                Files.move(tmpFile, file.toPath(), StandardCopyOption.REPLACE_EXISTING);
+            }
+            if (sync) {
+                syncDirectory();
             }
         } catch (final IOException e) {
             throw new StreamException(e);
+        } finally {
+            if (tmpFile != null) {
+                tmpFile.toFile().delete();
+            }
+        }
+    }
+
+    private void syncDirectory() throws IOException {
+        final FileChannel channel;
+        try {
+            channel = FileChannel.open(baseDirectory.toPath(), StandardOpenOption.READ);
+        } catch (final IOException e) {
+            // a directory cannot be opened on every platform, e.g. on Windows, that persists the rename anyway
+            return;
+        }
+        try (channel) {
+            channel.force(true);
         }
     }
 
@@ -190,22 +282,39 @@ public abstract class AbstractFilePersistenceStrategy<K, V> implements Persisten
 
     @Override
     public V put(final K key, final V value) {
-        final V oldValue = get(key);
-        final String filename = getName(key);
-        writeFile(new File(baseDirectory, filename), value);
+        final File file = getFile(getName(key));
+        final V oldValue = file.isFile() ? readFile(file) : null;
+        writeFile(file, value);
         return oldValue;
     }
 
+    @Override
+    public void write(final K key, final V value) {
+        writeFile(getFile(getName(key)), value);
+    }
+
     @Override
     public Iterator<Map.Entry<K, V>> iterator() {
         return new XmlMapEntriesIterator();
     }
 
+    /**
+     * {@inheritDoc}
+     * <p>
+     * The spliterator splits the list of files in the base directory, that is created once.
+     * </p>
+     */
+    @Override
+    public Spliterator<Map.Entry<K, V>> spliterator() {
+        return new EntrySpliterator<>(Arrays.spliterator(baseDirectory.listFiles(filter)), XmlMapEntry::new);
+    }
+
     @Override
     public int size() {
         return baseDirectory.list(filter).length;
     }
 
+    @Override
     public boolean containsKey(final K key) {
         // faster lookup
         final File file = getFile(getName(key));
@@ -0,0 +1,71 @@
+/*
+ * Copyright (C) 2026 XStream Committers.
+ * All rights reserved.
+ *
+ * The software in this package is published under the terms of the BSD
+ * style license a copy of which has been included with this distribution in
+ * the LICENSE.txt file.
+ *
+ * Created on 17. October 2026
+ */
+package com.thoughtworks.xstream.persistence;
+
+import java.util.Map;
+import java.util.Spliterator;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+
+/**
+ * Spliterator creating the entries of a persistence strategy from a splittable snapshot of its keys or files.
+ * <p>
+ * The snapshot is split without accessing the storage, the created entries read their value on demand. Therefore the
+ * values are deserialized by the thread processing the entry, i.e. in parallel for a parallel stream.
+ * </p>
+ *
+ * @since upcoming
+ */
+class EntrySpliterator<T, K, V> implements Spliterator<Map.Entry<K, V>> {
+
+    private final Spliterator<T> source;
+    private final Function<? super T, Map.Entry<K, V>> factory;
+
+    /**
+     * Construct an EntrySpliterator.
+     *
+     * @param source the spliterator of the snapshot
+     * @param factory the factory for the entry of an element of the snapshot
+     * @since upcoming
+     */
+    EntrySpliterator(final Spliterator<T> source, final Function<? super T, Map.Entry<K, V>> factory) {
+        this.source = source;
+        this.factory = factory;
+    }
+
+    @Override
+    public boolean tryAdvance(final Consumer<? super Map.Entry<K, V>> action) {
+        return source.tryAdvance(element -> action.accept(factory.apply(element)));
+    }
+
+    @Override
+    public void forEachRemaining(final Consumer<? super Map.Entry<K, V>> action) {
+        source.forEachRemaining(element -> action.accept(factory.apply(element)));
+    }
+
+    @Override
+    public Spliterator<Map.Entry<K, V>> trySplit() {
+        final Spliterator<T> prefix = source.trySplit();
+        return prefix == null ? null : new EntrySpliterator<>(prefix, factory);
+    }
+
+    @Override
+    public long estimateSize() {
+        return source.estimateSize();
+    }
+
+    @Override
+    public int characteristics() {
+        // the keys are unique, the storage itself may change concurrently
+        return source.characteristics() & (ORDERED | SIZED | SUBSIZED) | DISTINCT | NONNULL;
+    }
+}
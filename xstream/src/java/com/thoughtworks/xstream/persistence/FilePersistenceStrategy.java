@@ -1,5 +1,5 @@
 /*
- * Copyright (C) 2008, 2014, 2015, 2016, 2020 XStream Committers.
+ * Copyright (C) 2008, 2014, 2015, 2016, 2020, 2026 XStream Committers.
  * All rights reserved.
  *
  * The software in this package is published under the terms of the BSD
@@ -69,7 +69,25 @@ public class FilePersistenceStrategy<K, V> extends AbstractFilePersistenceStrate
      */
     public FilePersistenceStrategy(
             final File baseDirectory, final XStream xstream, final String encoding, final String illegalChars) {
-        super(baseDirectory, xstream, encoding);
+        this(baseDirectory, xstream, encoding, illegalChars, false);
+    }
+
+    /**
+     * Create a new FilePersistenceStrategy with a provided XStream instance, the characters to encode and the sync
+     * flag.
+     *
+     * @param baseDirectory the directory for the serialized values
+     * @param xstream the XStream instance to use for (de)serialization
+     * @param encoding encoding used to write the files
+     * @param illegalChars illegal characters for file names (should always include '%' as long as you do not overwrite
+     *            the (un)escape methods)
+     * @param sync flag to force the content of each written file to the storage device before it replaces the old one
+     * @since upcoming
+     */
+    public FilePersistenceStrategy(
+            final File baseDirectory, final XStream xstream, final String encoding, final String illegalChars,
+            final boolean sync) {
+        super(baseDirectory, xstream, encoding, sync);
         this.illegalChars = illegalChars;
     }
 
@@ -0,0 +1,251 @@
+/*
+ * Copyright (C) 2026 XStream Committers.
+ * All rights reserved.
+ *
+ * The software in this package is published under the terms of the BSD
+ * style license a copy of which has been included with this distribution in
+ * the LICENSE.txt file.
+ *
+ * Created on 17. October 2026
+ */
+package com.thoughtworks.xstream.persistence;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.nio.file.attribute.FileTime;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.Spliterator;
+
+import com.thoughtworks.xstream.XStream;
+import com.thoughtworks.xstream.core.util.GenerationalCache;
+import com.thoughtworks.xstream.io.xml.DomDriver;
+
+
+/**
+ * FilePersistenceStrategy keeping an index of the keys and a cache of the values in memory.
+ * <p>
+ * The index is built from the files in the base directory when the strategy is created and maintained by its
+ * modifications afterwards. Therefore {@link #size()}, {@link #containsKey(Object)} and the iteration over the keys do
+ * not access the file system. A file modified externally is detected by its modification time in the resolution of the
+ * file system, its length and its file key (e.g. the inode on POSIX systems) and read again, while files added or
+ * removed externally are ignored until a new instance is created. Since every write replaces the file, also the write
+ * of another strategy instance changes the file key. However, on a file system without file keys an external
+ * modification in place is not detected if it keeps the length and happens within the resolution of the modification
+ * time.
+ * </p>
+ * <p>
+ * Deserialized values are kept in a {@link GenerationalCache} with a limited number of entries. Note, that a cached
+ * value is returned as the same instance by subsequent calls of {@link #get(Object)}, modifications of this instance
+ * must be stored again with {@link #put(Object, Object)} or {@link #write(Object, Object)}. The value of the
+ * <code>null</code> key is not cached.
+ * </p>
+ *
+ * @since upcoming
+ */
+public class IndexedFilePersistenceStrategy<K, V> extends FilePersistenceStrategy<K, V> {
+
+    private final File baseDirectory;
+    private final Set<K> keys = new LinkedHashSet<>();
+    private final Map<Object, CachedValue<V>> cache;
+    private long modifications;
+
+    /**
+     * Create a new IndexedFilePersistenceStrategy. Use a standard XStream instance with a {@link DomDriver} and cache
+     * up to 1000 values.
+     *
+     * @param baseDirectory the directory for the serialized values
+     * @since upcoming
+     */
+    public IndexedFilePersistenceStrategy(final File baseDirectory) {
+        this(baseDirectory, new XStream(new DomDriver()), 1000);
+    }
+
+    /**
+     * Create a new IndexedFilePersistenceStrategy with a provided XStream instance.
+     *
+     * @param baseDirectory the directory for the serialized values
+     * @param xstream the XStream instance to use for (de)serialization
+     * @param cacheSize the maximum number of cached values
+     * @since upcoming
+     */
+    public IndexedFilePersistenceStrategy(final File baseDirectory, final XStream xstream, final int cacheSize) {
+        this(baseDirectory, xstream, "UTF-8", "<>?:/\\\"|*%", false, cacheSize);
+    }
+
+    /**
+     * Create a new IndexedFilePersistenceStrategy with a provided XStream instance, the characters to encode, the sync
+     * flag and the size of the value cache.
+     *
+     * @param baseDirectory the directory for the serialized values
+     * @param xstream the XStream instance to use for (de)serialization
+     * @param encoding encoding used to write the files
+     * @param illegalChars illegal characters for file names (should always include '%' as long as you do not overwrite
+     *            the (un)escape methods)
+     * @param sync flag to force the content of each written file to the storage device before it replaces the old one
+     * @param cacheSize the maximum number of cached values
+     * @throws IllegalArgumentException if cacheSize is less than 2
+     * @since upcoming
+     */
+    public IndexedFilePersistenceStrategy(
+            final File baseDirectory, final XStream xstream, final String encoding, final String illegalChars,
+            final boolean sync, final int cacheSize) {
+        super(baseDirectory, xstream, encoding, illegalChars, sync);
+        this.baseDirectory = baseDirectory;
+        cache = new GenerationalCache<>(cacheSize);
+        for (final Iterator<Map.Entry<K, V>> iter = super.iterator(); iter.hasNext();) {
+            keys.add(iter.next().getKey());
+        }
+    }
+
+    @Override
+    public Iterator<Map.Entry<K, V>> iterator() {
+        return new KeySnapshotIterator<>(this, snapshot(), this::delete);
+    }
+
+    @Override
+    public Spliterator<Map.Entry<K, V>> spliterator() {
+        return KeySnapshotIterator.spliterator(this, snapshot());
+    }
+
+    private List<K> snapshot() {
+        synchronized (keys) {
+            return new ArrayList<>(keys);
+        }
+    }
+
+    @Override
+    public int size() {
+        synchronized (keys) {
+            return keys.size();
+        }
+    }
+
+    @Override
+    public boolean containsKey(final K key) {
+        synchronized (keys) {
+            return keys.contains(key);
+        }
+    }
+
+    @Override
+    public V get(final Object key) {
+        synchronized (keys) {
+            if (!keys.contains(key)) {
+                return null;
+            }
+        }
+        final long modification;
+        synchronized (keys) {
+            modification = modifications;
+        }
+        final FileStamp stamp = FileStamp.of(new File(baseDirectory, getName(key)).toPath());
+        final CachedValue<V> cached = key != null ? cache.get(key) : null;
+        if (cached != null && cached.stamp.equals(stamp)) {
+            return cached.value;
+        }
+        final V value = super.get(key);
+        if (key != null && value != null && stamp != null) {
+            synchronized (keys) {
+                // a modification by this strategy during the read may have replaced the file after taking its stamp
+                if (modification == modifications) {
+                    cache.put(key, new CachedValue<>(value, stamp));
+                }
+            }
+        }
+        return value;
+    }
+
+    @Override
+    public V put(final K key, final V value) {
+        final V oldValue = get(key);
+        write(key, value);
+        return oldValue;
+    }
+
+    @Override
+    public void write(final K key, final V value) {
+        super.write(key, value);
+        synchronized (keys) {
+            ++modifications;
+            if (key != null) {
+                cache.remove(key);
+            }
+            keys.add(key);
+        }
+    }
+
+    @Override
+    public V remove(final Object key) {
+        final V oldValue = get(key);
+        delete(key);
+        return oldValue;
+    }
+
+    private void delete(final Object key) {
+        // removes without loading
+        new File(baseDirectory, getName(key)).delete();
+        synchronized (keys) {
+            ++modifications;
+            if (key != null) {
+                cache.remove(key);
+            }
+            keys.remove(key);
+        }
+    }
+
+    private static class CachedValue<V> {
+        final V value;
+        final FileStamp stamp;
+
+        CachedValue(final V value, final FileStamp stamp) {
+            this.value = value;
+            this.stamp = stamp;
+        }
+    }
+
+    private static class FileStamp {
+        final FileTime lastModified;
+        final long length;
+        final Object fileKey;
+
+        private FileStamp(final BasicFileAttributes attributes) {
+            lastModified = attributes.lastModifiedTime();
+            length = attributes.size();
+            fileKey = attributes.fileKey();
+        }
+
+        static FileStamp of(final Path path) {
+            try {
+                return new FileStamp(Files.readAttributes(path, BasicFileAttributes.class));
+            } catch (final IOException e) {
+                // file does not exist (anymore)
+                return null;
+            }
+        }
+
+        @Override
+        public boolean equals(final Object obj) {
+            if (!(obj instanceof FileStamp)) {
+                return false;
+            }
+            final FileStamp other = (FileStamp)obj;
+            return length == other.length
+                && lastModified.equals(other.lastModified)
+                && Objects.equals(fileKey, other.fileKey);
+        }
+
+        @Override
+        public int hashCode() {
+            return lastModified.hashCode() ^ Long.hashCode(length);
+        }
+    }
+}
@@ -0,0 +1,133 @@
+/*
+ * Copyright (C) 2026 XStream Committers.
+ * All rights reserved.
+ *
+ * The software in this package is published under the terms of the BSD
+ * style license a copy of which has been included with this distribution in
+ * the LICENSE.txt file.
+ *
+ * Created on 17. October 2026
+ */
+package com.thoughtworks.xstream.persistence;
+
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Spliterator;
+import java.util.function.Consumer;
+
+
+/**
+ * Iterator over a snapshot of the keys of a persistence strategy with an in-memory index.
+ * <p>
+ * The entries read their value from the strategy on demand. A spliterator over such a snapshot is created with
+ * {@link #spliterator(PersistenceStrategy, List)}.
+ * </p>
+ *
+ * @since upcoming
+ */
+class KeySnapshotIterator<K, V> implements Iterator<Map.Entry<K, V>> {
+
+    private final PersistenceStrategy<K, V> persistenceStrategy;
+    private final Iterator<K> keys;
+    private final Consumer<Object> remover;
+    private K current;
+    private boolean removable;
+
+    /**
+     * Construct a KeySnapshotIterator.
+     *
+     * @param persistenceStrategy the strategy providing the values
+     * @param keys the snapshot of the keys
+     * @param remover the callback to remove a key from the strategy without reading the value
+     * @since upcoming
+     */
+    KeySnapshotIterator(
+            final PersistenceStrategy<K, V> persistenceStrategy, final Collection<K> keys,
+            final Consumer<Object> remover) {
+        this.persistenceStrategy = persistenceStrategy;
+        this.keys = keys.iterator();
+        this.remover = remover;
+    }
+
+    @Override
+    public boolean hasNext() {
+        return keys.hasNext();
+    }
+
+    @Override
+    public Map.Entry<K, V> next() {
+        current = keys.next();
+        removable = true;
+        return new LazyEntry<>(persistenceStrategy, current);
+    }
+
+    @Override
+    public void remove() {
+        if (!removable) {
+            throw new IllegalStateException();
+        }
+        removable = false;
+        remover.accept(current);
+    }
+
+    /**
+     * Create a spliterator over a snapshot of the keys of a persistence strategy with an in-memory index.
+     *
+     * @param persistenceStrategy the strategy providing the values
+     * @param keys the snapshot of the keys
+     * @return the spliterator
+     * @since upcoming
+     */
+    static <K, V> Spliterator<Map.Entry<K, V>> spliterator(
+            final PersistenceStrategy<K, V> persistenceStrategy, final List<K> keys) {
+        return new EntrySpliterator<>(keys.spliterator(), key -> new LazyEntry<>(persistenceStrategy, key));
+    }
+
+    private static class LazyEntry<K, V> implements Map.Entry<K, V> {
+        private final PersistenceStrategy<K, V> persistenceStrategy;
+        private final K key;
+
+        LazyEntry(final PersistenceStrategy<K, V> persistenceStrategy, final K key) {
+            this.persistenceStrategy = persistenceStrategy;
+            this.key = key;
+        }
+
+        @Override
+        public K getKey() {
+            return key;
+        }
+
+        @Override
+        public V getValue() {
+            return persistenceStrategy.get(key);
+        }
+
+        @Override
+        public V setValue(final V value) {
+            return persistenceStrategy.put(key, value);
+        }
+
+        @Override
+        public int hashCode() {
+            final V value = getValue();
+            return (key == null ? 0 : key.hashCode()) ^ (value == null ? 0 : value.hashCode());
+        }
+
+        @Override
+        public boolean equals(final Object obj) {
+            if (!(obj instanceof Map.Entry<?, ?>)) {
+                return false;
+            }
+            final Map.Entry<?, ?> e2 = (Map.Entry<?, ?>)obj;
+            final Object key2 = e2.getKey();
+            if (key == null ? key2 == null : key.equals(key2)) {
+                final V value = getValue();
+                final Object value2 = e2.getValue();
+                return value == null ? value2 == null : value.equals(value2);
+            }
+            return false;
+        }
+    }
+}
@@ -0,0 +1,608 @@
+/*
+ * Copyright (C) 2026 XStream Committers.
+ * All rights reserved.
+ *
+ * The software in this package is published under the terms of the BSD
+ * style license a copy of which has been included with this distribution in
+ * the LICENSE.txt file.
+ *
+ * Created on 17. October 2026
+ */
+package com.thoughtworks.xstream.persistence;
+
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
+import java.util.AbstractMap;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Spliterator;
+import java.util.TreeMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.zip.CRC32;
+
+import com.thoughtworks.xstream.XStream;
+import com.thoughtworks.xstream.io.HierarchicalStreamDriver;
+import com.thoughtworks.xstream.io.HierarchicalStreamWriter;
+import com.thoughtworks.xstream.io.StreamException;
+import com.thoughtworks.xstream.io.binary.BinaryStreamDriver;
+
+
+/**
+ * PersistenceStrategy appending all modifications as records to a log of segment files.
+ * <p>
+ * Keys and values are serialized with the given driver, e.g. into the compact format of the
+ * {@link BinaryStreamDriver} or into XML. Each record consists of its length, a CRC32 checksum, the kind of
+ * modification and the serialized key and value. As soon as the active segment file exceeds the segment size, it is
+ * sealed and a new one is started. The strategy keeps an index with the location of the latest record of each key in
+ * memory and reads the values of sealed segments with memory-mapped I/O. Therefore the number of entries is not limited
+ * by the number of files a directory can hold.
+ * </p>
+ * <p>
+ * When the strategy is created, it replays the records of all segment files to build the index. An incomplete record
+ * at the end of the last segment file, e.g. caused by a crash, is removed, while a corrupt record in any other segment
+ * file causes a {@link StreamException}. Overwritten values and removed keys leave garbage in the segment files. As
+ * soon as the garbage in the sealed segments exceeds the segment size and half of their size, the strategy compacts
+ * these segments with the given executor. The compaction copies the current records into the active segment and
+ * deletes the sealed segment files afterwards. Call {@link #compact()} to compact the segments explicitly.
+ * </p>
+ * <p>
+ * The strategy is thread-safe and must be closed to release the segment files. Note, that some operating systems do
+ * not allow the deletion of a memory-mapped file, the compacted segment files may remain in that case.
+ * </p>
+ *
+ * @since upcoming
+ */
+public class LogPersistenceStrategy<K, V> implements PersistenceStrategy<K, V>, Closeable {
+
+    private static final byte PUT = 1;
+    private static final byte REMOVE = 2;
+    // length, checksum, kind and key length
+    private static final int HEADER_SIZE = 13;
+    private static final String SUFFIX = ".log";
+
+    private final File directory;
+    private final XStream xstream;
+    private final HierarchicalStreamDriver driver;
+    private final int segmentSize;
+    private final boolean sync;
+    private final Executor executor;
+    private final Object lock = new Object();
+    private final Object compactionLock = new Object();
+    private final TreeMap<Long, Segment> segments = new TreeMap<>();
+    private final Map<K, Location> index = new HashMap<>();
+    private Segment active;
+    private boolean compacting;
+    private boolean compactionFailed;
+    private boolean closed;
+
+    /**
+     * Create a new LogPersistenceStrategy. Use a standard XStream instance with a {@link BinaryStreamDriver}, segments
+     * of 64 MB and a background thread for the compaction.
+     *
+     * @param directory the directory for the segment files
+     * @throws StreamException if the segment files cannot be read
+     * @since upcoming
+     */
+    public LogPersistenceStrategy(final File directory) {
+        this(directory, new XStream(), new BinaryStreamDriver());
+    }
+
+    /**
+     * Create a new LogPersistenceStrategy with a provided XStream instance and driver. Use segments of 64 MB and a
+     * background thread for the compaction.
+     *
+     * @param directory the directory for the segment files
+     * @param xstream the XStream instance to use for (de)serialization
+     * @param driver the driver for the format of keys and values
+     * @throws StreamException if the segment files cannot be read
+     * @since upcoming
+     */
+    public LogPersistenceStrategy(final File directory, final XStream xstream, final HierarchicalStreamDriver driver) {
+        this(directory, xstream, driver, 64 * 1024 * 1024, false, command -> {
+            final Thread thread = new Thread(command, "XStream log compaction");
+            thread.setDaemon(true);
+            thread.start();
+        });
+    }
+
+    /**
+     * Create a new LogPersistenceStrategy.
+     *
+     * @param directory the directory for the segment files
+     * @param xstream the XStream instance to use for (de)serialization
+     * @param driver the driver for the format of keys and values
+     * @param segmentSize the size in bytes that closes a segment file for further records
+     * @param sync flag to force each record to the storage device before the modification returns
+     * @param executor the executor for the compaction in the background, <code>null</code> to compact only explicitly
+     * @throws StreamException if the segment files cannot be read
+     * @throws IllegalArgumentException if the segment size is not positive
+     * @since upcoming
+     */
+    public LogPersistenceStrategy(
+            final File directory, final XStream xstream, final HierarchicalStreamDriver driver, final int segmentSize,
+            final boolean sync, final Executor executor) {
+        if (segmentSize <= 0) {
+            throw new IllegalArgumentException("Segment size must be positive");
+        }
+        this.directory = directory;
+        this.xstream = xstream;
+        this.driver = driver;
+        this.segmentSize = segmentSize;
+        this.sync = sync;
+        this.executor = executor;
+        directory.mkdirs();
+        final File[] files = directory.listFiles((dir, name) -> name.matches("[0-9]+\\" + SUFFIX));
+        if (files == null) {
+            throw new StreamException("Cannot list segment files in " + directory);
+        }
+        try {
+            for (final File file : files) {
+                final String name = file.getName();
+                final long id = Long.parseLong(name.substring(0, name.length() - SUFFIX.length()));
+                segments.put(Long.valueOf(id), new Segment(id, file));
+            }
+            for (final Segment segment : segments.values()) {
+                segment.sealed = segment != segments.lastEntry().getValue();
+                replay(segment);
+            }
+            active = segments.isEmpty() ? createSegment(1) : segments.lastEntry().getValue();
+        } catch (final IOException e) {
+            closeSegments();
+            throw new StreamException(e);
+        } catch (final RuntimeException e) {
+            closeSegments();
+            throw e;
+        }
+    }
+
+    @Override
+    public Iterator<Map.Entry<K, V>> iterator() {
+        return new KeySnapshotIterator<>(this, snapshot(), this::delete);
+    }
+
+    @Override
+    public Spliterator<Map.Entry<K, V>> spliterator() {
+        return KeySnapshotIterator.spliterator(this, snapshot());
+    }
+
+    private List<K> snapshot() {
+        synchronized (lock) {
+            checkOpen();
+            return new ArrayList<>(index.keySet());
+        }
+    }
+
+    @Override
+    public int size() {
+        synchronized (lock) {
+            checkOpen();
+            return index.size();
+        }
+    }
+
+    @Override
+    public boolean containsKey(final K key) {
+        synchronized (lock) {
+            checkOpen();
+            return index.containsKey(key);
+        }
+    }
+
+    @Override
+    public V get(final Object key) {
+        final ByteBuffer buffer;
+        synchronized (lock) {
+            checkOpen();
+            final Location location = index.get(key);
+            if (location == null) {
+                return null;
+            }
+            buffer = location.segment.slice(location.offset + location.valueOffset, location.length
+                - location.valueOffset);
+        }
+        // a mapped buffer stays valid even if the segment is compacted concurrently
+        @SuppressWarnings("unchecked")
+        final V value = (V)deserialize(buffer);
+        return value;
+    }
+
+    @Override
+    public V put(final K key, final V value) {
+        final V oldValue = get(key);
+        write(key, value);
+        return oldValue;
+    }
+
+    @Override
+    public void write(final K key, final V value) {
+        final ByteBuffer record = createRecord(PUT, serialize(key), serialize(value));
+        final boolean compact;
+        synchronized (lock) {
+            checkOpen();
+            final Location location = append(record);
+            discard(index.put(key, location));
+            compact = isCompactionRequired();
+        }
+        if (compact) {
+            compactInBackground();
+        }
+    }
+
+    @Override
+    public V remove(final Object key) {
+        final V oldValue = get(key);
+        delete(key);
+        return oldValue;
+    }
+
+    private void delete(final Object key) {
+        final ByteBuffer record = createRecord(REMOVE, serialize(key), new byte[0]);
+        boolean compact = false;
+        synchronized (lock) {
+            checkOpen();
+            if (index.containsKey(key)) {
+                final Location location = append(record);
+                discard(index.remove(key));
+                // the record is only required until the compaction of the older segments
+                discard(location);
+                compact = isCompactionRequired();
+            }
+        }
+        if (compact) {
+            compactInBackground();
+        }
+    }
+
+    /**
+     * Compact all segment files that are no longer written.
+     * <p>
+     * The current records of these segments are copied into the active segment, the records of overwritten values and
+     * removed keys are dropped. The compacted segment files are deleted afterwards.
+     * </p>
+     *
+     * @throws StreamException if the segments cannot be compacted
+     * @since upcoming
+     */
+    public void compact() {
+        synchronized (compactionLock) {
+            final List<Segment> compacted;
+            final List<Map.Entry<K, Location>> entries = new ArrayList<>();
+            synchronized (lock) {
+                checkOpen();
+                compacted = new ArrayList<>(segments.headMap(Long.valueOf(active.id)).values());
+                if (compacted.isEmpty()) {
+                    return;
+                }
+                for (final Map.Entry<K, Location> entry : index.entrySet()) {
+                    if (entry.getValue().segment.sealed) {
+                        entries.add(new AbstractMap.SimpleImmutableEntry<>(entry));
+                    }
+                }
+            }
+            for (final Map.Entry<K, Location> entry : entries) {
+                final Location location = entry.getValue();
+                synchronized (lock) {
+                    checkOpen();
+                    // a modification of the key in the meantime makes the record obsolete
+                    if (index.get(entry.getKey()) == location) {
+                        index.put(entry.getKey(), append(location.segment.slice(location.offset, location.length)));
+                    }
+                }
+            }
+            final long lastId = compacted.get(compacted.size() - 1).id;
+            synchronized (lock) {
+                checkOpen();
+                try {
+                    // the copies must be durable before the originals are deleted
+                    for (final Segment segment : segments.tailMap(Long.valueOf(lastId), false).values()) {
+                        segment.channel.force(false);
+                    }
+                    // oldest first, a remove record must not vanish before the records it removed
+                    for (final Segment segment : compacted) {
+                        segments.remove(Long.valueOf(segment.id));
+                        segment.channel.close();
+                        segment.file.delete();
+                    }
+                } catch (final IOException e) {
+                    throw new StreamException(e);
+                }
+                compactionFailed = false;
+            }
+        }
+    }
+
+    /**
+     * Close the segment files.
+     * <p>
+     * Waits for a running compaction in the background. Any further operation will fail with an
+     * {@link IllegalStateException}.
+     * </p>
+     *
+     * @since upcoming
+     */
+    @Override
+    public void close() {
+        synchronized (lock) {
+            boolean interrupted = false;
+            while (compacting) {
+                try {
+                    lock.wait();
+                } catch (final InterruptedException e) {
+                    interrupted = true;
+                }
+            }
+            if (!closed) {
+                closed = true;
+                closeSegments();
+            }
+            if (interrupted) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    private void checkOpen() {
+        if (closed) {
+            throw new IllegalStateException("Persistence strategy already closed");
+        }
+    }
+
+    private void closeSegments() {
+        for (final Segment segment : segments.values()) {
+            try {
+                segment.channel.close();
+            } catch (final IOException e) {
+                // ignore
+            }
+        }
+    }
+
+    private void discard(final Location location) {
+        if (location != null) {
+            location.segment.garbage += location.length;
+        }
+    }
+
+    private boolean isCompactionRequired() {
+        if (executor == null || compacting || compactionFailed) {
+            return false;
+        }
+        long size = 0;
+        long garbage = 0;
+        for (final Segment segment : segments.headMap(Long.valueOf(active.id)).values()) {
+            size += segment.size;
+            garbage += segment.garbage;
+        }
+        compacting = garbage >= segmentSize && garbage * 2 >= size;
+        return compacting;
+    }
+
+    private void compactInBackground() {
+        try {
+            executor.execute(() -> {
+                try {
+                    compact();
+                } catch (final RuntimeException e) {
+                    // the segments stay in place, an explicit compaction reports the failure
+                    compactionFinished(true);
+                    return;
+                }
+                compactionFinished(false);
+            });
+        } catch (final RejectedExecutionException e) {
+            compactionFinished(true);
+        }
+    }
+
+    private void compactionFinished(final boolean failed) {
+        synchronized (lock) {
+            compacting = false;
+            compactionFailed = failed;
+            lock.notifyAll();
+        }
+    }
+
+    private Segment createSegment(final long id) throws IOException {
+        final Segment segment = new Segment(id, new File(directory, String.format("%08d", Long.valueOf(id)) + SUFFIX));
+        segments.put(Long.valueOf(id), segment);
+        return segment;
+    }
+
+    private void replay(final Segment segment) throws IOException {
+        final ByteBuffer data = segment.channel.map(FileChannel.MapMode.READ_ONLY, 0, segment.size);
+        final CRC32 crc = new CRC32();
+        int offset = 0;
+        while (offset < segment.size) {
+            final int remaining = (int)(segment.size - offset);
+            final int length = remaining >= HEADER_SIZE ? data.getInt(offset) : -1;
+            boolean valid = false;
+            if (length >= HEADER_SIZE - 8 && length <= remaining - 8) {
+                crc.reset();
+                crc.update(slice(data, offset + 8, length));
+                valid = (int)crc.getValue() == data.getInt(offset + 4);
+            }
+            if (!valid) {
+                if (segment.sealed) {
+                    throw new StreamException("Corrupt record at position " + offset + " in " + segment.file);
+                }
+                // incomplete record of an interrupted write
+                segment.channel.truncate(offset);
+                segment.size = offset;
+                break;
+            }
+            final int keyLength = data.getInt(offset + 9);
+            @SuppressWarnings("unchecked")
+            final K key = (K)deserialize(slice(data, offset + HEADER_SIZE, keyLength));
+            final Location location = new Location(segment, offset, slice(data, offset, 8 + length));
+            if (data.get(offset + 8) == PUT) {
+                discard(index.put(key, location));
+            } else {
+                discard(index.remove(key));
+                discard(location);
+            }
+            offset += 8 + length;
+        }
+    }
+
+    private ByteBuffer createRecord(final byte kind, final byte[] key, final byte[] value) {
+        final int length = HEADER_SIZE - 8 + key.length + value.length;
+        final ByteBuffer record = ByteBuffer.allocate(8 + length);
+        record.putInt(length).putInt(0).put(kind).putInt(key.length).put(key).put(value);
+        final CRC32 crc = new CRC32();
+        crc.update(record.array(), 8, length);
+        record.putInt(4, (int)crc.getValue());
+        record.flip();
+        return record;
+    }
+
+    private Location append(final ByteBuffer record) {
+        try {
+            if (active.size >= segmentSize || active.size + record.remaining() > Integer.MAX_VALUE) {
+                active.sealed = true;
+                active = createSegment(active.id + 1);
+            }
+            final Location location = new Location(active, (int)active.size, record);
+            final ByteBuffer content = record.duplicate();
+            long position = active.size;
+            while (content.hasRemaining()) {
+                position += active.channel.write(content, position);
+            }
+            if (sync) {
+                active.channel.force(false);
+            }
+            active.size = position;
+            return location;
+        } catch (final IOException e) {
+            throw new StreamException(e);
+        }
+    }
+
+    private byte[] serialize(final Object object) {
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        final HierarchicalStreamWriter writer = driver.createWriter(out);
+        xstream.marshal(object, writer);
+        writer.close();
+        return out.toByteArray();
+    }
+
+    private Object deserialize(final ByteBuffer buffer) {
+        return xstream.unmarshal(driver.createReader(new ByteBufferInputStream(buffer)));
+    }
+
+    private static ByteBuffer slice(final ByteBuffer buffer, final int offset, final int length) {
+        final ByteBuffer slice = buffer.duplicate();
+        slice.limit(offset + length).position(offset);
+        return slice.slice();
+    }
+
+    private static class Segment {
+        final long id;
+        final File file;
+        final FileChannel channel;
+        long size;
+        long garbage;
+        boolean sealed;
+        ByteBuffer mapped;
+
+        Segment(final long id, final File file) throws IOException {
+            this.id = id;
+            this.file = file;
+            channel = FileChannel.open(file.toPath(), StandardOpenOption.CREATE, StandardOpenOption.READ,
+                StandardOpenOption.WRITE);
+            size = channel.size();
+        }
+
+        ByteBuffer slice(final int offset, final int length) {
+            try {
+                if (sealed) {
+                    if (mapped == null) {
+                        // a sealed segment does no longer grow and is mapped once
+                        mapped = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+                    }
+                    return LogPersistenceStrategy.slice(mapped, offset, length);
+                }
+                final ByteBuffer buffer = ByteBuffer.allocate(length);
+                while (buffer.hasRemaining()) {
+                    if (channel.read(buffer, offset + buffer.position()) < 0) {
+                        throw new StreamException("Unexpected end of segment " + file);
+                    }
+                }
+                buffer.flip();
+                return buffer;
+            } catch (final IOException e) {
+                throw new StreamException(e);
+            }
+        }
+    }
+
+    private static class Location {
+        final Segment segment;
+        final int offset;
+        final int length;
+        final int valueOffset;
+
+        Location(final Segment segment, final int offset, final ByteBuffer record) {
+            this.segment = segment;
+            this.offset = offset;
+            length = record.remaining();
+            valueOffset = HEADER_SIZE + record.getInt(record.position() + 9);
+        }
+    }
+
+    private static class ByteBufferInputStream extends InputStream {
+        private final ByteBuffer buffer;
+
+        ByteBufferInputStream(final ByteBuffer buffer) {
+            this.buffer = buffer;
+        }
+
+        @Override
+        public int read() {
+            return buffer.hasRemaining() ? buffer.get() & 0xff : -1;
+        }
+
+        @Override
+        public int read(final byte[] b, final int off, final int len) {
+            if (len == 0) {
+                return 0;
+            }
+            if (!buffer.hasRemaining()) {
+                return -1;
+            }
+            final int n = Math.min(len, buffer.remaining());
+            buffer.get(b, off, n);
+            return n;
+        }
+
+        @Override
+        public int available() {
+            return buffer.remaining();
+        }
+
+        @Override
+        public boolean markSupported() {
+            // signals a buffered stream
+            return true;
+        }
+
+        @Override
+        public synchronized void mark(final int readlimit) {
+            buffer.mark();
+        }
+
+        @Override
+        public synchronized void reset() {
+            buffer.reset();
+        }
+    }
+}
@@ -1,5 +1,5 @@
 /*
- * Copyright (C) 2008, 2014 XStream Committers.
+ * Copyright (C) 2008, 2014, 2026 XStream Committers.
  * All rights reserved.
  *
  * The software in this package is published under the terms of the BSD
@@ -12,6 +12,9 @@ package com.thoughtworks.xstream.persistence;
 
 import java.util.Iterator;
 import java.util.Map;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.Executor;
 
 
 /**
@@ -30,6 +33,77 @@ public interface PersistenceStrategy<K,V> {
 
     V put(K key, V value);
 
+    /**
+     * Store a value without returning the previous one.
+     * <p>
+     * In contrast to {@link #put(Object, Object)} an implementation does not have to read the previous value. The
+     * default implementation delegates to {@link #put(Object, Object)}.
+     * </p>
+     * 
+     * @param key the key
+     * @param value the value
+     * @since upcoming
+     */
+    default void write(final K key, final V value) {
+        put(key, value);
+    }
+
+    /**
+     * Check whether a value is stored for a key.
+     * <p>
+     * The default implementation iterates over all entries.
+     * </p>
+     * 
+     * @param key the key
+     * @return <code>true</code> if a value is stored for the key
+     * @since upcoming
+     */
+    default boolean containsKey(final K key) {
+        for (final Iterator<Map.Entry<K, V>> iter = iterator(); iter.hasNext();) {
+            final K k = iter.next().getKey();
+            if (k == null ? key == null : k.equals(key)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
     V remove(Object key);
 
+    /**
+     * Create a spliterator over the entries.
+     * <p>
+     * The entries read their value on demand, a parallel stream will therefore deserialize the values concurrently.
+     * The default implementation wraps the {@link #iterator()}, an implementation with a snapshot of its keys or files
+     * should provide a spliterator that splits this snapshot.
+     * </p>
+     * 
+     * @return the spliterator
+     * @since upcoming
+     */
+    default Spliterator<Map.Entry<K, V>> spliterator() {
+        return Spliterators.spliteratorUnknownSize(iterator(), Spliterator.DISTINCT | Spliterator.NONNULL);
+    }
+
+    /**
+     * Scan the entries while their values are read in advance.
+     * <p>
+     * The returned iterator reads the values of up to <code>prefetch</code> upcoming entries with tasks of the
+     * executor, the number of workers is therefore limited by the executor. The entries are returned in the order of
+     * {@link #iterator()} if <code>ordered</code> is set, otherwise as soon as their value is available. The values are
+     * read exactly once, a removal through the iterator will delegate to {@link #remove(Object)}. A failure reading a
+     * value is thrown by the call of {@link Iterator#next()} that would have returned the entry.
+     * </p>
+     * 
+     * @param executor the executor reading the values
+     * @param prefetch the maximum number of values read in advance
+     * @param ordered flag to keep the order of {@link #iterator()}
+     * @return the iterator
+     * @throws IllegalArgumentException if prefetch is less than 1
+     * @since upcoming
+     */
+    default Iterator<Map.Entry<K, V>> scan(final Executor executor, final int prefetch, final boolean ordered) {
+        return new PrefetchingIterator<>(this, executor, prefetch, ordered);
+    }
+
 }
@@ -0,0 +1,145 @@
+/*
+ * Copyright (C) 2026 XStream Committers.
+ * All rights reserved.
+ *
+ * The software in this package is published under the terms of the BSD
+ * style license a copy of which has been included with this distribution in
+ * the LICENSE.txt file.
+ *
+ * Created on 17. October 2026
+ */
+package com.thoughtworks.xstream.persistence;
+
+import java.util.AbstractMap;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+
+
+/**
+ * Iterator over the entries of a persistence strategy reading the values of the upcoming entries in advance.
+ * <p>
+ * The entries are taken from the iterator of the strategy in the calling thread, while their values are read by tasks
+ * of the given executor. At most the configured number of values is read in advance. The entries are returned either
+ * in the order of the strategy's iterator or in the order their values are available.
+ * </p>
+ *
+ * @since upcoming
+ */
+class PrefetchingIterator<K, V> implements Iterator<Map.Entry<K, V>> {
+
+    private final PersistenceStrategy<K, V> persistenceStrategy;
+    private final Iterator<Map.Entry<K, V>> entries;
+    private final Executor executor;
+    private final int prefetch;
+    private final boolean ordered;
+    private final Deque<CompletableFuture<Map.Entry<K, V>>> pending = new ArrayDeque<>();
+    private K current;
+    private boolean removable;
+
+    /**
+     * Construct a PrefetchingIterator.
+     *
+     * @param persistenceStrategy the strategy providing the entries
+     * @param executor the executor reading the values
+     * @param prefetch the maximum number of values read in advance
+     * @param ordered flag to return the entries in the order of the strategy's iterator
+     * @throws IllegalArgumentException if prefetch is less than 1
+     * @since upcoming
+     */
+    PrefetchingIterator(
+            final PersistenceStrategy<K, V> persistenceStrategy, final Executor executor, final int prefetch,
+            final boolean ordered) {
+        if (prefetch < 1) {
+            throw new IllegalArgumentException("Number of prefetched values must be positive: " + prefetch);
+        }
+        this.persistenceStrategy = persistenceStrategy;
+        this.executor = executor;
+        this.prefetch = prefetch;
+        this.ordered = ordered;
+        entries = persistenceStrategy.iterator();
+        fill();
+    }
+
+    @Override
+    public boolean hasNext() {
+        return !pending.isEmpty();
+    }
+
+    @Override
+    public Map.Entry<K, V> next() {
+        if (pending.isEmpty()) {
+            throw new NoSuchElementException();
+        }
+        final CompletableFuture<Map.Entry<K, V>> future = ordered ? pending.removeFirst() : removeAvailable();
+        final Map.Entry<K, V> entry;
+        try {
+            entry = future.join();
+        } catch (final CompletionException e) {
+            final Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException)cause;
+            }
+            if (cause instanceof Error) {
+                throw (Error)cause;
+            }
+            throw e;
+        } finally {
+            fill();
+        }
+        current = entry.getKey();
+        removable = true;
+        return entry;
+    }
+
+    @Override
+    public void remove() {
+        if (!removable) {
+            throw new IllegalStateException();
+        }
+        removable = false;
+        // the iterator of the strategy is already ahead
+        persistenceStrategy.remove(current);
+    }
+
+    private void fill() {
+        while (pending.size() < prefetch && entries.hasNext()) {
+            final Map.Entry<K, V> entry = entries.next();
+            pending.addLast(CompletableFuture.supplyAsync(() -> new PrefetchedEntry(entry.getKey(), entry.getValue()),
+                executor));
+        }
+    }
+
+    private CompletableFuture<Map.Entry<K, V>> removeAvailable() {
+        while (true) {
+            for (final Iterator<CompletableFuture<Map.Entry<K, V>>> iter = pending.iterator(); iter.hasNext();) {
+                final CompletableFuture<Map.Entry<K, V>> future = iter.next();
+                if (future.isDone()) {
+                    iter.remove();
+                    return future;
+                }
+            }
+            // a failed read is reported by the join of its own future
+            CompletableFuture.anyOf(pending.toArray(new CompletableFuture<?>[0])).handle((r, t) -> r).join();
+        }
+    }
+
+    private class PrefetchedEntry extends AbstractMap.SimpleEntry<K, V> {
+        private static final long serialVersionUID = 20261017L;
+
+        PrefetchedEntry(final K key, final V value) {
+            super(key, value);
+        }
+
+        @Override
+        public V setValue(final V value) {
+            super.setValue(value);
+            return persistenceStrategy.put(getKey(), value);
+        }
+    }
+}
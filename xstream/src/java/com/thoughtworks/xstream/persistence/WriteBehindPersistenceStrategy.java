@@ -0,0 +1,272 @@
+/*
+ * Copyright (C) 2026 XStream Committers.
+ * All rights reserved.
+ *
+ * The software in this package is published under the terms of the BSD
+ * style license a copy of which has been included with this distribution in
+ * the LICENSE.txt file.
+ *
+ * Created on 17. October 2026
+ */
+package com.thoughtworks.xstream.persistence;
+
+import java.io.Closeable;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Spliterator;
+
+
+/**
+ * PersistenceStrategy collecting modifications in memory and writing them in batches with a background thread.
+ * <p>
+ * Values put into or removed from this strategy are kept as pending modifications and are returned by
+ * {@link #get(Object)} until they have been delegated to the wrapped strategy. A daemon thread delegates the pending
+ * modifications after the flush interval has elapsed or as soon as their number reaches the batch size. Since only the
+ * latest modification of a key is kept, a key updated many times within a flush interval is written only once.
+ * </p>
+ * <p>
+ * The modifications are delegated with {@link PersistenceStrategy#write(Object, Object)}, i.e. without reading the old
+ * values. Use a {@link FilePersistenceStrategy} with its sync flag to get the values forced to the storage device. Use
+ * {@link #write(Object, Object)} instead of {@link #put(Object, Object)} if the old value is not required, since put
+ * and remove read the old value of a key that is not pending while blocking other modifications.
+ * Modifications that failed in the background thread stay pending, an explicit call of {@link #flush()} or
+ * {@link #close()} retries them and reports the failure. The methods {@link #size()}, {@link #iterator()} and
+ * {@link #spliterator()} flush the pending modifications before they delegate to the wrapped strategy.
+ * </p>
+ * <p>
+ * The strategy must be closed to write the remaining modifications and to stop the background thread. It is thread-safe
+ * as long as the wrapped strategy is only used by this instance.
+ * </p>
+ *
+ * @since upcoming
+ */
+public class WriteBehindPersistenceStrategy<K, V> implements PersistenceStrategy<K, V>, Closeable {
+
+    private static final Object REMOVED = new Object();
+
+    private final PersistenceStrategy<K, V> persistenceStrategy;
+    private final long flushInterval;
+    private final int batchSize;
+    private final Object lock = new Object();
+    private final Object flushLock = new Object();
+    private final Thread flusher;
+    private Map<K, Object> pending = new LinkedHashMap<>();
+    private Map<K, Object> flushing = Collections.emptyMap();
+    private boolean closed;
+
+    /**
+     * Construct a WriteBehindPersistenceStrategy flushing every second or for a thousand modifications.
+     *
+     * @param persistenceStrategy the wrapped strategy
+     * @since upcoming
+     */
+    public WriteBehindPersistenceStrategy(final PersistenceStrategy<K, V> persistenceStrategy) {
+        this(persistenceStrategy, 1000, 1000);
+    }
+
+    /**
+     * Construct a WriteBehindPersistenceStrategy.
+     *
+     * @param persistenceStrategy the wrapped strategy
+     * @param flushInterval the maximum time in milliseconds a modification is kept pending
+     * @param batchSize the number of pending modifications that trigger a flush immediately
+     * @throws IllegalArgumentException if the flush interval or the batch size is not positive
+     * @since upcoming
+     */
+    public WriteBehindPersistenceStrategy(
+            final PersistenceStrategy<K, V> persistenceStrategy, final long flushInterval, final int batchSize) {
+        if (flushInterval <= 0 || batchSize <= 0) {
+            throw new IllegalArgumentException("Flush interval and batch size must be positive");
+        }
+        this.persistenceStrategy = persistenceStrategy;
+        this.flushInterval = flushInterval;
+        this.batchSize = batchSize;
+        flusher = new Thread(this::flushPeriodically, "XStream write-behind flusher");
+        flusher.setDaemon(true);
+        flusher.start();
+    }
+
+    @Override
+    public Iterator<Map.Entry<K, V>> iterator() {
+        flush();
+        return persistenceStrategy.iterator();
+    }
+
+    @Override
+    public Spliterator<Map.Entry<K, V>> spliterator() {
+        flush();
+        return persistenceStrategy.spliterator();
+    }
+
+    @Override
+    public int size() {
+        flush();
+        return persistenceStrategy.size();
+    }
+
+    @Override
+    public V get(final Object key) {
+        synchronized (lock) {
+            if (pending.containsKey(key)) {
+                return valueOf(pending.get(key));
+            }
+            if (flushing.containsKey(key)) {
+                return valueOf(flushing.get(key));
+            }
+        }
+        return persistenceStrategy.get(key);
+    }
+
+    @Override
+    public boolean containsKey(final K key) {
+        synchronized (lock) {
+            if (pending.containsKey(key)) {
+                return pending.get(key) != REMOVED;
+            }
+            if (flushing.containsKey(key)) {
+                return flushing.get(key) != REMOVED;
+            }
+        }
+        return persistenceStrategy.containsKey(key);
+    }
+
+    @Override
+    public V put(final K key, final V value) {
+        return exchange(key, value);
+    }
+
+    @Override
+    public void write(final K key, final V value) {
+        enqueue(key, value);
+    }
+
+    @Override
+    public V remove(final Object key) {
+        @SuppressWarnings("unchecked")
+        final K k = (K)key;
+        return exchange(k, REMOVED);
+    }
+
+    /**
+     * Delegate all pending modifications to the wrapped strategy.
+     *
+     * @throws RuntimeException if the wrapped strategy fails, the failed modifications are kept pending
+     * @since upcoming
+     */
+    public void flush() {
+        synchronized (flushLock) {
+            final Map<K, Object> batch;
+            synchronized (lock) {
+                if (pending.isEmpty()) {
+                    return;
+                }
+                batch = pending;
+                flushing = batch;
+                pending = new LinkedHashMap<>();
+            }
+            try {
+                for (final Map.Entry<K, Object> entry : batch.entrySet()) {
+                    final Object value = entry.getValue();
+                    if (value == REMOVED) {
+                        persistenceStrategy.remove(entry.getKey());
+                    } else {
+                        persistenceStrategy.write(entry.getKey(), valueOf(value));
+                    }
+                }
+            } catch (final RuntimeException e) {
+                synchronized (lock) {
+                    // newer modifications take precedence
+                    batch.putAll(pending);
+                    pending = batch;
+                    flushing = Collections.emptyMap();
+                }
+                throw e;
+            }
+            synchronized (lock) {
+                flushing = Collections.emptyMap();
+            }
+        }
+    }
+
+    /**
+     * Stop the background thread and delegate the remaining modifications to the wrapped strategy.
+     *
+     * @throws RuntimeException if the wrapped strategy fails
+     * @since upcoming
+     */
+    @Override
+    public void close() {
+        synchronized (lock) {
+            closed = true;
+            lock.notifyAll();
+        }
+        try {
+            flusher.join();
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        flush();
+    }
+
+    private V exchange(final K key, final Object value) {
+        synchronized (lock) {
+            // a key that is neither pending nor flushing is not written concurrently, the old value of the wrapped
+            // strategy is therefore read while holding the lock to keep it consistent with the enqueued value
+            final V oldValue;
+            if (pending.containsKey(key)) {
+                oldValue = valueOf(pending.get(key));
+            } else if (flushing.containsKey(key)) {
+                oldValue = valueOf(flushing.get(key));
+            } else {
+                oldValue = persistenceStrategy.get(key);
+            }
+            enqueue(key, value);
+            return oldValue;
+        }
+    }
+
+    private void enqueue(final K key, final Object value) {
+        synchronized (lock) {
+            if (closed) {
+                throw new IllegalStateException("Persistence strategy already closed");
+            }
+            pending.put(key, value);
+            if (pending.size() >= batchSize) {
+                lock.notifyAll();
+            }
+        }
+    }
+
+    private void flushPeriodically() {
+        boolean failed = false;
+        while (true) {
+            synchronized (lock) {
+                if (!closed && (failed || pending.size() < batchSize)) {
+                    try {
+                        lock.wait(flushInterval);
+                    } catch (final InterruptedException e) {
+                        return;
+                    }
+                }
+                if (closed) {
+                    return;
+                }
+            }
+            try {
+                flush();
+                failed = false;
+            } catch (final RuntimeException e) {
+                // modifications are kept pending and reported by an explicit flush, retry after the flush interval
+                failed = true;
+            }
+        }
+    }
+
+    private V valueOf(final Object value) {
+        @SuppressWarnings("unchecked")
+        final V v = value == REMOVED ? null : (V)value;
+        return v;
+    }
+}
@@ -1,6 +1,6 @@
 /*
  * Copyright (C) 2006 Joe Walnes.
- * Copyright (C) 2007, 2008, 2014, 2015, 2020 XStream Committers.
+ * Copyright (C) 2007, 2008, 2014, 2015, 2020, 2026 XStream Committers.
  * All rights reserved.
  *
  * The software in this package is published under the terms of the BSD
@@ -21,9 +21,11 @@ import java.util.AbstractList;
  */
 public class XmlArrayList<V> extends AbstractList<V> {
 
+    private final PersistenceStrategy<Integer, V> persistenceStrategy;
     private final XmlMap<Integer, V> map;
 
     public XmlArrayList(final PersistenceStrategy<Integer, V> persistenceStrategy) {
+        this.persistenceStrategy = persistenceStrategy;
         this.map = new XmlMap<>(persistenceStrategy);
     }
 
@@ -35,9 +37,7 @@ public class XmlArrayList<V> extends AbstractList<V> {
     @Override
     public V set(final int index, final V element) {
         rangeCheck(index);
-        final V value = get(index);
-        map.put(Integer.valueOf(index), element);
-        return value;
+        return map.put(Integer.valueOf(index), element);
     }
 
     @Override
@@ -46,11 +46,10 @@ public class XmlArrayList<V> extends AbstractList<V> {
         if (index >= size + 1 || index < 0) {
             throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
         }
-        final int to = index != size ? index - 1 : index;
-        for (int i = size; i > to; i--) {
-            map.put(Integer.valueOf(i + 1), map.get(Integer.valueOf(i)));
+        for (int i = size - 1; i >= index; i--) {
+            persistenceStrategy.write(Integer.valueOf(i + 1), map.get(Integer.valueOf(i)));
         }
-        map.put(Integer.valueOf(index), element);
+        persistenceStrategy.write(Integer.valueOf(index), element);
     }
 
     private void rangeCheck(final int index) {
@@ -72,7 +71,7 @@ public class XmlArrayList<V> extends AbstractList<V> {
         rangeCheck(index);
         final V value = map.get(Integer.valueOf(index));
         for (int i = index; i < size - 1; i++) {
-            map.put(Integer.valueOf(i), map.get(Integer.valueOf(i + 1)));
+            persistenceStrategy.write(Integer.valueOf(i), map.get(Integer.valueOf(i + 1)));
         }
         map.remove(Integer.valueOf(size - 1));
         return value;
@@ -1,6 +1,6 @@
 /*
  * Copyright (C) 2006 Joe Walnes.
- * Copyright (C) 2007, 2008, 2014 XStream Committers.
+ * Copyright (C) 2007, 2008, 2014, 2026 XStream Committers.
  * All rights reserved.
  *
  * The software in this package is published under the terms of the BSD
@@ -16,6 +16,7 @@ import java.util.AbstractSet;
 import java.util.Iterator;
 import java.util.Map;
 import java.util.Set;
+import java.util.Spliterator;
 
 
 /**
@@ -39,6 +40,13 @@ public class XmlMap<K, V> extends AbstractMap<K, V> {
         return persistenceStrategy.size();
     }
 
+    @Override
+    public boolean containsKey(final Object key) {
+        @SuppressWarnings("unchecked")
+        final K k = (K)key;
+        return persistenceStrategy.containsKey(k);
+    }
+
     @Override
     public V get(final Object key) {
         // faster lookup
@@ -50,6 +58,14 @@ public class XmlMap<K, V> extends AbstractMap<K, V> {
         return persistenceStrategy.put(key, value);
     }
 
+    @Override
+    public void putAll(final Map<? extends K, ? extends V> m) {
+        // the previous values are not required
+        for (final Map.Entry<? extends K, ? extends V> entry : m.entrySet()) {
+            persistenceStrategy.write(entry.getKey(), entry.getValue());
+        }
+    }
+
     @Override
     public V remove(final Object key) {
         return persistenceStrategy.remove(key);
@@ -77,6 +93,11 @@ public class XmlMap<K, V> extends AbstractMap<K, V> {
             return persistenceStrategy.iterator();
         }
 
+        @Override
+        public Spliterator<Map.Entry<K, V>> spliterator() {
+            return persistenceStrategy.spliterator();
+        }
+
     }
 
 }
@@ -0,0 +1,157 @@
+/*
+ * Copyright (C) 2026 XStream Committers.
+ * All rights reserved.
+ *
+ * The software in this package is published under the terms of the BSD
+ * style license a copy of which has been included with this distribution in
+ * the LICENSE.txt file.
+ *
+ * Created on 17. October 2026
+ */
+package com.thoughtworks.xstream.security;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+
+/**
+ * Permission for any type allowed by one of a sequence of permissions.
+ * <p>
+ * The permissions are evaluated in the given sequence until one of them allows the type or throws a
+ * {@link ForbiddenClassException}. Adjacent instances of {@link ExplicitTypePermission}, {@link RegExpTypePermission}
+ * and {@link WildcardTypePermission} are compiled into a single step: the explicit names are merged into one hash set
+ * and the patterns are arranged in a prefix tree by the literal start of the wildcard and regular expressions. A type
+ * name is therefore only matched against the patterns whose literal prefix it shares instead of against every pattern
+ * of every permission.
+ * </p>
+ *
+ * @since upcoming
+ */
+public class CompositeTypePermission implements TypePermission {
+
+    private final TypePermission[] permissions;
+
+    /**
+     * Construct a CompositeTypePermission.
+     *
+     * @param permissions the permissions in the sequence of their evaluation
+     * @since upcoming
+     */
+    public CompositeTypePermission(final TypePermission... permissions) {
+        final List<TypePermission> steps = new ArrayList<>();
+        if (permissions != null) {
+            NameMatcher matcher = null;
+            for (final TypePermission permission : permissions) {
+                final Class<?> type = permission.getClass();
+                if (type == ExplicitTypePermission.class
+                    || type == RegExpTypePermission.class
+                    || type == WildcardTypePermission.class) {
+                    if (matcher == null) {
+                        matcher = new NameMatcher();
+                        steps.add(matcher);
+                    }
+                    matcher.add(permission);
+                } else {
+                    matcher = null;
+                    steps.add(permission);
+                }
+            }
+        }
+        this.permissions = steps.toArray(new TypePermission[steps.size()]);
+    }
+
+    @Override
+    public boolean allows(final Class<?> type) {
+        for (final TypePermission permission : permissions) {
+            if (permission.allows(type)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static class NameMatcher implements TypePermission {
+        private final Set<String> names = new HashSet<>();
+        private final PrefixNode root = new PrefixNode();
+
+        void add(final TypePermission permission) {
+            if (permission instanceof ExplicitTypePermission) {
+                names.addAll(((ExplicitTypePermission)permission).names);
+            } else if (permission instanceof WildcardTypePermission) {
+                final WildcardTypePermission wildcardPermission = (WildcardTypePermission)permission;
+                for (int i = 0; i < wildcardPermission.patterns.length; ++i) {
+                    root.add(wildcardPermission.prefixes[i], wildcardPermission.patterns[i]);
+                }
+            } else {
+                for (final Pattern pattern : ((RegExpTypePermission)permission).patterns) {
+                    root.add(getLiteralPrefix(pattern), pattern);
+                }
+            }
+        }
+
+        @Override
+        public boolean allows(final Class<?> type) {
+            if (type == null) {
+                return false;
+            }
+            final String name = type.getName();
+            if (names.contains(name)) {
+                return true;
+            }
+            PrefixNode node = root;
+            for (int i = 0; node != null; ++i) {
+                for (final Pattern pattern : node.patterns) {
+                    if (pattern.matcher(name).matches()) {
+                        return true;
+                    }
+                }
+                node = i < name.length() ? node.children.get(Character.valueOf(name.charAt(i))) : null;
+            }
+            return false;
+        }
+    }
+
+    private static String getLiteralPrefix(final Pattern pattern) {
+        final String regExp = pattern.pattern();
+        if (pattern.flags() != 0 || regExp.indexOf('|') >= 0) {
+            return "";
+        }
+        final StringBuilder prefix = new StringBuilder();
+        for (int i = 0; i < regExp.length(); ++i) {
+            char ch = regExp.charAt(i);
+            int next = i + 1;
+            if (ch == '\\') {
+                if (next == regExp.length() || Character.isLetterOrDigit(regExp.charAt(next))) {
+                    break;
+                }
+                ch = regExp.charAt(next++);
+            } else if (".[](){}*+?^$".indexOf(ch) >= 0) {
+                break;
+            }
+            if (next < regExp.length() && "*+?{".indexOf(regExp.charAt(next)) >= 0) {
+                break;
+            }
+            prefix.append(ch);
+            i = next - 1;
+        }
+        return prefix.toString();
+    }
+
+    private static class PrefixNode {
+        final Map<Character, PrefixNode> children = new HashMap<>();
+        final List<Pattern> patterns = new ArrayList<>();
+
+        void add(final String prefix, final Pattern pattern) {
+            PrefixNode node = this;
+            for (int i = 0; i < prefix.length(); ++i) {
+                node = node.children.computeIfAbsent(Character.valueOf(prefix.charAt(i)), c -> new PrefixNode());
+            }
+            node.patterns.add(pattern);
+        }
+    }
+}
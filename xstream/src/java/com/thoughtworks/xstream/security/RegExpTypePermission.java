@@ -1,5 +1,5 @@
 /*
- * Copyright (C) 2014 XStream Committers.
+ * Copyright (C) 2014, 2026 XStream Committers.
  * All rights reserved.
  *
  * Created on 09. January 2014 by Joerg Schaible
@@ -17,7 +17,7 @@ import java.util.regex.Pattern;
  */
 public class RegExpTypePermission implements TypePermission {
 
-    private final Pattern[] patterns;
+    final Pattern[] patterns;
 
     public RegExpTypePermission(final String... patterns) {
         this(getPatterns(patterns));
@@ -1,5 +1,5 @@
 /*
- * Copyright (C) 2014, 2022 XStream Committers.
+ * Copyright (C) 2014, 2022, 2026 XStream Committers.
  * All rights reserved.
  *
  * Created on 09. January 2014 by Joerg Schaible
@@ -31,6 +31,8 @@ package com.thoughtworks.xstream.security;
  */
 public class WildcardTypePermission extends RegExpTypePermission {
 
+    final String[] prefixes;
+
     /**
      * Create a WildcardTypePermission.
      * <p>
@@ -53,6 +55,23 @@ public class WildcardTypePermission extends RegExpTypePermission {
      */
     public WildcardTypePermission(final boolean allowAnonymous, final String... patterns) {
         super(getRegExpPatterns(allowAnonymous, patterns));
+        prefixes = getPrefixes(patterns);
+    }
+
+    private static String[] getPrefixes(final String... wildcards) {
+        if (wildcards == null) {
+            return new String[0];
+        }
+        final String[] prefixes = new String[wildcards.length];
+        for (int i = 0; i < wildcards.length; ++i) {
+            final String wildcardExpression = wildcards[i];
+            int j = 0;
+            while (j < wildcardExpression.length() && "?*".indexOf(wildcardExpression.charAt(j)) < 0) {
+                ++j;
+            }
+            prefixes[i] = wildcardExpression.substring(0, j);
+        }
+        return prefixes;
     }
 
     private static String[] getRegExpPatterns(final boolean allowAnonymous, final String... wildcards) {
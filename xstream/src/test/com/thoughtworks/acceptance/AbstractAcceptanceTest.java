@@ -1,6 +1,6 @@
 /*
  * Copyright (C) 2003, 2004, 2005, 2006 Joe Walnes.
- * Copyright (C) 2006, 2007, 2008, 2014, 2015, 2018, 2019 XStream Committers.
+ * Copyright (C) 2006, 2007, 2008, 2014, 2015, 2018, 2019, 2026 XStream Committers.
  * All rights reserved.
  *
  * The software in this package is published under the terms of the BSD
@@ -110,9 +110,14 @@ public abstract class AbstractAcceptanceTest extends TestCase {
 
     @SuppressWarnings("resource")
     private void assertBinarySerialization(final Object root) {
+        assertBinarySerialization(root, BinaryStreamWriter.FORMAT_VERSION_1);
+        assertBinarySerialization(root, BinaryStreamWriter.FORMAT_VERSION_2);
+    }
+
+    private void assertBinarySerialization(final Object root, final int formatVersion) {
         // serialize as binary
         final ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
-        xstream.marshal(root, new BinaryStreamWriter(outputStream));
+        xstream.marshal(root, new BinaryStreamWriter(outputStream, formatVersion));
 
         // deserialize the binary and check it equals the original object.
         final ByteArrayInputStream inputStream = new ByteArrayInputStream(outputStream.toByteArray());
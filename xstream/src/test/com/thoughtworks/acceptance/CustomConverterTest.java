@@ -1,5 +1,5 @@
 /*
- * Copyright (C) 2006, 2007, 2018 XStream Committers.
+ * Copyright (C) 2006, 2007, 2018, 2026 XStream Committers.
  * All rights reserved.
  *
  * The software in this package is published under the terms of the BSD
@@ -10,11 +10,18 @@
  */
 package com.thoughtworks.acceptance;
 
+import java.io.ByteArrayOutputStream;
 import java.text.DecimalFormat;
 import java.text.ParseException;
+import java.util.ArrayList;
+import java.util.List;
 
 import com.thoughtworks.xstream.converters.ConversionException;
 import com.thoughtworks.xstream.converters.SingleValueConverter;
+import com.thoughtworks.xstream.converters.basic.IntConverter;
+import com.thoughtworks.xstream.io.HierarchicalStreamWriter;
+import com.thoughtworks.xstream.io.WriterWrapper;
+import com.thoughtworks.xstream.io.binary.BinaryStreamWriter;
 
 
 public class CustomConverterTest extends AbstractAcceptanceTest {
@@ -71,4 +78,58 @@ public class CustomConverterTest extends AbstractAcceptanceTest {
             assertTrue(e.getMessage().indexOf(Long.class.getName()) > 0);
         }
     }
+
+    private static final class HexIntConverter extends IntConverter {
+        @Override
+        public String toString(final Object obj) {
+            return "0x" + Integer.toHexString(((Integer)obj).intValue());
+        }
+    }
+
+    public static class IntWrapper {
+        int i;
+
+        public IntWrapper(final int i) {
+            this.i = i;
+        }
+
+        @Override
+        public boolean equals(final Object obj) {
+            return obj instanceof IntWrapper && ((IntWrapper)obj).i == i;
+        }
+
+        @Override
+        public int hashCode() {
+            return i;
+        }
+    }
+
+    public void testDerivedConverterIsUsedForPrimitiveValue() {
+        xstream.alias("iw", IntWrapper.class);
+        xstream.registerConverter(new HexIntConverter());
+
+        final String xml = "" //
+            + "<iw>\n"
+            + "  <i>0xff</i>\n"
+            + "</iw>";
+
+        assertBothWays(new IntWrapper(255), xml);
+    }
+
+    public void testWrappedWriterGetsValuesAsString() {
+        final List<String> values = new ArrayList<>();
+        final HierarchicalStreamWriter writer = new WriterWrapper(new BinaryStreamWriter(new ByteArrayOutputStream(),
+            BinaryStreamWriter.FORMAT_VERSION_2)) {
+            @Override
+            public void setValue(final String text) {
+                values.add(text);
+                super.setValue(text);
+            }
+        };
+
+        xstream.alias("iw", IntWrapper.class);
+        xstream.marshal(new IntWrapper(255), writer);
+
+        assertEquals(List.of("255"), values);
+    }
 }
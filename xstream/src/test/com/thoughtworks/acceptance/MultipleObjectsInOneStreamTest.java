@@ -1,6 +1,6 @@
 /*
  * Copyright (C) 2005, 2006 Joe Walnes.
- * Copyright (C) 2006, 2007, 2008, 2009, 2018, 2019, 2020 XStream Committers.
+ * Copyright (C) 2006, 2007, 2008, 2009, 2018, 2019, 2020, 2026 XStream Committers.
  * All rights reserved.
  *
  * The software in this package is published under the terms of the BSD
@@ -23,6 +23,11 @@ import java.io.Reader;
 import java.io.StringReader;
 import java.io.StringWriter;
 import java.io.Writer;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.stream.Stream;
 import java.util.zip.Deflater;
 import java.util.zip.DeflaterOutputStream;
 import java.util.zip.Inflater;
@@ -424,4 +429,78 @@ public class MultipleObjectsInOneStreamTest extends AbstractAcceptanceTest {
 
         ois.close();
     }
+
+    public void testIteratesObjectsInStream() throws IOException {
+        xstream.alias("person", Person.class);
+        final StringWriter writer = new StringWriter();
+        try (final ObjectOutputStream out = xstream.createObjectOutputStream(writer)) {
+            out.writeObject(new Person("Postman", "Pat"));
+            out.writeInt(12345);
+            out.writeObject("hello");
+        }
+
+        final HierarchicalStreamReader reader = createDriver().createReader(new StringReader(writer.toString()));
+        final Iterator<Object> iterator = xstream.createIterator(reader);
+        assertTrue(iterator.hasNext());
+        assertTrue(iterator.hasNext());
+        assertEquals(new Person("Postman", "Pat"), iterator.next());
+        assertEquals(Integer.valueOf(12345), iterator.next());
+        assertEquals("hello", iterator.next());
+        assertFalse(iterator.hasNext());
+        try {
+            iterator.next();
+            fail("Thrown " + NoSuchElementException.class.getName() + " expected");
+        } catch (final NoSuchElementException e) {
+            // ok
+        }
+        reader.close();
+    }
+
+    public void testStreamsElementsOfNestedCollection() {
+        xstream.alias("person", Person.class);
+        final List<Object> root = new ArrayList<>();
+        root.add("first");
+        final List<Person> people = new ArrayList<>();
+        for (int i = 0; i < 100; ++i) {
+            people.add(new Person("Person", String.valueOf(i)));
+        }
+        root.add(people);
+        root.add("last");
+
+        final HierarchicalStreamReader reader = createDriver().createReader(new StringReader(xstream.toXML(root)));
+        reader.moveDown();
+        assertEquals("first", reader.getValue());
+        reader.moveUp();
+        reader.moveDown();
+        final Iterator<Person> iterator = xstream.createIterator(reader);
+        int i = 0;
+        while (iterator.hasNext()) {
+            assertEquals(people.get(i++), iterator.next());
+        }
+        assertEquals(100, i);
+        reader.moveUp();
+        reader.moveDown();
+        assertEquals("last", reader.getValue());
+        reader.moveUp();
+        assertFalse(reader.hasMoreChildren());
+        reader.close();
+    }
+
+    public void testStreamPropagatesCloseEvent() {
+        final CallLog log = new CallLog();
+        final Reader loggingReader = new StringReader("<list><int>1</int><int>2</int><int>3</int></list>") {
+            @Override
+            public void close() {
+                log.actual("close");
+            }
+        };
+
+        log.expect("close");
+
+        try (final Stream<Integer> stream = xstream.createStream(loggingReader)) {
+            assertEquals(6, stream.mapToInt(Integer::intValue).sum());
+        }
+
+        log.verify();
+    }
 }
@@ -0,0 +1,191 @@
+/*
+ * Copyright (C) 2026 XStream Committers.
+ * All rights reserved.
+ *
+ * The software in this package is published under the terms of the BSD
+ * style license a copy of which has been included with this distribution in
+ * the LICENSE.txt file.
+ *
+ * Created on 17. October 2026
+ */
+package com.thoughtworks.acceptance;
+
+import java.io.ByteArrayOutputStream;
+import java.io.StringWriter;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import com.thoughtworks.acceptance.objects.StandardObject;
+import com.thoughtworks.xstream.XStream;
+import com.thoughtworks.xstream.converters.ConversionException;
+import com.thoughtworks.xstream.converters.basic.StringConverter;
+import com.thoughtworks.xstream.io.HierarchicalStreamDriver;
+import com.thoughtworks.xstream.io.HierarchicalStreamWriter;
+import com.thoughtworks.xstream.io.WriterWrapper;
+import com.thoughtworks.xstream.io.binary.BinaryStreamDriver;
+import com.thoughtworks.xstream.io.binary.BinaryStreamWriter;
+import com.thoughtworks.xstream.io.json.JsonHierarchicalStreamDriver;
+import com.thoughtworks.xstream.io.xml.CompactWriter;
+
+
+public class ParallelMarshalTest extends AbstractAcceptanceTest {
+
+    public static class Record extends StandardObject {
+        private static final long serialVersionUID = 202610L;
+        int id;
+        String name;
+        boolean active;
+        double score;
+        int[] values;
+        List<String> tags = new ArrayList<>();
+
+        public Record(final int id) {
+            this.id = id;
+            name = "Record " + id;
+            active = id % 2 == 0;
+            score = id / 3.0;
+            values = new int[]{id, -id};
+            tags.add("tag" + id % 7);
+        }
+    }
+
+    private static class ValueCollectingWriter extends WriterWrapper {
+        private final List<String> values;
+
+        ValueCollectingWriter(final HierarchicalStreamWriter writer, final List<String> values) {
+            super(writer);
+            this.values = values;
+        }
+
+        @Override
+        public void setValue(final String text) {
+            values.add(text);
+            super.setValue(text);
+        }
+    }
+
+    private final AtomicInteger tasks = new AtomicInteger();
+    private final Executor executor = command -> {
+        tasks.incrementAndGet();
+        ForkJoinPool.commonPool().execute(command);
+    };
+
+    @Override
+    protected void setUp() throws Exception {
+        super.setUp();
+        xstream.alias("record", Record.class);
+        xstream.setMode(XStream.NO_REFERENCES);
+    }
+
+    private List<Object> createRecords(final int count) {
+        final List<Object> records = new ArrayList<>();
+        for (int i = 0; i < count; ++i) {
+            records.add(i % 100 == 50 ? null : new Record(i));
+        }
+        return records;
+    }
+
+    public void testWritesSameXmlAsSerialMarshalling() {
+        final List<Object> records = createRecords(1000);
+        final StringWriter expected = new StringWriter();
+        xstream.marshal(records, new CompactWriter(expected));
+        final StringWriter actual = new StringWriter();
+        xstream.marshalParallel(records, new CompactWriter(actual), executor);
+        assertEquals(expected.toString(), actual.toString());
+        assertEquals(4, tasks.get());
+        assertEquals(records, xstream.fromXML(actual.toString()));
+    }
+
+    public void testWritesSameJsonAsSerialMarshalling() {
+        final HierarchicalStreamDriver driver = new JsonHierarchicalStreamDriver();
+        final List<Object> records = createRecords(300);
+        final StringWriter expected = new StringWriter();
+        xstream.marshal(records, driver.createWriter(expected));
+        final StringWriter actual = new StringWriter();
+        xstream.marshalParallel(records, driver.createWriter(actual), executor);
+        assertEquals(expected.toString(), actual.toString());
+        assertEquals(2, tasks.get());
+    }
+
+    public void testWritesSameBinaryDataAsSerialMarshalling() {
+        final List<Object> records = createRecords(600);
+        for (final HierarchicalStreamDriver driver : Arrays.asList(new BinaryStreamDriver(),
+            new BinaryStreamDriver(BinaryStreamWriter.FORMAT_VERSION_2))) {
+            final ByteArrayOutputStream expected = new ByteArrayOutputStream();
+            xstream.marshal(records, driver.createWriter(expected));
+            final ByteArrayOutputStream actual = new ByteArrayOutputStream();
+            xstream.marshalParallel(records, driver.createWriter(actual), executor);
+            assertTrue(Arrays.equals(expected.toByteArray(), actual.toByteArray()));
+        }
+        assertEquals(6, tasks.get());
+    }
+
+    public void testWritesValuesThroughWrappedWriter() {
+        final List<Object> records = createRecords(300);
+        final List<String> expectedValues = new ArrayList<>();
+        final ByteArrayOutputStream expected = new ByteArrayOutputStream();
+        xstream.marshal(records, new ValueCollectingWriter(new BinaryStreamWriter(expected,
+            BinaryStreamWriter.FORMAT_VERSION_2), expectedValues));
+        final List<String> actualValues = new ArrayList<>();
+        final ByteArrayOutputStream actual = new ByteArrayOutputStream();
+        xstream.marshalParallel(records, new ValueCollectingWriter(new BinaryStreamWriter(actual,
+            BinaryStreamWriter.FORMAT_VERSION_2), actualValues), executor);
+        assertEquals(expectedValues, actualValues);
+        assertTrue(actualValues.contains("299"));
+        assertTrue(Arrays.equals(expected.toByteArray(), actual.toByteArray()));
+        assertEquals(2, tasks.get());
+    }
+
+    public void testWritesOtherCollectionsAndEmptyCollections() {
+        final LinkedHashSet<Object> set = new LinkedHashSet<>(createRecords(10));
+        assertEquals(xstream.toXML(set), marshalParallel(set));
+        assertEquals(xstream.toXML(new ArrayList<>()), marshalParallel(new ArrayList<>()));
+        assertEquals(1, tasks.get());
+    }
+
+    public void testMarshalsSeriallyWithReferencesOrOtherRootObjects() {
+        final Record record = new Record(1);
+        assertEquals(xstream.toXML(record), marshalParallel(record));
+        final Object[] array = createRecords(300).toArray();
+        assertEquals(xstream.toXML(array), marshalParallel(array));
+
+        xstream.setMode(XStream.XPATH_RELATIVE_REFERENCES);
+        final List<Object> records = createRecords(300);
+        records.add(records.get(0));
+        assertEquals(xstream.toXML(records), marshalParallel(records));
+        assertEquals(0, tasks.get());
+    }
+
+    public void testPropagatesExceptionOfElement() {
+        xstream.registerConverter(new StringConverter() {
+            @Override
+            public String toString(final Object obj) {
+                if ("fail".equals(obj)) {
+                    throw new ConversionException("Cannot write " + obj);
+                }
+                return super.toString(obj);
+            }
+        });
+        final List<Object> records = createRecords(1000);
+        records.set(900, "fail");
+        try {
+            marshalParallel(records);
+            fail("Thrown " + ConversionException.class.getName() + " expected");
+        } catch (final ConversionException e) {
+            assertTrue(e.getMessage().contains("Cannot write fail"));
+        }
+    }
+
+    private String marshalParallel(final Object obj) {
+        final StringWriter buffer = new StringWriter();
+        final HierarchicalStreamWriter writer = createDriver().createWriter(buffer);
+        xstream.marshalParallel(obj, writer, executor);
+        writer.flush();
+        return buffer.toString();
+    }
+}
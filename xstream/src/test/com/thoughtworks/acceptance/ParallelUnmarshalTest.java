@@ -0,0 +1,142 @@
+/*
+ * Copyright (C) 2026 XStream Committers.
+ * All rights reserved.
+ *
+ * The software in this package is published under the terms of the BSD
+ * style license a copy of which has been included with this distribution in
+ * the LICENSE.txt file.
+ *
+ * Created on 17. October 2026
+ */
+package com.thoughtworks.acceptance;
+
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import com.thoughtworks.acceptance.objects.StandardObject;
+import com.thoughtworks.xstream.XStream;
+import com.thoughtworks.xstream.XStreamException;
+
+
+public class ParallelUnmarshalTest extends AbstractAcceptanceTest {
+
+    public static class Record extends StandardObject {
+        private static final long serialVersionUID = 202610L;
+        int id;
+        String name;
+        List<String> tags = new ArrayList<>();
+        Object shared;
+
+        public Record(final int id) {
+            this.id = id;
+            name = "Record " + id;
+            tags.add("tag" + id % 7);
+        }
+    }
+
+    private final AtomicInteger tasks = new AtomicInteger();
+    private final Executor executor = command -> {
+        tasks.incrementAndGet();
+        ForkJoinPool.commonPool().execute(command);
+    };
+
+    @Override
+    protected void setUp() throws Exception {
+        super.setUp();
+        xstream.alias("record", Record.class);
+    }
+
+    private <T> T unmarshalParallel(final String xml) {
+        return xstream.unmarshalParallel(createDriver().createReader(new StringReader(xml)), executor);
+    }
+
+    private List<Record> createRecords(final int count) {
+        final List<Record> records = new ArrayList<>();
+        for (int i = 0; i < count; ++i) {
+            records.add(new Record(i));
+        }
+        return records;
+    }
+
+    public void testUnmarshalsElementsOfRootCollectionInOrder() {
+        final List<Record> records = createRecords(1000);
+        final List<Record> result = unmarshalParallel(xstream.toXML(records));
+        assertEquals(records, result);
+        assertEquals(4, tasks.get());
+    }
+
+    public void testKeepsTypeAndAttributesOfRootCollection() {
+        final Set<Object> set = new LinkedHashSet<>();
+        set.add("one");
+        set.add(null);
+        set.add(Integer.valueOf(2));
+        set.add(new Record(3));
+        final Set<Object> result = unmarshalParallel(xstream.toXML(set));
+        assertEquals(LinkedHashSet.class, result.getClass());
+        assertEquals(new ArrayList<>(set), new ArrayList<>(result));
+
+        xstream.alias("records", LinkedList.class);
+        final List<Record> list = new LinkedList<>(createRecords(3));
+        final String xml = xstream.toXML(list);
+        assertTrue(xml.startsWith("<records>"));
+        final List<Record> linkedList = unmarshalParallel(xml);
+        assertEquals(LinkedList.class, linkedList.getClass());
+        assertEquals(list, linkedList);
+
+        assertTrue(((List<?>)unmarshalParallel("<list/>")).isEmpty());
+        assertEquals(2, tasks.get());
+    }
+
+    public void testUnmarshalsOtherRootObjectsSerially() {
+        final Record record = new Record(42);
+        assertEquals(record, unmarshalParallel(xstream.toXML(record)));
+        assertEquals("text", unmarshalParallel("<string>text</string>"));
+        assertEquals(0, tasks.get());
+    }
+
+    public void testResolvesReferencesWithinElements() {
+        final List<Record> records = createRecords(10);
+        for (final Record record : records) {
+            record.shared = record.tags;
+        }
+        for (final int mode : new int[]{XStream.XPATH_RELATIVE_REFERENCES, XStream.ID_REFERENCES}) {
+            tasks.set(0);
+            xstream.setMode(mode);
+            final List<Record> result = unmarshalParallel(xstream.toXML(records));
+            assertEquals(records, result);
+            assertSame(result.get(5).tags, result.get(5).shared);
+            assertEquals(1, tasks.get());
+        }
+    }
+
+    public void testFallsBackToSerialModeForReferencesBetweenElements() {
+        final List<Record> records = createRecords(1000);
+        final Object shared = new Record(-1);
+        records.get(0).shared = shared;
+        records.get(999).shared = shared;
+        for (final int mode : new int[]{
+            XStream.XPATH_RELATIVE_REFERENCES, XStream.XPATH_ABSOLUTE_REFERENCES, XStream.ID_REFERENCES,
+            XStream.SINGLE_NODE_XPATH_ABSOLUTE_REFERENCES}) {
+            xstream.setMode(mode);
+            final List<Record> result = unmarshalParallel(xstream.toXML(records));
+            assertEquals(records, result);
+            assertSame(result.get(0).shared, result.get(999).shared);
+        }
+    }
+
+    public void testPropagatesExceptionOfElement() {
+        try {
+            unmarshalParallel("<list><string>a</string><unknown/></list>");
+            fail("Thrown " + XStreamException.class.getName() + " expected");
+        } catch (final XStreamException e) {
+            assertTrue(e.getMessage().contains("unknown"));
+        }
+    }
+}
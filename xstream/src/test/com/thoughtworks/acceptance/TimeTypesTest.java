@@ -1,5 +1,5 @@
 /*
- * Copyright (C) 2017, 2018 XStream Committers.
+ * Copyright (C) 2017, 2018, 2026 XStream Committers.
  * All rights reserved.
  *
  * The software in this package is published under the terms of the BSD
@@ -10,6 +10,7 @@
  */
 package com.thoughtworks.acceptance;
 
+import java.io.StringWriter;
 import java.time.Clock;
 import java.time.DayOfWeek;
 import java.time.Duration;
@@ -50,6 +51,9 @@ import java.time.temporal.ValueRange;
 import java.time.temporal.WeekFields;
 
 import com.thoughtworks.xstream.converters.ConversionException;
+import com.thoughtworks.xstream.converters.time.LocalDateConverter;
+import com.thoughtworks.xstream.converters.time.LocalTimeConverter;
+import com.thoughtworks.xstream.io.xml.CompactWriter;
 
 
 /**
@@ -232,6 +236,32 @@ public class TimeTypesTest extends AbstractAcceptanceTest {
 
     public void testLocalDate() {
         assertBothWays(LocalDate.of(2017, 10, 30), "<local-date>2017-10-30</local-date>");
+        assertBothWays(LocalDate.of(5, 1, 2), "<local-date>0005-01-02</local-date>");
+        assertBothWays(LocalDate.of(-5, 1, 2), "<local-date>-0005-01-02</local-date>");
+        assertBothWays(LocalDate.of(12345, 1, 2), "<local-date>+12345-01-02</local-date>");
+        assertBothWays(LocalDate.of(-12345, 1, 2), "<local-date>-12345-01-02</local-date>");
+    }
+
+    public void testLocalDateWithPrimitiveValueWriter() {
+        final LocalDate[] dates = {
+            LocalDate.of(2017, 10, 30), LocalDate.of(-5, 1, 2), LocalDate.of(12345, 1, 2), LocalDate.MIN,
+            LocalDate.MAX};
+        assertEquals(toXML(dates, false), toXML(dates, true));
+    }
+
+    public void testLocalDateWithDerivedConverter() {
+        xstream.registerConverter(new LocalDateConverter() {
+            @Override
+            public String toString(final Object obj) {
+                return "date:" + super.toString(obj);
+            }
+
+            @Override
+            public Object fromString(final String str) {
+                return super.fromString(str.substring(5));
+            }
+        });
+        assertBothWays(LocalDate.of(2017, 10, 30), "<local-date>date:2017-10-30</local-date>");
     }
 
     public void testLocalDateConversionExceptionContainsInvalidValue() {
@@ -274,6 +304,17 @@ public class TimeTypesTest extends AbstractAcceptanceTest {
             "<local-date-time>2017-10-30T20:40:15.000000009</local-date-time>");
         assertEquals(LocalDateTime.of(2017, 7, 30, 20, 40), xstream.fromXML(
             "<local-date-time>2017-07-30T20:40</local-date-time>"));
+        assertEquals(LocalDateTime.of(2017, 7, 30, 20, 40, 15, 120000000), xstream.fromXML(
+            "<local-date-time>2017-07-30T20:40:15.12</local-date-time>"));
+        assertBothWays(LocalDateTime.of(-12345, 1, 2, 3, 4, 5, 6000),
+            "<local-date-time>-12345-01-02T03:04:05.000006</local-date-time>");
+    }
+
+    public void testLocalDateTimeWithPrimitiveValueWriter() {
+        final LocalDateTime[] dateTimes = {
+            LocalDateTime.of(2017, 10, 30, 20, 40, 15, 123456789), LocalDateTime.of(2017, 10, 30, 0, 0),
+            LocalDateTime.MIN, LocalDateTime.MAX};
+        assertEquals(toXML(dateTimes, false), toXML(dateTimes, true));
     }
 
     public void testLocalDateTimeConversionExceptionContainsInvalidValue() {
@@ -284,6 +325,12 @@ public class TimeTypesTest extends AbstractAcceptanceTest {
             assertEquals(LocalDateTime.class.getName(), e.get("class"));
             assertEquals("2017-13-30T20:40:00", e.get("value"));
         }
+        try {
+            xstream.fromXML("<local-date-time>2017-10-30T20:40:00.1234567890</local-date-time>");
+            fail("Thrown " + ConversionException.class.getName() + " expected");
+        } catch (final ConversionException e) {
+            assertEquals("2017-10-30T20:40:00.1234567890", e.get("value"));
+        }
     }
 
     public void testLocalDateTimeWithOldFormat() {
@@ -316,6 +363,29 @@ public class TimeTypesTest extends AbstractAcceptanceTest {
         assertBothWays(LocalTime.of(10, 30, 20, 1000000), "<local-time>10:30:20.001</local-time>");
         assertBothWays(LocalTime.of(10, 30, 20, 100000000), "<local-time>10:30:20.1</local-time>");
         assertEquals(LocalTime.of(10, 30), xstream.fromXML("<local-time>10:30</local-time>"));
+        assertEquals(LocalTime.of(10, 30, 20), xstream.fromXML("<local-time>10:30:20.000</local-time>"));
+    }
+
+    public void testLocalTimeWithPrimitiveValueWriter() {
+        final LocalTime[] times = {
+            LocalTime.of(10, 30), LocalTime.of(10, 30, 20, 9), LocalTime.of(10, 30, 20, 100000000), LocalTime.MAX};
+        assertEquals(toXML(times, false), toXML(times, true));
+    }
+
+    public void testLocalTimeWithDerivedConverter() {
+        xstream.registerConverter(new LocalTimeConverter() {
+            @Override
+            public String toString(final Object obj) {
+                return super.toString(obj).replace(':', '.');
+            }
+
+            @Override
+            public Object fromString(final String str) {
+                return super.fromString(str.replace('.', ':'));
+            }
+        });
+        assertEquals("<local-time>10.30.20</local-time>", toXML(LocalTime.of(10, 30, 20), true));
+        assertBothWays(LocalTime.of(10, 30), "<local-time>10.30.00</local-time>");
     }
 
     public void testLocalTimeConversionExceptionContainsInvalidValue() {
@@ -1083,4 +1153,11 @@ public class TimeTypesTest extends AbstractAcceptanceTest {
             + "  </java.time.temporal.WeekFields>\n"
             + "</java.time.temporal.WeekFields>"));
     }
+
+    private String toXML(final Object obj, final boolean primitiveValues) {
+        final StringWriter buffer = new StringWriter();
+        // a derived CompactWriter writes formatted values as String
+        xstream.marshal(obj, primitiveValues ? new CompactWriter(buffer) : new CompactWriter(buffer) {});
+        return buffer.toString();
+    }
 }
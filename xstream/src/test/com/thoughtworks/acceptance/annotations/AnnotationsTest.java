@@ -1,6 +1,6 @@
 /*
  * Copyright (C) 2005, 2006 Joe Walnes.
- * Copyright (C) 2006, 2007, 2008, 2014, 2018 XStream Committers.
+ * Copyright (C) 2006, 2007, 2008, 2014, 2018, 2026 XStream Committers.
  * All rights reserved.
  *
  * The software in this package is published under the terms of the BSD
@@ -15,7 +15,9 @@ import java.io.IOException;
 import java.io.ObjectInputStream;
 import java.io.StringReader;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
+import java.util.concurrent.CountDownLatch;
 
 import com.thoughtworks.acceptance.AbstractAcceptanceTest;
 import com.thoughtworks.xstream.XStream;
@@ -210,4 +212,42 @@ public class AnnotationsTest extends AbstractAcceptanceTest {
             + "</second>";
         assertEquals(internalType, xstream.fromXML(xml));
     }
+
+    public void testAreDetectedConcurrently() throws InterruptedException {
+        final String xml = xstream.toXML(new ParameterizedContainer());
+        xstream = createXStream();
+        final CountDownLatch start = new CountDownLatch(1);
+        final List<Object> results = Collections.synchronizedList(new ArrayList<>());
+        final Thread[] threads = new Thread[8];
+        for (int i = 0; i < threads.length; ++i) {
+            threads[i] = new Thread(() -> {
+                try {
+                    start.await();
+                    results.add(xstream.toXML(new ParameterizedContainer()));
+                } catch (final Throwable e) {
+                    results.add(e);
+                }
+            });
+            threads[i].start();
+        }
+        start.countDown();
+        for (final Thread thread : threads) {
+            thread.join();
+        }
+        assertEquals(Collections.nCopies(threads.length, xml), results);
+    }
+
+    public void testAreDetectedWhileClassIsLocked() throws InterruptedException {
+        final String[] xml = new String[1];
+        final Thread thread = new Thread(() -> xml[0] = xstream.toXML(new InternalType()));
+        synchronized (InternalType.class) {
+            thread.start();
+            thread.join(10000);
+        }
+        assertFalse(thread.isAlive());
+        assertEquals("" //
+            + "<second>\n" //
+            + "  <aliased>value</aliased>\n" //
+            + "</second>", xml[0]);
+    }
 }
@@ -0,0 +1,171 @@
+/*
+ * Copyright (C) 2026 XStream Committers.
+ * All rights reserved.
+ *
+ * The software in this package is published under the terms of the BSD
+ * style license a copy of which has been included with this distribution in
+ * the LICENSE.txt file.
+ *
+ * Created on 17. October 2026
+ */
+package com.thoughtworks.xstream.converters.collections;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.StringWriter;
+import java.util.Arrays;
+
+import com.thoughtworks.acceptance.AbstractAcceptanceTest;
+import com.thoughtworks.acceptance.objects.StandardObject;
+import com.thoughtworks.xstream.XStream;
+import com.thoughtworks.xstream.converters.basic.IntConverter;
+import com.thoughtworks.xstream.io.HierarchicalStreamWriter;
+import com.thoughtworks.xstream.io.WriterWrapper;
+import com.thoughtworks.xstream.io.HierarchicalStreamReader;
+import com.thoughtworks.xstream.io.binary.BinaryStreamReader;
+import com.thoughtworks.xstream.io.binary.BinaryStreamWriter;
+import com.thoughtworks.xstream.io.copy.HierarchicalStreamCopier;
+import com.thoughtworks.xstream.io.xml.CompactWriter;
+
+
+public class PrimitiveArrayConverterTest extends AbstractAcceptanceTest {
+
+    public static class Arrays3 extends StandardObject {
+        private static final long serialVersionUID = 202610L;
+        int[] ints;
+        long[] longs;
+        double[] doubles;
+        String text;
+    }
+
+    private Arrays3 createArrays() {
+        final Arrays3 arrays = new Arrays3();
+        arrays.ints = new int[]{0, -1, Integer.MIN_VALUE, Integer.MAX_VALUE};
+        arrays.longs = new long[]{Long.MIN_VALUE, 42, Long.MAX_VALUE};
+        arrays.doubles = new double[]{-0.0, 1.5, Double.NaN, Double.MIN_VALUE};
+        arrays.text = "text";
+        return arrays;
+    }
+
+    @Override
+    protected void setUp() throws Exception {
+        super.setUp();
+        xstream.alias("arrays", Arrays3.class);
+    }
+
+    public void testWritesSameFormatAsArrayConverter() {
+        final Arrays3 arrays = createArrays();
+        final XStream arrayConverterXStream = createXStream();
+        arrayConverterXStream.alias("arrays", Arrays3.class);
+        arrayConverterXStream.registerConverter(new ArrayConverter(arrayConverterXStream.getMapper()),
+            XStream.PRIORITY_VERY_HIGH);
+        final String expected = arrayConverterXStream.toXML(arrays);
+        assertTrue(expected.contains("<int>-2147483648</int>"));
+        assertEquals(expected, xstream.toXML(arrays));
+        assertEquals(arrays, xstream.fromXML(expected));
+    }
+
+    public void testReadsAllRepresentationsOfTheElementConverters() {
+        final String xml = ""
+            + "<int-array><int>0x10</int><int>-0</int><int>010</int><int>0xFFFFFFFF</int><int>+7</int></int-array>";
+        assertTrue(Arrays.equals(new int[]{16, 0, 8, -1, 7}, (int[])xstream.fromXML(xml)));
+        assertTrue(Arrays.equals(new long[]{255, Long.MIN_VALUE}, (long[])xstream.fromXML(""
+            + "<long-array><long>#ff</long><long>-9223372036854775808</long></long-array>")));
+        assertTrue(Arrays.equals(new int[0], (int[])xstream.fromXML("<int-array/>")));
+    }
+
+    public void testReadsAndWritesLargeArrays() {
+        final int[] ints = new int[1000];
+        for (int i = 0; i < ints.length; ++i) {
+            ints[i] = i * i - 5000;
+        }
+        assertTrue(Arrays.equals(ints, (int[])xstream.fromXML(xstream.toXML(ints))));
+    }
+
+    public void testUsesRegisteredElementConverter() {
+        xstream.registerConverter(new IntConverter() {
+            @Override
+            public String toString(final Object obj) {
+                return "0x" + Integer.toHexString(((Integer)obj).intValue());
+            }
+        });
+        final int[] ints = {255, -1};
+        final String xml = "" //
+            + "<int-array>\n"
+            + "  <int>0xff</int>\n"
+            + "  <int>0xffffffff</int>\n"
+            + "</int-array>";
+        assertEquals(xml, xstream.toXML(ints));
+        assertTrue(Arrays.equals(ints, (int[])xstream.fromXML(xml)));
+
+        final ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+        xstream.marshal(ints, new BinaryStreamWriter(buffer, BinaryStreamWriter.FORMAT_VERSION_2));
+        final StringWriter writer = new StringWriter();
+        new HierarchicalStreamCopier().copy(new BinaryStreamReader(new ByteArrayInputStream(buffer.toByteArray())),
+            new CompactWriter(writer));
+        assertEquals("<int-array><int>0xff</int><int>0xffffffff</int></int-array>", writer.toString());
+    }
+
+    public void testWritesElementsThroughWrappedWriter() {
+        final StringWriter buffer = new StringWriter();
+        final HierarchicalStreamWriter writer = new WriterWrapper(new BinaryStreamWriter(new ByteArrayOutputStream(),
+            BinaryStreamWriter.FORMAT_VERSION_2)) {
+            @Override
+            public void setValue(final String text) {
+                buffer.append(text).append(';');
+                super.setValue(text);
+            }
+        };
+        xstream.marshal(new long[]{1, -2}, writer);
+        assertEquals("1;-2;", buffer.toString());
+    }
+
+    public void testWritesPackedArraysWithBinaryFormatVersion2() {
+        final Arrays3 arrays = createArrays();
+        final int[] sizes = new int[2];
+        for (int version = BinaryStreamWriter.FORMAT_VERSION_1; version <= BinaryStreamWriter.FORMAT_VERSION_2;
+                ++version) {
+            final ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+            xstream.marshal(arrays, new BinaryStreamWriter(buffer, version));
+            final byte[] data = buffer.toByteArray();
+            sizes[version - 1] = data.length;
+            assertEquals(arrays, xstream.unmarshal(new BinaryStreamReader(new ByteArrayInputStream(data))));
+
+            // read the packed elements as single nodes
+            final StringWriter writer = new StringWriter();
+            new HierarchicalStreamCopier().copy(new BinaryStreamReader(new ByteArrayInputStream(data)),
+                new CompactWriter(writer));
+            final StringWriter expected = new StringWriter();
+            xstream.marshal(arrays, new CompactWriter(expected));
+            assertEquals(expected.toString(), writer.toString());
+        }
+        assertTrue(sizes[1] + " < " + sizes[0], sizes[1] < sizes[0]);
+    }
+
+    public void testSkipsPackedArrayWithBinaryFormatVersion2() {
+        final Arrays3 arrays = createArrays();
+        final ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+        xstream.marshal(arrays, new BinaryStreamWriter(buffer, BinaryStreamWriter.FORMAT_VERSION_2));
+
+        final HierarchicalStreamReader reader = new BinaryStreamReader(new ByteArrayInputStream(buffer.toByteArray()));
+        reader.moveDown();
+        assertEquals("ints", reader.getNodeName());
+        assertEquals("int", reader.peekNextChild());
+        reader.moveUp();
+        reader.moveDown();
+        assertEquals("longs", reader.getNodeName());
+        reader.moveDown();
+        assertEquals(String.valueOf(Long.MIN_VALUE), reader.getValue());
+        reader.moveUp();
+        assertTrue(reader.hasMoreChildren());
+        reader.moveUp();
+        reader.moveDown();
+        assertEquals("doubles", reader.getNodeName());
+        reader.moveUp();
+        reader.moveDown();
+        assertEquals("text", reader.getNodeName());
+        assertEquals("text", reader.getValue());
+        reader.moveUp();
+        assertFalse(reader.hasMoreChildren());
+    }
+}
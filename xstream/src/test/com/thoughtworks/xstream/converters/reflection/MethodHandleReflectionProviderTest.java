@@ -0,0 +1,102 @@
+/*
+ * Copyright (C) 2026 XStream Committers.
+ * All rights reserved.
+ *
+ * The software in this package is published under the terms of the BSD
+ * style license a copy of which has been included with this distribution in
+ * the LICENSE.txt file.
+ *
+ * Created on 16. October 2026
+ */
+package com.thoughtworks.xstream.converters.reflection;
+
+import java.lang.reflect.Field;
+import java.net.URL;
+import java.net.URLClassLoader;
+
+import com.thoughtworks.xstream.converters.ConversionException;
+
+
+public class MethodHandleReflectionProviderTest extends PureJavaReflectionProviderTest {
+
+    // inherits tests from superclass, since the provider has the same capabilities
+
+    @Override
+    public ReflectionProvider createReflectionProvider() {
+        return new MethodHandleReflectionProvider();
+    }
+
+    public static class WithFinalFields {
+        final String finalField;
+        final int finalInt;
+
+        public WithFinalFields() {
+            finalField = null;
+            finalInt = 0;
+        }
+    }
+
+    public void testCanWriteFinalFields() {
+        final WithFinalFields thingy = (WithFinalFields)reflectionProvider.newInstance(WithFinalFields.class);
+        reflectionProvider.writeField(thingy, "finalField", "zero", WithFinalFields.class);
+        assertEquals("zero", thingy.finalField);
+        reflectionProvider.writeField(thingy, "finalInt", Integer.valueOf(1), WithFinalFields.class);
+        assertEquals(1, thingy.finalInt);
+    }
+
+    public void testCannotInstantiateAbstractTypes() {
+        try {
+            reflectionProvider.newInstance(Number.class);
+            fail("Thrown " + ConversionException.class.getName() + " expected");
+        } catch (final ConversionException e) {
+            assertEquals(Number.class.getName(), e.get("construction-type"));
+        }
+    }
+
+    public void testRejectsPrimitiveValueOfWrongType() {
+        final WithFinalFields thingy = (WithFinalFields)reflectionProvider.newInstance(WithFinalFields.class);
+        try {
+            reflectionProvider.writeField(thingy, "finalInt", "1", WithFinalFields.class);
+            fail("Thrown " + ObjectAccessException.class.getName() + " expected");
+        } catch (final ObjectAccessException e) {
+            assertEquals(0, thingy.finalInt);
+        }
+    }
+
+    public void testWorksWithoutUnsafe() throws Exception {
+        final URL[] urls = {
+            MethodHandleReflectionProvider.class.getProtectionDomain().getCodeSource().getLocation(),
+            WithFinalFields.class.getProtectionDomain().getCodeSource().getLocation()};
+        try (final URLClassLoader loader = new URLClassLoader(urls, getClass().getClassLoader()) {
+            @Override
+            protected Class<?> loadClass(final String name, final boolean resolve) throws ClassNotFoundException {
+                synchronized (getClassLoadingLock(name)) {
+                    if (name.startsWith("sun.misc.")) {
+                        throw new ClassNotFoundException(name);
+                    }
+                    if (!name.startsWith("com.thoughtworks.xstream.")) {
+                        return super.loadClass(name, resolve);
+                    }
+                    Class<?> type = findLoadedClass(name);
+                    if (type == null) {
+                        type = findClass(name);
+                    }
+                    return type;
+                }
+            }
+        }) {
+            final Class<?> providerType = loader.loadClass(MethodHandleReflectionProvider.class.getName());
+            final Class<?> type = loader.loadClass(WithFinalFields.class.getName());
+            assertNotSame(WithFinalFields.class, type);
+
+            final Object provider = providerType.getConstructor().newInstance();
+            final Object thingy = providerType.getMethod("newInstance", Class.class).invoke(provider, type);
+            providerType
+                .getMethod("writeField", Object.class, String.class, Object.class, Class.class)
+                .invoke(provider, thingy, "finalField", "zero", type);
+            final Field field = type.getDeclaredField("finalField");
+            field.setAccessible(true);
+            assertEquals("zero", field.get(thingy));
+        }
+    }
+}
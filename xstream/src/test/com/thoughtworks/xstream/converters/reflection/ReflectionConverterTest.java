@@ -1,6 +1,6 @@
 /*
  * Copyright (C) 2004, 2005, 2006 Joe Walnes.
- * Copyright (C) 2006, 2007, 2008, 2010, 2013, 2014, 2018, 2019 XStream Committers.
+ * Copyright (C) 2006, 2007, 2008, 2010, 2013, 2014, 2018, 2019, 2026 XStream Committers.
  * All rights reserved.
  *
  * The software in this package is published under the terms of the BSD
@@ -11,9 +11,15 @@
  */
 package com.thoughtworks.xstream.converters.reflection;
 
+import java.util.ArrayList;
+import java.util.LinkedList;
+import java.util.List;
+
 import com.thoughtworks.acceptance.objects.StandardObject;
+import com.thoughtworks.xstream.InitializationException;
 import com.thoughtworks.xstream.XStream;
 import com.thoughtworks.xstream.converters.Converter;
+import com.thoughtworks.xstream.converters.basic.IntConverter;
 import com.thoughtworks.xstream.core.ClassLoaderReference;
 import com.thoughtworks.xstream.core.util.CompositeClassLoader;
 import com.thoughtworks.xstream.core.util.DefaultDriver;
@@ -155,6 +161,95 @@ public class ReflectionConverterTest extends TestCase {
 
     }
 
+    public static class Base extends StandardObject {
+        private static final long serialVersionUID = 202610L;
+        String name;
+        int id;
+    }
+
+    public static class Derived extends Base {
+        private static final long serialVersionUID = 202610L;
+        String name;
+        List<String> tags = new ArrayList<>();
+    }
+
+    public void testFrozenMapperReusesPlansForInstancesOfSameType() {
+        final XStream xstream = new XStream(DefaultDriver.create());
+        xstream.allowTypes(Base.class, Derived.class);
+        xstream.alias("derived", Derived.class);
+        xstream.useAttributeFor(Base.class, "id");
+        xstream.addImplicitCollection(Derived.class, "tags", "tag", String.class);
+        xstream.freezeMapper();
+
+        final List<Derived> list = new ArrayList<>();
+        for (int i = 0; i < 3; ++i) {
+            final Derived derived = new Derived();
+            derived.id = i;
+            ((Base)derived).name = i == 1 ? null : "base" + i;
+            derived.name = "derived" + i;
+            derived.tags.add("t" + i);
+            list.add(derived);
+        }
+
+        final String expected = ""
+            + "<list>\n"
+            + "  <derived id=\"0\">\n"
+            + "    <name defined-in=\"com.thoughtworks.xstream.converters.reflection.ReflectionConverterTest$Base\">base0</name>\n"
+            + "    <name>derived0</name>\n"
+            + "    <tag>t0</tag>\n"
+            + "  </derived>\n"
+            + "  <derived id=\"1\">\n"
+            + "    <name>derived1</name>\n"
+            + "    <tag>t1</tag>\n"
+            + "  </derived>\n"
+            + "  <derived id=\"2\">\n"
+            + "    <name defined-in=\"com.thoughtworks.xstream.converters.reflection.ReflectionConverterTest$Base\">base2</name>\n"
+            + "    <name>derived2</name>\n"
+            + "    <tag>t2</tag>\n"
+            + "  </derived>\n"
+            + "</list>";
+        final String xml = xstream.toXML(list);
+        assertEquals(expected, xml);
+        assertEquals(list, xstream.fromXML(xml));
+        assertEquals(xml, xstream.toXML(xstream.fromXML(xml)));
+    }
+
+    public void testFrozenMapperProtectsEveryInputOfPlans() {
+        final XStream xstream = new XStream(DefaultDriver.create());
+        xstream.allowTypes(Base.class, Derived.class);
+        xstream.alias("derived", Derived.class);
+        xstream.useAttributeFor(Base.class, "id");
+        xstream.freezeMapper();
+
+        final Derived derived = new Derived();
+        derived.id = 42;
+        derived.name = "derived";
+        final String xml = xstream.toXML(derived);
+        assertEquals(derived, xstream.fromXML(xml));
+
+        final List<Runnable> changes = new ArrayList<>();
+        changes.add(() -> xstream.registerConverter(new IntConverter() {
+            @Override
+            public String toString(final Object obj) {
+                return "#" + obj;
+            }
+        }, XStream.PRIORITY_VERY_HIGH));
+        changes.add(() -> xstream.aliasAttribute("key", "id"));
+        changes.add(() -> xstream.useAttributeFor(Derived.class, "name"));
+        changes.add(() -> xstream.addDefaultImplementation(LinkedList.class, List.class));
+        changes.add(() -> xstream.addImplicitCollection(Derived.class, "tags"));
+        for (final Runnable change : changes) {
+            try {
+                change.run();
+                fail("Thrown " + InitializationException.class.getName() + " expected");
+            } catch (final InitializationException e) {
+                // OK
+            }
+        }
+        assertEquals(xml, xstream.toXML(derived));
+        assertEquals(derived, xstream.fromXML(xml));
+    }
+
     static class CustomReflectionConverter extends ReflectionConverter {
 
         public CustomReflectionConverter(final Mapper mapper, final ReflectionProvider reflectionProvider) {
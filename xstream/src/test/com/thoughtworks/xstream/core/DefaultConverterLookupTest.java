@@ -1,6 +1,6 @@
 /*
  * Copyright (C) 2006 Joe Walnes.
- * Copyright (C) 2006, 2007 XStream Committers.
+ * Copyright (C) 2006, 2007, 2026 XStream Committers.
  * All rights reserved.
  *
  * The software in this package is published under the terms of the BSD
@@ -11,15 +11,27 @@
  */
 package com.thoughtworks.xstream.core;
 
+import java.lang.ref.PhantomReference;
+import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.util.ArrayList;
 import java.util.BitSet;
+import java.util.List;
 
 import junit.framework.TestCase;
 
 import com.thoughtworks.xstream.XStream;
+import com.thoughtworks.xstream.converters.ConversionException;
 import com.thoughtworks.xstream.converters.Converter;
+import com.thoughtworks.xstream.converters.MarshallingContext;
 import com.thoughtworks.xstream.converters.SingleValueConverterWrapper;
+import com.thoughtworks.xstream.converters.UnmarshallingContext;
 import com.thoughtworks.xstream.converters.basic.StringConverter;
 import com.thoughtworks.xstream.converters.collections.BitSetConverter;
+import com.thoughtworks.xstream.io.HierarchicalStreamReader;
+import com.thoughtworks.xstream.io.HierarchicalStreamWriter;
 
 /**
  * @author Guilherme Silveira
@@ -41,4 +53,118 @@ public class DefaultConverterLookupTest extends TestCase {
 		assertEquals(lookup.lookupConverterForType(String.class), newConverter);
 	}
 
+	public void testFlushCacheForgetsSelectedConverter() {
+		final DefaultConverterLookup lookup = new DefaultConverterLookup();
+		final Converter stringConverter = new SingleValueConverterWrapper(new StringConverter());
+		lookup.registerConverter(stringConverter, 0);
+		assertSame(stringConverter, lookup.lookupConverterForType(String.class));
+		lookup.flushCache();
+		assertSame(stringConverter, lookup.lookupConverterForType(String.class));
+	}
+
+	public void testFailedLookupIsNotCached() {
+		final DefaultConverterLookup lookup = new DefaultConverterLookup();
+		try {
+			lookup.lookupConverterForType(BitSet.class);
+			fail("Thrown " + ConversionException.class.getName() + " expected");
+		} catch (final ConversionException e) {
+			assertEquals("No converter specified", e.getShortMessage());
+		}
+		final Converter bitSetConverter = new BitSetConverter();
+		lookup.registerConverter(bitSetConverter, 0);
+		assertSame(bitSetConverter, lookup.lookupConverterForType(BitSet.class));
+	}
+
+	public void testConcurrentLookup() throws InterruptedException {
+		final DefaultConverterLookup lookup = new DefaultConverterLookup();
+		final Converter stringConverter = new SingleValueConverterWrapper(new StringConverter());
+		final Converter bitSetConverter = new BitSetConverter();
+		lookup.registerConverter(stringConverter, 0);
+		lookup.registerConverter(bitSetConverter, 0);
+		final List<Throwable> errors = new ArrayList<>();
+		final Thread[] threads = new Thread[8];
+		for (int i = 0; i < threads.length; ++i) {
+			threads[i] = new Thread(() -> {
+				try {
+					for (int j = 0; j < 1000; ++j) {
+						assertSame(stringConverter, lookup.lookupConverterForType(String.class));
+						assertSame(bitSetConverter, lookup.lookupConverterForType(BitSet.class));
+						if (j % 100 == 0) {
+							lookup.flushCache();
+						}
+					}
+				} catch (final Throwable e) {
+					synchronized (errors) {
+						errors.add(e);
+					}
+				}
+			});
+			threads[i].start();
+		}
+		for (final Thread thread : threads) {
+			thread.join();
+		}
+		assertEquals(errors.toString(), 0, errors.size());
+	}
+
+	public void testDoesNotKeepDiscardedXStreamAlive() throws InterruptedException {
+		XStream xstream = new XStream();
+		xstream.allowTypes(DefaultConverterLookupTest.class);
+		final List<Object> list = new ArrayList<>();
+		list.add("string");
+		list.add(new BitSet());
+		assertEquals(list, xstream.fromXML(xstream.toXML(list)));
+		final ReferenceQueue<XStream> refQueue = new ReferenceQueue<>();
+		final Reference<XStream> ref = new PhantomReference<>(xstream, refQueue);
+		xstream = null;
+
+		int i = 0;
+		while (refQueue.poll() == null) {
+			assertTrue("XStream still alive even after " + i + " forced garbage collections", i++ < 5);
+			Thread.sleep(10);
+			System.gc();
+		}
+		ref.clear();
+	}
+
+	public void testDoesNotKeepClassLoaderOfCachedTypeAlive() throws Exception {
+		final DefaultConverterLookup lookup = new DefaultConverterLookup();
+		final Converter converter = new Converter() {
+			@Override
+			public boolean canConvert(final Class<?> type) {
+				return type != null;
+			}
+
+			@Override
+			public void marshal(final Object source, final HierarchicalStreamWriter writer,
+					final MarshallingContext context) {
+				throw new UnsupportedOperationException();
+			}
+
+			@Override
+			public Object unmarshal(final HierarchicalStreamReader reader, final UnmarshallingContext context) {
+				throw new UnsupportedOperationException();
+			}
+		};
+		lookup.registerConverter(converter, 0);
+		final URL url = Cached.class.getProtectionDomain().getCodeSource().getLocation();
+		URLClassLoader loader = new URLClassLoader(new URL[]{url}, null);
+		assertSame(converter, lookup.lookupConverterForType(loader.loadClass(Cached.class.getName())));
+		final ReferenceQueue<ClassLoader> refQueue = new ReferenceQueue<>();
+		final Reference<ClassLoader> ref = new PhantomReference<>(loader, refQueue);
+		loader.close();
+		loader = null;
+
+		int i = 0;
+		while (refQueue.poll() == null) {
+			assertTrue("Class loader still alive even after " + i + " forced garbage collections", i++ < 5);
+			Thread.sleep(10);
+			System.gc();
+		}
+		ref.clear();
+		assertSame(converter, lookup.lookupConverterForType(Cached.class));
+	}
+
+	public static class Cached {
+	}
 }
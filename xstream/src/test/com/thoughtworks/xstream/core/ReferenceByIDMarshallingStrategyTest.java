@@ -1,5 +1,5 @@
 /*
- * Copyright (C) 2006, 2007, 2009, 2018 XStream Committers.
+ * Copyright (C) 2006, 2007, 2009, 2018, 2026 XStream Committers.
  * All rights reserved.
  *
  * The software in this package is published under the terms of the BSD
@@ -15,6 +15,7 @@ import java.util.ArrayList;
 import com.thoughtworks.acceptance.AbstractAcceptanceTest;
 import com.thoughtworks.acceptance.someobjects.WithNamedList;
 import com.thoughtworks.xstream.XStream;
+import com.thoughtworks.xstream.converters.ConversionException;
 
 
 public class ReferenceByIDMarshallingStrategyTest extends AbstractAcceptanceTest {
@@ -62,4 +63,30 @@ public class ReferenceByIDMarshallingStrategyTest extends AbstractAcceptanceTest
 
         assertBothWays(another, expected);
     }
+
+    public void testReusedContextsStartWithFreshState() {
+        xstream.alias("list", List.class);
+        final List list = new List();
+        list.o = new Object();
+        list.list.add(list.o);
+
+        final String expected = "" //
+            + "<list id=\"1\">\n"
+            + "  <o id=\"2\"/>\n"
+            + "  <list id=\"3\">\n"
+            + "    <object reference=\"2\"/>\n"
+            + "  </list>\n"
+            + "</list>";
+
+        for (int i = 0; i < 3; ++i) {
+            assertBothWays(list, expected);
+        }
+        try {
+            xstream.fromXML("<list id=\"1\"><o reference=\"2\"/></list>");
+            fail("Thrown " + ConversionException.class.getName() + " expected");
+        } catch (final ConversionException e) {
+            assertEquals("2", e.get("reference"));
+        }
+        assertBothWays(list, expected);
+    }
 }
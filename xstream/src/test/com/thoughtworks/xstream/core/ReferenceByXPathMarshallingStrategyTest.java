@@ -1,6 +1,6 @@
 /*
  * Copyright (C) 2004 Joe Walnes.
- * Copyright (C) 2006, 2007, 2015, 2018 XStream Committers.
+ * Copyright (C) 2006, 2007, 2015, 2018, 2026 XStream Committers.
  * All rights reserved.
  *
  * The software in this package is published under the terms of the BSD
@@ -22,7 +22,7 @@ import com.thoughtworks.acceptance.AbstractAcceptanceTest;
 import com.thoughtworks.acceptance.objects.StandardObject;
 import com.thoughtworks.xstream.XStream;
 import com.thoughtworks.xstream.converters.ConverterLookup;
-import com.thoughtworks.xstream.core.util.ObjectIdDictionary;
+import com.thoughtworks.xstream.core.util.ObjectIdMap;
 import com.thoughtworks.xstream.io.HierarchicalStreamReader;
 import com.thoughtworks.xstream.io.HierarchicalStreamWriter;
 import com.thoughtworks.xstream.io.path.Path;
@@ -102,6 +102,27 @@ public class ReferenceByXPathMarshallingStrategyTest extends AbstractAcceptanceT
         assertBothWays(list, expected);
     }
 
+    public void testReusedContextsStartWithFreshState() {
+        xstream.setMode(XStream.XPATH_RELATIVE_REFERENCES);
+
+        final Thing b = new Thing("b");
+        final List<Thing> list = new ArrayList<Thing>();
+        list.add(b);
+        list.add(b);
+
+        final String expected = ""
+            + "<list>\n"
+            + "  <thing>\n"
+            + "    <name>b</name>\n"
+            + "  </thing>\n"
+            + "  <thing reference=\"../thing\"/>\n"
+            + "</list>";
+
+        for (int i = 0; i < 3; ++i) {
+            assertBothWays(list, expected);
+        }
+    }
+
     public class CountingXPathStrategy extends ReferenceByXPathMarshallingStrategy {
 
         public CountingXPathStrategy() {
@@ -146,7 +167,7 @@ public class ReferenceByXPathMarshallingStrategyTest extends AbstractAcceptanceT
         xstream.toXML(list);
 
         // assert
-        final ObjectIdDictionary<?> trackedPathsOnMarshal = getReferences(marshallingStrategy.requestedMarshaller);
+        final ObjectIdMap<?> trackedPathsOnMarshal = getReferences(marshallingStrategy.requestedMarshaller);
 
         assertTrue(trackedPathsOnMarshal.containsId(list));
         assertEquals(1, trackedPathsOnMarshal.size());
@@ -221,11 +242,11 @@ public class ReferenceByXPathMarshallingStrategyTest extends AbstractAcceptanceT
         }
     }
 
-    private ObjectIdDictionary<?> getReferences(final ReferenceByXPathMarshaller requestedMarshaller) {
+    private ObjectIdMap<?> getReferences(final ReferenceByXPathMarshaller requestedMarshaller) {
         try {
             final Field field = AbstractReferenceMarshaller.class.getDeclaredField("references");
             field.setAccessible(true);
-            return (ObjectIdDictionary<?>)field.get(requestedMarshaller);
+            return (ObjectIdMap<?>)field.get(requestedMarshaller);
         } catch (final Exception e) {
             throw new RuntimeException(e);
         }
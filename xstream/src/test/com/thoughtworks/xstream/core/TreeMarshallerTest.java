@@ -1,6 +1,6 @@
 /*
  * Copyright (C) 2004, 2005 Joe Walnes.
- * Copyright (C) 2006, 2007, 2018 XStream Committers.
+ * Copyright (C) 2006, 2007, 2018, 2026 XStream Committers.
  * All rights reserved.
  *
  * The software in this package is published under the terms of the BSD
@@ -11,8 +11,11 @@
  */
 package com.thoughtworks.xstream.core;
 
+import java.io.StringWriter;
+
 import com.thoughtworks.acceptance.AbstractAcceptanceTest;
 import com.thoughtworks.xstream.XStream;
+import com.thoughtworks.xstream.io.xml.CompactWriter;
 
 
 public class TreeMarshallerTest extends AbstractAcceptanceTest {
@@ -40,4 +43,51 @@ public class TreeMarshallerTest extends AbstractAcceptanceTest {
             // good
         }
     }
+
+    public void testThrowsExceptionWhenDetectingCircularReferencesInDeepGraph() {
+        final Thing first = new Thing();
+        Thing last = first;
+        for (int i = 0; i < 100; ++i) {
+            last.thing = new Thing();
+            last = last.thing;
+        }
+        last.thing = first;
+
+        try {
+            xstream.toXML(first);
+            fail("expected exception");
+        } catch (final TreeMarshaller.CircularReferenceException expected) {
+            // good
+        }
+
+        last.thing = null;
+        final Thing result = xstream.fromXML(xstream.toXML(first));
+        int depth = 0;
+        for (Thing thing = result; thing.thing != null; thing = thing.thing) {
+            ++depth;
+        }
+        assertEquals(100, depth);
+    }
+
+    public void testDropsParentObjectsOfFailedConversion() {
+        final Thing first = new Thing();
+        Thing last = first;
+        for (int i = 0; i < 100; ++i) {
+            last.thing = new Thing();
+            last = last.thing;
+        }
+        last.thing = first;
+
+        final TreeMarshaller marshaller = new TreeMarshaller(new CompactWriter(new StringWriter()), xstream
+            .getConverterLookup(), xstream.getMapper());
+        try {
+            marshaller.start(first, null);
+            fail("expected exception");
+        } catch (final TreeMarshaller.CircularReferenceException expected) {
+            // good
+        }
+
+        last.thing = null;
+        marshaller.start(first, null);
+    }
 }
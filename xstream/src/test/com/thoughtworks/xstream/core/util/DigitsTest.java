@@ -0,0 +1,61 @@
+/*
+ * Copyright (C) 2026 XStream Committers.
+ * All rights reserved.
+ *
+ * The software in this package is published under the terms of the BSD
+ * style license a copy of which has been included with this distribution in
+ * the LICENSE.txt file.
+ *
+ * Created on 17. October 2026
+ */
+package com.thoughtworks.xstream.core.util;
+
+import junit.framework.TestCase;
+
+
+public class DigitsTest extends TestCase {
+
+    private final char[] buffer = new char[64];
+
+    private String format(final long value) {
+        return new String(buffer, 3, Digits.format(value, buffer, 3) - 3);
+    }
+
+    private String format(final double value) {
+        return new String(buffer, 3, Digits.format(value, buffer, 3) - 3);
+    }
+
+    public void testFormatsLongValuesAsToString() {
+        final long[] values = {
+            0, 1, -1, 9, 10, -10, 99, 100, Integer.MAX_VALUE, Integer.MIN_VALUE, 1234567890123L, Long.MAX_VALUE,
+            Long.MIN_VALUE};
+        for (final long value : values) {
+            assertEquals(Long.toString(value), format(value));
+        }
+    }
+
+    public void testFormatsDoubleValuesAsToString() {
+        final double[] values = {
+            0.0, -0.0, 1.0, -1.0, 42.0, 9999999.0, -9999999.0, 1.0E7, 0.5, 1.0 / 3, 1.0E-3, 1.0E-4, Double.MAX_VALUE,
+            Double.MIN_VALUE, Double.NaN, Double.POSITIVE_INFINITY, Double.NEGATIVE_INFINITY};
+        for (final double value : values) {
+            assertEquals(Double.toString(value), format(value));
+        }
+    }
+
+    public void testFormatsPaddedValues() {
+        assertEquals(4, Digits.format(7, 4, buffer, 0));
+        assertEquals("0007", new String(buffer, 0, 4));
+        assertEquals(2, Digits.format(42, 2, buffer, 0));
+        assertEquals("42", new String(buffer, 0, 2));
+    }
+
+    public void testParsesDigits() {
+        assertEquals(2026, Digits.parse("x2026y", 1, 5));
+        assertEquals(999999999, Digits.parse("999999999", 0, 9));
+        assertEquals(-1, Digits.parse("1234567890", 0, 10));
+        assertEquals(-1, Digits.parse("12a4", 0, 4));
+        assertEquals(-1, Digits.parse("-1", 0, 2));
+        assertEquals(-1, Digits.parse("1", 1, 1));
+    }
+}
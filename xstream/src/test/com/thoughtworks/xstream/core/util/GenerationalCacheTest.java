@@ -0,0 +1,106 @@
+/*
+ * Copyright (C) 2026 XStream Committers.
+ * All rights reserved.
+ *
+ * The software in this package is published under the terms of the BSD
+ * style license a copy of which has been included with this distribution in
+ * the LICENSE.txt file.
+ *
+ * Created on 17. October 2026
+ */
+package com.thoughtworks.xstream.core.util;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicReference;
+
+import junit.framework.TestCase;
+
+
+public class GenerationalCacheTest extends TestCase {
+
+    public void testIsAMap() {
+        final Map<String, String> map = new GenerationalCache<>(16);
+        assertEquals(0, map.size());
+        assertNull(map.put("key", "value"));
+        assertEquals(1, map.size());
+        assertEquals("value", map.get("key"));
+        assertTrue(map.containsKey(new String("key")));
+        assertTrue(map.containsValue(new String("value")));
+        assertEquals("key", map.keySet().iterator().next());
+        assertEquals("value", map.put("key", "test"));
+        final Map<String, String> copy = new HashMap<>(map);
+        assertEquals("test", map.remove("key"));
+        assertEquals(0, map.size());
+        map.putAll(copy);
+        assertEquals(1, map.size());
+        assertEquals("test", map.get("key"));
+        map.clear();
+        assertEquals(0, map.size());
+    }
+
+    public void testIsBounded() {
+        final Map<Integer, String> map = new GenerationalCache<>(100);
+        for (int i = 0; i < 1000; ++i) {
+            map.put(Integer.valueOf(i), String.valueOf(i));
+            assertTrue(map.size() <= 100);
+        }
+        assertEquals("999", map.get(Integer.valueOf(999)));
+        assertNull(map.get(Integer.valueOf(0)));
+    }
+
+    public void testKeepsRecentlyUsedEntries() {
+        final Map<Integer, String> map = new GenerationalCache<>(10);
+        map.put(Integer.valueOf(-1), "keep");
+        for (int i = 0; i < 100; ++i) {
+            map.put(Integer.valueOf(i), String.valueOf(i));
+            assertEquals("keep", map.get(Integer.valueOf(-1)));
+        }
+    }
+
+    public void testRemovesEntryFromAllGenerations() {
+        final Map<String, String> map = new GenerationalCache<>(4);
+        map.put("old", "value");
+        map.put("a", "a");
+        map.put("b", "b");
+        assertTrue(map.containsKey("old"));
+        assertEquals("value", map.put("old", "new"));
+        assertEquals("new", map.remove("old"));
+        assertFalse(map.containsKey("old"));
+        assertNull(map.get("old"));
+    }
+
+    public void testCanBeUsedConcurrently() throws InterruptedException {
+        final Map<Integer, Integer> map = new GenerationalCache<>(64);
+        final AtomicReference<Throwable> failure = new AtomicReference<>();
+        final List<Thread> threads = new ArrayList<>();
+        for (int t = 0; t < 4; ++t) {
+            final int offset = t;
+            threads.add(new Thread(() -> {
+                try {
+                    for (int i = 0; i < 10000; ++i) {
+                        final Integer key = Integer.valueOf((i * 7 + offset) % 200);
+                        final Integer value = map.get(key);
+                        if (value == null) {
+                            map.put(key, key);
+                        } else {
+                            assertEquals(key, value);
+                        }
+                    }
+                } catch (final Throwable e) {
+                    failure.compareAndSet(null, e);
+                }
+            }));
+        }
+        for (final Thread thread : threads) {
+            thread.start();
+        }
+        for (final Thread thread : threads) {
+            thread.join();
+        }
+        assertNull(failure.get());
+        assertTrue(map.size() <= 64 + threads.size());
+    }
+}
@@ -1,6 +1,6 @@
 /*
  * Copyright (C) 2004 Joe Walnes.
- * Copyright (C) 2006, 2007, 2008, 2010, 2011, 2018 XStream Committers.
+ * Copyright (C) 2006, 2007, 2008, 2010, 2011, 2018, 2026 XStream Committers.
  * All rights reserved.
  *
  * The software in this package is published under the terms of the BSD
@@ -14,6 +14,7 @@ package com.thoughtworks.xstream.core.util;
 import junit.framework.TestCase;
 
 
+@SuppressWarnings("deprecation")
 public class ObjectIdDictionaryTest extends TestCase {
 
     public void testMapsIdsToObjectReferences() {
@@ -0,0 +1,115 @@
+/*
+ * Copyright (C) 2026 XStream Committers.
+ * All rights reserved.
+ *
+ * The software in this package is published under the terms of the BSD
+ * style license a copy of which has been included with this distribution in
+ * the LICENSE.txt file.
+ *
+ * Created on 16. October 2026
+ */
+package com.thoughtworks.xstream.core.util;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import junit.framework.TestCase;
+
+
+public class ObjectIdMapTest extends TestCase {
+
+    public void testMapsIdsToObjectReferences() {
+        final ObjectIdMap<String> map = new ObjectIdMap<>();
+        final Object a = new Object();
+        final Object b = new Object();
+        final Object c = new Object();
+        map.associateId(a, "id a");
+        map.associateId(b, "id b");
+        map.associateId(c, "id c");
+        assertEquals("id a", map.lookupId(a));
+        assertEquals("id b", map.lookupId(b));
+        assertEquals("id c", map.lookupId(c));
+        assertEquals(3, map.size());
+        map.associateId(b, "id B");
+        assertEquals("id B", map.lookupId(b));
+        assertEquals(3, map.size());
+    }
+
+    public void testTreatsObjectsThatAreEqualButNotSameInstanceAsDifferentReference() {
+        final ObjectIdMap<String> map = new ObjectIdMap<>();
+        final String a = new String("JUnit");
+        final String b = new String("JUnit");
+        map.associateId(a, "id a");
+        assertFalse(map.containsId(b));
+        map.associateId(b, "id b");
+        assertEquals("id a", map.lookupId(a));
+        assertEquals("id b", map.lookupId(b));
+    }
+
+    public void testKeepsObjectsWithNullId() {
+        final ObjectIdMap<String> map = new ObjectIdMap<>();
+        final Object a = new Object();
+        map.associateId(a, null);
+        assertTrue(map.containsId(a));
+        assertNull(map.lookupId(a));
+    }
+
+    public void testGrowsAndRemovesEntries() {
+        final ObjectIdMap<Integer> map = new ObjectIdMap<>(2);
+        final List<Object> objects = new ArrayList<>();
+        for (int i = 0; i < 1000; ++i) {
+            final Object obj = new Object();
+            objects.add(obj);
+            map.associateId(obj, Integer.valueOf(i));
+        }
+        assertEquals(1000, map.size());
+        for (int i = 0; i < 1000; i += 2) {
+            map.removeId(objects.get(i));
+        }
+        assertEquals(500, map.size());
+        for (int i = 0; i < 1000; ++i) {
+            final Object obj = objects.get(i);
+            if (i % 2 == 0) {
+                assertFalse(map.containsId(obj));
+            } else {
+                assertEquals(Integer.valueOf(i), map.lookupId(obj));
+            }
+        }
+        map.removeId(new Object());
+        assertEquals(500, map.size());
+    }
+
+    public void testCanBeReusedAfterClear() {
+        final ObjectIdMap<String> map = new ObjectIdMap<>();
+        final Object a = new Object();
+        final Object b = new Object();
+        map.associateId(a, "id a");
+        map.clear();
+        assertEquals(0, map.size());
+        assertFalse(map.containsId(a));
+        map.associateId(b, "id b");
+        assertEquals("id b", map.lookupId(b));
+        assertEquals(1, map.size());
+    }
+
+    public void testShrinksLargeMapOnClear() {
+        final ObjectIdMap<String> map = new ObjectIdMap<>();
+        final int initialCapacity = map.capacity();
+        for (int i = 0; i < 100; ++i) {
+            map.associateId(new Object(), "id");
+        }
+        final int retainedCapacity = map.capacity();
+        map.clear();
+        assertEquals(retainedCapacity, map.capacity());
+
+        for (int i = 0; i < 10000; ++i) {
+            map.associateId(new Object(), "id");
+        }
+        map.clear();
+        assertEquals(initialCapacity, map.capacity());
+        final Object a = new Object();
+        map.associateId(a, "id a");
+        assertEquals("id a", map.lookupId(a));
+        assertEquals(1, map.size());
+    }
+}
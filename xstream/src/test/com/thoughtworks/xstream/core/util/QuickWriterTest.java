@@ -1,5 +1,5 @@
 /*
- * Copyright (C) 2009, 2018, 2023 XStream Committers.
+ * Copyright (C) 2009, 2018, 2023, 2026 XStream Committers.
  * All rights reserved.
  *
  * The software in this package is published under the terms of the BSD
@@ -71,4 +71,13 @@ public class QuickWriterTest extends TestCase {
             assertEquals("flushed", 1024, stringWriter.getBuffer().length());
         }
     }
+
+    public void testWritesRangeOfCharacters() {
+        final StringWriter stringWriter = new StringWriter();
+        try (QuickWriter writer = new QuickWriter(stringWriter, 4)) {
+            writer.write("Joe Walnes".toCharArray(), 1, 2);
+            writer.write("Joe Walnes".toCharArray(), 3, 7);
+        }
+        assertEquals("oe Walnes", stringWriter.toString());
+    }
 }
@@ -1,6 +1,6 @@
 /*
  * Copyright (C) 2005 Joe Walnes.
- * Copyright (C) 2006, 2007, 2011, 2013, 2014, 2016, 2018, 2019, 2021 XStream Committers.
+ * Copyright (C) 2006, 2007, 2011, 2013, 2014, 2016, 2018, 2019, 2021, 2026 XStream Committers.
  * All rights reserved.
  *
  * The software in this package is published under the terms of the BSD
@@ -21,7 +21,11 @@ import com.thoughtworks.xstream.XStream;
 import com.thoughtworks.xstream.converters.UnmarshallingContext;
 import com.thoughtworks.xstream.converters.collections.CollectionConverter;
 import com.thoughtworks.xstream.io.binary.BinaryStreamDriver;
+import com.thoughtworks.xstream.io.binary.BinaryStreamWriter;
+import com.thoughtworks.xstream.io.json.AbstractJsonWriter;
 import com.thoughtworks.xstream.io.json.JettisonMappedXmlDriver;
+import com.thoughtworks.xstream.io.json.JsonHierarchicalStreamDriver;
+import com.thoughtworks.xstream.io.naming.NoNameCoder;
 import com.thoughtworks.xstream.io.xml.BEAStaxDriver;
 import com.thoughtworks.xstream.io.xml.Dom4JDriver;
 import com.thoughtworks.xstream.io.xml.DomDriver;
@@ -31,6 +35,7 @@ import com.thoughtworks.xstream.io.xml.KXml2DomDriver;
 import com.thoughtworks.xstream.io.xml.KXml2Driver;
 import com.thoughtworks.xstream.io.xml.MXParserDomDriver;
 import com.thoughtworks.xstream.io.xml.MXParserDriver;
+import com.thoughtworks.xstream.io.xml.NativeXmlDriver;
 import com.thoughtworks.xstream.io.xml.SimpleStaxDriver;
 import com.thoughtworks.xstream.io.xml.StandardStaxDriver;
 import com.thoughtworks.xstream.io.xml.StaxDriver;
@@ -57,12 +62,14 @@ public class DriverEndToEndTestSuite extends TestSuite {
         super(DriverEndToEndTestSuite.class.getName());
         addDriverTest(new BEAStaxDriver());
         addDriverTest(new BinaryStreamDriver());
+        addDriverTest(new BinaryStreamDriver(BinaryStreamWriter.FORMAT_VERSION_2));
         addDriverTest(new Dom4JDriver());
         addDriverTest(new DomDriver());
         addDriverTest(new JDomDriver());
         addDriverTest(new JDom2Driver());
         addDriverTest(new KXml2DomDriver());
         addDriverTest(new KXml2Driver());
+        addDriverTest(new NativeXmlDriver());
         addDriverTest(new StaxDriver());
         addDriverTest(new StandardStaxDriver());
         addDriverTest(new SimpleStaxDriver());
@@ -75,6 +82,7 @@ public class DriverEndToEndTestSuite extends TestSuite {
         addDriverTest(new XppDomDriver());
         addDriverTest(new XppDriver());
         addDriverTest(new JettisonMappedXmlDriver());
+        addDriverTest(new JsonHierarchicalStreamDriver(AbstractJsonWriter.EXPLICIT_MODE, new NoNameCoder()));
     }
 
     private void testObject(final HierarchicalStreamDriver driver) {
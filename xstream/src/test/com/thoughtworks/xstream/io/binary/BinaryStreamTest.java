@@ -1,6 +1,6 @@
 /*
  * Copyright (C) 2006 Joe Walnes.
- * Copyright (C) 2006, 2007, 2011, 2015, 2016, 2018, 2019, 2021 XStream Committers.
+ * Copyright (C) 2006, 2007, 2011, 2015, 2016, 2018, 2019, 2021, 2026 XStream Committers.
  * All rights reserved.
  *
  * The software in this package is published under the terms of the BSD
@@ -13,10 +13,16 @@ package com.thoughtworks.xstream.io.binary;
 
 import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
 import java.io.StringReader;
+import java.util.Arrays;
 
 import com.thoughtworks.xstream.io.HierarchicalStreamReader;
 import com.thoughtworks.xstream.io.HierarchicalStreamWriter;
+import com.thoughtworks.xstream.io.StreamException;
 import com.thoughtworks.xstream.io.copy.HierarchicalStreamCopier;
 import com.thoughtworks.xstream.io.xml.AbstractReaderTest;
 import com.thoughtworks.xstream.io.xml.MXParserDriver;
@@ -79,4 +85,320 @@ public class BinaryStreamTest extends AbstractReaderTest {
             }
         }
     }
+
+    public void testWritesSameBytesAsTokenFormatter() throws IOException {
+        final char[] chars = new char[70000];
+        Arrays.fill(chars, '\u20ac');
+        final String huge = new String(chars);
+        final String large = huge.substring(0, 10000) + "\u0000";
+
+        final ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+        try (final HierarchicalStreamWriter binaryWriter = new BinaryStreamWriter(buffer)) {
+            binaryWriter.startNode("root");
+            binaryWriter.addAttribute("attr", "ä");
+            binaryWriter.setValue(huge);
+            for (int i = 0; i < 300; i++) {
+                binaryWriter.startNode("node" + i);
+                binaryWriter.endNode();
+            }
+            binaryWriter.startNode("node299");
+            binaryWriter.setValue(large);
+            binaryWriter.endNode();
+            binaryWriter.endNode();
+        }
+
+        final ByteArrayOutputStream expected = new ByteArrayOutputStream();
+        try (final DataOutputStream out = new DataOutputStream(expected)) {
+            final Token.Formatter formatter = new Token.Formatter();
+            formatter.write(out, new Token.MapIdToValue(1, "root"));
+            formatter.write(out, new Token.StartNode(1));
+            formatter.write(out, new Token.MapIdToValue(2, "attr"));
+            formatter.write(out, new Token.Attribute(2, "ä"));
+            formatter.write(out, new Token.Value(huge));
+            for (int i = 0; i < 300; i++) {
+                formatter.write(out, new Token.MapIdToValue(i + 3, "node" + i));
+                formatter.write(out, new Token.StartNode(i + 3));
+                formatter.write(out, new Token.EndNode());
+            }
+            formatter.write(out, new Token.StartNode(302));
+            formatter.write(out, new Token.Value(large));
+            formatter.write(out, new Token.EndNode());
+            formatter.write(out, new Token.EndNode());
+        }
+        assertTrue(Arrays.equals(expected.toByteArray(), buffer.toByteArray()));
+
+        try (final HierarchicalStreamReader binaryReader = new BinaryStreamReader(new ByteArrayInputStream(buffer
+            .toByteArray()))) {
+            assertEquals("ä", binaryReader.getAttribute("attr"));
+            assertEquals(huge, binaryReader.getValue());
+            for (int i = 0; i < 300; i++) {
+                binaryReader.moveDown();
+                binaryReader.moveUp();
+            }
+            binaryReader.moveDown();
+            assertEquals("node299", binaryReader.getNodeName());
+            assertEquals(large, binaryReader.getValue());
+            binaryReader.moveUp();
+            assertFalse(binaryReader.hasMoreChildren());
+        }
+    }
+
+    public void testWritesDocumentWithoutFlush() {
+        final ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+        final HierarchicalStreamWriter binaryWriter = new BinaryStreamWriter(buffer);
+        binaryWriter.startNode("root");
+        binaryWriter.setValue("text");
+        assertEquals(0, buffer.size());
+        binaryWriter.endNode();
+        assertTrue(buffer.size() > 0);
+
+        final HierarchicalStreamReader binaryReader = new BinaryStreamReader(new ByteArrayInputStream(buffer
+            .toByteArray()));
+        assertEquals("root", binaryReader.getNodeName());
+        assertEquals("text", binaryReader.getValue());
+    }
+
+    public void testReadsConsecutiveDocuments() {
+        for (int version = BinaryStreamWriter.FORMAT_VERSION_1; version <= BinaryStreamWriter.FORMAT_VERSION_2;
+                ++version) {
+            final ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+            for (int i = 0; i < 3; ++i) {
+                final HierarchicalStreamWriter binaryWriter = new BinaryStreamWriter(buffer, version);
+                binaryWriter.startNode("root" + i);
+                binaryWriter.addAttribute("id", "#" + i);
+                binaryWriter.startNode("child");
+                binaryWriter.setValue("text " + i);
+                binaryWriter.endNode();
+                binaryWriter.endNode();
+                binaryWriter.flush();
+            }
+
+            final ByteArrayInputStream input = new ByteArrayInputStream(buffer.toByteArray());
+            for (int i = 0; i < 3; ++i) {
+                final HierarchicalStreamReader binaryReader = new BinaryStreamReader(input);
+                assertEquals("root" + i, binaryReader.getNodeName());
+                assertEquals("#" + i, binaryReader.getAttribute("id"));
+                binaryReader.moveDown();
+                assertEquals("child", binaryReader.getNodeName());
+                assertEquals("text " + i, binaryReader.getValue());
+                binaryReader.moveUp();
+                assertFalse(binaryReader.hasMoreChildren());
+            }
+            assertEquals(0, input.available());
+        }
+    }
+
+    public void testDriverReadsUnbufferedStreamInBlocks() {
+        final BinaryStreamDriver driver = new BinaryStreamDriver(BinaryStreamWriter.FORMAT_VERSION_2);
+        final ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+        try (final HierarchicalStreamWriter binaryWriter = driver.createWriter(buffer)) {
+            binaryWriter.startNode("root");
+            for (int i = 0; i < 300; i++) {
+                binaryWriter.startNode("node");
+                binaryWriter.setValue("value" + i);
+                binaryWriter.endNode();
+            }
+            binaryWriter.endNode();
+        }
+
+        final int[] reads = new int[1];
+        final InputStream input = new FilterInputStream(new ByteArrayInputStream(buffer.toByteArray())) {
+            @Override
+            public int read(final byte[] b, final int off, final int len) throws IOException {
+                ++reads[0];
+                return super.read(b, off, len);
+            }
+
+            @Override
+            public boolean markSupported() {
+                return false;
+            }
+        };
+        try (final HierarchicalStreamReader binaryReader = driver.createReader(input)) {
+            for (int i = 0; i < 300; i++) {
+                binaryReader.moveDown();
+                assertEquals("value" + i, binaryReader.getValue());
+                binaryReader.moveUp();
+            }
+            assertFalse(binaryReader.hasMoreChildren());
+        }
+        assertTrue("Stream read " + reads[0] + " times", reads[0] < 5);
+    }
+
+    public void testReadsFormatVersion2() {
+        final String text = "\u0000 äöü € \ud83d\ude00 \ud800 \udc00 \ude00\ud83d \ufffd";
+        final char[] chars = new char[20000];
+        Arrays.fill(chars, '\u20ac');
+        chars[chars.length - 1] = '\udbff';
+        final String huge = new String(chars);
+
+        final ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+        try (final BinaryStreamWriter binaryWriter = new BinaryStreamWriter(buffer,
+            BinaryStreamWriter.FORMAT_VERSION_2)) {
+            binaryWriter.startNode("root");
+            binaryWriter.addAttribute("class", "java.lang.String");
+            binaryWriter.startNode("text");
+            binaryWriter.setValue(text);
+            binaryWriter.endNode();
+            binaryWriter.startNode("huge");
+            binaryWriter.setValue(huge);
+            binaryWriter.endNode();
+            binaryWriter.startNode("int");
+            binaryWriter.addAttribute("class", "java.lang.String");
+            binaryWriter.setValue(Integer.MIN_VALUE);
+            binaryWriter.endNode();
+            binaryWriter.startNode("long");
+            binaryWriter.setValue(-1L);
+            binaryWriter.endNode();
+            binaryWriter.startNode("double");
+            binaryWriter.setValue(-0.0);
+            binaryWriter.endNode();
+            binaryWriter.startNode("boolean");
+            binaryWriter.setValue(true);
+            binaryWriter.endNode();
+            binaryWriter.endNode();
+        }
+
+        try (final HierarchicalStreamReader binaryReader = new BinaryStreamReader(new ByteArrayInputStream(buffer
+            .toByteArray()))) {
+            assertEquals("java.lang.String", binaryReader.getAttribute("class"));
+            final String[][] expected = {
+                {"text", text}, {"huge", huge}, {"int", "-2147483648"}, {"long", "-1"},
+                {"double", "-0.0"}, {"boolean", "true"}};
+            for (final String[] element : expected) {
+                binaryReader.moveDown();
+                assertEquals(element[0], binaryReader.getNodeName());
+                assertEquals(element[1], binaryReader.getValue());
+                if (element[0].equals("int")) {
+                    assertEquals("java.lang.String", binaryReader.getAttribute("class"));
+                }
+                binaryReader.moveUp();
+            }
+            assertFalse(binaryReader.hasMoreChildren());
+        }
+    }
+
+    public void testRejectsTooManyValueDefinitions() {
+        final ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+        try (final BinaryStreamWriter binaryWriter = new BinaryStreamWriter(buffer,
+            BinaryStreamWriter.FORMAT_VERSION_2)) {
+            binaryWriter.startNode("root");
+            for (int i = 0; i <= BinaryStreamWriter.MAX_DICTIONARY_SIZE; i++) {
+                binaryWriter.startNode("value");
+                binaryWriter.setValue(i < BinaryStreamWriter.MAX_DICTIONARY_SIZE ? "v" + i : "zz");
+                binaryWriter.endNode();
+            }
+            binaryWriter.endNode();
+        }
+
+        // turn the last value exceeding the dictionary of the writer into a definition
+        final byte[] data = buffer.toByteArray();
+        final int last = data.length - 6;
+        assertEquals('z', data[last + 2]);
+        assertEquals(Token.TYPE_VALUE + Token.VALUE_STRING, data[last]);
+        data[last] = Token.TYPE_VALUE + Token.VALUE_DEFINITION;
+
+        try (final HierarchicalStreamReader binaryReader = new BinaryStreamReader(new ByteArrayInputStream(data))) {
+            for (int i = 0; i < BinaryStreamWriter.MAX_DICTIONARY_SIZE; i++) {
+                binaryReader.moveDown();
+                assertEquals("v" + i, binaryReader.getValue());
+                binaryReader.moveUp();
+            }
+            binaryReader.moveDown();
+            binaryReader.getValue();
+            fail("Thrown " + StreamException.class.getName() + " expected");
+        } catch (final StreamException e) {
+            assertTrue(e.getMessage().contains("Too many value definitions"));
+        }
+    }
+
+    public void testFormatVersion2IsMoreCompact() {
+        final int[] sizes = new int[2];
+        for (int version = 1; version <= 2; ++version) {
+            final ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+            try (final BinaryStreamWriter binaryWriter = new BinaryStreamWriter(buffer, version)) {
+                binaryWriter.startNode("root");
+                for (int i = 0; i < 300; i++) {
+                    binaryWriter.startNode("node" + i % 3);
+                    binaryWriter.addAttribute("class", "com.thoughtworks.xstream.Item");
+                    binaryWriter.setValue(i * 1000);
+                    binaryWriter.endNode();
+                }
+                binaryWriter.endNode();
+            }
+            sizes[version - 1] = buffer.size();
+        }
+        assertTrue(sizes[0] + " <= " + sizes[1], sizes[1] * 3 < sizes[0]);
+    }
+
+    public void testFailsForUnknownFormatVersion() {
+        try {
+            new BinaryStreamReader(new ByteArrayInputStream(new byte[]{Token.TYPE_VERSION + Token.ID_ONE_BYTE, -125}));
+            fail("Thrown " + StreamException.class.getName() + " expected");
+        } catch (final StreamException e) {
+            assertTrue(e.getMessage().contains("Unsupported format version 3"));
+        }
+    }
+
+    public void testReadsPrimitiveValues() {
+        final ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+        try (final BinaryStreamWriter binaryWriter = new BinaryStreamWriter(buffer,
+            BinaryStreamWriter.FORMAT_VERSION_2)) {
+            binaryWriter.startNode("root");
+            binaryWriter.startNode("int");
+            binaryWriter.setValue(-42);
+            binaryWriter.endNode();
+            binaryWriter.startNode("long");
+            binaryWriter.setValue(Long.MAX_VALUE);
+            binaryWriter.endNode();
+            binaryWriter.startNode("double");
+            binaryWriter.setValue(2.5);
+            binaryWriter.endNode();
+            binaryWriter.startNode("boolean");
+            binaryWriter.setValue(false);
+            binaryWriter.endNode();
+            binaryWriter.startNode("text");
+            binaryWriter.setValue("42");
+            binaryWriter.endNode();
+            binaryWriter.writeArray("item", new int[]{7});
+            binaryWriter.endNode();
+        }
+
+        try (final BinaryStreamReader binaryReader = new BinaryStreamReader(new ByteArrayInputStream(buffer
+            .toByteArray()))) {
+            binaryReader.moveDown();
+            assertSame(int.class, binaryReader.getValueType());
+            assertEquals(-42, binaryReader.getIntValue());
+            assertEquals("-42", binaryReader.getValue());
+            binaryReader.moveUp();
+            binaryReader.moveDown();
+            assertSame(long.class, binaryReader.getValueType());
+            assertEquals(Long.MAX_VALUE, binaryReader.getLongValue());
+            binaryReader.moveUp();
+            binaryReader.moveDown();
+            assertSame(double.class, binaryReader.getValueType());
+            assertEquals(2.5, binaryReader.getDoubleValue(), 0.0);
+            binaryReader.moveUp();
+            binaryReader.moveDown();
+            assertSame(boolean.class, binaryReader.getValueType());
+            assertFalse(binaryReader.getBooleanValue());
+            assertEquals("false", binaryReader.getValue());
+            binaryReader.moveUp();
+            binaryReader.moveDown();
+            assertNull(binaryReader.getValueType());
+            assertEquals("42", binaryReader.getValue());
+            try {
+                binaryReader.getIntValue();
+                fail("Thrown " + StreamException.class.getName() + " expected");
+            } catch (final StreamException e) {
+                assertTrue(e.getMessage().contains("int"));
+            }
+            binaryReader.moveUp();
+            binaryReader.moveDown();
+            assertSame(int.class, binaryReader.getValueType());
+            assertEquals(7, binaryReader.getIntValue());
+            binaryReader.moveUp();
+            assertFalse(binaryReader.hasMoreChildren());
+        }
+    }
 }
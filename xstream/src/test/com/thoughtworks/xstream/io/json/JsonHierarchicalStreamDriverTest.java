@@ -1,6 +1,6 @@
 /*
  * Copyright (C) 2006 Joe Walnes.
- * Copyright (C) 2006, 2007, 2008, 2009, 2011, 2012, 2017, 2018 XStream Committers.
+ * Copyright (C) 2006, 2007, 2008, 2009, 2011, 2012, 2017, 2018, 2026 XStream Committers.
  * All rights reserved.
  *
  * The software in this package is published under the terms of the BSD
@@ -12,12 +12,13 @@
 package com.thoughtworks.xstream.io.json;
 
 import java.awt.Color;
-import java.io.InputStream;
-import java.io.Reader;
+import java.io.ByteArrayInputStream;
+import java.io.StringReader;
 import java.math.BigDecimal;
 import java.math.BigInteger;
 import java.net.MalformedURLException;
 import java.net.URL;
+import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.Calendar;
 import java.util.Collection;
@@ -35,6 +36,7 @@ import com.thoughtworks.acceptance.objects.OwnerOfExternalizable;
 import com.thoughtworks.acceptance.objects.Replaced;
 import com.thoughtworks.acceptance.objects.SomethingExternalizable;
 import com.thoughtworks.xstream.XStream;
+import com.thoughtworks.xstream.io.HierarchicalStreamReader;
 
 import junit.framework.TestCase;
 
@@ -62,22 +64,23 @@ public class JsonHierarchicalStreamDriverTest extends TestCase {
         return expected.replace('\'', '"');
     }
 
-    public void testDoesNotSupportReader() {
-        try {
-            new JsonHierarchicalStreamDriver().createReader((Reader)null);
-            fail("should have barfed");
-        } catch (final UnsupportedOperationException uoe) {
-            // expected
-        }
+    public void testReadsFromReader() {
+        final HierarchicalStreamReader reader = new JsonHierarchicalStreamDriver().createReader(new StringReader(
+            "{'root': {'child': 'a'}}".replace('\'', '"')));
+        assertEquals("root", reader.getNodeName());
+        reader.moveDown();
+        assertEquals("child", reader.getNodeName());
+        assertEquals("a", reader.getValue());
+        reader.close();
     }
 
-    public void testDoesNotSupportInputStream() {
-        try {
-            new JsonHierarchicalStreamDriver().createReader((InputStream)null);
-            fail("should have barfed");
-        } catch (final UnsupportedOperationException uoe) {
-            // expected
-        }
+    public void testReadsFromInputStream() {
+        final byte[] json = "{\"root\": \"\u00e4\u20ac\"}".getBytes(StandardCharsets.UTF_8);
+        final HierarchicalStreamReader reader = new JsonHierarchicalStreamDriver().createReader(
+            new ByteArrayInputStream(json));
+        assertEquals("root", reader.getNodeName());
+        assertEquals("\u00e4\u20ac", reader.getValue());
+        reader.close();
     }
 
     public void testCanMarshalSimpleTypes() {
@@ -0,0 +1,232 @@
+/*
+ * Copyright (C) 2026 XStream Committers.
+ * All rights reserved.
+ *
+ * The software in this package is published under the terms of the BSD
+ * style license a copy of which has been included with this distribution in
+ * the LICENSE.txt file.
+ *
+ * Created on 16. October 2026
+ */
+package com.thoughtworks.xstream.io.json;
+
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.thoughtworks.acceptance.objects.StandardObject;
+import com.thoughtworks.xstream.XStream;
+import com.thoughtworks.xstream.io.HierarchicalStreamReader;
+import com.thoughtworks.xstream.io.StreamException;
+import com.thoughtworks.xstream.io.naming.NameSymbolTable;
+import com.thoughtworks.xstream.io.naming.NoNameCoder;
+
+import junit.framework.TestCase;
+
+
+public class JsonReaderTest extends TestCase {
+
+    public static class Person extends StandardObject {
+        private static final long serialVersionUID = 202610L;
+        String name;
+        int age;
+        long id;
+        double weight;
+        boolean active;
+        char initial;
+        int[] scores;
+        List<String> tags = new ArrayList<>();
+        Map<String, Integer> counts = new HashMap<>();
+        Person friend;
+    }
+
+    private Person createPerson() {
+        final Person person = new Person();
+        person.name = "Joe \"J\" \\ Walnes\nä€\u0001";
+        person.age = 42;
+        person.id = Long.MAX_VALUE;
+        person.weight = 75.5;
+        person.active = true;
+        person.scores = new int[]{1, 2, 3};
+        person.tags.addAll(Arrays.asList("a", "b"));
+        person.counts.put("x", 1);
+        person.friend = new Person();
+        person.friend.name = "Jane";
+        return person;
+    }
+
+    private XStream createXStream(final int mode) {
+        final XStream xstream = new XStream(new JsonHierarchicalStreamDriver(mode, new NoNameCoder()));
+        xstream.allowTypes(Person.class);
+        xstream.alias("person", Person.class);
+        return xstream;
+    }
+
+    private void assertRoundTrip(final int mode, final Object object) {
+        final XStream xstream = createXStream(mode);
+        final String json = xstream.toXML(object);
+        assertEquals(json, xstream.toXML(xstream.fromXML(json)));
+    }
+
+    private HierarchicalStreamReader createReader(final String json, final int mode) {
+        return new JsonReader(new StringReader(json.replace('\'', '"')), mode);
+    }
+
+    public void testReadsObjectWritten() {
+        final Person person = createPerson();
+        final XStream xstream = createXStream(0);
+        assertEquals(person, xstream.fromXML(xstream.toXML(person)));
+    }
+
+    public void testReadsObjectWrittenInExplicitMode() {
+        final Person person = createPerson();
+        final XStream xstream = createXStream(AbstractJsonWriter.EXPLICIT_MODE);
+        assertEquals(person, xstream.fromXML(xstream.toXML(person)));
+    }
+
+    public void testReadsObjectWrittenInIEEE754Mode() {
+        final Person person = createPerson();
+        final XStream xstream = createXStream(AbstractJsonWriter.IEEE_754_MODE);
+        final String json = xstream.toXML(person);
+        assertTrue(json.contains("\"" + Long.MAX_VALUE + "\""));
+        assertEquals(person, xstream.fromXML(json));
+    }
+
+    public void testReadsObjectWrittenInDropRootMode() {
+        final Person person = createPerson();
+        final XStream xstream = createXStream(AbstractJsonWriter.DROP_ROOT_MODE);
+        final String json = xstream.toXML(person);
+        assertTrue(json.startsWith("{\n  \"name\""));
+        assertEquals(person, xstream.unmarshal(new JsonReader(new StringReader(json),
+            AbstractJsonWriter.DROP_ROOT_MODE, "person", new NoNameCoder(), new NameSymbolTable())));
+    }
+
+    public void testReadsObjectWrittenInDropRootModeWithDriver() {
+        final Person person = createPerson();
+        final XStream xstream = new XStream(new JsonHierarchicalStreamDriver(AbstractJsonWriter.DROP_ROOT_MODE,
+            "person", new NoNameCoder()));
+        xstream.allowTypes(Person.class);
+        xstream.alias("person", Person.class);
+        final String json = xstream.toXML(person);
+        assertTrue(json.startsWith("{\n  \"name\""));
+        assertEquals(person, xstream.fromXML(json));
+        assertEquals(json, xstream.toXML(xstream.fromXML(json)));
+    }
+
+    public void testReadsReferencesInExplicitMode() {
+        final Person person = createPerson();
+        final List<Object> list = new ArrayList<>(Arrays.asList(person, person, person.tags, "text", null, 1L));
+        final XStream xstream = createXStream(AbstractJsonWriter.EXPLICIT_MODE);
+        xstream.setMode(XStream.ID_REFERENCES);
+        @SuppressWarnings("unchecked")
+        final List<Object> result = (List<Object>)xstream.fromXML(xstream.toXML(list));
+        assertEquals(list, result);
+        assertSame(result.get(0), result.get(1));
+        assertSame(((Person)result.get(0)).tags, result.get(2));
+    }
+
+    public void testReadsArraysOfValues() {
+        assertRoundTrip(0, new Object[]{"s", 1, null, new int[0], Arrays.asList(3), 4000000000L, 2.5, true});
+        assertRoundTrip(AbstractJsonWriter.IEEE_754_MODE, new Object[]{"s", 1, 9007199254740993L});
+        assertRoundTrip(AbstractJsonWriter.EXPLICIT_MODE, new Object[]{"s", 'c', (byte)1, new int[]{1}});
+    }
+
+    public void testDerivesNamesOfArrayElements() {
+        final HierarchicalStreamReader reader = createReader(
+            "{'a':['s',1,4000000000,1.5,-2e3,true,null,[],{'@class':'x'},'9007199254740993']}", 0);
+        final String[] names = {"string", "int", "long", "double", "double", "boolean", "null", "list", "object",
+            "string"};
+        for (final String name : names) {
+            reader.moveDown();
+            assertEquals(name, reader.getNodeName());
+            reader.moveUp();
+        }
+        assertFalse(reader.hasMoreChildren());
+        reader.close();
+    }
+
+    public void testDerivesNameOfLongAsStringInIEEE754Mode() {
+        final HierarchicalStreamReader reader = createReader("{'a':['9007199254740993','42']}",
+            AbstractJsonWriter.IEEE_754_MODE);
+        reader.moveDown();
+        assertEquals("long", reader.getNodeName());
+        assertEquals("9007199254740993", reader.getValue());
+        reader.moveUp();
+        reader.moveDown();
+        assertEquals("string", reader.getNodeName());
+        reader.moveUp();
+        reader.close();
+    }
+
+    public void testReadsAttributesAndValue() {
+        final HierarchicalStreamReader reader = createReader("{'a':{'@id':'1','@x':'y','$':'text'}}", 0);
+        assertEquals("a", reader.getNodeName());
+        assertEquals(2, reader.getAttributeCount());
+        assertEquals("1", reader.getAttribute("id"));
+        assertEquals("y", reader.getAttribute(1));
+        assertEquals("x", reader.getAttributeName(1));
+        assertNull(reader.getAttribute("$"));
+        assertEquals("text", reader.getValue());
+        assertFalse(reader.hasMoreChildren());
+        reader.close();
+    }
+
+    public void testReadsAttributesInExplicitMode() {
+        final HierarchicalStreamReader reader = createReader(
+            "{'a':[[{'id':'1'}],[{'b':[[],['text']]},{'c':[[],[]]}]]}", AbstractJsonWriter.EXPLICIT_MODE);
+        assertEquals("1", reader.getAttribute("id"));
+        assertEquals("id", reader.getAttributeName(0));
+        assertEquals("b", reader.peekNextChild());
+        reader.moveDown();
+        assertEquals(0, reader.getAttributeCount());
+        assertEquals("text", reader.getValue());
+        reader.moveUp();
+        reader.moveDown();
+        assertEquals("c", reader.getNodeName());
+        assertEquals("", reader.getValue());
+        reader.moveUp();
+        assertFalse(reader.hasMoreChildren());
+        reader.close();
+    }
+
+    public void testReadsTextLongerThanBuffer() {
+        final StringBuilder builder = new StringBuilder();
+        for (int i = 0; i < 20000; ++i) {
+            builder.append((char)('a' + i % 26));
+            if (i % 1000 == 0) {
+                builder.append('\n');
+            }
+        }
+        final String text = builder.toString();
+        final XStream xstream = createXStream(0);
+        assertEquals(text, xstream.fromXML(xstream.toXML(text)));
+    }
+
+    public void testFailsForSingleValueAsRootInStrictMode() {
+        try {
+            createReader("'text'", AbstractJsonWriter.DROP_ROOT_MODE | AbstractJsonWriter.STRICT_MODE);
+            fail("Thrown " + StreamException.class.getName() + " expected");
+        } catch (final StreamException e) {
+            assertTrue(e.getMessage().contains("Single value"));
+        }
+        final HierarchicalStreamReader reader = createReader("'text'", AbstractJsonWriter.DROP_ROOT_MODE);
+        assertEquals("string", reader.getNodeName());
+        assertEquals("text", reader.getValue());
+        reader.close();
+    }
+
+    public void testFailsForInvalidJson() {
+        final HierarchicalStreamReader reader = createReader("{'a':{'b':1 'c':2}}", 0);
+        reader.moveDown();
+        reader.moveUp();
+        try {
+            reader.moveDown();
+            fail("Thrown " + StreamException.class.getName() + " expected");
+        } catch (final StreamException e) {
+            assertTrue(e.getMessage().contains("Unexpected character"));
+        }
+    }
+}
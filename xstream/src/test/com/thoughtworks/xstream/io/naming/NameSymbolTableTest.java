@@ -0,0 +1,60 @@
+/*
+ * Copyright (C) 2026 XStream Committers.
+ * All rights reserved.
+ *
+ * The software in this package is published under the terms of the BSD
+ * style license a copy of which has been included with this distribution in
+ * the LICENSE.txt file.
+ *
+ * Created on 16. October 2026
+ */
+package com.thoughtworks.xstream.io.naming;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import com.thoughtworks.xstream.io.xml.XmlFriendlyNameCoder;
+
+import junit.framework.TestCase;
+
+
+public class NameSymbolTableTest extends TestCase {
+
+    public void testReturnsSameInstanceForEqualNames() {
+        final NameSymbolTable table = new NameSymbolTable();
+        final char[] chars = "<element>".toCharArray();
+        final String name = table.intern(chars, 1, 7);
+        assertEquals("element", name);
+        assertSame(name, table.intern(chars, 1, 7));
+        assertSame(name, table.intern(new String("element")));
+        assertSame(name, table.intern("element".toCharArray(), 0, 7, "element".hashCode()));
+    }
+
+    public void testCachesDecodedNames() {
+        final AtomicInteger calls = new AtomicInteger();
+        final NameCoder nameCoder = new XmlFriendlyNameCoder() {
+            @Override
+            public String decodeNode(final String elementName) {
+                calls.incrementAndGet();
+                return super.decodeNode(elementName);
+            }
+        };
+        final NameSymbolTable table = new NameSymbolTable();
+        final String decoded = table.decodeNode("a_-b", nameCoder);
+        assertEquals("a$b", decoded);
+        assertSame(decoded, table.decodeNode(new String("a_-b"), nameCoder));
+        assertEquals(1, calls.get());
+        assertEquals("a$b", table.decodeAttribute("a_-b", nameCoder));
+        assertEquals(1, calls.get());
+    }
+
+    public void testKeepsOnlyLimitedNumberOfNames() {
+        final NameSymbolTable table = new NameSymbolTable(4);
+        final String first = table.intern(new String("name0"));
+        for (int i = 1; i < 100; ++i) {
+            assertEquals("name" + i, table.intern("name" + i));
+        }
+        final String name = table.intern(new String("name0"));
+        assertEquals(first, name);
+        assertNotSame(first, name);
+    }
+}
@@ -1,6 +1,6 @@
 /*
  * Copyright (C) 2004, 2005 Joe Walnes.
- * Copyright (C) 2006, 2007, 2011, 2018 XStream Committers.
+ * Copyright (C) 2006, 2007, 2011, 2018, 2026 XStream Committers.
  * All rights reserved.
  *
  * The software in this package is published under the terms of the BSD
@@ -152,4 +152,32 @@ public class PathTrackerTest extends TestCase {
         // ...
     }
 
+    public void testPathOfCurrentPositionIsReusedAndComparable() {
+
+        // <root>
+        pathTracker.pushElement("root");
+        final Path root = pathTracker.getPath();
+        assertSame(root, pathTracker.getPath());
+
+        // <child>
+        pathTracker.pushElement("child");
+        final Path child = pathTracker.getPath();
+        // </child>
+        pathTracker.popElement();
+        assertEquals(root, pathTracker.getPath());
+
+        // <child>
+        pathTracker.pushElement("child");
+        // <grandchild>
+        pathTracker.pushElement("grandchild");
+        final Path grandchild = pathTracker.getPath();
+        assertTrue(root.isAncestor(grandchild));
+        assertFalse(child.isAncestor(grandchild));
+        assertFalse(grandchild.isAncestor(root));
+        assertTrue(new Path("/root/child[2]").isAncestor(grandchild));
+        assertTrue(grandchild.isAncestor(new Path("/root/child[2]/grandchild/leaf")));
+        assertEquals(new Path("../child[2]/grandchild"), child.relativeTo(grandchild));
+        assertEquals("/root/child[2]/grandchild", grandchild.toString());
+        assertEquals(new Path("/root/child[2]/grandchild").hashCode(), grandchild.hashCode());
+    }
 }
@@ -1,6 +1,6 @@
 /*
  * Copyright (C) 2004, 2005 Joe Walnes.
- * Copyright (C) 2006, 2007, 2008, 2011, 2018 XStream Committers.
+ * Copyright (C) 2006, 2007, 2008, 2011, 2018, 2026 XStream Committers.
  * All rights reserved.
  *
  * The software in this package is published under the terms of the BSD
@@ -12,6 +12,7 @@
 package com.thoughtworks.xstream.io.xml;
 
 import com.thoughtworks.xstream.io.HierarchicalStreamWriter;
+import com.thoughtworks.xstream.io.PrimitiveValueWriter;
 
 import junit.framework.TestCase;
 
@@ -121,4 +122,41 @@ public abstract class AbstractXMLWriterTest extends TestCase {
 
         assertXmlProducedIs("<parent><child/></parent>");
     }
+
+    public void testWritesPrimitiveValues() {
+        if (!(writer instanceof PrimitiveValueWriter)) {
+            return;
+        }
+        final PrimitiveValueWriter primitiveWriter = (PrimitiveValueWriter)writer;
+        primitiveWriter.startNode("values");
+        primitiveWriter.startNode("int");
+        primitiveWriter.setValue(Integer.MIN_VALUE);
+        primitiveWriter.endNode();
+        primitiveWriter.startNode("long");
+        primitiveWriter.setValue(Long.MIN_VALUE);
+        primitiveWriter.endNode();
+        primitiveWriter.startNode("double");
+        primitiveWriter.setValue(-0.0);
+        primitiveWriter.endNode();
+        primitiveWriter.startNode("double");
+        primitiveWriter.setValue(1234567.0);
+        primitiveWriter.endNode();
+        primitiveWriter.startNode("double");
+        primitiveWriter.setValue(1.0E7);
+        primitiveWriter.endNode();
+        primitiveWriter.startNode("boolean");
+        primitiveWriter.setValue(true);
+        primitiveWriter.endNode();
+        primitiveWriter.startNode("formatted");
+        primitiveWriter.setValue("text", (value, buffer, offset) -> {
+            ((String)value).getChars(0, 4, buffer, offset);
+            return offset + 4;
+        });
+        primitiveWriter.endNode();
+        primitiveWriter.endNode();
+
+        assertXmlProducedIs("<values><int>-2147483648</int><long>-9223372036854775808</long><double>-0.0</double>"
+            + "<double>1234567.0</double><double>1.0E7</double><boolean>true</boolean><formatted>text</formatted>"
+            + "</values>");
+    }
 }
@@ -1,6 +1,6 @@
 /*
  * Copyright (C) 2004, 2005 Joe Walnes.
- * Copyright (C) 2006, 2007, 2009, 2018 XStream Committers.
+ * Copyright (C) 2006, 2007, 2009, 2018, 2026 XStream Committers.
  * All rights reserved.
  *
  * The software in this package is published under the terms of the BSD
@@ -80,6 +80,23 @@ public class CompactWriterTest extends AbstractXMLWriterTest {
         assertXmlProducedIs(expected);
     }
 
+    public void testWritePrimitiveValuesAsCDATA() {
+        final CompactWriter cdataWriter = new CompactWriter(buffer) {
+            @Override
+            protected void writeText(final QuickWriter writer, final String text) {
+                writer.write("<![CDATA[");
+                writer.write(text);
+                writer.write("]]>");
+            }
+        };
+
+        cdataWriter.startNode("tag");
+        cdataWriter.setValue(42);
+        cdataWriter.endNode();
+
+        assertXmlProducedIs("<tag><![CDATA[42]]></tag>");
+    }
+
     public void testAttributesCanBeWritten() {
         writer.startNode("tag");
         writer.addAttribute("hello", "world");
@@ -0,0 +1,111 @@
+/*
+ * Copyright (C) 2026 XStream Committers.
+ * All rights reserved.
+ *
+ * The software in this package is published under the terms of the BSD
+ * style license a copy of which has been included with this distribution in
+ * the LICENSE.txt file.
+ *
+ * Created on 16. October 2026
+ */
+package com.thoughtworks.xstream.io.xml;
+
+import java.io.ByteArrayInputStream;
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+
+import com.thoughtworks.xstream.io.HierarchicalStreamDriver;
+import com.thoughtworks.xstream.io.HierarchicalStreamReader;
+import com.thoughtworks.xstream.io.StreamException;
+
+
+public class NativeXmlReaderTest extends AbstractXMLReaderTest {
+
+    private final HierarchicalStreamDriver driver = new NativeXmlDriver();
+
+    // factory method
+    @Override
+    protected HierarchicalStreamReader createReader(final String xml) throws Exception {
+        return driver.createReader(new StringReader(xml));
+    }
+
+    @Override
+    public void testIsXXEVulnerableWithExternalGeneralEntity() throws Exception {
+        try {
+            super.testIsXXEVulnerableWithExternalGeneralEntity();
+            fail("Thrown " + StreamException.class.getName() + " expected");
+        } catch (final StreamException e) {
+            if (!e.getMessage().contains("resolve entity")) {
+                throw e;
+            }
+        }
+    }
+
+    public void testReadsUtf8EncodedStream() throws Exception {
+        final String xml = "<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n<string a='ä€'>ß€😀</string>";
+        final HierarchicalStreamReader reader = driver.createReader(new ByteArrayInputStream(xml.getBytes(
+            StandardCharsets.UTF_8)));
+        assertEquals("ä€", reader.getAttribute("a"));
+        assertEquals("ß€😀", reader.getValue());
+        reader.close();
+    }
+
+    public void testReadsStreamWithDeclaredEncoding() throws Exception {
+        final String xml = "<?xml version=\"1.0\" encoding=\"ISO-8859-1\"?>\n<string>äöü</string>";
+        final HierarchicalStreamReader reader = driver.createReader(new ByteArrayInputStream(xml.getBytes(
+            StandardCharsets.ISO_8859_1)));
+        assertEquals("äöü", reader.getValue());
+        reader.close();
+    }
+
+    public void testReadsTextLongerThanBuffer() throws Exception {
+        final StringBuilder builder = new StringBuilder();
+        for (int i = 0; i < 20000; ++i) {
+            builder.append((char)('a' + i % 26));
+            if (i % 1000 == 0) {
+                builder.append("€&amp;");
+            }
+        }
+        final String text = builder.toString();
+        final HierarchicalStreamReader reader = driver.createReader(new ByteArrayInputStream(("<root><"
+            + text.substring(0, 100).replaceAll("[^a-z]", "")
+            + ">"
+            + text
+            + "</"
+            + text.substring(0, 100).replaceAll("[^a-z]", "")
+            + "></root>").getBytes(StandardCharsets.UTF_8)));
+        reader.moveDown();
+        assertEquals(text.replace("&amp;", "&"), reader.getValue());
+        reader.moveUp();
+        assertFalse(reader.hasMoreChildren());
+        reader.close();
+    }
+
+    public void testPeeksNextChildWithoutMoving() throws Exception {
+        final HierarchicalStreamReader reader = createReader("<root> <a/><b x='1'/></root>");
+        assertEquals("a", reader.peekNextChild());
+        reader.moveDown();
+        assertEquals("a", reader.getNodeName());
+        reader.moveUp();
+        assertEquals("b", reader.peekNextChild());
+        reader.moveDown();
+        assertEquals("1", reader.getAttribute("x"));
+        reader.moveUp();
+        assertNull(reader.peekNextChild());
+        reader.close();
+    }
+
+    public void testFailsForMismatchedEndTag() throws Exception {
+        final HierarchicalStreamReader reader = createReader("<root><a></b></root>");
+        reader.moveDown();
+        try {
+            reader.moveUp();
+            fail("Thrown " + StreamException.class.getName() + " expected");
+        } catch (final StreamException e) {
+            assertTrue(e.getMessage().contains("end tag"));
+        }
+        reader.close();
+    }
+
+    // inherits tests from superclass
+}
@@ -1,6 +1,6 @@
 /*
  * Copyright (C) 2004, 2005 Joe Walnes.
- * Copyright (C) 2006, 2007, 2008, 2013, 2018, 2023 XStream Committers.
+ * Copyright (C) 2006, 2007, 2008, 2013, 2018, 2023, 2026 XStream Committers.
  * All rights reserved.
  *
  * The software in this package is published under the terms of the BSD
@@ -14,6 +14,7 @@ package com.thoughtworks.xstream.io.xml;
 import java.io.StringWriter;
 
 import com.thoughtworks.xstream.core.util.QuickWriter;
+import com.thoughtworks.xstream.io.PrimitiveValueWriter;
 import com.thoughtworks.xstream.io.StreamException;
 
 
@@ -32,6 +33,35 @@ public class PrettyPrintWriterTest extends AbstractXMLWriterTest {
         assertEquals(expected, buffer.toString());
     }
 
+    @Override
+    public void testWritesPrimitiveValues() { // Note: This overrides a test in superclass to include indentation
+        final PrimitiveValueWriter primitiveWriter = (PrimitiveValueWriter)writer;
+        primitiveWriter.startNode("values");
+        primitiveWriter.startNode("int");
+        primitiveWriter.setValue(Integer.MIN_VALUE);
+        primitiveWriter.endNode();
+        primitiveWriter.startNode("long");
+        primitiveWriter.setValue(Long.MIN_VALUE);
+        primitiveWriter.endNode();
+        primitiveWriter.startNode("double");
+        primitiveWriter.setValue(-0.0);
+        primitiveWriter.endNode();
+        primitiveWriter.startNode("boolean");
+        primitiveWriter.setValue(false);
+        primitiveWriter.endNode();
+        primitiveWriter.endNode();
+
+        final String expected = ""
+            + "<values>\n"
+            + "  <int>-2147483648</int>\n"
+            + "  <long>-9223372036854775808</long>\n"
+            + "  <double>-0.0</double>\n"
+            + "  <boolean>false</boolean>\n"
+            + "</values>";
+
+        assertXmlProducedIs(expected);
+    }
+
     @Override
     public void testSupportsNestedElements() { // Note: This overrides a test in superclass to
         // include indentation
@@ -0,0 +1,153 @@
+/*
+ * Copyright (C) 2026 XStream Committers.
+ * All rights reserved.
+ *
+ * The software in this package is published under the terms of the BSD
+ * style license a copy of which has been included with this distribution in
+ * the LICENSE.txt file.
+ *
+ * Created on 16. October 2026
+ */
+package com.thoughtworks.xstream.io.xml;
+
+import java.io.ByteArrayOutputStream;
+import java.io.OutputStreamWriter;
+import java.nio.channels.Channels;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+import com.thoughtworks.xstream.io.HierarchicalStreamWriter;
+import com.thoughtworks.xstream.io.StreamException;
+
+
+public class Utf8XmlWriterTest extends AbstractXMLWriterTest {
+    private ByteArrayOutputStream buffer;
+
+    @Override
+    protected void setUp() throws Exception {
+        super.setUp();
+        buffer = new ByteArrayOutputStream();
+        writer = new Utf8XmlWriter(buffer, PrettyPrintWriter.XML_QUIRKS, null, new XmlFriendlyNameCoder());
+    }
+
+    @Override
+    protected void assertXmlProducedIs(final String expected) {
+        assertEquals(expected, new String(buffer.toByteArray(), StandardCharsets.UTF_8));
+    }
+
+    public void testXmlIsIndented() {
+        writer = new Utf8XmlWriter(buffer);
+        writer.startNode("hello");
+        writer.startNode("world");
+        writer.addAttribute("id", "1");
+
+        writer.startNode("one");
+        writer.setValue("potato");
+        writer.endNode();
+
+        writer.startNode("empty");
+        writer.endNode();
+
+        writer.endNode();
+        writer.endNode();
+
+        final String expected = ""
+            + "<hello>\n"
+            + "  <world id=\"1\">\n"
+            + "    <one>potato</one>\n"
+            + "    <empty/>\n"
+            + "  </world>\n"
+            + "</hello>";
+        assertXmlProducedIs(expected);
+    }
+
+    public void testWritesIntoChannel() {
+        writer = new Utf8XmlWriter(Channels.newChannel(buffer), PrettyPrintWriter.XML_QUIRKS, null,
+            new XmlFriendlyNameCoder());
+        writer.startNode("tag");
+        writer.setValue("héllo € 😀 & <good>");
+        writer.endNode();
+
+        assertXmlProducedIs("<tag>héllo € 😀 &amp; &lt;good&gt;</tag>");
+    }
+
+    public void testWritesLongValuesExceedingTheBuffer() {
+        final StringBuilder builder = new StringBuilder();
+        for (int i = 0; i < 5000; ++i) {
+            builder.append("ä<€");
+        }
+        final String text = builder.toString();
+        writer.startNode("text");
+        writer.addAttribute("value", text);
+        writer.setValue(text);
+        writer.endNode();
+
+        final String escaped = text.replace("<", "&lt;");
+        assertXmlProducedIs("<text value=\"" + escaped + "\">" + escaped + "</text>");
+    }
+
+    public void testWritesIndentationExceedingTheBuffer() {
+        final char[] chars = new char[10000];
+        Arrays.fill(chars, ' ');
+        final String indenter = new String(chars);
+        for (int i = 0; i < 2; ++i) {
+            buffer.reset();
+            writer = i == 0
+                ? new Utf8XmlWriter(buffer, PrettyPrintWriter.XML_QUIRKS, indenter, new XmlFriendlyNameCoder())
+                : new Utf8XmlWriter(Channels.newChannel(buffer), PrettyPrintWriter.XML_QUIRKS, indenter,
+                    new XmlFriendlyNameCoder());
+            writer.startNode("root");
+            writer.startNode("child");
+            writer.setValue("text");
+            writer.endNode();
+            writer.endNode();
+
+            assertXmlProducedIs("<root>\n" + indenter + "<child>text</child>\n</root>");
+        }
+    }
+
+    public void testProducesSameOutputAsPrettyPrintWriterInAllModes() throws Exception {
+        final StringBuilder builder = new StringBuilder();
+        for (char c = 0; c < 0x3000; ++c) {
+            builder.append(c);
+        }
+        builder.append("퟿\ud800😀\udc00﷐�￾￿");
+        final String text = builder.toString();
+
+        final int[] modes = {
+            PrettyPrintWriter.XML_QUIRKS, PrettyPrintWriter.XML_1_0, PrettyPrintWriter.XML_1_1,
+            PrettyPrintWriter.XML_1_0_REPLACEMENT, PrettyPrintWriter.XML_1_1_REPLACEMENT};
+        for (final int mode : modes) {
+            for (int i = 0; i < text.length(); i += 64) {
+                final String chunk = text.substring(i, Math.min(i + 64, text.length()));
+                final ByteArrayOutputStream expected = new ByteArrayOutputStream();
+                final String expectedError = write(new PrettyPrintWriter(new OutputStreamWriter(expected,
+                    StandardCharsets.UTF_8), mode), chunk);
+                final ByteArrayOutputStream actual = new ByteArrayOutputStream();
+                final String actualError = write(new Utf8XmlWriter(actual, mode, "  ", new XmlFriendlyNameCoder()),
+                    chunk);
+                final String message = "Mode " + mode + " at 0x" + Integer.toHexString(i);
+                assertEquals(message, expectedError, actualError);
+                if (expectedError == null) {
+                    assertEquals(message, new String(expected.toByteArray(), StandardCharsets.UTF_8), new String(
+                        actual.toByteArray(), StandardCharsets.UTF_8));
+                }
+            }
+        }
+    }
+
+    private String write(final HierarchicalStreamWriter writer, final String text) {
+        try {
+            writer.startNode("root");
+            writer.startNode("text");
+            writer.addAttribute("value", text);
+            writer.setValue(text);
+            writer.endNode();
+            writer.endNode();
+            writer.flush();
+            return null;
+        } catch (final StreamException e) {
+            return e.getMessage();
+        }
+    }
+}
@@ -0,0 +1,64 @@
+/*
+ * Copyright (C) 2026 XStream Committers.
+ * All rights reserved.
+ *
+ * The software in this package is published under the terms of the BSD
+ * style license a copy of which has been included with this distribution in
+ * the LICENSE.txt file.
+ *
+ * Created on 17. October 2026
+ */
+package com.thoughtworks.xstream.io.xml;
+
+import junit.framework.TestCase;
+
+
+public class XmlFriendlyNameCoderTest extends TestCase {
+
+    private XmlFriendlyNameCoder coder;
+
+    @Override
+    protected void setUp() throws Exception {
+        super.setUp();
+        coder = new XmlFriendlyNameCoder();
+    }
+
+    public void testEncodesAndDecodesNames() {
+        assertEquals("a_-b__c", coder.encodeNode("a$b_c"));
+        assertEquals("a$b_c", coder.decodeNode("a_-b__c"));
+        assertEquals("_.0031a", coder.encodeAttribute("1a"));
+        assertEquals("1a", coder.decodeAttribute("_.0031a"));
+        assertEquals("_.002dx-y", coder.encodeNode("-x-y"));
+        assertEquals("", coder.encodeNode(""));
+    }
+
+    public void testDoesNotCachePlainNames() {
+        final String name = "java.util.Map-entry2";
+        assertSame(name, coder.encodeNode(name));
+        assertSame(name, coder.decodeNode(name));
+        assertEquals(0, coder.getCacheHits());
+        assertEquals(0, coder.getCacheMisses());
+    }
+
+    public void testCountsCacheHitsAndMisses() {
+        assertEquals("Outer_-Inner", coder.encodeNode("Outer$Inner"));
+        assertEquals("Outer_-Inner", coder.encodeNode("Outer$Inner"));
+        assertEquals("Outer$Inner", coder.decodeNode("Outer_-Inner"));
+        assertEquals(1, coder.getCacheHits());
+        assertEquals(2, coder.getCacheMisses());
+
+        final XmlFriendlyNameCoder clone = (XmlFriendlyNameCoder)coder.clone();
+        assertEquals(0, clone.getCacheHits());
+        assertEquals(0, clone.getCacheMisses());
+    }
+
+    public void testEncodesManyDifferentNames() {
+        for (int i = 0; i < 5000; ++i) {
+            final String name = "Type$" + i;
+            final String encoded = coder.encodeNode(name);
+            assertEquals("Type_-" + i, encoded);
+            assertEquals(name, coder.decodeNode(encoded));
+        }
+        assertEquals(10000, coder.getCacheMisses());
+    }
+}
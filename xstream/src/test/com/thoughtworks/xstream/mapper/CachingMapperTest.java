@@ -0,0 +1,201 @@
+/*
+ * Copyright (C) 2026 XStream Committers.
+ * All rights reserved.
+ *
+ * The software in this package is published under the terms of the BSD
+ * style license a copy of which has been included with this distribution in
+ * the LICENSE.txt file.
+ *
+ * Created on 16. October 2026
+ */
+package com.thoughtworks.xstream.mapper;
+
+import java.lang.ref.PhantomReference;
+import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
+import java.util.ArrayList;
+import java.util.List;
+
+import com.thoughtworks.acceptance.AbstractAcceptanceTest;
+import com.thoughtworks.acceptance.objects.Software;
+import com.thoughtworks.xstream.InitializationException;
+import com.thoughtworks.xstream.XStream;
+import com.thoughtworks.xstream.converters.basic.StringConverter;
+import com.thoughtworks.xstream.converters.reflection.ReflectionConverter;
+
+
+public class CachingMapperTest extends AbstractAcceptanceTest {
+
+    public static class Catalog {
+        String name;
+        transient int size;
+        List<Software> items = new ArrayList<>();
+        Software featured;
+    }
+
+    private CachingMapper cachingMapper;
+
+    @Override
+    protected void setUp() throws Exception {
+        super.setUp();
+        xstream.alias("software", Software.class);
+        xstream.alias("catalog", Catalog.class);
+        xstream.aliasField("CUSTOM-VENDOR", Software.class, "vendor");
+        xstream.addImplicitCollection(Catalog.class, "items");
+        xstream.omitField(Catalog.class, "name");
+        cachingMapper = xstream.getMapper().lookupMapperOfType(CachingMapper.class);
+    }
+
+    public void testIsNotFrozenByDefault() {
+        assertFalse(cachingMapper.isFrozen());
+    }
+
+    public void testFrozenMapperResolvesSameDecisions() {
+        xstream.freezeMapper();
+        assertTrue(cachingMapper.isFrozen());
+
+        final Catalog catalog = new Catalog();
+        catalog.name = "omitted";
+        catalog.items.add(new Software("ms", "word"));
+        catalog.items.add(new Software("ms", "excel"));
+
+        final String expectedXml = ""
+            + "<catalog>\n"
+            + "  <software>\n"
+            + "    <CUSTOM-VENDOR>ms</CUSTOM-VENDOR>\n"
+            + "    <name>word</name>\n"
+            + "  </software>\n"
+            + "  <software>\n"
+            + "    <CUSTOM-VENDOR>ms</CUSTOM-VENDOR>\n"
+            + "    <name>excel</name>\n"
+            + "  </software>\n"
+            + "</catalog>";
+
+        assertEquals(expectedXml, xstream.toXML(catalog));
+        final Catalog result = xstream.fromXML(expectedXml);
+        assertNull(result.name);
+        assertEquals(catalog.items, result.items);
+    }
+
+    public void testFrozenMapperMemoizesMemberDecisions() {
+        xstream.freezeMapper();
+        final Mapper mapper = xstream.getMapper();
+        final String alias = mapper.serializedMember(Software.class, "vendor");
+        assertEquals("CUSTOM-VENDOR", alias);
+        assertSame(alias, mapper.serializedMember(Software.class, "vendor"));
+        assertEquals("vendor", mapper.realMember(Software.class, "CUSTOM-VENDOR"));
+        assertFalse(mapper.shouldSerializeMember(Catalog.class, "name"));
+        assertTrue(mapper.shouldSerializeMember(Catalog.class, "items"));
+        final Mapper.ImplicitCollectionMapping mapping = mapper.getImplicitCollectionDefForFieldName(Catalog.class,
+            "items");
+        assertNotNull(mapping);
+        assertSame(mapping, mapper.getImplicitCollectionDefForFieldName(Catalog.class, "items"));
+        assertNull(mapper.getImplicitCollectionDefForFieldName(Catalog.class, "name"));
+        assertNull(mapper.getLocalConverter(Catalog.class, "name"));
+    }
+
+    public void testFrozenMapperRejectsChangedMemberMapping() {
+        xstream.freezeMapper();
+        assertEquals("name", xstream.getMapper().serializedMember(Software.class, "name"));
+        try {
+            xstream.aliasField("CUSTOM-NAME", Software.class, "name");
+            fail("Thrown " + InitializationException.class.getName() + " expected");
+        } catch (final InitializationException e) {
+            // OK
+        }
+        try {
+            xstream.omitField(Software.class, "name");
+            fail("Thrown " + InitializationException.class.getName() + " expected");
+        } catch (final InitializationException e) {
+            // OK
+        }
+        try {
+            xstream.registerLocalConverter(Software.class, "name", new StringConverter());
+            fail("Thrown " + InitializationException.class.getName() + " expected");
+        } catch (final InitializationException e) {
+            // OK
+        }
+        try {
+            xstream.addImplicitCollection(Catalog.class, "items", Software.class);
+            fail("Thrown " + InitializationException.class.getName() + " expected");
+        } catch (final InitializationException e) {
+            // OK
+        }
+        assertEquals("name", xstream.getMapper().serializedMember(Software.class, "name"));
+        assertTrue(xstream.getMapper().shouldSerializeMember(Software.class, "name"));
+        assertNull(xstream.getMapper().getLocalConverter(Software.class, "name"));
+    }
+
+    public void testFrozenMapperRejectsChangedConfiguration() {
+        xstream.freezeMapper();
+        final List<Runnable> changes = new ArrayList<>();
+        changes.add(() -> xstream.alias("program", Software.class));
+        changes.add(() -> xstream.aliasType("program", Software.class));
+        changes.add(() -> xstream.aliasPackage("model", Software.class.getPackage().getName()));
+        changes.add(() -> xstream.aliasAttribute("class-name", "class"));
+        changes.add(() -> xstream.useAttributeFor("name", String.class));
+        changes.add(() -> xstream.useAttributeFor(Software.class, "name"));
+        changes.add(() -> xstream.useAttributeFor(String.class));
+        changes.add(() -> xstream.addDefaultImplementation(ArrayList.class, List.class));
+        changes.add(() -> xstream.addImmutableType(Software.class, false));
+        changes.add(() -> xstream.registerConverter(new StringConverter()));
+        changes.add(() -> xstream.registerConverter(new ReflectionConverter(xstream.getMapper(), xstream
+            .getReflectionProvider())));
+        changes.add(() -> xstream.ignoreUnknownElements());
+        for (final Runnable change : changes) {
+            try {
+                change.run();
+                fail("Thrown " + InitializationException.class.getName() + " expected");
+            } catch (final InitializationException e) {
+                // OK
+            }
+        }
+        assertEquals("software", xstream.getMapper().serializedClass(Software.class));
+        assertFalse(xstream.getMapper().isImmutableValueType(Software.class));
+        assertNull(xstream.getMapper().getConverterFromItemType("name", String.class, Software.class));
+        assertEquals("<software/>", xstream.toXML(new Software(null, null)));
+    }
+
+    public void testFrozenMapperRejectsAutodetectedAnnotations() {
+        xstream.freezeMapper();
+        try {
+            xstream.autodetectAnnotations(true);
+            fail("Thrown " + InitializationException.class.getName() + " expected");
+        } catch (final InitializationException e) {
+            // OK
+        }
+        xstream.autodetectAnnotations(false);
+    }
+
+    public void testCannotFreezeMapperWithAutodetectedAnnotations() {
+        xstream.autodetectAnnotations(true);
+        try {
+            xstream.freezeMapper();
+            fail("Thrown " + InitializationException.class.getName() + " expected");
+        } catch (final InitializationException e) {
+            assertFalse(cachingMapper.isFrozen());
+        }
+    }
+
+    public void testFrozenMapperDoesNotKeepDiscardedXStreamAlive() throws InterruptedException {
+        XStream discarded = createXStream();
+        discarded.alias("catalog", Catalog.class);
+        discarded.registerLocalConverter(Catalog.class, "featured", new ReflectionConverter(discarded.getMapper(),
+            discarded.getReflectionProvider()));
+        discarded.freezeMapper();
+        final Catalog catalog = new Catalog();
+        catalog.featured = new Software("ms", "word");
+        assertEquals(catalog.featured, discarded.<Catalog>fromXML(discarded.toXML(catalog)).featured);
+        final ReferenceQueue<XStream> refQueue = new ReferenceQueue<>();
+        final Reference<XStream> ref = new PhantomReference<>(discarded, refQueue);
+        discarded = null;
+
+        int i = 0;
+        while (refQueue.poll() == null) {
+            assertTrue("XStream still alive even after " + i + " forced garbage collections", i++ < 5);
+            Thread.sleep(10);
+            System.gc();
+        }
+        ref.clear();
+    }
+}
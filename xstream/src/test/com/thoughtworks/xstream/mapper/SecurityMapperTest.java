@@ -1,5 +1,5 @@
 /*
- * Copyright (C) 2014, 2018, 2022 XStream Committers.
+ * Copyright (C) 2014, 2018, 2022, 2026 XStream Committers.
  * All rights reserved.
  *
  * Created on 09. January 2014 by Joerg Schaible
@@ -10,13 +10,16 @@ import java.net.URL;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import com.thoughtworks.xstream.core.JVM;
 import com.thoughtworks.xstream.core.util.QuickWriter;
 import com.thoughtworks.xstream.security.AnyTypePermission;
 import com.thoughtworks.xstream.security.ArrayTypePermission;
+import com.thoughtworks.xstream.security.CompositeTypePermission;
 import com.thoughtworks.xstream.security.ExplicitTypePermission;
 import com.thoughtworks.xstream.security.ForbiddenClassException;
+import com.thoughtworks.xstream.security.NoPermission;
 import com.thoughtworks.xstream.security.NoTypePermission;
 import com.thoughtworks.xstream.security.NullPermission;
 import com.thoughtworks.xstream.security.PrimitiveTypePermission;
@@ -204,4 +207,83 @@ public class SecurityMapperTest extends TestCase {
             assertEquals(Foo$_1.class.getName(), e.getMessage());
         }
     }
+
+    public void testCompositeKeepsSequenceOfPermissions() {
+        final TypePermission permission = new CompositeTypePermission(new ExplicitTypePermission(String.class),
+            new NoPermission(new WildcardTypePermission("java.util.*")), new ExplicitTypePermission(List.class),
+            new WildcardTypePermission("java.net.*", "**.core.util.*"), new RegExpTypePermission(".*Map"));
+        assertTrue(permission.allows(String.class));
+        assertTrue(permission.allows(URL.class));
+        assertTrue(permission.allows(QuickWriter.class));
+        assertFalse(permission.allows(JVM.class));
+        assertFalse(permission.allows(null));
+        try {
+            permission.allows(List.class);
+            fail("Thrown " + ForbiddenClassException.class.getName() + " expected");
+        } catch (final ForbiddenClassException e) {
+            assertEquals(List.class.getName(), e.getMessage());
+        }
+        assertTrue(new CompositeTypePermission(new RegExpTypePermission(".*Map"), new ExplicitTypePermission(List.class))
+            .allows(HashMap.class));
+        assertFalse(new CompositeTypePermission().allows(String.class));
+        final TypePermission regExps = new CompositeTypePermission(new RegExpTypePermission("java\\.lang\\.S?tring",
+            "(?i)JAVA\\.NET\\.URL", "java\\.util\\.Hash(Map|Set)", "java.util.List"));
+        assertTrue(regExps.allows(String.class));
+        assertTrue(regExps.allows(URL.class));
+        assertTrue(regExps.allows(HashMap.class));
+        assertTrue(regExps.allows(List.class));
+        assertFalse(regExps.allows(Map.class));
+    }
+
+    public void testDecisionIsCachedPerType() {
+        register(String.class, URL.class);
+        classMap.put("str", String.class);
+        final AtomicInteger calls = new AtomicInteger();
+        mapper.addPermission(type -> {
+            calls.incrementAndGet();
+            return type == String.class;
+        });
+        assertSame(String.class, mapper.realClass(String.class.getName()));
+        assertSame(String.class, mapper.realClass("str"));
+        ForbiddenClassException forbidden = null;
+        for (int i = 0; i < 2; ++i) {
+            try {
+                mapper.realClass(URL.class.getName());
+                fail("Thrown " + ForbiddenClassException.class.getName() + " expected");
+            } catch (final ForbiddenClassException e) {
+                assertEquals(URL.class.getName(), e.getMessage());
+                if (forbidden != null) {
+                    assertNotSame(forbidden, e);
+                }
+                forbidden = e;
+            }
+        }
+        assertEquals(2, calls.get());
+
+        mapper.addPermission(new ExplicitTypePermission(URL.class));
+        assertSame(URL.class, mapper.realClass(URL.class.getName()));
+        assertSame(String.class, mapper.realClass(String.class.getName()));
+        assertEquals(3, calls.get());
+    }
+
+    public void testManyPermissions() {
+        register(String.class, JVM.class, QuickWriter.class, URL.class);
+        mapper.addPermission(NoTypePermission.NONE);
+        for (int i = 0; i < 200; ++i) {
+            mapper.addPermission(new ExplicitTypePermission("com.example.Type" + i));
+            mapper.addPermission(new WildcardTypePermission("com.example.package" + i + ".**"));
+        }
+        mapper.addPermission(new WildcardTypePermission("**.core.*"));
+        mapper.addPermission(new ExplicitTypePermission(String.class));
+        assertSame(String.class, mapper.realClass(String.class.getName()));
+        assertSame(JVM.class, mapper.realClass(JVM.class.getName()));
+        for (final Class<?> type : new Class<?>[]{QuickWriter.class, URL.class}) {
+            try {
+                mapper.realClass(type.getName());
+                fail("Thrown " + ForbiddenClassException.class.getName() + " expected");
+            } catch (final ForbiddenClassException e) {
+                assertEquals(type.getName(), e.getMessage());
+            }
+        }
+    }
 }
@@ -1,5 +1,5 @@
 /*
- * Copyright (C) 2008, 2009, 2018 XStream Committers.
+ * Copyright (C) 2008, 2009, 2018, 2026 XStream Committers.
  * All rights reserved.
  *
  * The software in this package is published under the terms of the BSD
@@ -11,11 +11,26 @@
 package com.thoughtworks.xstream.persistence;
 
 import java.io.File;
+import java.io.FileWriter;
+import java.io.IOException;
 import java.net.MalformedURLException;
 import java.net.URL;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.Iterator;
+import java.util.List;
 import java.util.Map;
+import java.util.Spliterator;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.stream.Collectors;
+
+import com.thoughtworks.xstream.XStream;
+import com.thoughtworks.xstream.XStreamException;
+import com.thoughtworks.xstream.converters.ConversionException;
+import com.thoughtworks.xstream.converters.basic.StringConverter;
 
 import junit.framework.TestCase;
 
@@ -255,4 +270,169 @@ public class FilePersistenceStrategyTest extends TestCase {
         assertEquals("aCuteString", strategy.put("guilherme", "anotherCuteString"));
     }
 
+    public void testWritesWithoutReadingTheOldValue() throws IOException {
+        try (final FileWriter writer = new FileWriter(new File(baseDir, "string@guilherme.xml"))) {
+            writer.write("<corrupt");
+        }
+        final FilePersistenceStrategy<String, String> strategy = new FilePersistenceStrategy<String, String>(baseDir);
+        strategy.write("guilherme", "aCuteString");
+        assertEquals("aCuteString", strategy.get("guilherme"));
+        assertEquals(1, baseDir.list().length);
+    }
+
+    public void testKeepsOldFileIfValueCannotBeWritten() {
+        final XStream xstream = new XStream();
+        xstream.registerConverter(new StringConverter() {
+            @Override
+            public String toString(final Object obj) {
+                if ("fail".equals(obj)) {
+                    throw new ConversionException("Cannot write " + obj);
+                }
+                return super.toString(obj);
+            }
+        });
+        final FilePersistenceStrategy<String, String> strategy = new FilePersistenceStrategy<String, String>(baseDir,
+            xstream);
+        strategy.put("guilherme", "aCuteString");
+        try {
+            strategy.put("guilherme", "fail");
+            fail("Thrown " + ConversionException.class.getName() + " expected");
+        } catch (final ConversionException e) {
+            assertEquals("aCuteString", strategy.get("guilherme"));
+            assertEquals(1, baseDir.list().length);
+        }
+    }
+
+    public void testSyncsWrittenFiles() {
+        final FilePersistenceStrategy<String, String> strategy = new FilePersistenceStrategy<String, String>(baseDir,
+            new XStream(), "UTF-8", "<>?:/\\\"|*%", true);
+        strategy.put("guilherme", "aCuteString");
+        assertEquals("aCuteString", strategy.get("guilherme"));
+        assertEquals(1, strategy.size());
+    }
+
+    public void testKeepsTemporaryFileOfAnotherWriter() throws IOException {
+        final File foreignFile = new File(baseDir, "string@guilherme.xml." + Thread.currentThread().getId() + ".tmp");
+        try (final FileWriter writer = new FileWriter(foreignFile)) {
+            writer.write("<string>foreign</string>");
+        }
+        final FilePersistenceStrategy<String, String> strategy = new FilePersistenceStrategy<String, String>(baseDir,
+            new XStream(), "UTF-8", "<>?:/\\\"|*%", true);
+        strategy.put("guilherme", "aCuteString");
+        assertEquals("aCuteString", strategy.get("guilherme"));
+        assertTrue(foreignFile.isFile());
+        assertEquals(2, baseDir.list().length);
+    }
+
+    public void testCreatesFilesWithDefaultPermissions() throws IOException {
+        if (!FileSystems.getDefault().supportedFileAttributeViews().contains("posix")) {
+            return;
+        }
+        final File referenceFile = new File(baseDir, "reference.txt");
+        try (final FileWriter writer = new FileWriter(referenceFile)) {
+            writer.write("reference");
+        }
+        final FilePersistenceStrategy<String, String> strategy = new FilePersistenceStrategy<String, String>(baseDir,
+            new XStream(), "UTF-8", "<>?:/\\\"|*%", true);
+        strategy.put("guilherme", "aCuteString");
+        assertEquals(Files.getPosixFilePermissions(referenceFile.toPath()), Files.getPosixFilePermissions(new File(
+            baseDir, "string@guilherme.xml").toPath()));
+    }
+
+    public void testIgnoresTemporaryFilesLeftBehind() throws IOException {
+        final File leftFile = new File(baseDir, "string@guilherme.xml.3f2a.tmp");
+        try (final FileWriter writer = new FileWriter(leftFile)) {
+            writer.write("<string>partial");
+        }
+        final FilePersistenceStrategy<String, String> strategy = new FilePersistenceStrategy<String, String>(
+            baseDir) {
+            @Override
+            protected boolean isValid(final File dir, final String name) {
+                // accepts any file name with a key
+                return name.indexOf('@') > 0;
+            }
+        };
+        strategy.put("joe", "walnes");
+        assertEquals(1, strategy.size());
+        final Iterator<Map.Entry<String, String>> iter = strategy.iterator();
+        assertEquals("joe", iter.next().getKey());
+        assertFalse(iter.hasNext());
+        assertEquals(1, strategy.spliterator().estimateSize());
+    }
+
+    public void testScansEntriesInOrderOfIterator() {
+        final FilePersistenceStrategy<Integer, String> strategy = new FilePersistenceStrategy<>(baseDir);
+        for (int i = 0; i < 20; ++i) {
+            strategy.write(Integer.valueOf(i), "value" + i);
+        }
+        final List<Integer> keys = new ArrayList<>();
+        for (final Iterator<Map.Entry<Integer, String>> iter = strategy.iterator(); iter.hasNext();) {
+            keys.add(iter.next().getKey());
+        }
+        final ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            final List<Integer> scanned = new ArrayList<>();
+            for (final Iterator<Map.Entry<Integer, String>> iter = strategy.scan(executor, 5, true); iter.hasNext();) {
+                final Map.Entry<Integer, String> entry = iter.next();
+                assertEquals("value" + entry.getKey(), entry.getValue());
+                scanned.add(entry.getKey());
+            }
+            assertEquals(keys, scanned);
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    public void testScansEntriesAsSoonAsAvailable() {
+        final FilePersistenceStrategy<Integer, String> strategy = new FilePersistenceStrategy<>(baseDir);
+        final Map<Integer, String> original = new HashMap<>();
+        for (int i = 0; i < 20; ++i) {
+            original.put(Integer.valueOf(i), "value" + i);
+            strategy.write(Integer.valueOf(i), "value" + i);
+        }
+        final ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            final Map<Integer, String> scanned = new HashMap<>();
+            for (final Iterator<Map.Entry<Integer, String>> iter = strategy.scan(executor, 8, false); iter.hasNext();) {
+                final Map.Entry<Integer, String> entry = iter.next();
+                scanned.put(entry.getKey(), entry.getValue());
+                if (entry.getKey().intValue() % 2 == 0) {
+                    iter.remove();
+                }
+            }
+            assertEquals(original, scanned);
+            assertEquals(10, strategy.size());
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    public void testReportsFailureOfScannedValue() throws IOException {
+        try (final FileWriter writer = new FileWriter(new File(baseDir, "string@guilherme.xml"))) {
+            writer.write("<corrupt");
+        }
+        final FilePersistenceStrategy<String, String> strategy = new FilePersistenceStrategy<>(baseDir);
+        final Iterator<Map.Entry<String, String>> iter = strategy.scan(Runnable::run, 1, true);
+        assertTrue(iter.hasNext());
+        try {
+            iter.next();
+            fail("Thrown " + XStreamException.class.getName() + " expected");
+        } catch (final XStreamException e) {
+            assertFalse(iter.hasNext());
+        }
+    }
+
+    public void testStreamsEntriesInParallel() {
+        final FilePersistenceStrategy<Integer, String> strategy = new FilePersistenceStrategy<>(baseDir);
+        for (int i = 0; i < 100; ++i) {
+            strategy.write(Integer.valueOf(i), "value" + i);
+        }
+        final Spliterator<Map.Entry<Integer, String>> spliterator = strategy.spliterator();
+        assertEquals(100, spliterator.getExactSizeIfKnown());
+        assertNotNull(spliterator.trySplit());
+        final Map<Integer, String> map = new XmlMap<>(strategy).entrySet().parallelStream().collect(Collectors.toMap(
+            Map.Entry::getKey, Map.Entry::getValue));
+        assertEquals(100, map.size());
+        assertEquals("value42", map.get(Integer.valueOf(42)));
+    }
 }
@@ -0,0 +1,181 @@
+/*
+ * Copyright (C) 2026 XStream Committers.
+ * All rights reserved.
+ *
+ * The software in this package is published under the terms of the BSD
+ * style license a copy of which has been included with this distribution in
+ * the LICENSE.txt file.
+ *
+ * Created on 17. October 2026
+ */
+package com.thoughtworks.xstream.persistence;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+
+import com.thoughtworks.xstream.XStream;
+
+import junit.framework.TestCase;
+
+
+public class IndexedFilePersistenceStrategyTest extends TestCase {
+
+    private final File baseDir = new File("target/tmp");
+
+    @Override
+    protected void setUp() throws Exception {
+        super.setUp();
+        if (baseDir.exists()) {
+            clear(baseDir);
+        }
+        baseDir.mkdirs();
+    }
+
+    @Override
+    protected void tearDown() throws Exception {
+        super.tearDown();
+        clear(baseDir);
+    }
+
+    private void clear(final File dir) {
+        final File[] files = dir.listFiles();
+        for (final File file : files) {
+            if (file.isFile()) {
+                final boolean deleted = file.delete();
+                if (!deleted) {
+                    throw new RuntimeException("Unable to continue testing: unable to remove file "
+                        + file.getAbsolutePath());
+                }
+            }
+        }
+        dir.delete();
+    }
+
+    public void testBuildsIndexFromExistingFiles() {
+        final FilePersistenceStrategy<String, String> fileStrategy = new FilePersistenceStrategy<>(baseDir);
+        fileStrategy.put("guilherme", "aCuteString");
+        fileStrategy.put("silveira", "anotherCuteString");
+        fileStrategy.put(null, "nullKey");
+
+        final IndexedFilePersistenceStrategy<String, String> strategy = new IndexedFilePersistenceStrategy<>(baseDir);
+        assertEquals(3, strategy.size());
+        assertTrue(strategy.containsKey("guilherme"));
+        assertTrue(strategy.containsKey(null));
+        assertFalse(strategy.containsKey("joe"));
+        assertEquals("anotherCuteString", strategy.get("silveira"));
+        assertEquals("nullKey", strategy.get(null));
+    }
+
+    public void testMaintainsIndexWithoutFileSystem() {
+        final IndexedFilePersistenceStrategy<String, String> strategy = new IndexedFilePersistenceStrategy<>(baseDir);
+        assertNull(strategy.put("guilherme", "aCuteString"));
+        strategy.write("silveira", "anotherCuteString");
+        assertEquals(2, strategy.size());
+
+        // files added externally are not part of the index
+        new FilePersistenceStrategy<String, String>(baseDir).put("joe", "walnes");
+        assertEquals(2, strategy.size());
+        assertFalse(strategy.containsKey("joe"));
+        assertNull(strategy.get("joe"));
+
+        assertEquals("aCuteString", strategy.remove("guilherme"));
+        assertFalse(strategy.containsKey("guilherme"));
+        assertFalse(new File(baseDir, "string@guilherme.xml").exists());
+        assertEquals(1, strategy.size());
+    }
+
+    public void testReturnsCachedValue() {
+        final IndexedFilePersistenceStrategy<String, List<String>> strategy = new IndexedFilePersistenceStrategy<>(
+            baseDir);
+        final List<String> list = new ArrayList<>();
+        list.add("guilherme");
+        strategy.put("list", list);
+        final List<String> value = strategy.get("list");
+        assertEquals(list, value);
+        assertNotSame(list, value);
+        assertSame(value, strategy.get("list"));
+
+        strategy.put("list", new ArrayList<>());
+        assertTrue(strategy.get("list").isEmpty());
+    }
+
+    public void testReadsExternallyModifiedFileAgain() {
+        final IndexedFilePersistenceStrategy<String, String> strategy = new IndexedFilePersistenceStrategy<>(baseDir);
+        strategy.put("guilherme", "aCuteString");
+        assertEquals("aCuteString", strategy.get("guilherme"));
+
+        new FilePersistenceStrategy<String, String>(baseDir).put("guilherme", "anotherCuteString");
+        assertEquals("anotherCuteString", strategy.get("guilherme"));
+    }
+
+    public void testReadsReplacedFileWithSameTimeAndLengthAgain() throws IOException {
+        final IndexedFilePersistenceStrategy<String, String> strategy = new IndexedFilePersistenceStrategy<>(baseDir);
+        strategy.put("guilherme", "aCuteString");
+        assertEquals("aCuteString", strategy.get("guilherme"));
+        final Path path = new File(baseDir, "string@guilherme.xml").toPath();
+        final BasicFileAttributes attributes = Files.readAttributes(path, BasicFileAttributes.class);
+        if (attributes.fileKey() == null) {
+            // not detectable without file keys
+            return;
+        }
+
+        new FilePersistenceStrategy<String, String>(baseDir).put("guilherme", "aNiceString");
+        Files.setLastModifiedTime(path, attributes.lastModifiedTime());
+        assertEquals(attributes.size(), Files.size(path));
+        assertEquals("aNiceString", strategy.get("guilherme"));
+    }
+
+    public void testEvictsValuesFromLimitedCache() {
+        final IndexedFilePersistenceStrategy<Integer, String> strategy = new IndexedFilePersistenceStrategy<>(baseDir,
+            new XStream(), 4);
+        for (int i = 0; i < 10; ++i) {
+            strategy.put(Integer.valueOf(i), "Value " + i);
+        }
+        for (int i = 0; i < 10; ++i) {
+            assertEquals("Value " + i, strategy.get(Integer.valueOf(i)));
+        }
+        assertEquals(10, strategy.size());
+    }
+
+    public void testIteratesOverIndex() {
+        final IndexedFilePersistenceStrategy<String, String> strategy = new IndexedFilePersistenceStrategy<>(baseDir);
+        final Map<String, String> original = new HashMap<>();
+        original.put("guilherme", "aCuteString");
+        original.put("silveira", "anotherCuteString");
+        final XmlMap<String, String> map = new XmlMap<>(strategy);
+        map.putAll(original);
+        assertEquals(original, new HashMap<>(map));
+
+        for (final Iterator<Map.Entry<String, String>> iter = strategy.iterator(); iter.hasNext();) {
+            final Map.Entry<String, String> entry = iter.next();
+            if (entry.getKey().equals("guilherme")) {
+                iter.remove();
+            } else {
+                assertEquals("anotherCuteString", entry.setValue("joe"));
+            }
+        }
+        assertFalse(map.containsKey("guilherme"));
+        assertEquals("joe", map.get("silveira"));
+        assertEquals(1, baseDir.list().length);
+    }
+
+    public void testSupportsXmlArrayList() {
+        final XmlArrayList<String> list = new XmlArrayList<>(new IndexedFilePersistenceStrategy<Integer, String>(
+            baseDir));
+        list.add("guilherme");
+        list.add("silveira");
+        list.add(0, "joe");
+        assertEquals("[joe, guilherme, silveira]", list.toString());
+        assertEquals("joe", list.remove(0));
+        assertEquals("[guilherme, silveira]", list.toString());
+        assertEquals(2, new IndexedFilePersistenceStrategy<Integer, String>(baseDir).size());
+    }
+}
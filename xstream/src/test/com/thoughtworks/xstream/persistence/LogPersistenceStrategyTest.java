@@ -0,0 +1,265 @@
+/*
+ * Copyright (C) 2026 XStream Committers.
+ * All rights reserved.
+ *
+ * The software in this package is published under the terms of the BSD
+ * style license a copy of which has been included with this distribution in
+ * the LICENSE.txt file.
+ *
+ * Created on 17. October 2026
+ */
+package com.thoughtworks.xstream.persistence;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.stream.Collectors;
+
+import com.thoughtworks.xstream.XStream;
+import com.thoughtworks.xstream.io.StreamException;
+import com.thoughtworks.xstream.io.binary.BinaryStreamDriver;
+import com.thoughtworks.xstream.io.xml.DomDriver;
+
+import junit.framework.TestCase;
+
+
+public class LogPersistenceStrategyTest extends TestCase {
+
+    private final File baseDir = new File("target/tmp");
+    private LogPersistenceStrategy<String, String> strategy;
+
+    @Override
+    protected void setUp() throws Exception {
+        super.setUp();
+        if (baseDir.exists()) {
+            clear(baseDir);
+        }
+        baseDir.mkdirs();
+    }
+
+    @Override
+    protected void tearDown() throws Exception {
+        if (strategy != null) {
+            strategy.close();
+        }
+        super.tearDown();
+        clear(baseDir);
+    }
+
+    private void clear(final File dir) {
+        final File[] files = dir.listFiles();
+        for (final File file : files) {
+            if (file.isFile()) {
+                final boolean deleted = file.delete();
+                if (!deleted) {
+                    throw new RuntimeException("Unable to continue testing: unable to remove file "
+                        + file.getAbsolutePath());
+                }
+            }
+        }
+        dir.delete();
+    }
+
+    private LogPersistenceStrategy<String, String> open(final int segmentSize) {
+        return new LogPersistenceStrategy<>(baseDir, new XStream(), new BinaryStreamDriver(), segmentSize, false,
+            null);
+    }
+
+    private String[] listSegments() {
+        final String[] names = baseDir.list();
+        Arrays.sort(names);
+        return names;
+    }
+
+    public void testStoresValuesInSingleFile() {
+        strategy = new LogPersistenceStrategy<>(baseDir);
+        assertNull(strategy.put("guilherme", "aCuteString"));
+        assertEquals("aCuteString", strategy.put("guilherme", "anotherCuteString"));
+        strategy.write("silveira", null);
+        strategy.write(null, "nullKey");
+        assertEquals(3, strategy.size());
+        assertEquals("anotherCuteString", strategy.get("guilherme"));
+        assertNull(strategy.get("silveira"));
+        assertTrue(strategy.containsKey("silveira"));
+        assertEquals("nullKey", strategy.get(null));
+        assertEquals("anotherCuteString", strategy.remove("guilherme"));
+        assertNull(strategy.remove("joe"));
+        assertFalse(strategy.containsKey("guilherme"));
+        assertEquals(2, strategy.size());
+        assertEquals("[00000001.log]", Arrays.toString(listSegments()));
+    }
+
+    public void testRecoversIndexFromSegments() {
+        strategy = open(100);
+        for (int i = 0; i < 20; ++i) {
+            strategy.write("key" + i % 5, "value" + i);
+        }
+        strategy.remove("key0");
+        strategy.close();
+        assertTrue(listSegments().length > 1);
+
+        strategy = open(100);
+        assertEquals(4, strategy.size());
+        assertFalse(strategy.containsKey("key0"));
+        for (int i = 1; i < 5; ++i) {
+            assertEquals("value" + (15 + i), strategy.get("key" + i));
+        }
+    }
+
+    public void testCompactsSealedSegments() {
+        strategy = open(100);
+        for (int i = 0; i < 100; ++i) {
+            strategy.write("key" + i % 5, "value" + i);
+        }
+        strategy.remove("key0");
+        final int segments = listSegments().length;
+        strategy.compact();
+        assertTrue(listSegments().length < segments);
+        strategy.close();
+
+        strategy = open(100);
+        assertEquals(4, strategy.size());
+        assertFalse(strategy.containsKey("key0"));
+        for (int i = 1; i < 5; ++i) {
+            assertEquals("value" + (95 + i), strategy.get("key" + i));
+        }
+    }
+
+    public void testCompactsInBackground() {
+        final ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            strategy = new LogPersistenceStrategy<>(baseDir, new XStream(), new BinaryStreamDriver(), 100, false,
+                executor);
+            for (int i = 0; i < 1000; ++i) {
+                strategy.write("key" + i % 5, "value" + i);
+            }
+            // waits for the running compaction
+            strategy.close();
+            final String[] segments = listSegments();
+            final String last = segments[segments.length - 1];
+            assertTrue(segments.length < Integer.parseInt(last.substring(0, last.indexOf('.'))));
+
+            strategy = open(100);
+            assertEquals(5, strategy.size());
+            assertEquals("value999", strategy.get("key4"));
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    public void testRemovesIncompleteRecordAtEndOfLastSegment() throws IOException {
+        strategy = open(1000);
+        strategy.write("guilherme", "aCuteString");
+        strategy.write("silveira", "anotherCuteString");
+        strategy.close();
+        final File file = new File(baseDir, "00000001.log");
+        final long length = file.length();
+        try (final RandomAccessFile raf = new RandomAccessFile(file, "rw")) {
+            raf.setLength(length - 3);
+        }
+
+        strategy = open(1000);
+        assertEquals(1, strategy.size());
+        assertEquals("aCuteString", strategy.get("guilherme"));
+        strategy.write("joe", "walnes");
+        strategy.close();
+
+        strategy = open(1000);
+        assertEquals(2, strategy.size());
+        assertEquals("walnes", strategy.get("joe"));
+    }
+
+    public void testRejectsCorruptRecordInSealedSegment() throws IOException {
+        strategy = open(50);
+        for (int i = 0; i < 10; ++i) {
+            strategy.write("key" + i, "value" + i);
+        }
+        strategy.close();
+        strategy = null;
+        try (final RandomAccessFile raf = new RandomAccessFile(new File(baseDir, "00000001.log"), "rw")) {
+            raf.seek(20);
+            raf.write(raf.read() ^ 0xff);
+        }
+        try {
+            open(50);
+            fail("Thrown " + StreamException.class.getName() + " expected");
+        } catch (final StreamException e) {
+            assertTrue(e.getMessage().contains("Corrupt record at position 0"));
+        }
+    }
+
+    public void testStoresXml() {
+        final LogPersistenceStrategy<Integer, Map<String, String>> xmlStrategy = new LogPersistenceStrategy<>(baseDir,
+            new XStream(), new DomDriver(), 1000, false, null);
+        try {
+            final Map<String, String> map = new HashMap<>();
+            map.put("guilherme", "silveira");
+            xmlStrategy.write(Integer.valueOf(1), map);
+            assertEquals(map, xmlStrategy.get(Integer.valueOf(1)));
+        } finally {
+            xmlStrategy.close();
+        }
+    }
+
+    public void testIteratesOverIndex() {
+        strategy = open(1000);
+        final XmlMap<String, String> map = new XmlMap<>(strategy);
+        final Map<String, String> original = new HashMap<>();
+        original.put("guilherme", "aCuteString");
+        original.put("silveira", "anotherCuteString");
+        map.putAll(original);
+        assertEquals(original, new HashMap<>(map));
+
+        for (final Iterator<Map.Entry<String, String>> iter = strategy.iterator(); iter.hasNext();) {
+            if (iter.next().getKey().equals("guilherme")) {
+                iter.remove();
+            }
+        }
+        assertEquals(1, map.size());
+        assertEquals("anotherCuteString", map.get("silveira"));
+    }
+
+    public void testSupportsXmlArrayList() {
+        final LogPersistenceStrategy<Integer, String> listStrategy = new LogPersistenceStrategy<>(baseDir);
+        try {
+            final XmlArrayList<String> list = new XmlArrayList<>(listStrategy);
+            for (int i = 0; i < 1000; ++i) {
+                list.add("Value " + i);
+            }
+            list.add(0, "First");
+            assertEquals(1001, list.size());
+            assertEquals("First", list.get(0));
+            assertEquals("Value 999", list.get(1000));
+        } finally {
+            listStrategy.close();
+        }
+    }
+
+    public void testRejectsOperationsAfterClose() {
+        strategy = open(1000);
+        strategy.close();
+        try {
+            strategy.get("guilherme");
+            fail("Thrown " + IllegalStateException.class.getName() + " expected");
+        } catch (final IllegalStateException e) {
+            // OK
+        }
+    }
+
+    public void testStreamsEntriesInParallel() {
+        strategy = open(1000);
+        for (int i = 0; i < 100; ++i) {
+            strategy.write("key" + i, "value" + i);
+        }
+        final Map<String, String> map = new XmlMap<>(strategy).entrySet().parallelStream().collect(Collectors.toMap(
+            Map.Entry::getKey, Map.Entry::getValue));
+        assertEquals(100, map.size());
+        assertEquals("value42", map.get("key42"));
+    }
+}
@@ -0,0 +1,184 @@
+/*
+ * Copyright (C) 2026 XStream Committers.
+ * All rights reserved.
+ *
+ * The software in this package is published under the terms of the BSD
+ * style license a copy of which has been included with this distribution in
+ * the LICENSE.txt file.
+ *
+ * Created on 17. October 2026
+ */
+package com.thoughtworks.xstream.persistence;
+
+import java.io.File;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import com.thoughtworks.xstream.io.StreamException;
+
+import junit.framework.TestCase;
+
+
+public class WriteBehindPersistenceStrategyTest extends TestCase {
+
+    private final File baseDir = new File("target/tmp");
+    private FilePersistenceStrategy<String, String> fileStrategy;
+    private WriteBehindPersistenceStrategy<String, String> strategy;
+
+    @Override
+    protected void setUp() throws Exception {
+        super.setUp();
+        if (baseDir.exists()) {
+            clear(baseDir);
+        }
+        baseDir.mkdirs();
+        fileStrategy = new FilePersistenceStrategy<>(baseDir);
+    }
+
+    @Override
+    protected void tearDown() throws Exception {
+        if (strategy != null) {
+            strategy.close();
+        }
+        super.tearDown();
+        clear(baseDir);
+    }
+
+    private void clear(final File dir) {
+        final File[] files = dir.listFiles();
+        for (final File file : files) {
+            if (file.isFile()) {
+                final boolean deleted = file.delete();
+                if (!deleted) {
+                    throw new RuntimeException("Unable to continue testing: unable to remove file "
+                        + file.getAbsolutePath());
+                }
+            }
+        }
+        dir.delete();
+    }
+
+    public void testKeepsModificationsPendingUntilFlush() {
+        fileStrategy.put("silveira", "anotherCuteString");
+        strategy = new WriteBehindPersistenceStrategy<>(fileStrategy, 3600000, 100);
+        assertNull(strategy.put("guilherme", "aCuteString"));
+        assertEquals("aCuteString", strategy.put("guilherme", "anotherCuteString"));
+        assertEquals("anotherCuteString", strategy.remove("silveira"));
+        assertEquals("anotherCuteString", strategy.get("guilherme"));
+        assertNull(strategy.get("silveira"));
+        assertNull(fileStrategy.get("guilherme"));
+        assertEquals("anotherCuteString", fileStrategy.get("silveira"));
+
+        strategy.flush();
+        assertEquals("anotherCuteString", fileStrategy.get("guilherme"));
+        assertNull(fileStrategy.get("silveira"));
+    }
+
+    public void testFlushesBeforeSizeAndIteration() {
+        strategy = new WriteBehindPersistenceStrategy<>(fileStrategy, 3600000, 100);
+        final XmlMap<String, String> map = new XmlMap<>(strategy);
+        final Map<String, String> original = new HashMap<>();
+        original.put("guilherme", "aCuteString");
+        original.put("silveira", "anotherCuteString");
+        map.putAll(original);
+        assertEquals(2, map.size());
+        assertEquals(original, new HashMap<>(map));
+        assertEquals(2, fileStrategy.size());
+    }
+
+    public void testFlushesInBackgroundWhenBatchSizeIsReached() throws InterruptedException {
+        strategy = new WriteBehindPersistenceStrategy<>(fileStrategy, 3600000, 2);
+        strategy.write("guilherme", "aCuteString");
+        strategy.write("silveira", "anotherCuteString");
+        for (int i = 0; i < 100 && fileStrategy.get("silveira") == null; ++i) {
+            Thread.sleep(50);
+        }
+        assertEquals("aCuteString", fileStrategy.get("guilherme"));
+        assertEquals("anotherCuteString", fileStrategy.get("silveira"));
+    }
+
+    public void testFlushesInBackgroundAfterInterval() throws InterruptedException {
+        strategy = new WriteBehindPersistenceStrategy<>(fileStrategy, 10, 100);
+        strategy.write("guilherme", "aCuteString");
+        for (int i = 0; i < 100 && fileStrategy.get("guilherme") == null; ++i) {
+            Thread.sleep(50);
+        }
+        assertEquals("aCuteString", fileStrategy.get("guilherme"));
+    }
+
+    public void testWritesRemainingModificationsWhenClosed() {
+        strategy = new WriteBehindPersistenceStrategy<>(fileStrategy, 3600000, 100);
+        strategy.write("guilherme", "aCuteString");
+        strategy.close();
+        assertEquals("aCuteString", fileStrategy.get("guilherme"));
+        try {
+            strategy.write("silveira", "anotherCuteString");
+            fail("Thrown " + IllegalStateException.class.getName() + " expected");
+        } catch (final IllegalStateException e) {
+            // OK
+        }
+    }
+
+    public void testKeepsFailedModificationsPending() {
+        final boolean[] failing = {true};
+        strategy = new WriteBehindPersistenceStrategy<>(new FilePersistenceStrategy<String, String>(baseDir) {
+            @Override
+            public void write(final String key, final String value) {
+                if (failing[0]) {
+                    throw new StreamException("Disk full");
+                }
+                super.write(key, value);
+            }
+        }, 3600000, 100);
+        strategy.write("guilherme", "aCuteString");
+        try {
+            strategy.flush();
+            fail("Thrown " + StreamException.class.getName() + " expected");
+        } catch (final StreamException e) {
+            assertEquals("Disk full", e.getMessage());
+        }
+        strategy.write("silveira", "anotherCuteString");
+        assertEquals("aCuteString", strategy.get("guilherme"));
+        assertEquals(0, fileStrategy.size());
+
+        failing[0] = false;
+        strategy.flush();
+        assertEquals("aCuteString", fileStrategy.get("guilherme"));
+        assertEquals("anotherCuteString", fileStrategy.get("silveira"));
+    }
+
+    public void testReturnsOldValueOfConcurrentPut() throws InterruptedException {
+        final CountDownLatch concurrentPut = new CountDownLatch(1);
+        final AtomicBoolean firstRead = new AtomicBoolean(true);
+        strategy = new WriteBehindPersistenceStrategy<>(new FilePersistenceStrategy<String, String>(baseDir) {
+            @Override
+            public String get(final Object key) {
+                if (firstRead.getAndSet(false)) {
+                    try {
+                        // give a concurrent put the chance to overtake the first one
+                        concurrentPut.await(200, TimeUnit.MILLISECONDS);
+                    } catch (final InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                }
+                return super.get(key);
+            }
+        }, 3600000, 100);
+        final String[] oldValue = new String[1];
+        final Thread thread = new Thread(() -> oldValue[0] = strategy.put("guilherme", "aCuteString"));
+        thread.start();
+        while (firstRead.get()) {
+            Thread.sleep(1);
+        }
+        final String concurrentOldValue = strategy.put("guilherme", "anotherCuteString");
+        concurrentPut.countDown();
+        thread.join();
+
+        assertNull(oldValue[0]);
+        assertEquals("aCuteString", concurrentOldValue);
+        assertEquals("anotherCuteString", strategy.get("guilherme"));
+    }
+}
@@ -1,6 +1,6 @@
 /*
  * Copyright (C) 2006 Joe Walnes.
- * Copyright (C) 2007, 2008, 2009, 2018 XStream Committers.
+ * Copyright (C) 2007, 2008, 2009, 2018, 2026 XStream Committers.
  * All rights reserved.
  *
  * The software in this package is published under the terms of the BSD
@@ -162,6 +162,7 @@ public class XmlArrayListTest extends TestCase {
         xmlList.add("guilherme");
         xmlList.add("silveira");
         xmlList.add(1, "de azevedo");
+        assertEquals(3, xmlList.size());
         assertEquals("guilherme", xmlList.get(0));
         assertEquals("de azevedo", xmlList.get(1));
         assertEquals("silveira", xmlList.get(2));